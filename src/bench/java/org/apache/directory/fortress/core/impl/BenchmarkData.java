@@ -0,0 +1,188 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.directory.fortress.core.AdminMgr;
+import org.apache.directory.fortress.core.AdminMgrFactory;
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Hier;
+import org.apache.directory.fortress.core.model.PermObj;
+import org.apache.directory.fortress.core.model.Permission;
+import org.apache.directory.fortress.core.model.Relationship;
+import org.apache.directory.fortress.core.model.Role;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.UserRole;
+import org.jgrapht.graph.SimpleDirectedGraph;
+
+
+/**
+ * Builds the synthetic data sets shared by the benchmarks.
+ * <p/>
+ * Role hierarchies are trees with a fan out of {@link #FAN_OUT} where every seventh role also inherits from a second
+ * parent, roles are named {@code R0} through {@code R<n-1>} with {@code R0} at the top.  The hierarchy is published
+ * under the same key {@link RoleUtil} uses for the tenant so that the benchmarks never read it from ldap.  The
+ * snapshot is reloaded after {@code hier.refresh.interval} seconds, which the benchmark fortress.properties raises
+ * above the length of a run.  Permissions are added to the {@link EmbeddedLdap} server through {@link AdminMgr}.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class BenchmarkData
+{
+    static final int FAN_OUT = 10;
+    static final String RAW_CONSTRAINT = "$0$0000$0000$20090101$none$none$none$1234567";
+    /** Perm OU loaded by init-ldap.ldif. */
+    static final String PERM_OU = "demoapps1";
+
+
+    private BenchmarkData()
+    {
+    }
+
+
+    /**
+     * @param size contains the number of roles.
+     * @return graph of the synthetic role hierarchy.
+     */
+    static SimpleDirectedGraph<String, Relationship> buildGraph( int size )
+    {
+        Hier hier = new Hier( Hier.Type.ROLE );
+
+        for ( int i = 1; i < size; i++ )
+        {
+            int parent = ( i - 1 ) / FAN_OUT;
+            hier.setRelationship( new Relationship( getName( i ), getName( parent ) ) );
+
+            if ( i % 7 == 0 && parent > 0 )
+            {
+                hier.setRelationship( new Relationship( getName( i ), getName( parent - 1 ) ) );
+            }
+        }
+
+        return HierUtil.buildGraph( hier );
+    }
+
+
+    /**
+     * Publish a synthetic role hierarchy for a tenant.
+     *
+     * @param contextId contains the tenant that will use the hierarchy.
+     * @param size contains the number of roles.
+     * @return graph of the synthetic role hierarchy.
+     */
+    static SimpleDirectedGraph<String, Relationship> loadRoles( String contextId, int size )
+    {
+        final SimpleDirectedGraph<String, Relationship> graph = buildGraph( size );
+        HierUtil.getHier( HierUtil.Type.ROLE + ":" + contextId, contextId, new HierUtil.Loader()
+        {
+            @Override
+            public SimpleDirectedGraph<String, Relationship> load( String contextId )
+            {
+                return graph;
+            }
+        } );
+
+        return graph;
+    }
+
+
+    /**
+     * Build a session that has the last roles of the hierarchy, i.e. the leaves, activated.
+     *
+     * @param contextId contains the tenant of the hierarchy.
+     * @param size contains the number of roles in the hierarchy.
+     * @param activated contains the number of roles to activate.
+     * @return session with unrestricted user and role constraints.
+     */
+    static Session buildSession( String contextId, int size, int activated )
+    {
+        User user = new User( "benchUser" );
+        user.setContextId( contextId );
+        user.setTimeout( 0 );
+        user.setBeginTime( "0000" );
+        user.setEndTime( "0000" );
+        user.setBeginDate( "20090101" );
+        user.setEndDate( "none" );
+        user.setBeginLockDate( "none" );
+        user.setEndLockDate( "none" );
+        user.setDayMask( "1234567" );
+        List<UserRole> roles = new ArrayList<>( activated );
+
+        for ( int i = 0; i < activated; i++ )
+        {
+            UserRole role = new UserRole();
+            role.setUserId( user.getUserId() );
+            role.load( getName( size - 1 - i ) + RAW_CONSTRAINT, contextId, new RoleUtil() );
+            roles.add( role );
+        }
+
+        user.setRoles( roles );
+        Session session = new Session( user );
+        session.setAuthenticated( true );
+
+        return session;
+    }
+
+
+    /**
+     * Add a permission object to the default tenant of the embedded ldap server.
+     *
+     * @param objName contains the name of the object.
+     * @throws SecurityException in the event of ldap error.
+     */
+    static void addPermObj( String objName ) throws SecurityException
+    {
+        AdminMgr adminMgr = AdminMgrFactory.createInstance( GlobalIds.HOME );
+        adminMgr.addPermObj( new PermObj( objName, PERM_OU ) );
+    }
+
+
+    /**
+     * Add a role and an operation to the default tenant of the embedded ldap server, and grant the operation to the
+     * role.  Only the role is added, its place in the hierarchy comes from the published snapshot.
+     *
+     * @param objName contains the name of an object added by {@link #addPermObj(String)}.
+     * @param opName contains the name of the operation.
+     * @param roleName contains the name of the role.
+     * @throws SecurityException in the event of ldap error.
+     */
+    static void addPermission( String objName, String opName, String roleName ) throws SecurityException
+    {
+        AdminMgr adminMgr = AdminMgrFactory.createInstance( GlobalIds.HOME );
+        Role role = adminMgr.addRole( new Role( roleName ) );
+        Permission perm = adminMgr.addPermission( new Permission( objName, opName ) );
+        adminMgr.grantPermission( perm, role );
+    }
+
+
+    /**
+     * @param id contains the position of the role within the hierarchy.
+     * @return name of the role.
+     */
+    static String getName( int id )
+    {
+        return "R" + id;
+    }
+}
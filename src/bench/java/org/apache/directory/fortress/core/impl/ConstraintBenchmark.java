@@ -0,0 +1,120 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.VUtil;
+import org.apache.directory.fortress.core.util.time.TUtil;
+import org.apache.directory.fortress.core.util.time.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+
+/**
+ * Measures the per call work performed on a session before the permission is evaluated: temporal constraint
+ * validation, parsing of the raw role constraints and dynamic separation of duty validation.  The DSD benchmark
+ * searches the DSD sets of the default tenant in the {@link EmbeddedLdap} server once and then runs from memory.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ConstraintBenchmark
+{
+    private static final String CONTEXT_ID = "benchConstraint";
+    private static final int ROLES = 1000;
+
+    @Param(
+        { "1", "10", "50" })
+    private int activated;
+
+    private RoleUtil roleUtil;
+    private String rawRole;
+    private Session session;
+    private Session dsdSession;
+    private UserRole dsdCandidate;
+
+
+    @Setup
+    public void setup()
+    {
+        EmbeddedLdap.start();
+        roleUtil = new RoleUtil();
+        BenchmarkData.loadRoles( CONTEXT_ID, ROLES );
+        rawRole = BenchmarkData.getName( ROLES - 1 ) + BenchmarkData.RAW_CONSTRAINT;
+        session = BenchmarkData.buildSession( CONTEXT_ID, ROLES, activated );
+        dsdSession = BenchmarkData.buildSession( null, ROLES, activated );
+        dsdCandidate = new UserRole( BenchmarkData.getName( 0 ) );
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        EmbeddedLdap.stop();
+    }
+
+
+    @Benchmark
+    public Time currentTime()
+    {
+        return TUtil.getCurrentTime();
+    }
+
+
+    @Benchmark
+    public UserRole loadUserRole()
+    {
+        UserRole role = new UserRole();
+        role.load( rawRole, CONTEXT_ID, roleUtil );
+        return role;
+    }
+
+
+    @Benchmark
+    public Session validateConstraints() throws SecurityException
+    {
+        VUtil.validateConstraints( session, VUtil.ConstraintType.USER, false );
+        VUtil.validateConstraints( session, VUtil.ConstraintType.ROLE, false );
+        return session;
+    }
+
+
+    @Benchmark
+    public Session validateDsd() throws SecurityException
+    {
+        SDUtil.validateDSD( dsdSession, dsdCandidate );
+        return dsdSession;
+    }
+}
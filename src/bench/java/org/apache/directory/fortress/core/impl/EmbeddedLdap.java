@@ -0,0 +1,101 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.io.InputStream;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import com.unboundid.ldif.LDIFReader;
+
+
+/**
+ * Embedded ldap server that serves the benchmarks, so that they do not need an external directory.  It listens on the
+ * port of the benchmark fortress.properties and is loaded with init-ldap.ldif, the DIT of the ApacheDS tests.
+ * Each JMH fork is a new jvm and starts its own server.
+ * <p/>
+ * The UnboundID in-memory server is used rather than an embedded ApacheDS, which cannot share a jvm with the api-all
+ * version fortress is built against.  It runs without a schema, so the fortress object classes need not be loaded.
+ * The server must be started before the first fortress DAO is used, since the connection pools are created then.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class EmbeddedLdap
+{
+    private static final String SUFFIX = "dc=example,dc=com";
+    private static final String ADMIN_DN = "uid=admin,ou=system";
+    private static final String ADMIN_PW = "secret";
+    private static final int PORT = 10399;
+    private static final String LDIF_FILE = "init-ldap.ldif";
+    private static InMemoryDirectoryServer server;
+
+
+    private EmbeddedLdap()
+    {
+    }
+
+
+    /**
+     * Start the server, if not already running in this jvm.
+     */
+    static synchronized void start()
+    {
+        if ( server != null )
+        {
+            return;
+        }
+
+        try ( InputStream ldif = EmbeddedLdap.class.getClassLoader().getResourceAsStream( LDIF_FILE ) )
+        {
+            if ( ldif == null )
+            {
+                throw new IllegalStateException( "embedded ldap server cannot find " + LDIF_FILE );
+            }
+
+            InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig( SUFFIX );
+            config.addAdditionalBindCredentials( ADMIN_DN, ADMIN_PW );
+            config.setListenerConfigs( InMemoryListenerConfig.createLDAPConfig( "LDAP", PORT ) );
+            config.setSchema( null );
+            server = new InMemoryDirectoryServer( config );
+            server.importFromLDIF( true, new LDIFReader( ldif ) );
+            server.startListening();
+        }
+        catch ( Exception e )
+        {
+            server = null;
+            throw new IllegalStateException( "embedded ldap server failed to start", e );
+        }
+    }
+
+
+    /**
+     * Stop the server.
+     */
+    static synchronized void stop()
+    {
+        if ( server != null )
+        {
+            server.shutDown( true );
+            server = null;
+        }
+    }
+}
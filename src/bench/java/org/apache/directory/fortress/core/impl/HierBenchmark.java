@@ -0,0 +1,148 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.directory.fortress.core.AccessMgr;
+import org.apache.directory.fortress.core.AccessMgrFactory;
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Permission;
+import org.apache.directory.fortress.core.model.Relationship;
+import org.apache.directory.fortress.core.model.Session;
+import org.jgrapht.graph.SimpleDirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+
+/**
+ * Measures the role inheritance paths used by every authorization check: hierarchy traversal, inherited role
+ * computation and {@link AccessMgr#checkAccess(Session, Permission)} against the local permission snapshot.
+ * <p/>
+ * The permissions are added to the embedded ldap server, granted to the top role, which every activated role
+ * inherits, and to a role in the middle of the hierarchy, which none of them do.  They are read into the local
+ * snapshot by the first check, so that the checks measure constraint validation and the role intersection only.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class HierBenchmark
+{
+    private static final String OBJ_NAME = "BenchObj";
+
+    @Param(
+        { "1000", "10000", "100000" })
+    private int roles;
+
+    private AccessMgr accessMgr;
+    private String leaf;
+    private SimpleDirectedGraph<String, Relationship> graph;
+    private CompiledHier compiled;
+    private Session session;
+    private Permission granted;
+    private Permission denied;
+
+
+    @Setup
+    public void setup() throws SecurityException
+    {
+        EmbeddedLdap.start();
+        leaf = BenchmarkData.getName( roles - 1 );
+        // published before the permissions are added, so the hierarchy is never read from ldap:
+        graph = BenchmarkData.loadRoles( GlobalIds.HOME, roles );
+        compiled = CompiledHier.compile( graph );
+        session = BenchmarkData.buildSession( GlobalIds.HOME, roles, 5 );
+        BenchmarkData.addPermObj( OBJ_NAME );
+        BenchmarkData.addPermission( OBJ_NAME, "granted", BenchmarkData.getName( 0 ) );
+        BenchmarkData.addPermission( OBJ_NAME, "denied", BenchmarkData.getName( roles / 2 ) );
+        granted = new Permission( OBJ_NAME, "granted" );
+        denied = new Permission( OBJ_NAME, "denied" );
+        accessMgr = AccessMgrFactory.createInstance( GlobalIds.HOME );
+
+        if ( !accessMgr.checkAccess( session, granted ) || accessMgr.checkAccess( session, denied ) )
+        {
+            throw new IllegalStateException( "benchmark permissions are not set up as expected" );
+        }
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        EmbeddedLdap.stop();
+    }
+
+
+    @Benchmark
+    public Set<String> traverseAscendants()
+    {
+        return HierUtil.getAscendants( leaf, graph );
+    }
+
+
+    @Benchmark
+    public Set<String> compiledAscendants()
+    {
+        return compiled.getAscendants( leaf );
+    }
+
+
+    @Benchmark
+    public Set<String> inheritedRoles()
+    {
+        return RoleUtil.getInheritedRoles( session.getRoles(), GlobalIds.HOME );
+    }
+
+
+    @Benchmark
+    public boolean checkAccessGranted() throws SecurityException
+    {
+        return accessMgr.checkAccess( session, granted );
+    }
+
+
+    @Benchmark
+    public boolean checkAccessDenied() throws SecurityException
+    {
+        return accessMgr.checkAccess( session, denied );
+    }
+
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CompiledHier compile()
+    {
+        return CompiledHier.compile( graph );
+    }
+}
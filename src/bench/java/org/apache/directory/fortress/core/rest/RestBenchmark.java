@@ -0,0 +1,175 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.rest;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.apache.directory.fortress.core.RestException;
+import org.apache.directory.fortress.core.model.FortRequest;
+import org.apache.directory.fortress.core.model.FortResponse;
+import org.apache.directory.fortress.core.model.Permission;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.UserRole;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Measures the JAXB processing performed by {@link RestUtils} for every call to the fortress rest server, using a
+ * checkAccess request and a createSession response carrying sessions with a varying number of activated roles.
+ * The encode and decode benchmarks compare the {@link WireFormat}s and report the size of the payload they processed
+ * as a secondary result.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RestBenchmark
+{
+    @Param(
+        { "1", "10", "100" })
+    private int roles;
+
+    // WireFormat is package private, which the generated benchmark classes cannot access, so it is named instead:
+    @Param(
+        { "xml", "fastinfoset" })
+    private String wireFormat;
+
+    private WireFormat format;
+
+    private FortRequest request;
+    private String response;
+    private byte[] encodedResponse;
+
+
+    @Setup
+    public void setup() throws JAXBException
+    {
+        format = WireFormat.fromName( wireFormat );
+        Session session = buildSession();
+        request = new FortRequest();
+        request.setSession( session );
+        request.setEntity( new Permission( "BenchObj", "read" ) );
+
+        FortResponse fortResponse = new FortResponse();
+        fortResponse.setSession( session );
+        fortResponse.setAuthorized( true );
+        StringWriter writer = new StringWriter();
+        JAXBContext context = JAXBContext.newInstance( FortRequest.class, FortResponse.class );
+        context.createMarshaller().marshal( fortResponse, writer );
+        response = writer.toString();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.marshal( context.createMarshaller(), fortResponse, out );
+        encodedResponse = out.toByteArray();
+    }
+
+
+    /**
+     * Request size reported alongside the score of the encode benchmark.  The field is assigned rather than
+     * accumulated, so with a single benchmark thread, the default, it reports the size of one payload.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RequestSize
+    {
+        public long requestBytes;
+    }
+
+
+    /**
+     * Response size reported alongside the score of the decode benchmark, in the same way as {@link RequestSize}.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ResponseSize
+    {
+        public long responseBytes;
+    }
+
+
+    private Session buildSession()
+    {
+        User user = new User( "benchUser" );
+
+        for ( int i = 0; i < roles; i++ )
+        {
+            UserRole role = new UserRole( user.getUserId(), "R" + i );
+            role.setBeginTime( "0000" );
+            role.setEndTime( "0000" );
+            role.setBeginDate( "20090101" );
+            role.setEndDate( "none" );
+            role.setDayMask( "1234567" );
+            user.setRole( role );
+        }
+
+        Session session = new Session( user );
+        session.setAuthenticated( true );
+        return session;
+    }
+
+
+    @Benchmark
+    public String marshal() throws RestException
+    {
+        return RestUtils.marshal( request );
+    }
+
+
+    @Benchmark
+    public FortResponse unmarshall() throws RestException
+    {
+        return RestUtils.unmarshall( response );
+    }
+
+
+    @Benchmark
+    public int encode( RequestSize size ) throws RestException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RestUtils.marshal( request, format, out );
+        size.requestBytes = out.size();
+        return out.size();
+    }
+
+
+    @Benchmark
+    public FortResponse decode( ResponseSize size ) throws RestException
+    {
+        size.responseBytes = encodedResponse.length;
+        return RestUtils.unmarshall( new ByteArrayInputStream( encodedResponse ), format );
+    }
+}
@@ -173,6 +173,21 @@ public interface AccelMgr extends Manageable
         throws SecurityException;
 
 
+    /**
+     * Perform user RBAC authorization for a list of permissions.  Same result as calling
+     * {@link #checkAccess(Session, Permission)} once for each permission, but the requests are all sent to the RBAC
+     * server before any response is waited for.
+     *
+     * @param session This object must be instantiated by calling {@link #createSession} method before passing into the method.
+     * @param perms   each must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return array of decisions, in the same order as the permissions, true where the user has access.
+     * @throws SecurityException
+     *          in the event of data validation failure, security policy violation or DAO error.
+     */
+    boolean[] checkAccess( Session session, List<Permission> perms )
+        throws SecurityException;
+
+
     /**
      * This function returns the permissions of the session, i.e., the permissions assigned
      * to its authorized roles. The function is valid if and only if the session is a valid Fortress session.
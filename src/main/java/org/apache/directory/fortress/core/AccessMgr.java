@@ -148,6 +148,11 @@ public interface AccessMgr extends Manageable
      * to perform the operation on that object if and only if that permission is assigned to (at least)
      * one of the session's active roles. This implementation will verify the roles or userId correspond
      * to the subject's active roles are registered in the object's access control list.
+     * <p/>
+     * When the decision cache is enabled, with fortress config param {@code enable.session.decision.cache=true}, results
+     * are kept on the session for the user's timeout constraint, or {@code session.decision.cache.ttl} seconds if shorter.
+     * A cached decision is not invalidated when the permission is granted or revoked, so the change is only seen by an
+     * existing session once its cached decision has expired.
      *
      * @param perm    must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
      * @param session This object must be instantiated by calling {@link AccessMgr#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
@@ -159,6 +164,68 @@ public interface AccessMgr extends Manageable
         throws SecurityException;
 
 
+    /**
+     * Perform user RBAC authorization for a list of permissions.  This function returns the same results as calling
+     * {@link #checkAccess(Session, Permission)} once for each permission, but validates the session's constraints and
+     * computes its inherited roles once, and retrieves every permission with a single directory search.
+     * <p/>
+     * Unlike the single permission check, a permission that does not exist does not cause an exception, it is
+     * simply not authorized.  Decisions are cached the same way, and outlive a revoke the same way, as those of the
+     * single permission check.
+     *
+     * @param session This object must be instantiated by calling {@link AccessMgr#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @param perms   each must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException
+     *          in the event of data validation failure, security policy violation or DAO error.
+     */
+    boolean[] checkAccess( Session session, List<Permission> perms )
+        throws SecurityException;
+
+
+    /**
+     * Create a signed token from a session that may be passed to {@link #checkAccess(String, Permission)} in place of
+     * the session.  The token is a few hundred bytes and carries the user and its activated roles, so the session's
+     * constraints are validated once, here, and not again on each check.  The token is good for the user's timeout
+     * constraint counted from now, or {@code session.token.timeout} minutes if the user has none.
+     *
+     * @param session This object must be instantiated by calling {@link AccessMgr#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @return String containing the token.
+     * @throws SecurityException
+     *          in the event of data validation failure or security policy violation.
+     */
+    String createToken( Session session )
+        throws SecurityException;
+
+
+    /**
+     * Perform user RBAC authorization for the session carried by a token.  The token's signature and age are verified
+     * and its activated roles trusted, the user is not read and its constraints are not validated again.
+     *
+     * @param token   This value must be obtained by calling {@link AccessMgr#createToken} method before passing into the method.
+     * @param perm    must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return True if user has access, false otherwise.
+     * @throws SecurityException
+     *          in the event the token is invalid or expired, of data validation failure or DAO error.
+     */
+    boolean checkAccess( String token, Permission perm )
+        throws SecurityException;
+
+
+    /**
+     * Perform user RBAC authorization for a list of permissions for the session carried by a token, see
+     * {@link #checkAccess(String, Permission)} and {@link #checkAccess(Session, List)}.
+     *
+     * @param token   This value must be obtained by calling {@link AccessMgr#createToken} method before passing into the method.
+     * @param perms   each must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException
+     *          in the event the token is invalid or expired, of data validation failure or DAO error.
+     */
+    boolean[] checkAccess( String token, List<Permission> perms )
+        throws SecurityException;
+
+
     /**
      * This function returns the permissions of the session, i.e., the permissions assigned
      * to its authorized roles. The function is valid if and only if the session is a valid Fortress session.
@@ -27,6 +27,8 @@ import org.apache.directory.fortress.core.model.SDSet;
 import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserRole;
 
+import java.util.List;
+
 
 /**
  * This class performs administrative functions to provision Fortress RBAC entities into the LDAP directory.  These APIs
@@ -388,6 +390,28 @@ public interface AdminMgr extends Manageable
         throws SecurityException;
 
 
+    /**
+     * This command assigns users to roles in bulk.  The result is the same as calling {@link #assignUser(UserRole)}
+     * for each assignment in order, but each user and role is read and updated once, and the ARBAC and SSD checks run
+     * once per user over all of the roles being assigned to it.  Use it to provision many assignments at once, for
+     * example when onboarding a department.
+     * <p>
+     * Every assignment is validated before any is applied, so a validation failure leaves the directory unchanged.
+     * </p>
+     * <h4>required parameters</h4>
+     * <ul>
+     * <li>{@link UserRole#name} - contains the name for already existing Role to be assigned</li>
+     * <li>{@link UserRole#userId} - contains the userId for existing User</li>
+     * </ul>
+     * The optional parameters are those of {@link #assignUser(UserRole)}.
+     *
+     * @param uRoles each must contain {@link UserRole#userId} and {@link UserRole#name} and optional {@code Constraints}.
+     * @throws SecurityException in the event of validation or system error.
+     */
+    void assignUsers( List<UserRole> uRoles )
+        throws SecurityException;
+
+
     /**
      * This command deletes the assignment of the User from the Role entities. The command is
      * valid if and only if the user is a member of the USERS data set, the role is a member of
@@ -0,0 +1,112 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core;
+
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.directory.fortress.core.model.Permission;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.UserRole;
+
+
+/**
+ * This object performs the runtime access control operations of {@link AccelMgr} without waiting for the RBAC
+ * Accelerator to respond.  Each method sends its LDAPv3 extended operation and returns a {@link Future} of the result,
+ * so that a caller may have many operations outstanding at once, e.g. the checkAccess of every permission needed to
+ * render a page.  The operations are pipelined over a small set of dedicated connections, so their throughput is not
+ * bounded by the size of the connection pool.
+ * <p/>
+ * Input is validated before the request is sent, failures throw a {@link SecurityException} from the method itself.
+ * Failures of the operation itself, e.g. an invalid password or an ldap error, are thrown by {@link Future#get()}
+ * as an {@link java.util.concurrent.ExecutionException} whose cause is the {@link SecurityException} the matching
+ * {@link AccelMgr} method would have thrown.
+ * <p/>
+ * This interface's implementer will NOT be thread safe if parent instance variables ({@link Manageable#setContextId(String)} or {@link Manageable#setAdmin(org.apache.directory.fortress.core.model.Session)}) are set.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public interface AsyncAccelMgr extends Manageable
+{
+    /**
+     * Same as {@link AccelMgr#createSession(User, boolean)} but does not wait for the session to be created.
+     * <p/>
+     * Like the blocking api, {@code isTrusted} is not passed to the RBAC server, which always authenticates the user's
+     * password.
+     *
+     * @param user      Contains {@link User#userId}, {@link User#password}, optional {@link User#roles}.
+     * @param isTrusted is ignored, the password is always required.
+     * @return Future of the Session, containing the sessionId stored on the RBAC server.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    Future<Session> createSession( User user, boolean isTrusted )
+        throws SecurityException;
+
+
+    /**
+     * Same as {@link AccelMgr#checkAccess(Session, Permission)} but does not wait for the decision.
+     *
+     * @param session This object must be instantiated by calling {@link #createSession} or {@link AccelMgr#createSession} method before passing into the method.
+     * @param perm    must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return Future of True if user has access, false otherwise.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    Future<Boolean> checkAccess( Session session, Permission perm )
+        throws SecurityException;
+
+
+    /**
+     * Perform user RBAC authorization for a list of permissions.  The requests are all sent before any response is
+     * waited for, so the decisions take about one round trip to the RBAC server rather than one per permission.
+     *
+     * @param session This object must be instantiated by calling {@link #createSession} or {@link AccelMgr#createSession} method before passing into the method.
+     * @param perms   each must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return Future of the decisions, in the same order as the permissions, true where the user has access.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    Future<boolean[]> checkAccess( Session session, List<Permission> perms )
+        throws SecurityException;
+
+
+    /**
+     * Same as {@link AccelMgr#addActiveRole(Session, UserRole)} but does not wait for the role to be activated.
+     *
+     * @param session object contains the user's returned RBAC session from the createSession method.
+     * @param role    object contains the role name, {@link UserRole#name}, to be activated into session.
+     * @return Future completed once the role is activated.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    Future<Void> addActiveRole( Session session, UserRole role )
+        throws SecurityException;
+
+
+    /**
+     * Same as {@link AccelMgr#dropActiveRole(Session, UserRole)} but does not wait for the role to be deactivated.
+     *
+     * @param session object contains the user's returned RBAC session from the createSession method.
+     * @param role    object contains the role name, {@link UserRole#name}, to be deactivated.
+     * @return Future completed once the role is deactivated.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    Future<Void> dropActiveRole( Session session, UserRole role )
+        throws SecurityException;
+}
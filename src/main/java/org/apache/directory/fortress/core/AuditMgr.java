@@ -21,9 +21,11 @@ package org.apache.directory.fortress.core;
 
 
 import org.apache.directory.fortress.core.model.AuthZ;
+import org.apache.directory.fortress.core.model.AuthZSummary;
 import org.apache.directory.fortress.core.model.Mod;
 import org.apache.directory.fortress.core.model.UserAudit;
 import org.apache.directory.fortress.core.model.Bind;
+import org.apache.directory.fortress.core.util.SearchIterator;
 
 import java.util.List;
 
@@ -203,4 +205,74 @@ public interface AuditMgr extends Manageable
     List<AuthZ> searchInvalidUsers( UserAudit uAudit )
         throws SecurityException;
 
+
+    /**
+     * Same as {@link #getUserAuthZs(UserAudit)} but the events are not limited in number, being read from the
+     * directory a page at a time as they are iterated.  The search also honors {@link UserAudit#endDate}.  The
+     * iterator holds a connection to the audit log until exhausted and must be closed by callers that stop early.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator of type AuthZ.  Each AuthZ object contains one authorization event.
+     * @throws SecurityException if a runtime system error occurs.  Errors reading pages after the first are thrown
+     * by the iterator as {@link FinderRuntimeException}.
+     */
+    SearchIterator<AuthZ> getUserAuthZsIterator( UserAudit uAudit )
+        throws SecurityException;
+
+
+    /**
+     * Count the authorization events selected as by {@link #getUserAuthZs(UserAudit)}, with no limit on their number,
+     * by user, permission and hour.  The events are counted as they are read, a page at a time, so that a summary over
+     * a long period is computed in the memory its counts require.  Set {@link UserAudit#failedOnly} to count the
+     * failed authorizations, and {@link UserAudit#beginDate} and {@link UserAudit#endDate} to bound the period.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return AuthZSummary containing the counts.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    AuthZSummary getAuthZSummary( UserAudit uAudit )
+        throws SecurityException;
+
+
+    /**
+     * Same as {@link #searchBinds(UserAudit)} but the events are not limited in number, being read from the directory
+     * a page at a time as they are iterated.  The search also honors {@link UserAudit#endDate}.  The iterator holds
+     * a connection to the audit log until exhausted and must be closed by callers that stop early.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator of type Bind.  Each Bind object contains one bind event.
+     * @throws SecurityException if a runtime system error occurs.  Errors reading pages after the first are thrown
+     * by the iterator as {@link FinderRuntimeException}.
+     */
+    SearchIterator<Bind> searchBindsIterator( UserAudit uAudit )
+        throws SecurityException;
+
+
+    /**
+     * Same as {@link #searchAdminMods(UserAudit)} but the events are not limited in number, being read from the
+     * directory a page at a time as they are iterated.  The iterator holds a connection to the audit log until
+     * exhausted and must be closed by callers that stop early.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator of type Mod.  Each Mod object contains one modification event.
+     * @throws SecurityException if a runtime system error occurs.  Errors reading pages after the first are thrown
+     * by the iterator as {@link FinderRuntimeException}.
+     */
+    SearchIterator<Mod> searchAdminModsIterator( UserAudit uAudit )
+        throws SecurityException;
+
+
+    /**
+     * Same as {@link #searchInvalidUsers(UserAudit)} but the events are not limited in number, being read from the
+     * directory a page at a time as they are iterated.  The search also honors {@link UserAudit#endDate}.  The
+     * iterator holds a connection to the audit log until exhausted and must be closed by callers that stop early.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator of type AuthZ.  Each AuthZ object contains one failed authentication event.
+     * @throws SecurityException if a runtime system error occurs.  Errors reading pages after the first are thrown
+     * by the iterator as {@link FinderRuntimeException}.
+     */
+    SearchIterator<AuthZ> searchInvalidUsersIterator( UserAudit uAudit )
+        throws SecurityException;
+
 }
@@ -379,6 +379,21 @@ public final class GlobalErrIds
      */
     public static final int USER_BIND_FAILED = 1037;
 
+    /**
+     * The session token was malformed, its signature did not verify or it was issued for another context.
+     */
+    public static final int USER_SESS_TOKEN_INVALID = 1038;
+
+    /**
+     * The session token has outlived its timeout.
+     */
+    public static final int USER_SESS_TOKEN_EXPIRED = 1039;
+
+    /**
+     * Session tokens cannot be created or verified because {@code crypto.prop} is not set, or is set to the default.
+     */
+    public static final int USER_SESS_TOKEN_DISABLED = 1040;
+
     /**
      * 2000's User-Role assignments
      */
@@ -1547,6 +1562,21 @@ public final class GlobalErrIds
      */
     public static final int REST_UNAUTHORIZED_ERR = 10109;
 
+    /**
+     * The HTTP transport used by the REST functions could not be initialized.
+     */
+    public static final int REST_TRANSPORT_INIT_ERR = 10110;
+
+    /**
+     * The REST function failed because the host does not accept the request's content type.
+     */
+    public static final int REST_UNSUPPORTED_MEDIA_ERR = 10111;
+
+    /**
+     * The REST function failed because the response did not contain one value per item in the request.
+     */
+    public static final int REST_RESPONSE_INVLD_ERR = 10112;
+
     /**
      * 10200's - RBAC Accelerator Error Ids
      */
@@ -1652,4 +1682,22 @@ public final class GlobalErrIds
      * The supplied group protocol name failed length check.
      */
     public static final int GROUP_PROTOCOL_INVLD = 10313;
+
+    /**
+     * 10400's - LDIF Export and Import Error Ids
+     */
+    /**
+     * The policy could not be exported from the ldap server.
+     */
+    public static final int LDIF_EXPORT_FAILED = 10400;
+
+    /**
+     * The policy could not be imported into the ldap server.
+     */
+    public static final int LDIF_IMPORT_FAILED = 10401;
+
+    /**
+     * The LDIF being imported is malformed.
+     */
+    public static final int LDIF_PARSE_FAILED = 10402;
 }
@@ -27,6 +27,7 @@ import org.apache.directory.fortress.core.model.Role;
 import org.apache.directory.fortress.core.model.SDSet;
 import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.SearchIterator;
 
 import java.util.List;
 import java.util.Set;
@@ -119,6 +120,26 @@ public interface ReviewMgr extends Manageable
     List<Permission> findPermissions( Permission permission )
         throws SecurityException;
 
+
+    /**
+     * Method returns the Permissions that match the perm object search string, a page at a time as the iterator is
+     * advanced.  Unlike {@link #findPermissions(Permission)} the number of permissions returned is not limited.  The
+     * iterator holds a directory connection and must be closed, e.g. with try-with-resources.
+     * <h4>optional parameters</h4>
+     * <ul>
+     * <li>{@link Permission#objName} - contains one or more characters of existing object being targeted</li>
+     * <li>{@link Permission#opName} - contains one or more characters of existing permission operation</li>
+     * </ul>
+     *
+     * @param permission contains object and operation name search strings.  Each contains 1 or more leading chars that correspond to object or op name.
+     * @return SearchIterator of type Permission.  Errors that occur after the first page are thrown as
+     *         {@link FinderRuntimeException}.
+     * @throws SecurityException
+     *          thrown in the event of system error.
+     */
+    SearchIterator<Permission> findPermissionsIterator( Permission permission )
+        throws SecurityException;
+
     /**
      * Method returns Permission operations for the provided permission object
      * 
@@ -199,6 +220,20 @@ public interface ReviewMgr extends Manageable
         throws SecurityException;
 
 
+    /**
+     * Method will return the Roles matching all or part of Role name, {@link Role#name}, a page at a time as the
+     * iterator is advanced.  Unlike {@link #findRoles(String)} the number of roles returned is not limited.  The
+     * iterator holds a directory connection and must be closed, e.g. with try-with-resources.
+     *
+     * @param searchVal contains all or some of the chars corresponding to role entities stored in directory.
+     * @return SearchIterator of type Role containing role entities that match the search criteria.  Errors that occur
+     *         after the first page are thrown as {@link FinderRuntimeException}.
+     * @throws SecurityException in the event of system error.
+     */
+    SearchIterator<Role> findRolesIterator( String searchVal )
+        throws SecurityException;
+
+
     /**
      * Method returns a list of roles of type String.  This method can be limited by integer value that indicates max
      * number of records that may be contained in the result set.  This number can further limit global default but can
@@ -245,6 +280,25 @@ public interface ReviewMgr extends Manageable
         throws SecurityException;
 
 
+    /**
+     * Return the users in the people container that match all or part of the {@link User#userId} field passed in User
+     * entity, a page at a time as the iterator is advanced.  Unlike {@link #findUsers(User)} the number of users
+     * returned is not limited.  The iterator holds a directory connection and must be closed, e.g. with
+     * try-with-resources.
+     * <h4>required parameters</h4>
+     * <ul>
+     * <li>{@link User#userId} - contains all or some leading chars that match userId(s) stored in the directory.</li>
+     * </ul>
+     *
+     * @param user contains all or some leading chars that match userIds stored in the directory.
+     * @return SearchIterator of type User.  Errors that occur after the first page are thrown as
+     *         {@link FinderRuntimeException}.
+     * @throws SecurityException In the event of system error.
+     */
+    SearchIterator<User> findUsersIterator( User user )
+        throws SecurityException;
+
+
     /**
      * Return a list of type User of all users in the people container that match the name field passed in OrgUnit entity.
      * <h4>required parameters</h4>
@@ -334,6 +388,26 @@ public interface ReviewMgr extends Manageable
         throws SecurityException;
 
 
+    /**
+     * This method returns all users who are assigned the given role, a page at a time as the iterator is advanced.
+     * Unlike {@link #assignedUsers(Role)} the number of users returned is not limited.  This method does NOT search for
+     * hierarchical RBAC Roles relationships.  The iterator holds a directory connection and must be closed, e.g. with
+     * try-with-resources.
+     * <h4>required parameters</h4>
+     * <ul>
+     * <li>{@link Role#name} - contains the name to use for the Role targeted for search.</li>
+     * </ul>
+     *
+     * @param role contains the role name, {@link Role#name} used to search the User data set.
+     * @return SearchIterator of type User containing the users assigned data.  Errors that occur after the first page
+     *         are thrown as {@link FinderRuntimeException}.
+     * @throws SecurityException
+     *          If system error occurs.
+     */
+    SearchIterator<User> assignedUsersIterator( Role role )
+        throws SecurityException;
+
+
     /**
      * This function returns the set of roles assigned to a given user. The function is valid if and
      * only if the user is a member of the USERS data set.
@@ -364,6 +438,26 @@ public interface ReviewMgr extends Manageable
         throws SecurityException;
 
 
+    /**
+     * This function returns the users authorized to a given role, i.e., the users that are assigned to a role that
+     * inherits the given role, a page at a time as the iterator is advanced.  Unlike {@link #authorizedUsers(Role)} the
+     * number of users returned is not limited.  The iterator holds a directory connection and must be closed, e.g. with
+     * try-with-resources.
+     * <h4>required parameters</h4>
+     * <ul>
+     * <li>{@link Role#name} - contains the name to use for the Role targeted for search.</li>
+     * </ul>
+     *
+     * @param role Contains role name, {@link Role#name} of Role entity assigned to User.
+     * @return SearchIterator of type User containing all user's that having matching role assignment.  Errors that
+     *         occur after the first page are thrown as {@link FinderRuntimeException}.
+     * @throws SecurityException
+     *          In the event the role is not present in directory or system error occurs.
+     */
+    SearchIterator<User> authorizedUsersIterator( Role role )
+        throws SecurityException;
+
+
     /**
      * This function returns the set of roles authorized for a given user. The function is valid if
      * and only if the user is a member of the USERS data set.
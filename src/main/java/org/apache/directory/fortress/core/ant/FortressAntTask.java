@@ -191,6 +191,12 @@ import org.apache.directory.fortress.core.util.Testable;
  * </li>
  * </ol>
  * <p/>
+ * Each step completes before the next begins.  Within the steps that add RBAC roles, permissions, users, groups,
+ * grants and role assignments the entries are processed in parallel by up to {@code ant.loader.threads} threads,
+ * which defaults to {@code max.admin.conn}.  Entries keyed to the same user, group or permission are still processed
+ * in the order they appear in the xml.  The remaining steps, which update hierarchies or the directory structure, run
+ * on a single thread.  Set {@code ant.loader.threads} to 1 to process every step on a single thread.
+ * <p/>
  *
  * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
  */
@@ -251,6 +257,7 @@ public class FortressAntTask extends Task implements InputHandler
     private static final String CLS_NM = FortressAntTask.class.getName();
     protected static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
     private Context context;
+    private LoaderEngine loader;
 
 
     /**
@@ -799,6 +806,29 @@ public class FortressAntTask extends Task implements InputHandler
             setContext( addcontexts.get( 0 ).getContexts().get( 0 ) );
         }
 
+        loader = new LoaderEngine();
+
+        try
+        {
+            load();
+        }
+        finally
+        {
+            loader.shutdown();
+            loader = null;
+        }
+
+        testResults();
+    }
+
+
+    /**
+     * Process the loads in dependency order, the stages with many entries are run in parallel by {@link #loader}.
+     *
+     * @throws BuildException
+     */
+    private void load() throws BuildException
+    {
         delUserRoles();
         delUserAdminRoles();
         deletePermGrants();
@@ -841,8 +871,6 @@ public class FortressAntTask extends Task implements InputHandler
         addPermGrants();
         addUserAdminRoles();
         addUserRoles();
-
-        testResults();
     }
 
     /**
@@ -884,24 +912,28 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addUsers" );
+
         // Loop through the entityclass elements
         for ( Adduser adduser : addusers )
         {
             List<UserAnt> users = adduser.getUsers();
-            for ( UserAnt user : users )
+            for ( final UserAnt user : users )
             {
-                LOG.info( "addUsers userid={} description={} orgUnit={}",
-                    user.getUserId(), user.getDescription(), user.getOu() );
-                try
-                {
-                    addUser( user );
-                }
-                catch ( SecurityException se )
+                stage.submit( user.getUserId(), "userId [" + user.getUserId() + "]", new LoaderEngine.Op()
                 {
-                    LOG.warn( "addUsers userId [{}] caught SecurityException={}", user.getUserId(), se );
-                }
+                    @Override
+                    public void execute() throws SecurityException
+                    {
+                        LOG.info( "addUsers userid={} description={} orgUnit={}",
+                            user.getUserId(), user.getDescription(), user.getOu() );
+                        addUser( user );
+                    }
+                } );
             }
         }
+
+        stage.await();
     }
 
     /**
@@ -997,24 +1029,28 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addGroups" );
+
         // Loop through the entityclass elements
         for ( Addgroup addgroup : addgroups )
         {
             List<Group> groups = addgroup.getGroups();
 
-            for ( Group group : groups )
+            for ( final Group group : groups )
             {
-                LOG.info( "addGroups name={} description={}", group.getName(), group.getDescription() );
-                try
+                stage.submit( group.getName(), "name [" + group.getName() + "]", new LoaderEngine.Op()
                 {
-                    groupMgr.add( group );
-                }
-                catch ( SecurityException se )
-                {
-                    LOG.warn( "addGroups name [{}] caught SecurityException={}", group.getName(), se );
-                }
+                    @Override
+                    public void execute() throws SecurityException
+                    {
+                        LOG.info( "addGroups name={} description={}", group.getName(), group.getDescription() );
+                        groupMgr.add( group );
+                    }
+                } );
             }
         }
+
+        stage.await();
     }
 
 
@@ -1058,28 +1094,30 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addGroupMembers" );
+
         // Loop through the entityclass elements
         for ( Addgroupmember addgroupmember : addgroupmembers )
         {
             List<Group> groups = addgroupmember.getGroups();
 
-            for ( Group group : groups )
+            for ( final Group group : groups )
             {
                 List<String> members = group.getMembers();
                 if ( CollectionUtils.isNotEmpty( members ) )
                 {
-                    for ( String member : members )
+                    for ( final String member : members )
                     {
-                        LOG.info( "addGroupMembers name={}, member={}", group.getName(), member );
-                        try
-                        {
-                            groupMgr.assign( group, member );
-                        }
-                        catch ( SecurityException se )
-                        {
-                            LOG.warn( "addGroupMembers name [{}], member [{}] caught SecurityException={}",
-                                group.getName(), member, se );
-                        }
+                        stage.submit( group.getName(), "name [" + group.getName() + "], member [" + member + "]",
+                            new LoaderEngine.Op()
+                            {
+                                @Override
+                                public void execute() throws SecurityException
+                                {
+                                    LOG.info( "addGroupMembers name={}, member={}", group.getName(), member );
+                                    groupMgr.assign( group, member );
+                                }
+                            } );
                     }
                 }
                 else
@@ -1088,6 +1126,8 @@ public class FortressAntTask extends Task implements InputHandler
                 }
             }
         }
+
+        stage.await();
     }
 
 
@@ -1142,28 +1182,30 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addGroupProperties" );
+
         // Loop through the entityclass elements
         for ( Addgroupproperty addgroupproperty : addgroupproperties )
         {
             List<Group> groups = addgroupproperty.getGroups();
-            for ( Group group : groups )
+            for ( final Group group : groups )
             {
                 if ( PropUtil.isNotEmpty( group.getProperties() ) )
                 {
                     for ( Enumeration<?> e = group.getProperties().propertyNames(); e.hasMoreElements(); )
                     {
                         // This LDAP attr is stored as a name-value pair separated by a ':'.
-                        String key = ( String ) e.nextElement();
-                        String val = group.getProperties().getProperty( key );
-                        try
-                        {
-                            groupMgr.add( group, key, val );
-                        }
-                        catch ( SecurityException se )
-                        {
-                            LOG.warn( "addGroupProperties name [{}], key [{}], value [{}] caught SecurityException={}",
-                                group.getName(), key, val, se );
-                        }
+                        final String key = ( String ) e.nextElement();
+                        final String val = group.getProperties().getProperty( key );
+                        stage.submit( group.getName(), "name [" + group.getName() + "], key [" + key + "], value ["
+                            + val + "]", new LoaderEngine.Op()
+                            {
+                                @Override
+                                public void execute() throws SecurityException
+                                {
+                                    groupMgr.add( group, key, val );
+                                }
+                            } );
                     }
                 }
                 else
@@ -1172,6 +1214,8 @@ public class FortressAntTask extends Task implements InputHandler
                 }
             }
         }
+
+        stage.await();
     }
 
 
@@ -1229,26 +1273,29 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addUserRoles" );
+
         // Loop through the entityclass elements
         for ( Adduserrole adduserrole : adduserroles )
         {
             List<UserRole> userroles = adduserrole.getUserRoles();
-            for ( UserRole userRole : userroles )
+            for ( final UserRole userRole : userroles )
             {
-                LOG.info( "addUserRoles userid={} role name={}", userRole.getUserId(), userRole.getName() );
-                try
-                {
-                    //Role role = new Role(userRole);
-                    adminMgr.assignUser( userRole );
-                }
-                catch ( SecurityException se )
-                {
-                    String warning = "addUserRoles userId [" + userRole.getUserId() + "] role name [" + userRole
-                        .getName() + "] caught SecurityException=" + se;
-                    LOG.warn( warning );
-                }
+                // keyed by user, the roles assigned to one user are checked for ssd conflicts one at a time:
+                stage.submit( userRole.getUserId(), "userId [" + userRole.getUserId() + "] role name [" + userRole
+                    .getName() + "]", new LoaderEngine.Op()
+                    {
+                        @Override
+                        public void execute() throws SecurityException
+                        {
+                            LOG.info( "addUserRoles userid={} role name={}", userRole.getUserId(), userRole.getName() );
+                            adminMgr.assignUser( userRole );
+                        }
+                    } );
             }
         }
+
+        stage.await();
     }
 
 
@@ -1294,23 +1341,27 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addRoles" );
+
         // Loop through the entityclass elements
         for ( Addrole addrole : addroles )
         {
             List<Role> roles = addrole.getRoles();
-            for ( Role role : roles )
+            for ( final Role role : roles )
             {
-                LOG.info( "addRoles name={} description={}", role.getName(), role.getDescription() );
-                try
-                {
-                    adminMgr.addRole( role );
-                }
-                catch ( SecurityException se )
+                stage.submit( role.getName(), "name [" + role.getName() + "]", new LoaderEngine.Op()
                 {
-                    LOG.warn( "addRoles name [{}] caught SecurityException={}", role.getName(), se );
-                }
+                    @Override
+                    public void execute() throws SecurityException
+                    {
+                        LOG.info( "addRoles name={} description={}", role.getName(), role.getDescription() );
+                        adminMgr.addRole( role );
+                    }
+                } );
             }
         }
+
+        stage.await();
     }
 
 
@@ -1494,42 +1545,45 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addPermObjs" );
+
         // Loop through the entityclass elements
         for ( AddpermObj addpermObj : addpermObjs )
         {
             List<PermObj> permObjs = addpermObj.getPermObjs();
-            for ( PermObj permObj : permObjs )
+            for ( final PermObj permObj : permObjs )
             {
-                LOG.info( "addPermObjs objName={} description={} orgUnit={} type={}",
-                    permObj.getObjName(), permObj.getDescription(), permObj.getOu(), permObj.getType() );
-                try
+                stage.submit( permObj.getObjName(), "objName [" + permObj.getObjName() + "]", new LoaderEngine.Op()
                 {
-                    try
-                    {
-                        adminMgr.addPermObj( permObj );
-                    }
-                    catch ( SecurityException se )
+                    @Override
+                    public void execute() throws SecurityException
                     {
-                        // If Perm Object entity already there then call the udpate method.
-                        if ( se.getErrorId() == GlobalErrIds.PERM_DUPLICATE )
+                        LOG.info( "addPermObjs objName={} description={} orgUnit={} type={}",
+                            permObj.getObjName(), permObj.getDescription(), permObj.getOu(), permObj.getType() );
+                        try
                         {
-                            adminMgr.updatePermObj( permObj );
-                            System.out.println( CLS_NM + ".addPermObjs - update entity objName=" + permObj
-                                .getObjName() );
+                            adminMgr.addPermObj( permObj );
                         }
-                        else
+                        catch ( SecurityException se )
                         {
-                            throw se;
+                            // If Perm Object entity already there then call the udpate method.
+                            if ( se.getErrorId() == GlobalErrIds.PERM_DUPLICATE )
+                            {
+                                adminMgr.updatePermObj( permObj );
+                                System.out.println( CLS_NM + ".addPermObjs - update entity objName=" + permObj
+                                    .getObjName() );
+                            }
+                            else
+                            {
+                                throw se;
+                            }
                         }
                     }
-                }
-                catch ( SecurityException se )
-                {
-                    LOG.warn( "addPermObjs objName [{}] caught SecurityException={}",
-                        permObj.getObjName(), se );
-                }
+                } );
             }
         }
+
+        stage.await();
     }
 
 
@@ -1574,41 +1628,45 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addPermOps" );
+
         // Loop through the entityclass elements
         for ( AddpermOp addpermOp : addpermOps )
         {
             List<PermAnt> permissions = addpermOp.getPermOps();
-            for ( PermAnt permission : permissions )
+            for ( final PermAnt permission : permissions )
             {
-                LOG.info( "addPermOps name={} objName={}", permission.getOpName(), permission.getObjName() );
-                try
-                {
-                    try
+                stage.submit( permission.getObjName() + "." + permission.getOpName(), "name [" + permission
+                    .getOpName() + "] objName [" + permission.getObjName() + "]", new LoaderEngine.Op()
                     {
-                        adminMgr.addPermission( permission );
-                    }
-                    catch ( SecurityException se )
-                    {
-                        // If Perm Object entity already there then call the udpate method.
-                        if ( se.getErrorId() == GlobalErrIds.PERM_DUPLICATE )
+                        @Override
+                        public void execute() throws SecurityException
                         {
-                            adminMgr.updatePermission( permission );
-                            LOG.info( "addPermOps - update entity - name={} objName={}",
-                                permission.getOpName(), permission.getObjName() );
+                            LOG.info( "addPermOps name={} objName={}", permission.getOpName(), permission.getObjName() );
+                            try
+                            {
+                                adminMgr.addPermission( permission );
+                            }
+                            catch ( SecurityException se )
+                            {
+                                // If Perm Object entity already there then call the udpate method.
+                                if ( se.getErrorId() == GlobalErrIds.PERM_DUPLICATE )
+                                {
+                                    adminMgr.updatePermission( permission );
+                                    LOG.info( "addPermOps - update entity - name={} objName={}",
+                                        permission.getOpName(), permission.getObjName() );
+                                }
+                                else
+                                {
+                                    throw se;
+                                }
+                            }
                         }
-                        else
-                        {
-                            throw se;
-                        }
-                    }
-                }
-                catch ( SecurityException se )
-                {
-                    LOG.warn( "addPermOps name [{}] objName [{}] caught SecurityException={}",
-                        permission.getOpName(), permission.getObjName(), se );
-                }
+                    } );
             }
         }
+
+        stage.await();
     }
 
 
@@ -1653,43 +1711,49 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addPermGrants" );
+
         // Loop through the entityclass elements
         for ( AddpermGrant addpermGrant : addpermGrants )
         {
             List<PermGrant> permGrants = addpermGrant.getPermGrants();
-            for ( PermGrant permGrant : permGrants )
+            for ( final PermGrant permGrant : permGrants )
             {
-                String info = "addPermGrants: Add permission grant object name=" + permGrant.getObjName() + " " +
-                    "operation name=" + permGrant.getOpName() + " object id=" + permGrant.getObjId() + " role name="
-                    + permGrant.getRoleNm() + " userId=" + permGrant.getUserId();
-                LOG.info( info );
-                try
-                {
-                    Permission perm = new Permission( permGrant.getObjName(), permGrant.getOpName(),
-                        permGrant.isAdmin() );
-                    perm.setOpName( permGrant.getOpName() );
-                    perm.setObjId( permGrant.getObjId() );
-                    if ( permGrant.getRoleNm() != null && permGrant.getRoleNm().length() > 0 )
+                // keyed by permission, the grants on one permission entry are applied one at a time:
+                String key = permGrant.getObjName() + "." + permGrant.getOpName() + "." + permGrant.getObjId();
+                stage.submit( key, "object name [" + permGrant.getObjName() + "] operation name [" + permGrant
+                    .getOpName() + "]", new LoaderEngine.Op()
                     {
-                        adminMgr.grantPermission( perm, new Role( permGrant.getRoleNm() ) );
-                    }
-                    else if ( permGrant.getUserId() != null && permGrant.getUserId().length() > 0 )
-                    {
-                        adminMgr.grantPermission( perm, new User( permGrant.getUserId() ) );
-                    }
-                    else
-                    {
-                        String warning = "addPermGrants called without user or role set in xml";
-                        LOG.warn( warning );
-                    }
-                }
-                catch ( SecurityException se )
-                {
-                    String warning = "addPermGrants caught SecurityException=" + se;
-                    LOG.warn( warning );
-                }
+                        @Override
+                        public void execute() throws SecurityException
+                        {
+                            String info = "addPermGrants: Add permission grant object name=" + permGrant.getObjName()
+                                + " operation name=" + permGrant.getOpName() + " object id=" + permGrant.getObjId()
+                                + " role name=" + permGrant.getRoleNm() + " userId=" + permGrant.getUserId();
+                            LOG.info( info );
+                            Permission perm = new Permission( permGrant.getObjName(), permGrant.getOpName(),
+                                permGrant.isAdmin() );
+                            perm.setOpName( permGrant.getOpName() );
+                            perm.setObjId( permGrant.getObjId() );
+                            if ( permGrant.getRoleNm() != null && permGrant.getRoleNm().length() > 0 )
+                            {
+                                adminMgr.grantPermission( perm, new Role( permGrant.getRoleNm() ) );
+                            }
+                            else if ( permGrant.getUserId() != null && permGrant.getUserId().length() > 0 )
+                            {
+                                adminMgr.grantPermission( perm, new User( permGrant.getUserId() ) );
+                            }
+                            else
+                            {
+                                String warning = "addPermGrants called without user or role set in xml";
+                                LOG.warn( warning );
+                            }
+                        }
+                    } );
             }
         }
+
+        stage.await();
     }
 
 
@@ -2264,25 +2328,29 @@ public class FortressAntTask extends Task implements InputHandler
             return;
         }
 
+        LoaderEngine.Stage stage = loader.startStage( "addUserAdminRoles" );
+
         // Loop through the entityclass elements
         for ( Adduseradminrole adduserrole : adduseradminroles )
         {
             List<UserAdminRole> userroles = adduserrole.getUserRoles();
-            for ( UserAdminRole userRole : userroles )
+            for ( final UserAdminRole userRole : userroles )
             {
-                LOG.info( "addUserAdminRoles userid={} role name={}", userRole.getUserId(), userRole.getName() );
-                try
-                {
-                    //AdminRole role = new AdminRole(userRole);
-                    dAdminMgr.assignUser( userRole );
-                }
-                catch ( SecurityException se )
-                {
-                    LOG.warn( "addUserAdminRoles userId [{}] role name [{}] caught SecurityException={}",
-                        userRole.getUserId(), userRole.getName(), se );
-                }
+                stage.submit( userRole.getUserId(), "userId [" + userRole.getUserId() + "] role name [" + userRole
+                    .getName() + "]", new LoaderEngine.Op()
+                    {
+                        @Override
+                        public void execute() throws SecurityException
+                        {
+                            LOG.info( "addUserAdminRoles userid={} role name={}", userRole.getUserId(),
+                                userRole.getName() );
+                            dAdminMgr.assignUser( userRole );
+                        }
+                    } );
             }
         }
+
+        stage.await();
     }
 
 
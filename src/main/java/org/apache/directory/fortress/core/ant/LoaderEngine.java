@@ -0,0 +1,327 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.ant;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.tools.ant.BuildException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Runs the operations of {@link FortressAntTask} across a bounded pool of worker threads.  The load is processed in
+ * stages, one per entity kind, in the order the task's dependency graph requires, i.e. containers before org units,
+ * roles before hierarchies, users before assignments and grants.  A stage completes before the next one starts, the
+ * operations within a stage run in parallel.
+ * <p/>
+ * Each operation is submitted with a key naming the entry it updates.  Operations with the same key run one at a
+ * time, in the order submitted, so that, for example, the roles assigned to one user are never validated against each
+ * other concurrently.
+ * <p/>
+ * The number of workers is {@code ant.loader.threads}, by default the maximum size of the ldap admin connection pool,
+ * {@code max.admin.conn}.  With one worker every operation runs on the calling thread, exactly as a sequential load.
+ * The number of operations, failures, elapsed time and throughput of each stage are logged when it completes and
+ * again, for all stages, when the engine is shut down.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class LoaderEngine
+{
+    private static final String CLS_NM = LoaderEngine.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String THREADS_PARM = "ant.loader.threads";
+
+    private final ExecutorService[] lanes;
+    private final AtomicInteger next = new AtomicInteger();
+    private final List<Stage> stages = new ArrayList<>();
+
+
+    /**
+     * An operation on one entity.
+     */
+    interface Op
+    {
+        /**
+         * @throws SecurityException in the event the operation failed, it is counted and logged by the stage.
+         */
+        void execute() throws SecurityException;
+    }
+
+
+    /**
+     * Create an engine sized by {@code ant.loader.threads}, or the admin connection pool if not set.
+     */
+    LoaderEngine()
+    {
+        this( Config.getInt( THREADS_PARM, Config.getInt( GlobalIds.LDAP_ADMIN_POOL_MAX, 10 ) ) );
+    }
+
+
+    /**
+     * @param threads maximum number of operations run at once, one or less runs every operation on the calling thread.
+     */
+    LoaderEngine( int threads )
+    {
+        if ( threads > 1 )
+        {
+            final AtomicInteger count = new AtomicInteger();
+            ThreadFactory factory = new ThreadFactory()
+            {
+                @Override
+                public Thread newThread( Runnable runnable )
+                {
+                    Thread thread = new Thread( runnable, "fortress-ant-loader-" + count.incrementAndGet() );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            };
+
+            // one single threaded lane per worker keeps the operations on an entry in order:
+            lanes = new ExecutorService[threads];
+
+            for ( int i = 0; i < threads; i++ )
+            {
+                lanes[i] = Executors.newSingleThreadExecutor( factory );
+            }
+        }
+        else
+        {
+            lanes = null;
+        }
+
+        LOG.info( "LOADER threads=[{}]", lanes == null ? 1 : lanes.length );
+    }
+
+
+    /**
+     * Begin a stage, the previous stage must have completed.
+     *
+     * @param name of the stage, i.e. the entity kind and operation, e.g. addUsers.
+     * @return Stage to submit the stage's operations to.
+     */
+    synchronized Stage startStage( String name )
+    {
+        Stage stage = new Stage( name );
+        stages.add( stage );
+        return stage;
+    }
+
+
+    /**
+     * Stop the workers and log the results of every stage.
+     */
+    void shutdown()
+    {
+        if ( lanes != null )
+        {
+            for ( ExecutorService lane : lanes )
+            {
+                lane.shutdown();
+            }
+
+            try
+            {
+                for ( ExecutorService lane : lanes )
+                {
+                    lane.awaitTermination( 1, TimeUnit.MINUTES );
+                }
+            }
+            catch ( InterruptedException ie )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        long total = 0;
+        long failed = 0;
+
+        synchronized ( this )
+        {
+            for ( Stage stage : stages )
+            {
+                LOG.info( "LOADER SUMMARY {}", stage );
+                total += stage.submitted;
+                failed += stage.failed;
+            }
+        }
+
+        LOG.info( "LOADER SUMMARY stages=[{}] operations=[{}] failed=[{}]", stages.size(), total, failed );
+    }
+
+
+    /**
+     * The operations on one entity kind.  Operations are submitted from a single thread, the one running the task.
+     */
+    final class Stage
+    {
+        private final String name;
+        private final long start = System.nanoTime();
+        private long elapsed = -1;
+        // guarded by this:
+        private long submitted;
+        private long completed;
+        private long failed;
+
+
+        private Stage( String name )
+        {
+            this.name = name;
+        }
+
+
+        /**
+         * Run an operation as part of this stage.
+         *
+         * @param key names the entry the operation updates, operations with equal keys, ignoring case, run in order.
+         * May be null if the operation is independent of every other.
+         * @param description identifies the entity in the log should the operation fail.
+         * @param op the operation.
+         */
+        void submit( String key, final String description, final Op op )
+        {
+            synchronized ( this )
+            {
+                submitted++;
+            }
+
+            if ( lanes == null )
+            {
+                run( description, op );
+                return;
+            }
+
+            int lane = key == null ? next.getAndIncrement() : key.toUpperCase().hashCode();
+            lanes[( lane & Integer.MAX_VALUE ) % lanes.length].execute( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    Stage.this.run( description, op );
+                }
+            } );
+        }
+
+
+        /**
+         * Wait for every operation submitted to this stage and log its results.
+         *
+         * @throws BuildException if interrupted while waiting.
+         */
+        void await() throws BuildException
+        {
+            synchronized ( this )
+            {
+                while ( completed < submitted )
+                {
+                    try
+                    {
+                        wait();
+                    }
+                    catch ( InterruptedException ie )
+                    {
+                        Thread.currentThread().interrupt();
+                        throw new BuildException( "LOADER stage [" + name + "] interrupted", ie );
+                    }
+                }
+
+                elapsed = System.nanoTime() - start;
+            }
+
+            LOG.info( "LOADER {}", this );
+        }
+
+
+        private void run( String description, Op op )
+        {
+            boolean isFailed = false;
+
+            try
+            {
+                op.execute();
+            }
+            catch ( SecurityException se )
+            {
+                isFailed = true;
+                LOG.warn( "{} {} caught SecurityException={}", name, description, se );
+            }
+            catch ( RuntimeException re )
+            {
+                isFailed = true;
+                LOG.error( "{} {} caught RuntimeException={}", name, description, re );
+            }
+            finally
+            {
+                synchronized ( this )
+                {
+                    completed++;
+
+                    if ( isFailed )
+                    {
+                        failed++;
+                    }
+
+                    notifyAll();
+                }
+            }
+        }
+
+
+        /**
+         * @return number of operations of this stage that have completed, successfully or not.
+         */
+        synchronized long getCompleted()
+        {
+            return completed;
+        }
+
+
+        /**
+         * @return number of operations of this stage that failed.
+         */
+        synchronized long getFailed()
+        {
+            return failed;
+        }
+
+
+        @Override
+        public synchronized String toString()
+        {
+            long nanos = elapsed >= 0 ? elapsed : System.nanoTime() - start;
+            long millis = TimeUnit.NANOSECONDS.toMillis( nanos );
+            long rate = nanos > 0 ? completed * 1000000000L / nanos : 0;
+            return "stage [" + name + "] operations=[" + submitted + "] failed=[" + failed + "] elapsed=[" + millis
+                + "] ms rate=[" + rate + "]/s";
+        }
+    }
+}
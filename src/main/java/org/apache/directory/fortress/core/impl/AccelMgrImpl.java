@@ -210,6 +210,36 @@ public class AccelMgrImpl extends Manageable implements AccelMgr
     }
 
 
+    /**
+     * Perform user RBAC authorization for a list of permissions.  The checkAccess requests are pipelined to the RBAC
+     * server, all being sent before any response is waited for.
+     *
+     * @param session This object must be instantiated by calling {@link #createSession} method before passing into the method.
+     * @param perms each must contain the object, {@link org.apache.directory.fortress.core.model.Permission#objName}, and operation, {@link org.apache.directory.fortress.core.model.Permission#opName}, of permission User is trying to access.
+     * @return array of decisions, in the same order as the permissions, true where the user has access.
+     * @throws SecurityException in the event of data validation failure, security policy violation or DAO error.
+     */
+    @Override
+    public boolean[] checkAccess( Session session, List<Permission> perms )
+        throws SecurityException
+    {
+        String methodName = "checkAccess";
+        assertContext( CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL );
+        VUtil.assertNotNull( perms, GlobalErrIds.PERM_NULL, getFullMethodName( CLS_NM, methodName ) );
+
+        for ( Permission perm : perms )
+        {
+            assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL );
+            VUtil.assertNotNullOrEmpty( perm.getOpName(), GlobalErrIds.PERM_OPERATION_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+            VUtil.assertNotNullOrEmpty( perm.getObjName(), GlobalErrIds.PERM_OBJECT_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+        }
+
+        return aDao.checkAccess( session, perms );
+    }
+
+
     /**
      * This function returns the permissions of the session, i.e., the permissions assigned
      * to its authorized roles. The function is valid if and only if the session is a valid Fortress session.
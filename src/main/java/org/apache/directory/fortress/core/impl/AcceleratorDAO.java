@@ -23,6 +23,7 @@ package org.apache.directory.fortress.core.impl;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.message.ExtendedResponse;
 import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
 import org.apache.directory.fortress.core.GlobalErrIds;
 import org.apache.directory.fortress.core.model.Permission;
@@ -51,10 +52,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
 import org.apache.directory.ldap.client.api.LdapConnection;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 
 /**
@@ -89,64 +95,109 @@ final class AcceleratorDAO extends ApacheDsDataProvider
      */
     Session createSession( User user ) throws SecurityException
     {
-        Session session = null;
         LdapConnection ld = null;
 
         try
         {
             ld = getAdminConnection();
-            ld.setTimeOut( 0 );
-            // Create a new RBAC session
-            RbacCreateSessionRequest rbacCreateSessionRequest = new RbacCreateSessionRequestImpl();
-            //rbacCreateSessionRequest.setTenantId( "jts" );
-            rbacCreateSessionRequest.setTenantId( user.getContextId() );
-            rbacCreateSessionRequest.setUserIdentity( user.getUserId() );
-            rbacCreateSessionRequest.setPassword( new String( user.getPassword() ) );
-
-            if ( CollectionUtils.isNotEmpty( user.getRoles() ) )
+            // Send the request
+            RbacCreateSessionResponse rbacCreateSessionResponse = ( RbacCreateSessionResponse ) ld.extended(
+                newCreateSessionRequest( user ) );
+            return toSession( user, rbacCreateSessionResponse );
+        }
+        catch ( LdapException e )
+        {
+            throw createSessionError( user, e );
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+    }
+
+
+    /**
+     * Same as {@link #createSession(User)} but the request is pipelined with others over the connections of
+     * {@link AcceleratorPipeline}, without waiting for the response.
+     *
+     * @param user
+     * @return Future completed with the session, or with the SecurityException thrown by {@link #createSession(User)}.
+     */
+    Future<Session> createSessionAsync( final User user )
+    {
+        return AcceleratorPipeline.getInstance().send( newCreateSessionRequest( user ),
+            new AcceleratorPipeline.Operation<Session>()
             {
-                for ( UserRole userRole : user.getRoles() )
+                @Override
+                public Session toResult( ExtendedResponse response ) throws SecurityException
                 {
-                    rbacCreateSessionRequest.addRole( userRole.getName() );
+                    return toSession( user, ( RbacCreateSessionResponse ) response );
                 }
-            }
 
-            // Send the request
-            RbacCreateSessionResponse rbacCreateSessionResponse = ( RbacCreateSessionResponse ) ld.extended(
-                rbacCreateSessionRequest );
-            LOG.debug( "createSession userId: {}, sessionId: {}, resultCode: {}",
-                user.getUserId(), rbacCreateSessionResponse.getSessionId(),
-                rbacCreateSessionResponse.getLdapResult().getResultCode() );
-            session = new Session( user, rbacCreateSessionResponse.getSessionId() );
 
-            if ( rbacCreateSessionResponse.getLdapResult().getResultCode() == ResultCodeEnum.SUCCESS )
-            {
-                session.setAuthenticated( true );
-            }
-            else
+                @Override
+                public SecurityException toError( LdapException e )
+                {
+                    return createSessionError( user, e );
+                }
+            } );
+    }
+
+
+    private static RbacCreateSessionRequest newCreateSessionRequest( User user )
+    {
+        // Create a new RBAC session
+        RbacCreateSessionRequest rbacCreateSessionRequest = new RbacCreateSessionRequestImpl();
+        //rbacCreateSessionRequest.setTenantId( "jts" );
+        rbacCreateSessionRequest.setTenantId( user.getContextId() );
+        rbacCreateSessionRequest.setUserIdentity( user.getUserId() );
+        rbacCreateSessionRequest.setPassword( new String( user.getPassword() ) );
+
+        if ( CollectionUtils.isNotEmpty( user.getRoles() ) )
+        {
+            for ( UserRole userRole : user.getRoles() )
             {
-                session.setAuthenticated( false );
-                String info = "createSession UserId [" + user.getUserId() + "] failed: "
-                    + rbacCreateSessionResponse.getLdapResult() + " , resultCode: "
-                    + rbacCreateSessionResponse.getLdapResult().getResultCode().getResultCode();
-                throw new SecurityException( GlobalErrIds.USER_PW_INVLD, info );
+                rbacCreateSessionRequest.addRole( userRole.getName() );
             }
         }
-        catch ( LdapException e )
+
+        return rbacCreateSessionRequest;
+    }
+
+
+    private static Session toSession( User user, RbacCreateSessionResponse rbacCreateSessionResponse )
+        throws SecurityException
+    {
+        LOG.debug( "createSession userId: {}, sessionId: {}, resultCode: {}",
+            user.getUserId(), rbacCreateSessionResponse.getSessionId(),
+            rbacCreateSessionResponse.getLdapResult().getResultCode() );
+        Session session = new Session( user, rbacCreateSessionResponse.getSessionId() );
+
+        if ( rbacCreateSessionResponse.getLdapResult().getResultCode() == ResultCodeEnum.SUCCESS )
         {
-            String error = "createSession userId [" + user.getUserId() + "] caught LDAPException=" + " msg=" + e
-                .getMessage();
-            throw new SecurityException( GlobalErrIds.ACEL_CREATE_SESSION_ERR, error, e );
+            session.setAuthenticated( true );
         }
-        finally
+        else
         {
-            closeAdminConnection( ld );
+            session.setAuthenticated( false );
+            String info = "createSession UserId [" + user.getUserId() + "] failed: "
+                + rbacCreateSessionResponse.getLdapResult() + " , resultCode: "
+                + rbacCreateSessionResponse.getLdapResult().getResultCode().getResultCode();
+            throw new SecurityException( GlobalErrIds.USER_PW_INVLD, info );
         }
 
         return session;
     }
 
 
+    private static SecurityException createSessionError( User user, LdapException e )
+    {
+        String error = "createSession userId [" + user.getUserId() + "] caught LDAPException=" + " msg=" + e
+            .getMessage();
+        return new SecurityException( GlobalErrIds.ACEL_CREATE_SESSION_ERR, error, e );
+    }
+
+
     /**
      * Perform user impl authorization.  This function returns a Boolean value meaning whether the subject of a given session is
      * allowed or not to perform a given operation on a given object. The function is valid if and
@@ -164,43 +215,190 @@ final class AcceleratorDAO extends ApacheDsDataProvider
      */
     boolean checkAccess( Session session, Permission perm ) throws SecurityException
     {
-        boolean result = false;
         LdapConnection ld = null;
 
         try
         {
             ld = getAdminConnection();
-            RbacCheckAccessRequest rbacCheckAccessRequest = new RbacCheckAccessRequestImpl();
-            rbacCheckAccessRequest.setSessionId( session.getSessionId() );
-            rbacCheckAccessRequest.setObject( perm.getObjName() );
-
-            // objectId is optional
-            if ( StringUtils.isNotEmpty( perm.getObjId() ) )
-            {
-                rbacCheckAccessRequest.setObjectId( perm.getObjId() );
-            }
-
-            rbacCheckAccessRequest.setOperation( perm.getOpName() );
             // Send the request
             RbacCheckAccessResponse rbacCheckAccessResponse = ( RbacCheckAccessResponse ) ld.extended(
-                rbacCheckAccessRequest );
-            LOG.debug( "checkAccess result: {}", rbacCheckAccessResponse.getLdapResult().getResultCode() );
-
-            result = rbacCheckAccessResponse.getLdapResult().getResultCode() == ResultCodeEnum.SUCCESS;
+                newCheckAccessRequest( session, perm ) );
+            return isAuthorized( rbacCheckAccessResponse );
         }
         catch ( LdapException e )
         {
-            String error = "checkAccess perm obj [" + perm.getObjName() + "], operation [" + perm.getOpName()
-                + "] caught LDAPException=" + " msg=" + e
-                    .getMessage();
-            throw new SecurityException( GlobalErrIds.ACEL_CHECK_ACCESS_ERR, error, e );
+            throw checkAccessError( perm, e );
         }
         finally
         {
             closeAdminConnection( ld );
         }
+    }
+
+
+    /**
+     * Same as {@link #checkAccess(Session, Permission)} but the request is pipelined with others over the connections
+     * of {@link AcceleratorPipeline}, without waiting for the response.
+     *
+     * @param session
+     * @param perm
+     * @return Future completed with the result, or with the SecurityException thrown by
+     * {@link #checkAccess(Session, Permission)}.
+     */
+    Future<Boolean> checkAccessAsync( Session session, Permission perm )
+    {
+        return AcceleratorPipeline.getInstance().send( newCheckAccessRequest( session, perm ),
+            newCheckAccessOperation( perm ) );
+    }
+
+
+    /**
+     * Check a list of permissions for a session.  The requests are written one after the other on one of the
+     * connections of {@link AcceleratorPipeline}, none waiting for the response of another, so the elapsed time is
+     * about that of one round trip rather than one per permission.
+     *
+     * @param session
+     * @param perms
+     * @return Future completed with the results, in the order of the permissions, or with the first SecurityException
+     * thrown by {@link #checkAccess(Session, Permission)}, which is that of a connection that could not be opened.
+     */
+    Future<boolean[]> checkAccessAsync( Session session, List<Permission> perms )
+    {
+        AcceleratorPipeline pipeline = AcceleratorPipeline.getInstance();
+        LdapAsyncConnection ld;
+
+        try
+        {
+            ld = pipeline.nextConnection();
+        }
+        catch ( LdapException e )
+        {
+            LOG.warn( "checkAccessAsync userId [{}] could not open a connection, caught LdapException={}",
+                session.getUserId(), e.getMessage() );
+            List<Future<Boolean>> results = new ArrayList<>( perms.size() );
+
+            for ( Permission perm : perms )
+            {
+                results.add( AcceleratorPipeline.failed( newCheckAccessOperation( perm ), e ) );
+            }
+
+            return new CheckAccessFuture( results );
+        }
+
+        return checkAccessAsync( pipeline, ld, session, perms );
+    }
+
+
+    /**
+     * Write the check access requests of a list of permissions one after the other on a connection, without waiting
+     * for any response.
+     *
+     * @param pipeline sends the requests.
+     * @param ld connection the requests are written on.
+     * @param session
+     * @param perms
+     * @return Future completed with the results, in the order of the permissions, or with the first SecurityException.
+     */
+    Future<boolean[]> checkAccessAsync( AcceleratorPipeline pipeline, LdapAsyncConnection ld, Session session,
+        List<Permission> perms )
+    {
+        List<Future<Boolean>> results = new ArrayList<>( perms.size() );
+
+        for ( Permission perm : perms )
+        {
+            results.add( pipeline.send( ld, newCheckAccessRequest( session, perm ), newCheckAccessOperation( perm ) ) );
+        }
+
+        return new CheckAccessFuture( results );
+    }
+
+
+    /**
+     * Same as {@link #checkAccessAsync(Session, List)} but waits for the results.
+     *
+     * @param session
+     * @param perms
+     * @return the results, in the order of the permissions.
+     * @throws SecurityException rethrows {@code LdapException} with {@code GlobalErrIds.ACEL_CHECK_ACCESS_ERR}.
+     */
+    boolean[] checkAccess( Session session, List<Permission> perms ) throws SecurityException
+    {
+        Future<boolean[]> results = checkAccessAsync( session, perms );
+
+        try
+        {
+            return results.get();
+        }
+        catch ( InterruptedException ie )
+        {
+            results.cancel( true );
+            Thread.currentThread().interrupt();
+            String error = "checkAccess session [" + session.getSessionId() + "] interrupted";
+            throw new SecurityException( GlobalErrIds.ACEL_CHECK_ACCESS_ERR, error, ie );
+        }
+        catch ( ExecutionException ee )
+        {
+            if ( ee.getCause() instanceof SecurityException )
+            {
+                throw ( SecurityException ) ee.getCause();
+            }
+
+            String error = "checkAccess session [" + session.getSessionId() + "] caught " + ee.getCause();
+            throw new SecurityException( GlobalErrIds.ACEL_CHECK_ACCESS_ERR, error, ee );
+        }
+    }
+
+
+    private static RbacCheckAccessRequest newCheckAccessRequest( Session session, Permission perm )
+    {
+        RbacCheckAccessRequest rbacCheckAccessRequest = new RbacCheckAccessRequestImpl();
+        rbacCheckAccessRequest.setSessionId( session.getSessionId() );
+        rbacCheckAccessRequest.setObject( perm.getObjName() );
+
+        // objectId is optional
+        if ( StringUtils.isNotEmpty( perm.getObjId() ) )
+        {
+            rbacCheckAccessRequest.setObjectId( perm.getObjId() );
+        }
+
+        rbacCheckAccessRequest.setOperation( perm.getOpName() );
+        return rbacCheckAccessRequest;
+    }
+
+
+    private static AcceleratorPipeline.Operation<Boolean> newCheckAccessOperation( final Permission perm )
+    {
+        return new AcceleratorPipeline.Operation<Boolean>()
+        {
+            @Override
+            public Boolean toResult( ExtendedResponse response )
+            {
+                return isAuthorized( ( RbacCheckAccessResponse ) response );
+            }
+
+
+            @Override
+            public SecurityException toError( LdapException e )
+            {
+                return checkAccessError( perm, e );
+            }
+        };
+    }
+
+
+    private static boolean isAuthorized( RbacCheckAccessResponse rbacCheckAccessResponse )
+    {
+        LOG.debug( "checkAccess result: {}", rbacCheckAccessResponse.getLdapResult().getResultCode() );
+        return rbacCheckAccessResponse.getLdapResult().getResultCode() == ResultCodeEnum.SUCCESS;
+    }
+
 
-        return result;
+    private static SecurityException checkAccessError( Permission perm, LdapException e )
+    {
+        String error = "checkAccess perm obj [" + perm.getObjName() + "], operation [" + perm.getOpName()
+            + "] caught LDAPException=" + " msg=" + e
+                .getMessage();
+        return new SecurityException( GlobalErrIds.ACEL_CHECK_ACCESS_ERR, error, e );
     }
 
 
@@ -221,27 +419,14 @@ final class AcceleratorDAO extends ApacheDsDataProvider
         try
         {
             ld = getAdminConnection();
-            RbacDropRoleRequest dropRoleRequest = new RbacDropRoleRequestImpl();
-            dropRoleRequest.setSessionId( session.getSessionId() );
-            dropRoleRequest.setRole( userRole.getName() );
-            dropRoleRequest.setUserIdentity( userRole.getUserId() );
             // Send the request
             RbacDropRoleResponse rbacDropRoleResponse = ( RbacDropRoleResponse ) ld.extended(
-                dropRoleRequest );
-            LOG.debug( "dropActiveRole result: {}", rbacDropRoleResponse.getLdapResult().getResultCode() );
-
-            if ( rbacDropRoleResponse.getLdapResult().getResultCode() != ResultCodeEnum.SUCCESS )
-            {
-                String info = "dropActiveRole Role [" + userRole.getName() + "] User ["
-                    + session.getUserId() + "], not previously activated.";
-                throw new SecurityException( GlobalErrIds.URLE_NOT_ACTIVE, info );
-            }
+                newDropRoleRequest( session, userRole ) );
+            checkDropRole( session, userRole, rbacDropRoleResponse );
         }
         catch ( LdapException e )
         {
-            String error = "dropActiveRole role name [" + userRole.getName() + "] caught LDAPException=" + " msg=" + e
-                .getMessage();
-            throw new SecurityException( GlobalErrIds.ACEL_DROP_ROLE_ERR, error, e );
+            throw dropRoleError( userRole, e );
         }
         finally
         {
@@ -250,6 +435,69 @@ final class AcceleratorDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Same as {@link #dropActiveRole(Session, UserRole)} but the request is pipelined with others over the
+     * connections of {@link AcceleratorPipeline}, without waiting for the response.
+     *
+     * @param session
+     * @param userRole
+     * @return Future completed once the role is deactivated, or with the SecurityException thrown by
+     * {@link #dropActiveRole(Session, UserRole)}.
+     */
+    Future<Void> dropActiveRoleAsync( final Session session, final UserRole userRole )
+    {
+        return AcceleratorPipeline.getInstance().send( newDropRoleRequest( session, userRole ),
+            new AcceleratorPipeline.Operation<Void>()
+            {
+                @Override
+                public Void toResult( ExtendedResponse response ) throws SecurityException
+                {
+                    checkDropRole( session, userRole, ( RbacDropRoleResponse ) response );
+                    return null;
+                }
+
+
+                @Override
+                public SecurityException toError( LdapException e )
+                {
+                    return dropRoleError( userRole, e );
+                }
+            } );
+    }
+
+
+    private static RbacDropRoleRequest newDropRoleRequest( Session session, UserRole userRole )
+    {
+        RbacDropRoleRequest dropRoleRequest = new RbacDropRoleRequestImpl();
+        dropRoleRequest.setSessionId( session.getSessionId() );
+        dropRoleRequest.setRole( userRole.getName() );
+        dropRoleRequest.setUserIdentity( userRole.getUserId() );
+        return dropRoleRequest;
+    }
+
+
+    private static void checkDropRole( Session session, UserRole userRole, RbacDropRoleResponse rbacDropRoleResponse )
+        throws SecurityException
+    {
+        LOG.debug( "dropActiveRole result: {}", rbacDropRoleResponse.getLdapResult().getResultCode() );
+
+        if ( rbacDropRoleResponse.getLdapResult().getResultCode() != ResultCodeEnum.SUCCESS )
+        {
+            String info = "dropActiveRole Role [" + userRole.getName() + "] User ["
+                + session.getUserId() + "], not previously activated.";
+            throw new SecurityException( GlobalErrIds.URLE_NOT_ACTIVE, info );
+        }
+    }
+
+
+    private static SecurityException dropRoleError( UserRole userRole, LdapException e )
+    {
+        String error = "dropActiveRole role name [" + userRole.getName() + "] caught LDAPException=" + " msg=" + e
+            .getMessage();
+        return new SecurityException( GlobalErrIds.ACEL_DROP_ROLE_ERR, error, e );
+    }
+
+
     /**
      * Activate user role into impl session
      * This function follows the pattern from: {@link org.apache.directory.fortress.core.AccessMgr#addActiveRole(org.apache.directory.fortress.core.model.Session, org.apache.directory.fortress.core.model.UserRole)}.
@@ -267,49 +515,99 @@ final class AcceleratorDAO extends ApacheDsDataProvider
         try
         {
             ld = getAdminConnection();
-            RbacAddRoleRequest addRoleRequest = new RbacAddRoleRequestImpl();
-            addRoleRequest.setSessionId( session.getSessionId() );
-            addRoleRequest.setRole( userRole.getName() );
-            addRoleRequest.setUserIdentity( userRole.getUserId() );
             // Send the request
             RbacAddRoleResponse rbacAddRoleResponse = ( RbacAddRoleResponse ) ld.extended(
-                addRoleRequest );
-            LOG.debug( "addActiveRole result: {}", rbacAddRoleResponse.getLdapResult().getResultCode() );
+                newAddRoleRequest( session, userRole ) );
+            checkAddRole( session, userRole, rbacAddRoleResponse );
+        }
+        catch ( LdapException e )
+        {
+            throw addRoleError( userRole, e );
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+    }
 
-            if ( rbacAddRoleResponse.getLdapResult().getResultCode() != ResultCodeEnum.SUCCESS )
-            {
-                String info;
-                int rc;
 
-                if ( rbacAddRoleResponse.getLdapResult().getResultCode() == ResultCodeEnum.ATTRIBUTE_OR_VALUE_EXISTS )
+    /**
+     * Same as {@link #addActiveRole(Session, UserRole)} but the request is pipelined with others over the
+     * connections of {@link AcceleratorPipeline}, without waiting for the response.
+     *
+     * @param session
+     * @param userRole
+     * @return Future completed once the role is activated, or with the SecurityException thrown by
+     * {@link #addActiveRole(Session, UserRole)}.
+     */
+    Future<Void> addActiveRoleAsync( final Session session, final UserRole userRole )
+    {
+        return AcceleratorPipeline.getInstance().send( newAddRoleRequest( session, userRole ),
+            new AcceleratorPipeline.Operation<Void>()
+            {
+                @Override
+                public Void toResult( ExtendedResponse response ) throws SecurityException
                 {
-                    info = "addActiveRole Role [" + userRole.getName() + "] User ["
-                        + session.getUserId() + "], already activated.";
-                    rc = GlobalErrIds.URLE_ALREADY_ACTIVE;
+                    checkAddRole( session, userRole, ( RbacAddRoleResponse ) response );
+                    return null;
                 }
-                else
+
+
+                @Override
+                public SecurityException toError( LdapException e )
                 {
-                    info = "addActiveRole Role [" + userRole.getName() + "] User ["
-                        + session.getUserId() + "], not authorized for user.";
-                    rc = GlobalErrIds.URLE_ACTIVATE_FAILED;
+                    return addRoleError( userRole, e );
                 }
+            } );
+    }
 
-                throw new SecurityException( rc, info );
-            }
-        }
-        catch ( LdapException e )
-        {
-            String error = "addActiveRole role name [" + userRole.getName() + "] caught LDAPException=" + " msg=" + e
-                .getMessage();
-            throw new SecurityException( GlobalErrIds.ACEL_ADD_ROLE_ERR, error, e );
-        }
-        finally
+
+    private static RbacAddRoleRequest newAddRoleRequest( Session session, UserRole userRole )
+    {
+        RbacAddRoleRequest addRoleRequest = new RbacAddRoleRequestImpl();
+        addRoleRequest.setSessionId( session.getSessionId() );
+        addRoleRequest.setRole( userRole.getName() );
+        addRoleRequest.setUserIdentity( userRole.getUserId() );
+        return addRoleRequest;
+    }
+
+
+    private static void checkAddRole( Session session, UserRole userRole, RbacAddRoleResponse rbacAddRoleResponse )
+        throws SecurityException
+    {
+        LOG.debug( "addActiveRole result: {}", rbacAddRoleResponse.getLdapResult().getResultCode() );
+
+        if ( rbacAddRoleResponse.getLdapResult().getResultCode() != ResultCodeEnum.SUCCESS )
         {
-            closeAdminConnection( ld );
+            String info;
+            int rc;
+
+            if ( rbacAddRoleResponse.getLdapResult().getResultCode() == ResultCodeEnum.ATTRIBUTE_OR_VALUE_EXISTS )
+            {
+                info = "addActiveRole Role [" + userRole.getName() + "] User ["
+                    + session.getUserId() + "], already activated.";
+                rc = GlobalErrIds.URLE_ALREADY_ACTIVE;
+            }
+            else
+            {
+                info = "addActiveRole Role [" + userRole.getName() + "] User ["
+                    + session.getUserId() + "], not authorized for user.";
+                rc = GlobalErrIds.URLE_ACTIVATE_FAILED;
+            }
+
+            throw new SecurityException( rc, info );
         }
     }
 
 
+    private static SecurityException addRoleError( UserRole userRole, LdapException e )
+    {
+        String error = "addActiveRole role name [" + userRole.getName() + "] caught LDAPException=" + " msg=" + e
+            .getMessage();
+        return new SecurityException( GlobalErrIds.ACEL_ADD_ROLE_ERR, error, e );
+    }
+
+
     /**
      * Delete the stored session on impl accelerator server.
      * It uses the {@link RbacDeleteSessionRequest} and {@link RbacDeleteSessionResponse} accelerator APIs.
@@ -395,4 +693,93 @@ final class AcceleratorDAO extends ApacheDsDataProvider
 
         return userRoleList;
     }
+
+
+    /**
+     * Combines the results of the checkAccess requests of a batch, in order.
+     */
+    private static final class CheckAccessFuture implements Future<boolean[]>
+    {
+        private final List<Future<Boolean>> results;
+
+
+        private CheckAccessFuture( List<Future<Boolean>> results )
+        {
+            this.results = results;
+        }
+
+
+        @Override
+        public boolean cancel( boolean mayInterruptIfRunning )
+        {
+            boolean cancelled = false;
+
+            for ( Future<Boolean> result : results )
+            {
+                cancelled |= result.cancel( mayInterruptIfRunning );
+            }
+
+            return cancelled;
+        }
+
+
+        @Override
+        public boolean isCancelled()
+        {
+            for ( Future<Boolean> result : results )
+            {
+                if ( result.isCancelled() )
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+
+        @Override
+        public boolean isDone()
+        {
+            for ( Future<Boolean> result : results )
+            {
+                if ( !result.isDone() )
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        @Override
+        public boolean[] get() throws InterruptedException, ExecutionException
+        {
+            boolean[] values = new boolean[results.size()];
+
+            for ( int i = 0; i < values.length; i++ )
+            {
+                values[i] = results.get( i ).get();
+            }
+
+            return values;
+        }
+
+
+        @Override
+        public boolean[] get( long timeout, TimeUnit unit ) throws InterruptedException, ExecutionException,
+            TimeoutException
+        {
+            long deadline = System.nanoTime() + unit.toNanos( timeout );
+            boolean[] values = new boolean[results.size()];
+
+            for ( int i = 0; i < values.length; i++ )
+            {
+                values[i] = results.get( i ).get( deadline - System.nanoTime(), TimeUnit.NANOSECONDS );
+            }
+
+            return values;
+        }
+    }
 }
@@ -0,0 +1,380 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.message.ExtendedRequest;
+import org.apache.directory.api.ldap.model.message.ExtendedResponse;
+import org.apache.directory.api.util.Strings;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.LdapConnectionConfig;
+import org.apache.directory.ldap.client.api.future.ExtendedFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Sends the RBAC Accelerator extended operations of {@link AcceleratorDAO}'s asynchronous methods.  Rather than
+ * borrowing a pooled connection for each operation and holding it for the round trip, the operations share a small set
+ * of dedicated admin connections, opened outside of the admin pool.  Each request is written with
+ * {@link LdapAsyncConnection#extendedAsync(ExtendedRequest)}, which returns at once, and the ldap client matches the
+ * response to it by message id.  So many requests are outstanding on one connection at a time, i.e. pipelined, and no
+ * thread waits on any of them until the caller asks for the result.
+ * <p/>
+ * The connections, {@code accel.pipeline.connections}, default 2, are opened the first time an asynchronous operation
+ * is called and held for the life of the process.  A connection found closed is replaced.  A response not received
+ * within the ldap client's default timeout fails with an {@link LdapException}, as it would have had it been sent
+ * synchronously.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class AcceleratorPipeline extends ApacheDsDataProvider
+{
+    private static final String CLS_NM = AcceleratorPipeline.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String CONNECTIONS_PARM = "accel.pipeline.connections";
+
+    private final AtomicReferenceArray<LdapAsyncConnection> connections;
+    private final AtomicInteger next = new AtomicInteger();
+
+
+    /**
+     * Lazily creates the pipeline, so that processes that never call the asynchronous operations hold no connections.
+     */
+    private static final class Holder
+    {
+        private static final AcceleratorPipeline INSTANCE = new AcceleratorPipeline();
+    }
+
+
+    private AcceleratorPipeline()
+    {
+        int numConnections = Math.max( Config.getInt( CONNECTIONS_PARM, 2 ), 1 );
+        connections = new AtomicReferenceArray<>( numConnections );
+        LOG.info( "ACCEL PIPELINE connections=[{}]", numConnections );
+    }
+
+
+    /**
+     * @return the pipeline, created on first call.
+     */
+    static AcceleratorPipeline getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    /**
+     * Send an extended request on the next of the shared connections, without waiting for its response.
+     *
+     * @param request contains the extended operation.
+     * @param operation converts the response, or the error, to the result of the Future.
+     * @param <T> type of result.
+     * @return Future completed with the result of the operation, or the SecurityException it threw.
+     */
+    <T> Future<T> send( ExtendedRequest request, Operation<T> operation )
+    {
+        try
+        {
+            return send( nextConnection(), request, operation );
+        }
+        catch ( LdapException e )
+        {
+            LOG.warn( "send could not open a connection, caught LdapException={}", e.getMessage() );
+            return failed( operation, e );
+        }
+    }
+
+
+    /**
+     * Return the result of a request that could not be sent.
+     *
+     * @param operation converts the error to the exception the Future is completed with.
+     * @param e thrown while opening the connection or sending the request.
+     * @param <T> type of result.
+     * @return Future completed with the SecurityException of the operation.
+     */
+    static <T> Future<T> failed( Operation<T> operation, LdapException e )
+    {
+        return new Result<>( operation, e );
+    }
+
+
+    /**
+     * Send an extended request on a given connection, without waiting for its response.  Used to send the requests of
+     * a batch one after the other on the same connection.
+     *
+     * @param ld connection returned by {@link #nextConnection()}.
+     * @param request contains the extended operation.
+     * @param operation converts the response, or the error, to the result of the Future.
+     * @param <T> type of result.
+     * @return Future completed with the result of the operation, or the SecurityException it threw.
+     */
+    <T> Future<T> send( LdapAsyncConnection ld, ExtendedRequest request, Operation<T> operation )
+    {
+        try
+        {
+            return new Result<>( operation, ld, request, ld.extendedAsync( request ) );
+        }
+        catch ( LdapException e )
+        {
+            return new Result<>( operation, e );
+        }
+    }
+
+
+    /**
+     * @return the next of the shared connections, in turn.
+     * @throws LdapException in the event a new connection cannot be opened.
+     */
+    LdapAsyncConnection nextConnection() throws LdapException
+    {
+        int slot = ( next.getAndIncrement() & Integer.MAX_VALUE ) % connections.length();
+        return getConnection( slot );
+    }
+
+
+    /**
+     * @param slot index of the connection.
+     * @return the connection in the slot, replaced if closed.
+     * @throws LdapException in the event a new connection cannot be opened.
+     */
+    private LdapAsyncConnection getConnection( int slot ) throws LdapException
+    {
+        LdapAsyncConnection ld = connections.get( slot );
+
+        if ( ld != null && ld.isConnected() )
+        {
+            return ld;
+        }
+
+        synchronized ( this )
+        {
+            ld = connections.get( slot );
+
+            if ( ld == null || !ld.isConnected() )
+            {
+                if ( ld != null )
+                {
+                    LOG.warn( "getConnection slot [{}] closed, replacing", slot );
+                    closeAdminAsyncConnection( ld );
+                }
+
+                ld = openAdminAsyncConnection();
+                connections.set( slot, ld );
+            }
+
+            return ld;
+        }
+    }
+
+
+    /**
+     * Converts the response of one kind of extended operation, or the ldap error of its request, to a result.
+     *
+     * @param <T> type of result.
+     */
+    interface Operation<T>
+    {
+        /**
+         * @param response decoded by the extended operation's factory.
+         * @return the result of the operation.
+         * @throws SecurityException if the response is a failure.
+         */
+        T toResult( ExtendedResponse response ) throws SecurityException;
+
+
+        /**
+         * @param e thrown while sending the request or waiting for its response.
+         * @return the exception to complete the operation with.
+         */
+        SecurityException toError( LdapException e );
+    }
+
+
+    /**
+     * The result of one extended request.  Its response is waited for, and decoded, on the first call to get.
+     */
+    private static final class Result<T> implements Future<T>
+    {
+        private final Operation<T> operation;
+        private final LdapConnection ld;
+        private final ExtendedRequest request;
+        private final ExtendedFuture future;
+        private volatile boolean done;
+        private T value;
+        private SecurityException error;
+
+
+        private Result( Operation<T> operation, LdapConnection ld, ExtendedRequest request, ExtendedFuture future )
+        {
+            this.operation = operation;
+            this.ld = ld;
+            this.request = request;
+            this.future = future;
+        }
+
+
+        /**
+         * A request that could not be sent.
+         */
+        private Result( Operation<T> operation, LdapException e )
+        {
+            this( operation, null, null, null );
+            error = operation.toError( e );
+            done = true;
+        }
+
+
+        @Override
+        public boolean cancel( boolean mayInterruptIfRunning )
+        {
+            return !done && future.cancel( mayInterruptIfRunning );
+        }
+
+
+        @Override
+        public boolean isCancelled()
+        {
+            return future != null && future.isCancelled();
+        }
+
+
+        @Override
+        public boolean isDone()
+        {
+            // the ldap client's future does not support isDone, the connection forgets it once the response arrives:
+            return done || future.isCancelled() || !ld.doesFutureExistFor( request.getMessageId() );
+        }
+
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException
+        {
+            try
+            {
+                return get( LdapConnectionConfig.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS, true );
+            }
+            catch ( TimeoutException te )
+            {
+                // not thrown when the timeout is the ldap client's:
+                throw new ExecutionException( te );
+            }
+        }
+
+
+        @Override
+        public T get( long timeout, TimeUnit unit ) throws InterruptedException, ExecutionException,
+            TimeoutException
+        {
+            long millis = unit.toMillis( timeout );
+
+            if ( millis >= LdapConnectionConfig.DEFAULT_TIMEOUT )
+            {
+                return get( LdapConnectionConfig.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS, true );
+            }
+
+            return get( millis, TimeUnit.MILLISECONDS, false );
+        }
+
+
+        /**
+         * @param isFinal true if the response is not received once the timeout expires, false if the caller may ask
+         *                again.
+         */
+        private synchronized T get( long timeout, TimeUnit unit, boolean isFinal ) throws InterruptedException,
+            ExecutionException, TimeoutException
+        {
+            if ( !done )
+            {
+                if ( future.isCancelled() )
+                {
+                    throw new ExecutionException( operation.toError( new LdapException( "Request cancelled" ) ) );
+                }
+
+                ExtendedResponse response = ( ExtendedResponse ) future.get( timeout, unit );
+
+                if ( response == null && !isFinal )
+                {
+                    throw new TimeoutException();
+                }
+
+                complete( response );
+            }
+
+            if ( error != null )
+            {
+                throw new ExecutionException( error );
+            }
+
+            return value;
+        }
+
+
+        /**
+         * Decode the response as {@link LdapConnection#extended(ExtendedRequest)} does, and convert it.
+         */
+        private void complete( ExtendedResponse response )
+        {
+            done = true;
+
+            if ( response == null )
+            {
+                ld.abandon( request.getMessageId() );
+                error = operation.toError( new LdapException( "TimeOut occurred" ) );
+                return;
+            }
+
+            if ( Strings.isEmpty( response.getResponseName() ) )
+            {
+                response.setResponseName( request.getRequestName() );
+            }
+
+            try
+            {
+                value = operation.toResult( ld.getCodecService().decorate( response ) );
+            }
+            catch ( SecurityException se )
+            {
+                error = se;
+            }
+            catch ( RuntimeException re )
+            {
+                // e.g. a response of another extended operation, reported as the ldap error it is when sent
+                // synchronously:
+                error = operation.toError( new LdapException( "Response could not be decoded: " + re, re ) );
+            }
+        }
+    }
+}
@@ -20,6 +20,9 @@
 package org.apache.directory.fortress.core.impl;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -27,10 +30,12 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.directory.fortress.core.AccessMgr;
 import org.apache.directory.fortress.core.GlobalErrIds;
 import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.ConstraintUtil;
 import org.apache.directory.fortress.core.model.Permission;
 import org.apache.directory.fortress.core.model.Session;
 import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.Config;
 import org.apache.directory.fortress.core.util.VUtil;
 
 
@@ -77,6 +82,12 @@ public class AccessMgrImpl extends Manageable implements AccessMgr
     private static final String CLS_NM = AccessMgrImpl.class.getName();
     private static final UserP userP = new UserP();
     private static final PermP permP = new PermP();
+    private static final String IS_DECISION_CACHE_PARM = "enable.session.decision.cache";
+    private static final String DECISION_CACHE_TTL_PARM = "session.decision.cache.ttl";
+    private static final String DECISION_CACHE_SIZE_PARM = "session.decision.cache.size";
+    private static final boolean IS_DECISION_CACHE = Config.getBoolean( IS_DECISION_CACHE_PARM, false );
+    private static final long DECISION_CACHE_TTL = Config.getInt( DECISION_CACHE_TTL_PARM, 0 ) * 1000L;
+    private static final int DECISION_CACHE_SIZE = Config.getInt( DECISION_CACHE_SIZE_PARM, 100 );
 
     /**
      * Perform user authentication only.  It does not activate RBAC roles in session but will evaluate
@@ -197,9 +208,262 @@ public class AccessMgrImpl extends Manageable implements AccessMgr
             getFullMethodName( CLS_NM, methodName ) );
         VUtil.assertNotNullOrEmpty( perm.getObjName(), GlobalErrIds.PERM_OBJECT_NULL,
             getFullMethodName( CLS_NM, methodName ) );
+
+        // constraints, i.e. timeout, lockout, begin and end dates, days and times, are validated before every check,
+        // including those answered by the decision cache:
         VUtil.validateConstraints( session, VUtil.ConstraintType.USER, false );
         VUtil.validateConstraints( session, VUtil.ConstraintType.ROLE, false );
-        return permP.checkPermission( session, perm );
+
+        if ( !IS_DECISION_CACHE )
+        {
+            return permP.checkPermission( session, perm );
+        }
+
+        String key = getDecisionKey( perm );
+        Boolean cached = session.getDecision( key );
+
+        if ( cached != null )
+        {
+            permP.auditDecisions( session, Collections.singletonList( perm ), new boolean[] { cached } );
+            return cached;
+        }
+
+        boolean result = permP.checkPermission( session, perm );
+        long ttl = getDecisionTtl( session );
+
+        if ( ttl > 0 )
+        {
+            session.setDecision( key, result, System.currentTimeMillis() + ttl, DECISION_CACHE_SIZE );
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Perform user impl authorization for a list of permissions.  The session's constraints are validated once, before
+     * the session's decision cache is consulted, and the permissions not already in the cache are checked together, see
+     * {@link PermP#checkPermissions(Session, List)}.  A permission that does not exist is not authorized.
+     *
+     * @param session This object must be instantiated by calling {@link AccessMgrImpl#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @param perms each must contain the object, {@link org.apache.directory.fortress.core.model.Permission#objName}, and operation, {@link org.apache.directory.fortress.core.model.Permission#opName}, of permission User is trying to access.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException in the event of data validation failure, security policy violation or DAO error.
+     */
+    @Override
+    public boolean[] checkAccess( Session session, List<Permission> perms )
+        throws SecurityException
+    {
+        String methodName = "checkAccess";
+        assertContext( CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL );
+        VUtil.assertNotNull( perms, GlobalErrIds.PERM_NULL, getFullMethodName( CLS_NM, methodName ) );
+
+        for ( Permission perm : perms )
+        {
+            assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL );
+            VUtil.assertNotNullOrEmpty( perm.getOpName(), GlobalErrIds.PERM_OPERATION_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+            VUtil.assertNotNullOrEmpty( perm.getObjName(), GlobalErrIds.PERM_OBJECT_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+        }
+
+        VUtil.validateConstraints( session, VUtil.ConstraintType.USER, false );
+        VUtil.validateConstraints( session, VUtil.ConstraintType.ROLE, false );
+
+        if ( perms.isEmpty() )
+        {
+            return new boolean[0];
+        }
+
+        if ( !IS_DECISION_CACHE )
+        {
+            return permP.checkPermissions( session, perms );
+        }
+
+        boolean[] results = new boolean[perms.size()];
+        List<Permission> uncached = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Permission> hits = new ArrayList<>();
+        boolean[] hitResults = new boolean[perms.size()];
+
+        for ( int i = 0; i < perms.size(); i++ )
+        {
+            Boolean cached = session.getDecision( getDecisionKey( perms.get( i ) ) );
+
+            if ( cached != null )
+            {
+                results[i] = cached;
+                hitResults[hits.size()] = cached;
+                hits.add( perms.get( i ) );
+            }
+            else
+            {
+                uncached.add( perms.get( i ) );
+                positions.add( i );
+            }
+        }
+
+        if ( !hits.isEmpty() )
+        {
+            permP.auditDecisions( session, hits, Arrays.copyOf( hitResults, hits.size() ) );
+        }
+
+        if ( uncached.isEmpty() )
+        {
+            return results;
+        }
+
+        boolean[] checked = permP.checkPermissions( session, uncached );
+        long ttl = getDecisionTtl( session );
+
+        for ( int i = 0; i < checked.length; i++ )
+        {
+            results[positions.get( i )] = checked[i];
+
+            if ( ttl > 0 )
+            {
+                session.setDecision( getDecisionKey( uncached.get( i ) ), checked[i],
+                    System.currentTimeMillis() + ttl, DECISION_CACHE_SIZE );
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Create a signed token from a session, see {@link SessionTokenUtil}.  The session's constraints are validated
+     * before the token is created, roles whose constraints fail are not carried by it.  Validation is performed on a
+     * copy, the session passed in is not changed.
+     *
+     * @param session This object must be instantiated by calling {@link AccessMgrImpl#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @return String containing the token.
+     * @throws SecurityException in the event of data validation failure or security policy violation.
+     */
+    @Override
+    public String createToken( Session session )
+        throws SecurityException
+    {
+        String methodName = "createToken";
+        assertContext( CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL );
+        VUtil.assertNotNull( session.getUser(), GlobalErrIds.USER_NULL, getFullMethodName( CLS_NM, methodName ) );
+        Session copy = copySession( session );
+        VUtil.validateConstraints( copy, VUtil.ConstraintType.USER, false );
+        VUtil.validateConstraints( copy, VUtil.ConstraintType.ROLE, false );
+        return SessionTokenUtil.createToken( copy, this.contextId );
+    }
+
+
+    /**
+     * Copy what constraint validation reads and changes, the user, its constraint and its activated role lists, so that
+     * roles deactivated and warnings added by the validators do not reach the caller's session.
+     *
+     * @param session contains the user and its activated roles.
+     * @return Session that may be validated without changing the one passed in.
+     */
+    private static Session copySession( Session session )
+    {
+        User user = session.getUser();
+        User userCopy = new User( user.getUserId() );
+        userCopy.setInternalId( user.getInternalId() );
+        userCopy.setDn( user.getDn() );
+        ConstraintUtil.copy( user, userCopy );
+        userCopy.setRoles( new ArrayList<>( user.getRoles() ) );
+        userCopy.setAdminRoles( new ArrayList<>( user.getAdminRoles() ) );
+        Session copy = new Session();
+        copy.copy( session );
+        copy.setUser( userCopy );
+        copy.setWarnings( null );
+        return copy;
+    }
+
+
+    /**
+     * Perform user impl authorization for the session carried by a token.  The activated roles in the token are
+     * trusted, constraints were validated when it was created.
+     *
+     * @param token This value must be obtained by calling {@link AccessMgrImpl#createToken} method before passing into the method.
+     * @param perm  must contain the object, {@link org.apache.directory.fortress.core.model.Permission#objName}, and operation, {@link org.apache.directory.fortress.core.model.Permission#opName}, of permission User is trying to access.
+     * @return True if user has access, false otherwise.
+     * @throws SecurityException in the event the token is invalid or expired, of data validation failure or DAO error.
+     */
+    @Override
+    public boolean checkAccess( String token, Permission perm )
+        throws SecurityException
+    {
+        String methodName = "checkAccess";
+        assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL );
+        VUtil.assertNotNullOrEmpty( token, GlobalErrIds.USER_SESS_NULL, getFullMethodName( CLS_NM, methodName ) );
+        VUtil.assertNotNullOrEmpty( perm.getOpName(), GlobalErrIds.PERM_OPERATION_NULL,
+            getFullMethodName( CLS_NM, methodName ) );
+        VUtil.assertNotNullOrEmpty( perm.getObjName(), GlobalErrIds.PERM_OBJECT_NULL,
+            getFullMethodName( CLS_NM, methodName ) );
+        return permP.checkPermission( SessionTokenUtil.getSession( token, this.contextId ), perm );
+    }
+
+
+    /**
+     * Perform user impl authorization for a list of permissions for the session carried by a token, see
+     * {@link #checkAccess(String, Permission)}.  A permission that does not exist is not authorized.
+     *
+     * @param token This value must be obtained by calling {@link AccessMgrImpl#createToken} method before passing into the method.
+     * @param perms each must contain the object, {@link org.apache.directory.fortress.core.model.Permission#objName}, and operation, {@link org.apache.directory.fortress.core.model.Permission#opName}, of permission User is trying to access.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException in the event the token is invalid or expired, of data validation failure or DAO error.
+     */
+    @Override
+    public boolean[] checkAccess( String token, List<Permission> perms )
+        throws SecurityException
+    {
+        String methodName = "checkAccess";
+        VUtil.assertNotNullOrEmpty( token, GlobalErrIds.USER_SESS_NULL, getFullMethodName( CLS_NM, methodName ) );
+        VUtil.assertNotNull( perms, GlobalErrIds.PERM_NULL, getFullMethodName( CLS_NM, methodName ) );
+
+        for ( Permission perm : perms )
+        {
+            assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL );
+            VUtil.assertNotNullOrEmpty( perm.getOpName(), GlobalErrIds.PERM_OPERATION_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+            VUtil.assertNotNullOrEmpty( perm.getObjName(), GlobalErrIds.PERM_OBJECT_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+        }
+
+        Session session = SessionTokenUtil.getSession( token, this.contextId );
+        return perms.isEmpty() ? new boolean[0] : permP.checkPermissions( session, perms );
+    }
+
+
+    /**
+     * An empty object id is treated as no object id, the same as the permission snapshot, see {@link PermUtil#getPermKey}.
+     *
+     * @param perm contains the object, operation, optional object id and admin flag of the permission.
+     * @return key of the permission within the session's decision cache.
+     */
+    private String getDecisionKey( Permission perm )
+    {
+        return ( perm.isAdmin() ? "ADMIN:" : "" ) + this.contextId + ":"
+            + PermUtil.getPermKey( perm.getObjName(), perm.getOpName(), perm.getObjId() );
+    }
+
+
+    /**
+     * Cached decisions live for the user's timeout constraint, which is in minutes, or for
+     * {@code session.decision.cache.ttl} seconds if that is set and shorter.  Users with neither are not cached.
+     *
+     * @param session contains the user and its timeout constraint.
+     * @return number of milliseconds a decision may be cached, zero if it must not be cached.
+     */
+    private static long getDecisionTtl( Session session )
+    {
+        Integer timeout = session.getUser() != null ? session.getUser().getTimeout() : null;
+        long ttl = timeout != null && timeout > 0 ? timeout * 60000L : 0;
+
+        if ( DECISION_CACHE_TTL > 0 && ( ttl == 0 || DECISION_CACHE_TTL < ttl ) )
+        {
+            ttl = DECISION_CACHE_TTL;
+        }
+
+        return ttl;
     }
 
 
@@ -350,6 +614,7 @@ public class AccessMgrImpl extends Manageable implements AccessMgr
         if ( indx != -1 )
         {
             roles.remove( role );
+            session.clearDecisions();
         }
         else
         {
@@ -0,0 +1,430 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.directory.fortress.core.model.UserAdminRole;
+import org.apache.directory.fortress.core.util.Config;
+
+
+/**
+ * The authority of one activated {@link UserAdminRole}, compiled for the ARBAC URA and PRA checks of
+ * {@link DelAccessMgrImpl}.  Compiling expands the role's user and perm OUs to their descendants and resolves its role
+ * range to the roles it contains, once, so that each later check is a binary search of sorted ids rather than a walk of
+ * the hierarchies.
+ * <p/>
+ * The ids are those of the {@link CompiledHier} snapshots current when the authority was compiled, which are kept
+ * with it.  OUs and roles that are not part of a hierarchy have no id and are kept by name instead.
+ * <p/>
+ * Authorities are kept in memory only, in a concurrent map keyed by tenant and by the OUs and role range of the admin
+ * role, so that sessions activating the same admin role share its authority.  The map belongs to the hierarchy version
+ * of {@link HierUtil#getVersion()} it was created for, and is replaced, along with every authority in it, as soon as
+ * any hierarchy is reloaded or updated.  An authority is also compiled again once it is older than
+ * {@code hier.refresh.interval}, which lets the hierarchies it was compiled from expire.  Finding an authority takes
+ * neither a lock nor a read of the hierarchies.
+ * <p/>
+ * The super admin role, fortress config param {@code superadmin.role}, has authority over every user, perm and role
+ * and is never compiled.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class AdminAuthority
+{
+    private static final String SUPER_ADMIN = Config.getProperty( "superadmin.role", "fortress-core-super-admin" );
+    private static final AdminAuthority SUPER = new AdminAuthority();
+
+    /**
+     * Reads the current hierarchies of a tenant.
+     */
+    interface Hiers
+    {
+        /**
+         * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+         * @return the user OU hierarchy.
+         */
+        CompiledHier getUserOus( String contextId );
+
+
+        /**
+         * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+         * @return the perm OU hierarchy.
+         */
+        CompiledHier getPermOus( String contextId );
+
+
+        /**
+         * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+         * @return the RBAC role hierarchy.
+         */
+        CompiledHier getRoles( String contextId );
+    }
+
+    private static final Hiers HIERS = new Hiers()
+    {
+        @Override
+        public CompiledHier getUserOus( String contextId )
+        {
+            return UsoUtil.getCompiled( contextId );
+        }
+
+
+        @Override
+        public CompiledHier getPermOus( String contextId )
+        {
+            return PsoUtil.getCompiled( contextId );
+        }
+
+
+        @Override
+        public CompiledHier getRoles( String contextId )
+        {
+            return RoleUtil.getCompiled( contextId );
+        }
+    };
+
+    /** The authorities compiled against the current hierarchy version. */
+    private static volatile Cache cache = new Cache( -1 );
+
+    private final Key key;
+    private final long expiration;
+    private final boolean isSuper;
+    private final CompiledHier userOuHier;
+    private final CompiledHier permOuHier;
+    private final CompiledHier roleHier;
+    /** The user OUs of the admin role and their descendants. */
+    private final int[] osUIds;
+    private final Set<String> osUNames;
+    /** The perm OUs of the admin role and their descendants. */
+    private final int[] osPIds;
+    private final Set<String> osPNames;
+    /** The roles within the admin role's range. */
+    private final int[] roleIds;
+    private final Set<String> roleNames;
+
+
+    /**
+     * The authority of the super admin role.
+     */
+    private AdminAuthority()
+    {
+        key = null;
+        expiration = Long.MAX_VALUE;
+        isSuper = true;
+        userOuHier = null;
+        permOuHier = null;
+        roleHier = null;
+        osUIds = null;
+        osUNames = null;
+        osPIds = null;
+        osPNames = null;
+        roleIds = null;
+        roleNames = null;
+    }
+
+
+    private AdminAuthority( UserAdminRole uaRole, String contextId, Hiers hiers )
+    {
+        key = new Key( contextId, uaRole ).copy();
+        expiration = System.currentTimeMillis() + HierUtil.getRefreshInterval();
+        isSuper = false;
+        userOuHier = hiers.getUserOus( contextId );
+        permOuHier = hiers.getPermOus( contextId );
+        roleHier = hiers.getRoles( contextId );
+        osUNames = toUpperCase( uaRole.getOsU() );
+        osUIds = userOuHier.getDescendantIds( osUNames );
+        osPNames = toUpperCase( uaRole.getOsP() );
+        osPIds = permOuHier.getDescendantIds( osPNames );
+        Set<String> range = new HashSet<>();
+        String begin = key.beginRange;
+        String end = key.endRange;
+
+        if ( begin != null && end != null && !begin.equalsIgnoreCase( end ) )
+        {
+            // the roles above begin, up to end, as walked by RoleUtil.getAscendants:
+            range.addAll( toUpperCase( HierUtil.getAscendants( begin, end, key.endInclusive, roleHier.getGraph() ) ) );
+
+            if ( key.beginInclusive )
+            {
+                range.add( begin.toUpperCase() );
+            }
+        }
+        else if ( begin != null )
+        {
+            range.add( begin.toUpperCase() );
+        }
+
+        roleIds = roleHier.toIds( range );
+        roleNames = range;
+    }
+
+
+    /**
+     * Return the authority of an admin role against the current hierarchies of a tenant.  It is compiled on first use
+     * and kept until any hierarchy changes or it is older than the hierarchy refresh interval.
+     *
+     * @param uaRole contains the name, OUs and role range of the admin role.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return the compiled authority.
+     */
+    static AdminAuthority get( UserAdminRole uaRole, String contextId )
+    {
+        return get( uaRole, contextId, HIERS );
+    }
+
+
+    /**
+     * Same as {@link #get(UserAdminRole, String)} but reads the hierarchies it compiles from with the given hiers.
+     *
+     * @param uaRole contains the name, OUs and role range of the admin role.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param hiers reads the current hierarchies of the tenant.
+     * @return the compiled authority.
+     */
+    static AdminAuthority get( UserAdminRole uaRole, String contextId, Hiers hiers )
+    {
+        if ( isSuperAdmin( uaRole ) )
+        {
+            return SUPER;
+        }
+
+        // read before the hierarchies, so an authority is never kept under a version newer than it was compiled from:
+        long version = HierUtil.getVersion();
+        Cache current = cache;
+
+        if ( current.version != version )
+        {
+            current = new Cache( version );
+            cache = current;
+        }
+
+        AdminAuthority authority = current.authorities.get( new Key( contextId, uaRole ) );
+
+        if ( authority == null || authority.isExpired() )
+        {
+            authority = new AdminAuthority( uaRole, contextId, hiers );
+            current.authorities.put( authority.key, authority );
+        }
+
+        return authority;
+    }
+
+
+    /**
+     * @param uaRoles contains the admin roles activated in the administrator's session.
+     * @return true if one of them is the super admin role, which has authority over every user, perm and role.
+     */
+    static boolean isSuperAdmin( List<UserAdminRole> uaRoles )
+    {
+        for ( UserAdminRole uaRole : uaRoles )
+        {
+            if ( isSuperAdmin( uaRole ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    private static boolean isSuperAdmin( UserAdminRole uaRole )
+    {
+        return SUPER_ADMIN.equalsIgnoreCase( uaRole.getName() );
+    }
+
+
+    private boolean isExpired()
+    {
+        return System.currentTimeMillis() > expiration;
+    }
+
+
+    /**
+     * @param ou contains the ou of a user, case insensitive.
+     * @return true if the admin role has authority over users in the ou.
+     */
+    boolean hasUserOu( String ou )
+    {
+        return isSuper || contains( userOuHier, osUIds, osUNames, ou );
+    }
+
+
+    /**
+     * @param ou contains the ou of a perm object, case insensitive.
+     * @return true if the admin role has authority over perm objects in the ou.
+     */
+    boolean hasPermOu( String ou )
+    {
+        return isSuper || contains( permOuHier, osPIds, osPNames, ou );
+    }
+
+
+    /**
+     * @param roleName contains the name of a role, case insensitive.
+     * @return true if the role is within the admin role's range.
+     */
+    boolean hasRole( String roleName )
+    {
+        return isSuper || contains( roleHier, roleIds, roleNames, roleName );
+    }
+
+
+    private static boolean contains( CompiledHier hier, int[] ids, Set<String> names, String name )
+    {
+        return name != null && ( hier.contains( ids, name ) || names.contains( name.toUpperCase() ) );
+    }
+
+
+    private static Set<String> toUpperCase( Collection<String> names )
+    {
+        Set<String> result = new HashSet<>();
+
+        if ( names != null )
+        {
+            for ( String name : names )
+            {
+                result.add( name.toUpperCase() );
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * The authorities compiled against one hierarchy version.
+     */
+    private static final class Cache
+    {
+        private final long version;
+        private final ConcurrentMap<Key, AdminAuthority> authorities = new ConcurrentHashMap<>();
+
+
+        private Cache( long version )
+        {
+            this.version = version;
+        }
+    }
+
+
+    /**
+     * The tenant, OUs and role range an authority is compiled from.  A key made for a lookup refers to the OUs of the
+     * admin role, the key an authority is kept under holds copies.
+     */
+    private static final class Key
+    {
+        private final String contextId;
+        private final Set<String> osU;
+        private final Set<String> osP;
+        private final String beginRange;
+        private final String endRange;
+        private final boolean beginInclusive;
+        private final boolean endInclusive;
+
+
+        private Key( String contextId, UserAdminRole uaRole )
+        {
+            this( contextId, uaRole.getOsU(), uaRole.getOsP(), uaRole.getBeginRange(), uaRole.getEndRange(),
+                uaRole.isBeginInclusive(), uaRole.isEndInclusive() );
+        }
+
+
+        private Key( String contextId, Set<String> osU, Set<String> osP, String beginRange, String endRange,
+            boolean beginInclusive, boolean endInclusive )
+        {
+            this.contextId = contextId;
+            this.osU = osU;
+            this.osP = osP;
+            this.beginRange = beginRange;
+            this.endRange = endRange;
+            this.beginInclusive = beginInclusive;
+            this.endInclusive = endInclusive;
+        }
+
+
+        private Key copy()
+        {
+            return new Key( contextId, copy( osU ), copy( osP ), beginRange, endRange, beginInclusive,
+                endInclusive );
+        }
+
+
+        private static Set<String> copy( Set<String> names )
+        {
+            return names != null ? new HashSet<>( names ) : null;
+        }
+
+
+        @Override
+        public boolean equals( Object o )
+        {
+            if ( this == o )
+            {
+                return true;
+            }
+
+            if ( !( o instanceof Key ) )
+            {
+                return false;
+            }
+
+            Key other = ( Key ) o;
+            return beginInclusive == other.beginInclusive && endInclusive == other.endInclusive
+                && StringUtils.equals( contextId, other.contextId ) && StringUtils.equals( beginRange,
+                other.beginRange ) && StringUtils.equals( endRange, other.endRange ) && isSame( osU, other.osU )
+                && isSame( osP, other.osP );
+        }
+
+
+        @Override
+        public int hashCode()
+        {
+            int result = hash( contextId );
+            result = 31 * result + hash( beginRange );
+            result = 31 * result + hash( endRange );
+            result = 31 * result + ( osU != null ? osU.hashCode() : 0 );
+            result = 31 * result + ( osP != null ? osP.hashCode() : 0 );
+            result = 31 * result + ( beginInclusive ? 1 : 0 );
+            return 31 * result + ( endInclusive ? 1 : 0 );
+        }
+
+
+        private static int hash( String value )
+        {
+            return value != null ? value.hashCode() : 0;
+        }
+
+
+        private static boolean isSame( Set<String> names, Set<String> others )
+        {
+            return names == null ? others == null : names.equals( others );
+        }
+    }
+}
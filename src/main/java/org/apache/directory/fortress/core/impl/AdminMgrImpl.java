@@ -20,8 +20,13 @@
 package org.apache.directory.fortress.core.impl;
 
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.directory.fortress.core.model.AdminRole;
@@ -176,6 +181,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         userP.lock( user );
         // remove the userId attribute from any granted permission operations (if applicable).
         permP.remove( user );
+        clearPermCache( false );
         // remove the user dn occupant attribute from assigned ldap role entities.
         roleP.removeOccupant( userDn, this.contextId );
         // remove the user dn occupant attribute from assigned ldap adminRole entities.
@@ -206,6 +212,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         setEntitySession( CLS_NM, methodName, user );
         // remove the userId attribute from any granted permission operations (if applicable).
         permP.remove( user );
+        clearPermCache( false );
         // remove the user inetOrgPerson object from ldap.
         String userDn = userP.delete( user );
         // remove the user dn occupant attribute from assigned ldap role entities.
@@ -453,6 +460,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
             }
         }
         permP.remove( role );
+        clearPermCache( false );
         // remove all parent relationships from the role graph:
         Set<String> parents = RoleUtil.getParents( role.getName(), this.contextId );
         if ( parents != null )
@@ -584,6 +592,131 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
     }
 
 
+    /**
+     * This command assigns users to roles in bulk.  The result is the same as calling {@link #assignUser(UserRole)}
+     * for each assignment in order, but the work is grouped: each user and each role is read once, the ARBAC and SSD
+     * checks run once per user over all of the roles being assigned to it, and each user and role entry is updated
+     * with a single modify.
+     * <p>
+     * Every assignment is validated before any is applied, so a validation failure leaves the directory unchanged.
+     * A failure while updating the directory may leave the assignments already applied in place.
+     * </p>
+     *
+     * @param uRoles each must contain {@link UserRole#userId} and {@link UserRole#name} and optional {@code Constraints}.
+     * @throws SecurityException in the event of validation or system error.
+     */
+    @Override
+    public void assignUsers( List<UserRole> uRoles ) throws SecurityException
+    {
+        String methodName = "assignUsers";
+        VUtil.assertNotNull( uRoles, GlobalErrIds.URLE_NULL, getFullMethodName( CLS_NM, methodName ) );
+
+        for ( UserRole uRole : uRoles )
+        {
+            assertContext( CLS_NM, methodName, uRole, GlobalErrIds.URLE_NULL );
+            VUtil.assertNotNullOrEmpty( uRole.getUserId(), GlobalErrIds.USER_ID_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+            VUtil.assertNotNullOrEmpty( uRole.getName(), GlobalErrIds.ROLE_NM_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+        }
+
+        // the caller's permission to assignUsers is checked once for the whole batch:
+        setEntitySessions( CLS_NM, methodName, uRoles );
+        // group the assignments by user, in input order, and read every target role once:
+        Map<String, List<UserRole>> userRoles = new LinkedHashMap<>();
+        Map<String, Role> roles = new HashMap<>();
+
+        for ( UserRole uRole : uRoles )
+        {
+            String userKey = uRole.getUserId().toUpperCase();
+            List<UserRole> assignments = userRoles.get( userKey );
+
+            if ( assignments == null )
+            {
+                assignments = new ArrayList<>();
+                userRoles.put( userKey, assignments );
+            }
+
+            assignments.add( uRole );
+            String roleKey = uRole.getName().toUpperCase();
+
+            if ( !roles.containsKey( roleKey ) )
+            {
+                Role role = new Role( uRole.getName() );
+                role.setContextId( this.contextId );
+                roles.put( roleKey, roleP.read( role ) );
+            }
+        }
+
+        // validate every assignment before applying any:
+        for ( List<UserRole> assignments : userRoles.values() )
+        {
+            User user = new User( assignments.get( 0 ).getUserId() );
+            user.setContextId( this.contextId );
+            User ue = userP.read( user, true );
+            Set<String> assigned = new TreeSet<>( String.CASE_INSENSITIVE_ORDER );
+
+            if ( ue.getRoles() != null )
+            {
+                for ( UserRole assignedRole : ue.getRoles() )
+                {
+                    assigned.add( assignedRole.getName() );
+                }
+            }
+
+            List<Role> targets = new ArrayList<>();
+
+            for ( UserRole uRole : assignments )
+            {
+                if ( !assigned.add( uRole.getName() ) )
+                {
+                    String error = methodName + " userId [" + uRole.getUserId() + "] name [" + uRole.getName()
+                        + "] assignment already exists.";
+                    throw new SecurityException( GlobalErrIds.URLE_ASSIGN_EXIST, error );
+                }
+
+                Role validRole = roles.get( uRole.getName().toUpperCase() );
+                // if the input role entity attribute doesn't have temporal constraints set, copy from the role declaration:
+                ConstraintUtil.validateOrCopy( validRole, uRole );
+                targets.add( validRole );
+            }
+
+            AdminUtil.canAssign( assignments.get( 0 ).getAdminSession(), ue, targets, this.contextId );
+            SDUtil.validateSSD( ue, targets, this.contextId );
+        }
+
+        // Assign the Role data to each User, then add every user dn to each role's "roleOccupant" attribute:
+        Map<String, List<String>> occupants = new LinkedHashMap<>();
+
+        for ( List<UserRole> assignments : userRoles.values() )
+        {
+            String dn = userP.assign( assignments );
+
+            for ( UserRole uRole : assignments )
+            {
+                String roleKey = uRole.getName().toUpperCase();
+                List<String> dns = occupants.get( roleKey );
+
+                if ( dns == null )
+                {
+                    dns = new ArrayList<>();
+                    occupants.put( roleKey, dns );
+                }
+
+                dns.add( dn );
+            }
+        }
+
+        for ( Map.Entry<String, List<String>> entry : occupants.entrySet() )
+        {
+            Role role = new Role( roles.get( entry.getKey() ).getName() );
+            role.setContextId( this.contextId );
+            setAdminData( CLS_NM, methodName, role );
+            roleP.assign( role, entry.getValue() );
+        }
+    }
+
+
     /**
      * This command deletes the assignment of the User from the Role entities. The command is
      * valid if and only if the user is a member of the USERS data set, the role is a member of
@@ -655,7 +788,9 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         String methodName = "addPermission";
         assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_OPERATION_NULL );
         setEntitySession( CLS_NM, methodName, perm );
-        return permP.add( perm );
+        Permission newPerm = permP.add( perm );
+        clearPermCache( perm.isAdmin() );
+        return newPerm;
     }
 
 
@@ -694,7 +829,9 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         String methodName = "updatePermission";
         assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_OPERATION_NULL );
         setEntitySession( CLS_NM, methodName, perm );
-        return permP.update( perm );
+        Permission newPerm = permP.update( perm );
+        clearPermCache( perm.isAdmin() );
+        return newPerm;
     }
 
 
@@ -721,6 +858,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_OPERATION_NULL );
         setEntitySession( CLS_NM, methodName, perm );
         permP.delete( perm );
+        clearPermCache( perm.isAdmin() );
     }
 
 
@@ -753,7 +891,9 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         String methodName = "addPermObj";
         assertContext( CLS_NM, methodName, pObj, GlobalErrIds.PERM_OBJECT_NULL );
         setEntitySession( CLS_NM, methodName, pObj );
-        return permP.add( pObj );
+        PermObj newObj = permP.add( pObj );
+        clearPermCache( pObj.isAdmin() );
+        return newObj;
     }
 
 
@@ -786,7 +926,9 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         String methodName = "updatePermObj";
         assertContext( CLS_NM, methodName, pObj, GlobalErrIds.PERM_OBJECT_NULL );
         setEntitySession( CLS_NM, methodName, pObj );
-        return permP.update( pObj );
+        PermObj newObj = permP.update( pObj );
+        clearPermCache( pObj.isAdmin() );
+        return newObj;
     }
 
 
@@ -808,6 +950,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         assertContext( CLS_NM, methodName, pObj, GlobalErrIds.PERM_OBJECT_NULL );
         setEntitySession( CLS_NM, methodName, pObj );
         permP.delete( pObj );
+        clearPermCache( pObj.isAdmin() );
     }
 
 
@@ -851,6 +994,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
             roleP.read( role );
         }
         permP.grant( perm, role );
+        clearPermCache( perm.isAdmin() );
     }
 
 
@@ -884,6 +1028,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
             AdminUtil.canRevoke( perm.getAdminSession(), role, perm, contextId );
         }
         permP.revoke( perm, role );
+        clearPermCache( perm.isAdmin() );
     }
 
 
@@ -916,6 +1061,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         // Ensure the user entity exists:
         userP.read( user, false );
         permP.grant( perm, user );
+        clearPermCache( perm.isAdmin() );
     }
 
 
@@ -945,6 +1091,7 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         setEntitySession( CLS_NM, methodName, perm );
         assertContext( CLS_NM, methodName, user, GlobalErrIds.USER_NULL );
         permP.revoke( perm, user );
+        clearPermCache( perm.isAdmin() );
     }
 
 
@@ -1448,7 +1595,10 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
             // default cardinality == 2
             dsdSet.setCardinality( 2 );
         }
-        return sdP.add( dsdSet );
+        SDSet dsdOut = sdP.add( dsdSet );
+        // add the new DSD to the index of DSD's by role:
+        updateDSDCache( dsdSet );
+        return dsdOut;
     }
 
 
@@ -1487,7 +1637,10 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         assertContext( CLS_NM, methodName, dsdSet, GlobalErrIds.DSD_NULL );
         setEntitySession( CLS_NM, methodName, dsdSet );
         dsdSet.setType( SDSet.SDType.DYNAMIC );
-        return sdP.update( dsdSet );
+        SDSet dsdOut = sdP.update( dsdSet );
+        // replace the old DSD in the index of DSD's by role:
+        updateDSDCache( dsdSet );
+        return dsdOut;
     }
 
 
@@ -1522,8 +1675,8 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         setAdminData( CLS_NM, methodName, entity );
         entity.setContextId( contextId );
         SDSet dsdOut = sdP.update( entity );
-        // remove any references to the old DSD from cache:
-        clearDSDCache( dsdSet );
+        // replace the old DSD in the index of DSD's by role:
+        updateDSDCache( dsdSet );
         return dsdOut;
     }
 
@@ -1564,8 +1717,8 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         }
         setAdminData( CLS_NM, methodName, entity );
         SDSet dsdOut = sdP.update( entity );
-        // remove any references to the old DSD from cache:
-        clearDSDCache( dsdSet );
+        // replace the old DSD in the index of DSD's by role:
+        updateDSDCache( dsdSet );
         return dsdOut;
     }
 
@@ -1589,9 +1742,10 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         assertContext( CLS_NM, methodName, dsdSet, GlobalErrIds.DSD_NULL );
         setEntitySession( CLS_NM, methodName, dsdSet );
         dsdSet.setType( SDSet.SDType.DYNAMIC );
+        SDSet dsdOut = sdP.delete( dsdSet );
         // remove any references to the old DSD from cache:
         clearDSDCache( dsdSet );
-        return sdP.delete( dsdSet );
+        return dsdOut;
     }
 
 
@@ -1622,9 +1776,10 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
         setEntitySession( CLS_NM, methodName, dsdSet );
         dsdSet.setType( SDSet.SDType.DYNAMIC );
         dsdSet.setCardinality( cardinality );
-        // remove any references to the old DSD from cache:
-        clearDSDCache( dsdSet );
-        return sdP.update( dsdSet );
+        SDSet dsdOut = sdP.update( dsdSet );
+        // replace the old DSD in the index of DSD's by role:
+        updateDSDCache( dsdSet );
+        return dsdOut;
     }
 
 
@@ -1638,4 +1793,36 @@ public final class AdminMgrImpl extends Manageable implements AdminMgr
     {
         SDUtil.clearDsdCacheEntry( dsdSet.getName(), contextId );
     }
+
+
+    /**
+     * Replace the DSD in the index of DSD's by role with a fresh copy read from the directory.  Nothing is read if the
+     * index has not been loaded, its first load will find the DSD.
+     *
+     * @param dsdSet contains the name of the DSD that was added or changed.
+     * @throws SecurityException in the event the DSD cannot be read.
+     */
+    private void updateDSDCache( SDSet dsdSet ) throws SecurityException
+    {
+        if ( !SDUtil.prepareDsdUpdate( contextId ) )
+        {
+            return;
+        }
+        SDSet entity = new SDSet();
+        entity.setName( dsdSet.getName() );
+        entity.setType( SDSet.SDType.DYNAMIC );
+        entity.setContextId( contextId );
+        SDUtil.updateDsdCacheEntry( sdP.read( entity ), contextId );
+    }
+
+
+    /**
+     * Clear the local permission snapshot for this tenant so the next checkAccess reloads it.
+     *
+     * @param isAdmin if true the ARBAC permission snapshot is cleared.
+     */
+    private void clearPermCache( boolean isAdmin )
+    {
+        PermUtil.clearCache( contextId, isAdmin );
+    }
 }
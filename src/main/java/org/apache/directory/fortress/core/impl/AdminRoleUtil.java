@@ -20,10 +20,10 @@
 package org.apache.directory.fortress.core.impl;
 
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
@@ -38,22 +38,20 @@ import org.slf4j.LoggerFactory;
 import org.apache.directory.fortress.core.GlobalIds;
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.ValidationException;
-import org.apache.directory.fortress.core.util.cache.Cache;
-import org.apache.directory.fortress.core.util.cache.CacheMgr;
 
 
 /**
  * This utility wraps {@link org.apache.directory.fortress.core.impl.HierUtil} methods to provide hierarchical functionality for the {@link org.apache.directory.fortress.core.model.AdminRole} data set.
- * The child to parent relationships are stored within a data cache, {@link #adminRoleCache}, contained within this class.  The parent-child edges are contained in LDAP,
+ * The child to parent relationships are published as an immutable snapshot by {@link HierUtil#getHier}.  The parent-child edges are contained in LDAP,
  * in {@code ftParents} attribute.  The ldap data is retrieved {@link org.apache.directory.fortress.core.impl.AdminRoleP#getAllDescendants(String)} and loaded into {@code org.jgrapht.graph.SimpleDirectedGraph}.
  * The graph...
  * <ol>
- * <li>is stored as singleton in this class with vertices of {@code String}, and edges, as {@link org.apache.directory.fortress.core.model.Relationship}s</li>
+ * <li>is shared by readers without locking and has vertices of {@code String}, and edges, as {@link org.apache.directory.fortress.core.model.Relationship}s</li>
  * <li>utilizes open source library, see <a href="http://www.jgrapht.org/">JGraphT</a>.</li>
  * <li>contains a general hierarchical data structure i.e. allows multiple inheritance with parents.</li>
  * <li>is a simple directed graph thus does not allow cycles.</li>
  * </ol>
- * After update is performed to ldap, the singleton is refreshed with latest info.
+ * After update is performed to ldap, a modified copy of the graph replaces the snapshot.
  * <p/>
  * Static methods on this class are intended for use by other Fortress classes, i.e. {@link DelAdminMgrImpl} and {@link org.apache.directory.fortress.core.impl.PermDAO}
  * and cannot be directly invoked by outside programs.
@@ -65,20 +63,21 @@ import org.apache.directory.fortress.core.util.cache.CacheMgr;
  */
 final class AdminRoleUtil
 {
-    private static final Cache adminRoleCache;
     private static final AdminRoleP adminRoleP = new AdminRoleP();
     private static final String CLS_NM = AdminRoleUtil.class.getName();
     private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
 
     /**
-     * Initialize the AdminRole hierarchies.  This will read the {@link org.apache.directory.fortress.core.model.Hier} data set from ldap and load into
-     * the JGraphT simple digraph that referenced statically within this class.
+     * Reads the hierarchy from ldap whenever {@link HierUtil} needs to load or refresh this tenant's snapshot.
      */
-    static
+    private static final HierUtil.Loader LOADER = new HierUtil.Loader()
     {
-        CacheMgr cacheMgr = CacheMgr.getInstance();
-        adminRoleCache = cacheMgr.getCache( "fortress.admin.roles" );
-    }
+        @Override
+        public SimpleDirectedGraph<String, Relationship> load( String contextId )
+        {
+            return loadGraph( contextId );
+        }
+    };
 
     /**
      * Private constructor
@@ -118,7 +117,7 @@ final class AdminRoleUtil
      */
     static Set<String> getDescendants( String roleName, String contextId )
     {
-        return HierUtil.getDescendants( roleName, getGraph( contextId ) );
+        return getCompiled( contextId ).getDescendants( roleName );
     }
 
 
@@ -130,7 +129,7 @@ final class AdminRoleUtil
      */
     public static Set<String> getAscendants( String roleName, String contextId )
     {
-        return HierUtil.getAscendants( roleName, getGraph( contextId ) );
+        return getCompiled( contextId ).getAscendants( roleName );
     }
 
 
@@ -179,24 +178,32 @@ final class AdminRoleUtil
      */
     public static Set<String> getInheritedRoles( List<UserAdminRole> uRoles, String contextId )
     {
-        // create Set with case insensitive comparator:
-        Set<String> iRoles = new TreeSet<>( String.CASE_INSENSITIVE_ORDER );
+        if ( CollectionUtils.isEmpty( uRoles ) )
+        {
+            // create Set with case insensitive comparator:
+            return new TreeSet<>( String.CASE_INSENSITIVE_ORDER );
+        }
+        return getCompiled( contextId ).getAscendants( getNames( uRoles ) );
+    }
 
-        if ( CollectionUtils.isNotEmpty( uRoles ) )
+
+    /**
+     * Determine if any of the given roles are activated within, or inherited by, a UserAdminRole list.  Used by
+     * {@link org.apache.directory.fortress.core.impl.PermDAO#checkPermission} to intersect the authorized ARBAC AdminRoles of a
+     * session with the roles granted a permission without materializing the set of inherited role names.
+     *
+     * @param uRoles contains list of roles activated within a {@link org.apache.directory.fortress.core.model.User}'s {@link org.apache.directory.fortress.core.model.Session}.
+     * @param roles contains the role names to look for, i.e. those assigned to a permission.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return true if at least one of the roles is authorized.
+     */
+    static boolean hasInheritedRole( List<UserAdminRole> uRoles, Set<String> roles, String contextId )
+    {
+        if ( CollectionUtils.isEmpty( uRoles ) || CollectionUtils.isEmpty( roles ) )
         {
-            for ( UserAdminRole uRole : uRoles )
-            {
-                String rleName = uRole.getName();
-                iRoles.add( rleName );
-                Set<String> parents = HierUtil.getAscendants( rleName, getGraph( contextId ) );
-
-                if ( CollectionUtils.isNotEmpty( parents ) )
-                {
-                    iRoles.addAll( parents );
-                }
-            }
+            return false;
         }
-        return iRoles;
+        return getCompiled( contextId ).isAscendantOfAny( getNames( uRoles ), roles );
     }
 
 
@@ -235,7 +242,7 @@ final class AdminRoleUtil
      */
     static void updateHier( String contextId, Relationship relationship, Hier.Op op ) throws SecurityException
     {
-        HierUtil.updateHier( getGraph( contextId ), relationship, op );
+        HierUtil.updateHier( getKey( contextId ), contextId, LOADER, relationship, op );
     }
 
 
@@ -266,7 +273,6 @@ final class AdminRoleUtil
         SimpleDirectedGraph<String, Relationship> graph;
 
         graph = HierUtil.buildGraph( hier );
-        adminRoleCache.put( getKey( contextId ), graph );
 
         return graph;
     }
@@ -281,44 +287,34 @@ final class AdminRoleUtil
      */
     private static SimpleDirectedGraph<String, Relationship> getGraph( String contextId )
     {
-        ReadWriteLock hierLock = HierUtil.getLock( contextId, HierUtil.Type.ARLE );
-        String key = getKey( contextId );
+        return getCompiled( contextId ).getGraph();
+    }
 
-        try
-        {
-            hierLock.readLock().lock();
-            SimpleDirectedGraph<String, Relationship> graph = ( SimpleDirectedGraph<String, Relationship> ) adminRoleCache
-                .get( key );
-
-            if ( graph == null )
-            {
-                try
-                {
-                    hierLock.readLock().unlock();
-                    hierLock.writeLock().lock();
-
-                    // TODO: determine why this (code that was commented out) creates a deadlock:
-                    //graph = ( SimpleDirectedGraph<String, Relationship> ) adminRoleCache.get( key );
-
-                    //if ( graph == null )
-                    //{
-                    graph = loadGraph( contextId );
-                    //}
-
-                    hierLock.readLock().lock();
-                }
-                finally
-                {
-                    hierLock.writeLock().unlock();
-                }
-            }
-
-            return graph;
-        }
-        finally
+
+    /**
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return precomputed ascendant and descendant closures of the admin role hierarchies.
+     */
+    private static CompiledHier getCompiled( String contextId )
+    {
+        return HierUtil.getHier( getKey( contextId ), contextId, LOADER );
+    }
+
+
+    /**
+     *
+     * @param uRoles contains the entities to pull names from.
+     * @return List of names.
+     */
+    private static List<String> getNames( List<UserAdminRole> uRoles )
+    {
+        List<String> names = new ArrayList<>( uRoles.size() );
+        for ( UserAdminRole entity : uRoles )
         {
-            hierLock.readLock().unlock();
+            names.add( entity.getName() );
         }
+        return names;
     }
 
 
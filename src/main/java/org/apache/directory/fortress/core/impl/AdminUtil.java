@@ -30,6 +30,8 @@ import org.apache.directory.fortress.core.model.Role;
 import org.apache.directory.fortress.core.model.Session;
 import org.apache.directory.fortress.core.model.User;
 
+import java.util.List;
+
 /**
  * This class supplies static wrapper utilities to provide ARBAC functionality to Fortress internal Manager APIs.
  * The utilities within this class are all static and can not be called by code outside of Fortress.
@@ -74,6 +76,46 @@ final class AdminUtil
         }
     }
 
+    /**
+     * Wrapper function to evaluate can-assign URA for several roles of one user, see
+     * {@link #canAssign(Session, User, Role, String)}.  When the configured DelAccessMgr is {@link DelAccessMgrImpl}
+     * the user that has already been read is used for every role rather than read again.
+     *
+     * @param session This object must be instantiated by calling {@link org.apache.directory.fortress.core.AccessMgr#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @param ue      User entity as read from the directory, requires the userId and ou attributes.
+     * @param roles   Instantiated Role entities require only valid role name attribute set.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @throws org.apache.directory.fortress.core.SecurityException In the event of data validation error (i.e. invalid userId or role name) or system error.
+     */
+    static void canAssign(Session session, User ue, List<Role> roles, String contextId) throws SecurityException
+    {
+        if (session != null)
+        {
+            DelAccessMgr dAccessMgr = DelAccessMgrFactory.createInstance(contextId);
+            Role failed = null;
+            if (dAccessMgr instanceof DelAccessMgrImpl)
+            {
+                failed = ((DelAccessMgrImpl)dAccessMgr).canAssign(session, ue, roles);
+            }
+            else
+            {
+                for (Role role : roles)
+                {
+                    if (!dAccessMgr.canAssign(session, ue, role))
+                    {
+                        failed = role;
+                        break;
+                    }
+                }
+            }
+            if (failed != null)
+            {
+                String warning = "canAssign Role [" + failed.getName() + "] User [" + ue.getUserId() + "] Admin [" + session.getUserId() + "] failed check.";
+                throw new SecurityException(GlobalErrIds.URLE_ADMIN_CANNOT_ASSIGN, warning);
+            }
+        }
+    }
+
     /**
      * Wrapper function to call {@link DelAccessMgrImpl#canDeassign(org.apache.directory.fortress.core.model.Session, org.apache.directory.fortress.core.model.User, org.apache.directory.fortress.core.model.Role)}.
      *
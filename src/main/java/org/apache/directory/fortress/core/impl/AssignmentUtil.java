@@ -0,0 +1,505 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.directory.fortress.core.util.SearchIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * This utility maintains an in-memory index from RBAC role name to the userIds assigned the role, for each tenant.
+ * When enabled with fortress config param {@code enable.role.user.index=true}, {@link UserP} answers the users assigned
+ * a set of roles, as needed by {@link ReviewMgrImpl#authorizedPermissionUsers}, from the index.  Only review calls are
+ * answered from it: the index may lag changes made by other processes, so it assumes this process is the only one
+ * assigning users, or that reviews may be out of date by up to one refresh interval.  Searches that decide access, e.g.
+ * {@link UserDAO#getAuthorizedUsers}, always go to ldap.
+ * <p/>
+ * A tenant's index is loaded by a background thread, shared by all tenants, with one paged search of its people container on first use, calls
+ * made before it completes are answered from ldap.  It is then maintained incrementally by {@link UserP} as users are
+ * assigned, deassigned and deleted within this process, assignments made while it loads are applied once it has.
+ * Changes made by other processes are seen once the index is rebuilt: an index is only used for
+ * {@code role.user.index.refresh.interval} seconds (default 600) after its load, the first call after that starts a
+ * new load and calls are answered from ldap until it completes.
+ * <p/>
+ * The estimated size of each index is limited to {@code role.user.index.max.mb} megabytes (default 64).  An index that
+ * grows past it is dropped and the tenant is answered from ldap until the load is retried, one refresh interval later.
+ * <p/>
+ * Static methods on this class are intended for use by other Fortress classes and cannot be directly invoked by outside programs.
+ * <p/>
+ * This class contains singleton that can be updated but is thread safe.
+ * <p/>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class AssignmentUtil
+{
+    private static final String CLS_NM = AssignmentUtil.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String IS_ENABLED_PARM = "enable.role.user.index";
+    private static final String MAX_MB_PARM = "role.user.index.max.mb";
+    private static final String REFRESH_INTERVAL_PARM = "role.user.index.refresh.interval";
+    private static final boolean IS_ENABLED = Config.getBoolean( IS_ENABLED_PARM, false );
+    private static final long MAX_BYTES = Config.getInt( MAX_MB_PARM, 64 ) * 1024L * 1024L;
+    private static final long REFRESH_INTERVAL = Config.getInt( REFRESH_INTERVAL_PARM, 600 ) * 1000L;
+    /** Estimated bytes used by a role key and its set, excluding the role name. */
+    private static final int ROLE_BYTES = 120;
+    /** Estimated bytes used by one userId in a role's set, excluding the userId itself. */
+    private static final int USER_BYTES = 80;
+
+    private static final ConcurrentMap<String, Index> indexes = new ConcurrentHashMap<>();
+
+    /** Loads the indexes, one at a time, for every tenant and every reload or retry. */
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor( new ThreadFactory()
+    {
+        @Override
+        public Thread newThread( Runnable runnable )
+        {
+            Thread thread = new Thread( runnable, "fortress-role-user-index" );
+            thread.setDaemon( true );
+            return thread;
+        }
+    } );
+
+
+    /**
+     * Private constructor
+     *
+     */
+    private AssignmentUtil()
+    {
+    }
+
+
+    /**
+     * Return true if the role to user index has been enabled in fortress config.
+     *
+     * @return boolean value of {@code enable.role.user.index} param.
+     */
+    static boolean isEnabled()
+    {
+        return IS_ENABLED;
+    }
+
+
+    /**
+     * Return the userIds of the users assigned any of the roles.
+     *
+     * @param roles contains the RBAC role names.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return Set of userIds, null if the tenant's index is not loaded.
+     */
+    static Set<String> getAssignedUsers( Set<String> roles, String contextId )
+    {
+        Index index = getIndex( contextId );
+        return index != null ? index.getUsers( roles ) : null;
+    }
+
+
+    /**
+     * Add the assignment of a user to a role.  Called by UserP after the assignment has been stored.
+     *
+     * @param uRole contains the userId and role name.
+     */
+    static void assign( UserRole uRole )
+    {
+        update( uRole, true );
+    }
+
+
+    /**
+     * Remove the assignment of a user to a role.  Called by UserP after the assignment has been removed.
+     *
+     * @param uRole contains the userId and role name.
+     */
+    static void deassign( UserRole uRole )
+    {
+        update( uRole, false );
+    }
+
+
+    /**
+     * Remove every assignment of a user.  Called by UserP after the user has been deleted.
+     *
+     * @param user contains the userId and its assigned roles as read before it was deleted.
+     */
+    static void remove( User user )
+    {
+        if ( user.getRoles() != null )
+        {
+            for ( UserRole uRole : user.getRoles() )
+            {
+                UserRole deleted = new UserRole( user.getUserId(), uRole.getName() );
+                deleted.setContextId( user.getContextId() );
+                deassign( deleted );
+            }
+        }
+    }
+
+
+    /**
+     * Return the tenant's index, starting its load if this is the first use or the index has expired.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return the loaded index, null if the index is disabled, still loading, expired or over budget.
+     */
+    private static Index getIndex( String contextId )
+    {
+        if ( !IS_ENABLED )
+        {
+            return null;
+        }
+
+        String key = getContextId( contextId );
+        Index index = indexes.get( key );
+
+        if ( index == null )
+        {
+            Index newIndex = new Index( key, MAX_BYTES, REFRESH_INTERVAL );
+            index = indexes.putIfAbsent( key, newIndex );
+
+            if ( index == null )
+            {
+                startLoad( newIndex );
+                return null;
+            }
+        }
+
+        if ( index.isExpired() )
+        {
+            // the first caller to notice replaces the index, changes made from now on are queued on the new one:
+            Index newIndex = new Index( key, MAX_BYTES, REFRESH_INTERVAL );
+            if ( indexes.replace( key, index, newIndex ) )
+            {
+                startLoad( newIndex );
+            }
+            return null;
+        }
+
+        return index.isReady() ? index : null;
+    }
+
+
+    /**
+     * Load an index on the background thread.
+     *
+     * @param index is empty and loading.
+     */
+    private static void startLoad( final Index index )
+    {
+        loader.execute( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                load( index );
+            }
+        } );
+    }
+
+
+    /**
+     * Apply a change of assignment to the tenant's index.  If it has not been created yet there is nothing to update,
+     * its search will see the change.
+     *
+     * @param uRole contains the userId and role name.
+     * @param isAdd true if the assignment was added, false if removed.
+     */
+    private static void update( UserRole uRole, boolean isAdd )
+    {
+        if ( IS_ENABLED )
+        {
+            Index index = indexes.get( getContextId( uRole.getContextId() ) );
+            if ( index != null )
+            {
+                index.update( new Update( uRole.getUserId(), uRole.getName(), isAdd ) );
+            }
+        }
+    }
+
+
+    /**
+     * Fill an index with the role assignments of its tenant.  If the search fails the index is discarded so that the
+     * next use retries.
+     *
+     * @param index is empty and loading.
+     */
+    private static void load( Index index )
+    {
+        long start = System.currentTimeMillis();
+        LOG.info( "load initializing ROLE USER index context [{}]", index.contextId );
+        long users = 0;
+
+        try ( SearchIterator<User> assignments = new UserP().getRoleAssignmentsIterator( index.contextId ) )
+        {
+            while ( assignments.hasNext() && !index.isOverBudget() )
+            {
+                User user = assignments.next();
+                if ( user.getRoles() != null )
+                {
+                    for ( UserRole uRole : user.getRoles() )
+                    {
+                        index.load( user.getUserId(), uRole.getName() );
+                    }
+                }
+                users++;
+            }
+        }
+        catch ( SecurityException se )
+        {
+            LOG.warn( "load context [{}] caught SecurityException={}", index.contextId, se.getMessage() );
+            indexes.remove( index.contextId, index );
+            return;
+        }
+        catch ( RuntimeException re )
+        {
+            LOG.warn( "load context [{}] caught RuntimeException={}", index.contextId, re.getMessage() );
+            indexes.remove( index.contextId, index );
+            return;
+        }
+
+        index.loaded();
+        LOG.info( "load context [{}] users [{}] elapsed [{}] ms", index.contextId, users,
+            System.currentTimeMillis() - start );
+    }
+
+
+    /**
+     *
+     * @param contextId
+     * @return
+     */
+    private static String getContextId( String contextId )
+    {
+        String szContextId = GlobalIds.HOME;
+        if ( StringUtils.isNotEmpty( contextId ) && !contextId.equals( GlobalIds.NULL ) )
+        {
+            szContextId = contextId;
+        }
+        return szContextId;
+    }
+
+
+    /**
+     * The role assignments of one tenant.  Role names are keys in upper case, userIds are compared ignoring case.
+     * While loading, updates are queued and applied in order after the search, which makes them take effect whether or
+     * not the search saw them.  Once loaded, or found over budget, the index expires after its refresh interval.
+     */
+    static final class Index
+    {
+        private final String contextId;
+        private final long maxBytes;
+        private final long refreshInterval;
+        // guarded by this:
+        private Map<String, Set<String>> usersByRole = new HashMap<>();
+        private List<Update> pending = new ArrayList<>();
+        private long bytes;
+        private boolean isOverBudget;
+        private long expiration = Long.MAX_VALUE;
+
+
+        /**
+         * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+         * @param maxBytes contains the estimated size past which the index is dropped.
+         * @param refreshInterval contains the number of milliseconds the index is used once loaded.
+         */
+        Index( String contextId, long maxBytes, long refreshInterval )
+        {
+            this.contextId = contextId;
+            this.maxBytes = maxBytes;
+            this.refreshInterval = refreshInterval;
+        }
+
+
+        synchronized boolean isReady()
+        {
+            return pending == null && !isOverBudget && !isExpired();
+        }
+
+
+        synchronized boolean isOverBudget()
+        {
+            return isOverBudget;
+        }
+
+
+        /**
+         * @return true if the index was loaded, or found over budget, longer than its refresh interval ago.
+         */
+        synchronized boolean isExpired()
+        {
+            return System.currentTimeMillis() > expiration;
+        }
+
+
+        /**
+         * Add an assignment found by the search.
+         */
+        synchronized void load( String userId, String roleName )
+        {
+            if ( !isOverBudget )
+            {
+                add( userId, roleName );
+            }
+        }
+
+
+        /**
+         * Apply the updates queued during the search, after which the index is ready.
+         */
+        synchronized void loaded()
+        {
+            if ( !isOverBudget )
+            {
+                List<Update> updates = pending;
+                pending = null;
+                for ( Update update : updates )
+                {
+                    update( update );
+                }
+            }
+
+            if ( !isOverBudget )
+            {
+                expiration = System.currentTimeMillis() + refreshInterval;
+            }
+        }
+
+
+        /**
+         * Apply or, while loading, queue a change of assignment made in this process.
+         */
+        synchronized void update( Update update )
+        {
+            if ( isOverBudget )
+            {
+                return;
+            }
+            if ( pending != null )
+            {
+                pending.add( update );
+            }
+            else if ( update.isAdd )
+            {
+                add( update.userId, update.roleName );
+            }
+            else
+            {
+                String key = update.roleName.toUpperCase();
+                Set<String> users = usersByRole.get( key );
+                if ( users != null && users.remove( update.userId ) )
+                {
+                    bytes -= USER_BYTES + update.userId.length() * 2;
+                    if ( users.isEmpty() )
+                    {
+                        usersByRole.remove( key );
+                        bytes -= ROLE_BYTES + key.length() * 2;
+                    }
+                }
+            }
+        }
+
+
+        private void add( String userId, String roleName )
+        {
+            String key = roleName.toUpperCase();
+            Set<String> users = usersByRole.get( key );
+            if ( users == null )
+            {
+                users = new TreeSet<>( String.CASE_INSENSITIVE_ORDER );
+                usersByRole.put( key, users );
+                bytes += ROLE_BYTES + key.length() * 2;
+            }
+            if ( users.add( userId ) )
+            {
+                bytes += USER_BYTES + userId.length() * 2;
+            }
+            if ( bytes > maxBytes )
+            {
+                LOG.warn( "add context [{}] ROLE USER index exceeded [{}] bytes, increase {} to enable it", contextId,
+                    maxBytes, MAX_MB_PARM );
+                isOverBudget = true;
+                usersByRole = null;
+                pending = null;
+                // retry the load once the refresh interval has passed:
+                expiration = System.currentTimeMillis() + refreshInterval;
+            }
+        }
+
+
+        synchronized Set<String> getUsers( Set<String> roleNames )
+        {
+            if ( isOverBudget )
+            {
+                return null;
+            }
+            Set<String> userIds = new HashSet<>();
+            for ( String roleName : roleNames )
+            {
+                Set<String> users = usersByRole.get( roleName.toUpperCase() );
+                if ( users != null )
+                {
+                    userIds.addAll( users );
+                }
+            }
+            return userIds;
+        }
+    }
+
+
+    /**
+     * A change of assignment queued while an index loads.
+     */
+    static final class Update
+    {
+        private final String userId;
+        private final String roleName;
+        private final boolean isAdd;
+
+
+        Update( String userId, String roleName, boolean isAdd )
+        {
+            this.userId = userId;
+            this.roleName = roleName;
+            this.isAdd = isAdd;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.directory.fortress.core.AsyncAccelMgr;
+import org.apache.directory.fortress.core.GlobalErrIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Permission;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.VUtil;
+
+
+/**
+ * Implementation class of {@link AsyncAccelMgr}.  Validates input as {@link AccelMgrImpl} does and sends the RBAC
+ * Accelerator extended operations through the pipelined connections of {@link AcceleratorDAO}.
+ * <p/>
+ * This class is NOT thread safe if parent instance variables ({@link #contextId} or {@link #adminSess}) are set.
+ * <p/>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AsyncAccelMgrImpl extends Manageable implements AsyncAccelMgr
+{
+    private static final String CLS_NM = AsyncAccelMgrImpl.class.getName();
+    private static final AcceleratorDAO aDao = new AcceleratorDAO();
+
+
+    /**
+     * package private constructor ensures outside classes must use factory: {@link org.apache.directory.fortress.core.AccelMgrFactory}
+     */
+    public AsyncAccelMgrImpl()
+    {
+    }
+
+
+    /**
+     * Authenticate the user and create a session on the RBAC server, without waiting for the response.  As with
+     * {@link AccelMgrImpl#createSession(User, boolean)}, {@code isTrusted} is not sent to the RBAC server, which always
+     * checks the password.
+     *
+     * @param user Contains {@link User#userId}, {@link User#password}, optional {@link User#roles}.
+     * @param isTrusted is ignored, the password is always required.
+     * @return Future of the Session, containing the sessionId stored on the RBAC server.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    @Override
+    public Future<Session> createSession( User user, boolean isTrusted )
+        throws SecurityException
+    {
+        String methodName = "createSession";
+        assertContext( CLS_NM, methodName, user, GlobalErrIds.USER_NULL );
+        return aDao.createSessionAsync( user );
+    }
+
+
+    /**
+     * Perform user RBAC authorization, without waiting for the response.
+     *
+     * @param session This object must be instantiated by calling {@link #createSession} method before passing into the method.
+     * @param perm must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return Future of True if user has access, false otherwise.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    @Override
+    public Future<Boolean> checkAccess( Session session, Permission perm )
+        throws SecurityException
+    {
+        String methodName = "checkAccess";
+        assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL );
+        assertContext( CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL );
+        VUtil.assertNotNullOrEmpty( perm.getOpName(), GlobalErrIds.PERM_OPERATION_NULL, getFullMethodName( CLS_NM,
+            methodName ) );
+        VUtil.assertNotNullOrEmpty( perm.getObjName(), GlobalErrIds.PERM_OBJECT_NULL, getFullMethodName( CLS_NM,
+            methodName ) );
+        return aDao.checkAccessAsync( session, perm );
+    }
+
+
+    /**
+     * Perform user RBAC authorization for a list of permissions, sending every request before waiting for any response.
+     *
+     * @param session This object must be instantiated by calling {@link #createSession} method before passing into the method.
+     * @param perms each must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return Future of the decisions, in the same order as the permissions.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    @Override
+    public Future<boolean[]> checkAccess( Session session, List<Permission> perms )
+        throws SecurityException
+    {
+        String methodName = "checkAccess";
+        assertContext( CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL );
+        VUtil.assertNotNull( perms, GlobalErrIds.PERM_NULL, getFullMethodName( CLS_NM, methodName ) );
+
+        for ( Permission perm : perms )
+        {
+            assertContext( CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL );
+            VUtil.assertNotNullOrEmpty( perm.getOpName(), GlobalErrIds.PERM_OPERATION_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+            VUtil.assertNotNullOrEmpty( perm.getObjName(), GlobalErrIds.PERM_OBJECT_NULL,
+                getFullMethodName( CLS_NM, methodName ) );
+        }
+
+        return aDao.checkAccessAsync( session, perms );
+    }
+
+
+    /**
+     * Activate a role into the session, without waiting for the response.
+     *
+     * @param session object contains the user's returned RBAC session from the createSession method.
+     * @param role object contains the role name, {@link UserRole#name}, to be activated into session.
+     * @return Future completed once the role is activated.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    @Override
+    public Future<Void> addActiveRole( Session session, UserRole role )
+        throws SecurityException
+    {
+        String methodName = "addActiveRole";
+        assertContext( CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL );
+        assertContext( CLS_NM, methodName, role, GlobalErrIds.ROLE_NULL );
+        VUtil.assertNotNullOrEmpty( role.getUserId(), GlobalErrIds.USER_ID_NULL,
+            getFullMethodName( CLS_NM, methodName ) );
+        VUtil.assertNotNullOrEmpty( role.getName(), GlobalErrIds.ROLE_NM_NULL, getFullMethodName( CLS_NM,
+            methodName ) );
+        return aDao.addActiveRoleAsync( session, role );
+    }
+
+
+    /**
+     * Deactivate a role from the session, without waiting for the response.
+     *
+     * @param session object contains the user's returned RBAC session from the createSession method.
+     * @param role object contains the role name, {@link UserRole#name}, to be deactivated.
+     * @return Future completed once the role is deactivated.
+     * @throws SecurityException in the event of data validation failure.
+     */
+    @Override
+    public Future<Void> dropActiveRole( Session session, UserRole role )
+        throws SecurityException
+    {
+        String methodName = "dropActiveRole";
+        assertContext( CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL );
+        assertContext( CLS_NM, methodName, role, GlobalErrIds.ROLE_NULL );
+        VUtil.assertNotNullOrEmpty( role.getUserId(), GlobalErrIds.USER_ID_NULL,
+            getFullMethodName( CLS_NM, methodName ) );
+        VUtil.assertNotNullOrEmpty( role.getName(), GlobalErrIds.ROLE_NM_NULL, getFullMethodName( CLS_NM,
+            methodName ) );
+        return aDao.dropActiveRoleAsync( session, role );
+    }
+}
@@ -32,10 +32,11 @@ import org.apache.directory.api.ldap.model.exception.LdapException;
 import org.apache.directory.api.ldap.model.exception.LdapInvalidAttributeValueException;
 import org.apache.directory.api.ldap.model.message.SearchScope;
 import org.apache.directory.fortress.core.model.AuthZ;
+import org.apache.directory.fortress.core.model.AuthZSummary;
 import org.apache.directory.fortress.core.model.Bind;
 import org.apache.directory.fortress.core.model.Mod;
 import org.apache.directory.fortress.core.model.UserAudit;
-import org.apache.directory.fortress.core.util.AuditUtil;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.time.TUtil;
 import org.apache.directory.ldap.client.api.LdapConnection;
 import org.apache.directory.fortress.core.FinderException;
@@ -160,6 +161,7 @@ final class AuditDAO extends ApacheDsDataProvider
     private static final String ACCESS_MOD_CLASS_NM = "auditModify";
     private static final String ACCESS_ADD_CLASS_NM = "auditAdd";
     private static final String AUDIT_ROOT = "audit.root";
+    private static final String AUDIT_ROOT_DN = Config.getProperty( AUDIT_ROOT );
 
     private static final String[] AUDIT_AUTHZ_ATRS =
         {
@@ -181,6 +183,33 @@ final class AuditDAO extends ApacheDsDataProvider
             OBJECTCLASS, REQUAUTHZID, REQDN, REQEND, REQRESULT, REQSESSION, REQSTART, REQTYPE, REQMOD
     };
 
+    private static final String[] AUDIT_AUTHZ_SUMMARY_ATRS =
+        {
+            REQUAUTHZID, REQDN, REQEND
+    };
+
+    private final EntryMapper<AuthZ> authZMapper = new EntryMapper<AuthZ>()
+    {
+        @Override
+        public AuthZ map( Entry entry, long sequence ) throws LdapException
+        {
+            return getAuthzEntityFromLdapEntry( entry, sequence );
+        }
+    };
+
+    private final EntryMapper<AuthZ> authZSummaryMapper = new EntryMapper<AuthZ>()
+    {
+        @Override
+        public AuthZ map( Entry entry, long sequence ) throws LdapException
+        {
+            AuthZ authZ = new ObjectFactory().createAuthZ();
+            authZ.setReqAuthzID( getAttribute( entry, REQUAUTHZID ) );
+            authZ.setReqDN( getAttribute( entry, REQDN ) );
+            authZ.setReqEnd( getAttribute( entry, REQEND ) );
+            return authZ;
+        }
+    };
+
 
     /**
      * This method returns failed authentications where the userid is not present in the directory.  This
@@ -225,64 +254,18 @@ final class AuditDAO extends ApacheDsDataProvider
     {
         List<AuthZ> auditList = new ArrayList<>();
         LdapConnection ld = null;
-        String auditRoot = Config.getProperty( AUDIT_ROOT );
-        String userRoot = Config.getProperty( GlobalIds.USER_ROOT );
 
         try
         {
-            // use wildcard for user if not passed in:
-            //reqDN: uid=foo,ou=People,dc=jts,dc=com
-            //(&
-            //  (objectclass=auditSearch)
-            //      (reqDN=uid=*,ou=People,dc=jts,dc=com)
-            //      (reqAuthzID=cn=Manager,dc=jts,dc=com)
-            //      (reqEntries=0)
-            // )
-
-            String filter = GlobalIds.FILTER_PREFIX + ACCESS_AUTHZ_CLASS_NM + ")(";
-            String userId;
-
-            if ( StringUtils.isNotEmpty( audit.getUserId() ) )
-            {
-                userId = audit.getUserId();
-                filter += REQDN + "=" + SchemaConstants.UID_AT + "=" + userId + "," + userRoot + ")(" +
-                    REQUAUTHZID + "=" + "cn=Manager," + Config.getProperty( GlobalIds.SUFFIX ) + ")";
-            }
-            else
-            {
-                // pull back all failed authN attempts for all users:
-                filter += REQATTR + "=" + SchemaConstants.UID_AT + ")(" +
-                    REQUAUTHZID + "=" + "cn=Manager," + Config.getProperty( GlobalIds.SUFFIX ) + ")";
-            }
-
-            if ( audit.isFailedOnly() )
-            {
-                filter += "(" + REQENTRIES + "=" + 0 + ")";
-            }
-
-            if ( audit.getBeginDate() != null )
-            {
-                String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
-                filter += "(" + REQEND + ">=" + szTime + ")";
-            }
-
-            filter += ")";
-
-            //log.warn("filter=" + filter);
+            String filter = getInvalidAuthNsFilter( audit );
             ld = getLogConnection();
-            SearchCursor searchResults = search( ld, auditRoot,
+            SearchCursor searchResults = search( ld, AUDIT_ROOT_DN,
                 SearchScope.ONELEVEL, filter, AUDIT_AUTHZ_ATRS, false, GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
             while ( searchResults.next() )
             {
-                AuthZ authZ = getAuthzEntityFromLdapEntry( searchResults.getEntry(), sequence++ );
-                // todo: fix this workaround. This search will return failed role assign searches as well.  
-                // Work around is to remove the ou=People failed searches from user failed searches on authN.
-                if ( !AuditUtil.getAuthZId( authZ.getReqDN() ).equalsIgnoreCase( "People" ) )
-                {
-                    auditList.add( authZ );
-                }
+                auditList.add( getAuthzEntityFromLdapEntry( searchResults.getEntry(), sequence++ ) );
             }
         }
         catch ( LdapException e )
@@ -304,6 +287,79 @@ final class AuditDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Same as {@link #searchInvalidAuthNs(UserAudit)} but without limit on the number of events, which are read a
+     * page at a time.
+     *
+     * @param audit
+     * @return
+     * @throws FinderException
+     */
+    SearchIterator<AuthZ> searchInvalidAuthNsIterator( UserAudit audit ) throws FinderException
+    {
+        try
+        {
+            return searchLogIterator( AUDIT_ROOT_DN, SearchScope.ONELEVEL, getInvalidAuthNsFilter( audit ),
+                AUDIT_AUTHZ_ATRS, GlobalErrIds.AUDT_AUTHN_INVALID_FAILED, authZMapper );
+        }
+        catch ( LdapException e )
+        {
+            String error = "searchInvalidAuthNsIterator caught LdapException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_AUTHN_INVALID_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "searchInvalidAuthNsIterator caught CursorException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_AUTHN_INVALID_FAILED, error, e );
+        }
+    }
+
+
+    /**
+     * @param audit
+     * @return the filter matching the failed reads of users by the fortress admin.
+     */
+    private String getInvalidAuthNsFilter( UserAudit audit )
+    {
+        String userRoot = getRootDn( audit.getContextId(), GlobalIds.USER_ROOT );
+        // use wildcard for user if not passed in:
+        //reqDN: uid=foo,ou=People,dc=jts,dc=com
+        //(&
+        //  (objectclass=auditSearch)
+        //      (reqDN=uid=*,ou=People,dc=jts,dc=com)
+        //      (reqAuthzID=cn=Manager,dc=jts,dc=com)
+        //      (reqEntries=0)
+        // )
+
+        String filter = GlobalIds.FILTER_PREFIX + ACCESS_AUTHZ_CLASS_NM + ")(";
+        String userId;
+
+        if ( StringUtils.isNotEmpty( audit.getUserId() ) )
+        {
+            userId = audit.getUserId();
+            filter += REQDN + "=" + SchemaConstants.UID_AT + "=" + userId + "," + userRoot + ")(" +
+                REQUAUTHZID + "=" + "cn=Manager," + Config.getProperty( GlobalIds.SUFFIX ) + ")";
+        }
+        else
+        {
+            // pull back all failed authN attempts for all users:
+            filter += REQATTR + "=" + SchemaConstants.UID_AT + ")(" +
+                REQUAUTHZID + "=" + "cn=Manager," + Config.getProperty( GlobalIds.SUFFIX ) + ")";
+            // This search also returns the failed role assign searches of the people container, leave them out:
+            filter += "(!(" + REQDN + "=" + userRoot + "))";
+        }
+
+        if ( audit.isFailedOnly() )
+        {
+            filter += "(" + REQENTRIES + "=" + 0 + ")";
+        }
+
+        filter += getTimeFilter( audit );
+        filter += ")";
+        return filter;
+    }
+
+
     /**
      * @param audit
      * @return
@@ -314,7 +370,6 @@ final class AuditDAO extends ApacheDsDataProvider
     {
         List<AuthZ> auditList = new ArrayList<>();
         LdapConnection ld = null;
-        String auditRoot = Config.getProperty( AUDIT_ROOT );
         String permRoot = getRootDn( audit.isAdmin(), audit.getContextId() );
         String userRoot = getRootDn( audit.getContextId(), GlobalIds.USER_ROOT );
 
@@ -331,17 +386,12 @@ final class AuditDAO extends ApacheDsDataProvider
                 filter += "(" + REQRESULT + "=" + GlobalIds.AUTHZ_COMPARE_FAILURE_FLAG + ")";
             }
 
-            if ( audit.getBeginDate() != null )
-            {
-                String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
-                filter += "(" + REQEND + ">=" + szTime + ")";
-            }
-
+            filter += getTimeFilter( audit );
             filter += ")";
 
             //System.out.println("filter=" + filter);
             ld = getLogConnection();
-            SearchCursor searchResults = search( ld, auditRoot,
+            SearchCursor searchResults = search( ld, AUDIT_ROOT_DN,
                 SearchScope.ONELEVEL, filter, AUDIT_AUTHZ_ATRS, false, GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -396,42 +446,13 @@ final class AuditDAO extends ApacheDsDataProvider
     {
         List<AuthZ> auditList = new ArrayList<>();
         LdapConnection ld = null;
-        String auditRoot = Config.getProperty( AUDIT_ROOT );
-        String userRoot = getRootDn( audit.getContextId(), GlobalIds.USER_ROOT );
 
         try
         {
-            String filter = GlobalIds.FILTER_PREFIX + ACCESS_AUTHZ_CLASS_NM + ")(";
-
-            if ( audit.getUserId() != null && audit.getUserId().length() > 0 )
-            {
-                filter += REQUAUTHZID + "=" + SchemaConstants.UID_AT + "=" + audit.getUserId() + "," + userRoot + ")";
-            }
-            else
-            {
-                // have to limit the query to only authorization entries.
-                // TODO: determine why the cn=Manager user is showing up in this search:
-                filter += REQUAUTHZID + "=*)(!(" + REQUAUTHZID + "=cn=Manager," + Config.getProperty( GlobalIds.SUFFIX )
-                    + "))";
-
-                // TODO: fix this so filter by only the Fortress AuthZ entries and not the others:
-                if ( audit.isFailedOnly() )
-                {
-                    filter += "(" + REQRESULT + "=" + GlobalIds.AUTHZ_COMPARE_FAILURE_FLAG + ")";
-                }
-            }
-
-            if ( audit.getBeginDate() != null )
-            {
-                String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
-                filter += "(" + REQEND + ">=" + szTime + ")";
-            }
-
-            filter += ")";
-
+            String filter = getAllAuthZsFilter( audit );
             //log.warn("filter=" + filter);
             ld = getLogConnection();
-            SearchCursor searchResults = search( ld, auditRoot,
+            SearchCursor searchResults = search( ld, AUDIT_ROOT_DN,
                 SearchScope.ONELEVEL, filter, AUDIT_AUTHZ_ATRS, false, GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -460,61 +481,119 @@ final class AuditDAO extends ApacheDsDataProvider
 
 
     /**
+     * Same as {@link #getAllAuthZs(UserAudit)} but without limit on the number of events, which are read a page at a
+     * time.
+     *
      * @param audit
      * @return
-     * @throws org.apache.directory.fortress.core.FinderException
-     *
+     * @throws FinderException
      */
-    List<Bind> searchBinds( UserAudit audit ) throws FinderException
+    SearchIterator<AuthZ> getAllAuthZsIterator( UserAudit audit ) throws FinderException
     {
-        List<Bind> auditList = new ArrayList<>();
-        LdapConnection ld = null;
-        String auditRoot = Config.getProperty( AUDIT_ROOT );
-        String userRoot = getRootDn( audit.getContextId(), GlobalIds.USER_ROOT );
-
         try
         {
-            String filter;
+            return searchLogIterator( AUDIT_ROOT_DN, SearchScope.ONELEVEL, getAllAuthZsFilter( audit ),
+                AUDIT_AUTHZ_ATRS, GlobalErrIds.AUDT_AUTHZ_SEARCH_FAILED, authZMapper );
+        }
+        catch ( LdapException e )
+        {
+            String error = "getAllAuthZsIterator caught LdapException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_AUTHZ_SEARCH_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "getAllAuthZsIterator caught CursorException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_AUTHZ_SEARCH_FAILED, error, e );
+        }
+    }
+
+
+    /**
+     * Count the authorization events selected as by {@link #getAllAuthZs(UserAudit)}, by user, permission and hour.
+     * Only the attributes counted are read, a page at a time, and each event is discarded once counted.
+     *
+     * @param audit
+     * @return
+     * @throws FinderException
+     */
+    AuthZSummary getAuthZSummary( UserAudit audit ) throws FinderException
+    {
+        AuthZSummary summary = new AuthZSummary();
 
-            if ( audit.getUserId() != null && audit.getUserId().length() > 0 )
+        try ( SearchIterator<AuthZ> authZs = searchLogIterator( AUDIT_ROOT_DN, SearchScope.ONELEVEL,
+            getAllAuthZsFilter( audit ), AUDIT_AUTHZ_SUMMARY_ATRS, GlobalErrIds.AUDT_AUTHZ_SEARCH_FAILED,
+            authZSummaryMapper ) )
+        {
+            while ( authZs.hasNext() )
             {
-                filter = GlobalIds.FILTER_PREFIX + ACCESS_BIND_CLASS_NM + ")(" +
-                    REQDN + "=" + SchemaConstants.UID_AT + "=" + audit.getUserId() + "," + userRoot + ")";
+                summary.add( authZs.next() );
+            }
+        }
+        catch ( LdapException e )
+        {
+            String error = "getAuthZSummary caught LdapException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_AUTHZ_SEARCH_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "getAuthZSummary caught CursorException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_AUTHZ_SEARCH_FAILED, error, e );
+        }
 
-                if ( audit.isFailedOnly() )
-                {
-                    filter += "(" + REQRESULT + ">=" + 1 + ")";
-                }
+        return summary;
+    }
 
-                if ( audit.getBeginDate() != null )
-                {
-                    String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
-                    filter += "(" + REQEND + ">=" + szTime + ")";
-                }
 
-                filter += ")";
-            }
-            else
-            {
-                filter = GlobalIds.FILTER_PREFIX + ACCESS_BIND_CLASS_NM + ")";
+    /**
+     * @param audit
+     * @return the filter matching the authorization events of a user, or of every user.
+     */
+    private String getAllAuthZsFilter( UserAudit audit )
+    {
+        String userRoot = getRootDn( audit.getContextId(), GlobalIds.USER_ROOT );
+        String filter = GlobalIds.FILTER_PREFIX + ACCESS_AUTHZ_CLASS_NM + ")(";
 
-                if ( audit.isFailedOnly() )
-                {
-                    filter += "(" + REQRESULT + ">=" + 1 + ")";
-                }
+        if ( audit.getUserId() != null && audit.getUserId().length() > 0 )
+        {
+            filter += REQUAUTHZID + "=" + SchemaConstants.UID_AT + "=" + audit.getUserId() + "," + userRoot + ")";
+        }
+        else
+        {
+            // have to limit the query to only authorization entries.
+            // TODO: determine why the cn=Manager user is showing up in this search:
+            filter += REQUAUTHZID + "=*)(!(" + REQUAUTHZID + "=cn=Manager," + Config.getProperty( GlobalIds.SUFFIX )
+                + "))";
+        }
 
-                if ( audit.getBeginDate() != null )
-                {
-                    String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
-                    filter += "(" + REQEND + ">=" + szTime + ")";
-                }
+        // TODO: fix this so filter by only the Fortress AuthZ entries and not the others:
+        if ( audit.isFailedOnly() )
+        {
+            filter += "(" + REQRESULT + "=" + GlobalIds.AUTHZ_COMPARE_FAILURE_FLAG + ")";
+        }
 
-                filter += ")";
-            }
+        filter += getTimeFilter( audit );
+        filter += ")";
+        return filter;
+    }
+
+
+    /**
+     * @param audit
+     * @return
+     * @throws org.apache.directory.fortress.core.FinderException
+     *
+     */
+    List<Bind> searchBinds( UserAudit audit ) throws FinderException
+    {
+        List<Bind> auditList = new ArrayList<>();
+        LdapConnection ld = null;
 
+        try
+        {
+            String filter = getBindsFilter( audit );
             //log.warn("filter=" + filter);
             ld = getLogConnection();
-            SearchCursor searchResults = search( ld, auditRoot,
+            SearchCursor searchResults = search( ld, AUDIT_ROOT_DN,
                 SearchScope.ONELEVEL, filter, AUDIT_BIND_ATRS, false, GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -542,6 +621,66 @@ final class AuditDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Same as {@link #searchBinds(UserAudit)} but without limit on the number of events, which are read a page at a
+     * time.
+     *
+     * @param audit
+     * @return
+     * @throws FinderException
+     */
+    SearchIterator<Bind> searchBindsIterator( UserAudit audit ) throws FinderException
+    {
+        try
+        {
+            return searchLogIterator( AUDIT_ROOT_DN, SearchScope.ONELEVEL, getBindsFilter( audit ), AUDIT_BIND_ATRS,
+                GlobalErrIds.AUDT_BIND_SEARCH_FAILED, new EntryMapper<Bind>()
+                {
+                    @Override
+                    public Bind map( Entry entry, long sequence ) throws LdapException
+                    {
+                        return getBindEntityFromLdapEntry( entry, sequence );
+                    }
+                } );
+        }
+        catch ( LdapException e )
+        {
+            String error = "searchBindsIterator caught LdapException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_BIND_SEARCH_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "searchBindsIterator caught CursorException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_BIND_SEARCH_FAILED, error, e );
+        }
+    }
+
+
+    /**
+     * @param audit
+     * @return the filter matching the binds of a user, or of every user.
+     */
+    private String getBindsFilter( UserAudit audit )
+    {
+        String userRoot = getRootDn( audit.getContextId(), GlobalIds.USER_ROOT );
+        String filter = GlobalIds.FILTER_PREFIX + ACCESS_BIND_CLASS_NM + ")";
+
+        if ( audit.getUserId() != null && audit.getUserId().length() > 0 )
+        {
+            filter += "(" + REQDN + "=" + SchemaConstants.UID_AT + "=" + audit.getUserId() + "," + userRoot + ")";
+        }
+
+        if ( audit.isFailedOnly() )
+        {
+            filter += "(" + REQRESULT + ">=" + 1 + ")";
+        }
+
+        filter += getTimeFilter( audit );
+        filter += ")";
+        return filter;
+    }
+
+
     /**
      * @param audit
      * @return
@@ -552,25 +691,17 @@ final class AuditDAO extends ApacheDsDataProvider
     {
         List<Mod> modList = new ArrayList<>();
         LdapConnection ld = null;
-        String auditRoot = Config.getProperty( AUDIT_ROOT );
-
         String userRoot = getRootDn( audit.getContextId(), GlobalIds.USER_ROOT );
 
         try
         {
             String filter = GlobalIds.FILTER_PREFIX + ACCESS_MOD_CLASS_NM + ")(" +
                 REQDN + "=" + SchemaConstants.UID_AT + "=" + audit.getUserId() + "," + userRoot + ")";
-
-            if ( audit.getBeginDate() != null )
-            {
-                String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
-                filter += "(" + REQEND + ">=" + szTime + ")";
-            }
-
+            filter += getTimeFilter( audit );
             filter += ")";
             //log.warn("filter=" + filter);
             ld = getLogConnection();
-            SearchCursor searchResults = search( ld, auditRoot,
+            SearchCursor searchResults = search( ld, AUDIT_ROOT_DN,
                 SearchScope.ONELEVEL, filter, AUDIT_MOD_ATRS, false, GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -607,60 +738,13 @@ final class AuditDAO extends ApacheDsDataProvider
     {
         List<Mod> modList = new ArrayList<>();
         LdapConnection ld = null;
-        String auditRoot = Config.getProperty( AUDIT_ROOT );
 
         try
         {
-            String filter = "(&(|(objectclass=" + ACCESS_MOD_CLASS_NM + ")";
-            filter += "(objectclass=" + ACCESS_ADD_CLASS_NM + "))";
-
-            if ( StringUtils.isNotEmpty( audit.getDn() ) )
-            {
-                filter += "(" + REQDN + "=" + audit.getDn() + ")";
-            }
-
-            if ( StringUtils.isNotEmpty( audit.getObjName() ) )
-            {
-                filter += "(|(" + REQMOD + "=" + GlobalIds.FT_MODIFIER_CODE + ":= " + audit.getObjName() + ".";
-
-                if ( StringUtils.isNotEmpty( audit.getOpName() ) )
-                {
-                    filter += audit.getOpName();
-                }
-
-                filter += "*)";
-                filter += "(" + REQMOD + "=" + GlobalIds.FT_MODIFIER_CODE + ":+ " + audit.getObjName() + ".";
-
-                if ( StringUtils.isNotEmpty( audit.getOpName() ) )
-                {
-                    filter += audit.getOpName();
-                }
-
-                filter += "*))";
-            }
-
-            if ( StringUtils.isNotEmpty( audit.getInternalUserId() ) )
-            {
-                filter += "(|(" + REQMOD + "=" + GlobalIds.FT_MODIFIER + ":= " + audit.getInternalUserId() + ")";
-                filter += "(" + REQMOD + "=" + GlobalIds.FT_MODIFIER + ":+ " + audit.getInternalUserId() + "))";
-            }
-
-            if ( audit.getBeginDate() != null )
-            {
-                String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
-                filter += "(" + REQEND + ">=" + szTime + ")";
-            }
-
-            if ( audit.getEndDate() != null )
-            {
-                String szTime = TUtil.encodeGeneralizedTime( audit.getEndDate() );
-                filter += "(" + REQEND + "<=" + szTime + ")";
-            }
-
-            filter += ")";
+            String filter = getAdminModsFilter( audit );
             //log.warn("filter=" + filter);
             ld = getLogConnection();
-            SearchCursor searchResults = search( ld, auditRoot,
+            SearchCursor searchResults = search( ld, AUDIT_ROOT_DN,
                 SearchScope.ONELEVEL, filter, AUDIT_MOD_ATRS, false, GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -688,6 +772,111 @@ final class AuditDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Same as {@link #searchAdminMods(UserAudit)} but without limit on the number of events, which are read a page at
+     * a time.
+     *
+     * @param audit
+     * @return
+     * @throws FinderException
+     */
+    SearchIterator<Mod> searchAdminModsIterator( UserAudit audit ) throws FinderException
+    {
+        try
+        {
+            return searchLogIterator( AUDIT_ROOT_DN, SearchScope.ONELEVEL, getAdminModsFilter( audit ),
+                AUDIT_MOD_ATRS, GlobalErrIds.AUDT_MOD_ADMIN_SEARCH_FAILED, new EntryMapper<Mod>()
+                {
+                    @Override
+                    public Mod map( Entry entry, long sequence ) throws LdapException
+                    {
+                        return getModEntityFromLdapEntry( entry, sequence );
+                    }
+                } );
+        }
+        catch ( LdapException e )
+        {
+            String error = "searchAdminModsIterator caught LdapException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_MOD_ADMIN_SEARCH_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "searchAdminModsIterator caught CursorException id=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.AUDT_MOD_ADMIN_SEARCH_FAILED, error, e );
+        }
+    }
+
+
+    /**
+     * @param audit
+     * @return the filter matching the adds and modifies of an entity, object or admin user.
+     */
+    private String getAdminModsFilter( UserAudit audit )
+    {
+        String filter = "(&(|(objectclass=" + ACCESS_MOD_CLASS_NM + ")";
+        filter += "(objectclass=" + ACCESS_ADD_CLASS_NM + "))";
+
+        if ( StringUtils.isNotEmpty( audit.getDn() ) )
+        {
+            filter += "(" + REQDN + "=" + audit.getDn() + ")";
+        }
+
+        if ( StringUtils.isNotEmpty( audit.getObjName() ) )
+        {
+            filter += "(|(" + REQMOD + "=" + GlobalIds.FT_MODIFIER_CODE + ":= " + audit.getObjName() + ".";
+
+            if ( StringUtils.isNotEmpty( audit.getOpName() ) )
+            {
+                filter += audit.getOpName();
+            }
+
+            filter += "*)";
+            filter += "(" + REQMOD + "=" + GlobalIds.FT_MODIFIER_CODE + ":+ " + audit.getObjName() + ".";
+
+            if ( StringUtils.isNotEmpty( audit.getOpName() ) )
+            {
+                filter += audit.getOpName();
+            }
+
+            filter += "*))";
+        }
+
+        if ( StringUtils.isNotEmpty( audit.getInternalUserId() ) )
+        {
+            filter += "(|(" + REQMOD + "=" + GlobalIds.FT_MODIFIER + ":= " + audit.getInternalUserId() + ")";
+            filter += "(" + REQMOD + "=" + GlobalIds.FT_MODIFIER + ":+ " + audit.getInternalUserId() + "))";
+        }
+
+        filter += getTimeFilter( audit );
+        filter += ")";
+        return filter;
+    }
+
+
+    /**
+     * @param audit
+     * @return the filter components selecting the events that completed between the begin and end dates, if set.
+     */
+    private String getTimeFilter( UserAudit audit )
+    {
+        String filter = "";
+
+        if ( audit.getBeginDate() != null )
+        {
+            String szTime = TUtil.encodeGeneralizedTime( audit.getBeginDate() );
+            filter += "(" + REQEND + ">=" + szTime + ")";
+        }
+
+        if ( audit.getEndDate() != null )
+        {
+            String szTime = TUtil.encodeGeneralizedTime( audit.getEndDate() );
+            filter += "(" + REQEND + "<=" + szTime + ")";
+        }
+
+        return filter;
+    }
+
+
     /**
      * @param le
      * @return
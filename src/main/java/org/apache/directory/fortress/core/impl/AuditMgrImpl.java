@@ -26,10 +26,12 @@ import org.apache.directory.fortress.core.ReviewMgrFactory;
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.ReviewMgr;
 import org.apache.directory.fortress.core.model.AuthZ;
+import org.apache.directory.fortress.core.model.AuthZSummary;
 import org.apache.directory.fortress.core.model.Bind;
 import org.apache.directory.fortress.core.model.Mod;
 import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserAudit;
+import org.apache.directory.fortress.core.util.SearchIterator;
 
 import java.util.List;
 
@@ -258,4 +260,100 @@ public class AuditMgrImpl extends Manageable implements AuditMgr
         checkAccess(CLS_NM, methodName);
         return auditP.searchInvalidAuthNs(uAudit);
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Same as {@link #getUserAuthZs(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<AuthZ> getUserAuthZsIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        String methodName = "getUserAuthZsIterator";
+        assertContext(CLS_NM, methodName, uAudit, GlobalErrIds.AUDT_INPUT_NULL);
+        checkAccess(CLS_NM, methodName);
+        return auditP.getAuthZsIterator(uAudit);
+    }
+
+
+    /**
+     * Count the authorization events selected as by {@link #getUserAuthZs(UserAudit)} by user, permission and hour.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return AuthZSummary containing the counts.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public AuthZSummary getAuthZSummary(UserAudit uAudit)
+        throws SecurityException
+    {
+        String methodName = "getAuthZSummary";
+        assertContext(CLS_NM, methodName, uAudit, GlobalErrIds.AUDT_INPUT_NULL);
+        checkAccess(CLS_NM, methodName);
+        return auditP.getAuthZSummary(uAudit);
+    }
+
+
+    /**
+     * Same as {@link #searchBinds(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<Bind> searchBindsIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        String methodName = "searchBindsIterator";
+        assertContext(CLS_NM, methodName, uAudit, GlobalErrIds.AUDT_INPUT_NULL);
+        checkAccess(CLS_NM, methodName);
+        return auditP.searchBindsIterator(uAudit);
+    }
+
+
+    /**
+     * Same as {@link #searchAdminMods(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<Mod> searchAdminModsIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        String methodName = "searchAdminModsIterator";
+        assertContext(CLS_NM, methodName, uAudit, GlobalErrIds.AUDT_INPUT_NULL);
+        checkAccess(CLS_NM, methodName);
+        if ( StringUtils.isNotEmpty( uAudit.getUserId() ))
+        {
+            ReviewMgr rMgr = ReviewMgrFactory.createInstance(this.contextId);
+            User user = rMgr.readUser(new User(uAudit.getUserId()));
+            uAudit.setInternalUserId(user.getInternalId());
+        }
+        return auditP.searchAdminModsIterator(uAudit);
+    }
+
+
+    /**
+     * Same as {@link #searchInvalidUsers(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<AuthZ> searchInvalidUsersIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        String methodName = "searchInvalidUsersIterator";
+        assertContext(CLS_NM, methodName, uAudit, GlobalErrIds.AUDT_INPUT_NULL);
+        checkAccess(CLS_NM, methodName);
+        return auditP.searchInvalidAuthNsIterator(uAudit);
+    }
+}
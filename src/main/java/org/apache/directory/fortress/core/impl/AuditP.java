@@ -24,9 +24,11 @@ import java.util.List;
 
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.model.AuthZ;
+import org.apache.directory.fortress.core.model.AuthZSummary;
 import org.apache.directory.fortress.core.model.Bind;
 import org.apache.directory.fortress.core.model.Mod;
 import org.apache.directory.fortress.core.model.UserAudit;
+import org.apache.directory.fortress.core.util.SearchIterator;
 
 
 /**
@@ -150,4 +152,69 @@ public final class AuditP
     {
         return aDao.searchInvalidAuthNs( uAudit );
     }
+
+
+    /**
+     * Same as {@link #getAuthZs(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over AuthZ, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    SearchIterator<AuthZ> getAuthZsIterator( UserAudit uAudit ) throws SecurityException
+    {
+        return aDao.getAllAuthZsIterator( uAudit );
+    }
+
+
+    /**
+     * Count the authorization events selected as by {@link #getAuthZs(UserAudit)} by user, permission and hour.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return AuthZSummary containing the counts.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    AuthZSummary getAuthZSummary( UserAudit uAudit ) throws SecurityException
+    {
+        return aDao.getAuthZSummary( uAudit );
+    }
+
+
+    /**
+     * Same as {@link #searchBinds(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over Bind, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    SearchIterator<Bind> searchBindsIterator( UserAudit uAudit ) throws SecurityException
+    {
+        return aDao.searchBindsIterator( uAudit );
+    }
+
+
+    /**
+     * Same as {@link #searchAdminMods(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over Mod, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    SearchIterator<Mod> searchAdminModsIterator( UserAudit uAudit ) throws SecurityException
+    {
+        return aDao.searchAdminModsIterator( uAudit );
+    }
+
+
+    /**
+     * Same as {@link #searchInvalidAuthNs(UserAudit)} but the events are read a page at a time, as iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over AuthZ, must be closed if not exhausted.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    SearchIterator<AuthZ> searchInvalidAuthNsIterator( UserAudit uAudit ) throws SecurityException
+    {
+        return aDao.searchInvalidAuthNsIterator( uAudit );
+    }
 }
@@ -0,0 +1,368 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.model.ObjectFactory;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.util.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * This utility caches the outcome of successful password checks so that a user who authenticates again with the same
+ * password within a short time is not bound to ldap again.  It is meant for service accounts that authenticate many
+ * times a minute and is disabled by default, enable with fortress config param {@code enable.authn.cache=true}.
+ * <p/>
+ * Passwords are not kept.  Each entry holds a random salt and a PBKDF2 hash of the password, computed with
+ * {@code authn.cache.hash.iterations} iterations (default 4096), which a later password must hash to.  An entry is
+ * only added after a bind whose password policy response contained no warnings, i.e. the password is not about to
+ * expire, in grace or reset, and is removed by a bind that returns any.  Failed checks are never cached.
+ * <p/>
+ * An entry expires {@code authn.cache.ttl} seconds (default 60) after the bind it records.  {@link UserP} removes the
+ * entry of a user it updates, deletes, locks, or whose password it changes or resets, and before a createSession of a
+ * user whose entry is locked.  Each removal increments the user's generation, which is read before the bind and checked
+ * when its outcome is added, so a bind with the old password that completes after a password change is not cached.
+ * Generations are kept in a fixed number of slots shared by hash, a collision only means an entry is not added.  Changes made by other processes, including lockouts by the server, are not seen until the
+ * entry expires.  At most {@code authn.cache.size} (default 10000) entries are kept, once full no more are added until
+ * some expire.
+ * <p/>
+ * Static methods on this class are intended for use by other Fortress classes and cannot be directly invoked by outside programs.
+ * <p/>
+ * This class contains singleton that can be updated but is thread safe.
+ * <p/>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class AuthNCache
+{
+    private static final String CLS_NM = AuthNCache.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String IS_ENABLED_PARM = "enable.authn.cache";
+    private static final String TTL_PARM = "authn.cache.ttl";
+    private static final String SIZE_PARM = "authn.cache.size";
+    private static final String ITERATIONS_PARM = "authn.cache.hash.iterations";
+    private static final boolean IS_ENABLED = Config.getBoolean( IS_ENABLED_PARM, false );
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA1";
+    private static final int SALT_LEN = 16;
+    private static final int HASH_BITS = 160;
+    /** Number of slots the user generations are kept in. */
+    private static final int GENERATIONS = 1024;
+    private static final SecureRandom random = new SecureRandom();
+
+    private static final AuthNCache cache = new AuthNCache( TimeUnit.SECONDS.toNanos( Config.getInt( TTL_PARM, 60 ) ),
+        Config.getInt( SIZE_PARM, 10000 ), Math.max( Config.getInt( ITERATIONS_PARM, 4096 ), 1 ) );
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final int iterations;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray( GENERATIONS );
+
+
+    /**
+     * Package private constructor, the cache used by fortress is configured by the {@code authn.cache} params.
+     *
+     * @param ttlNanos contains the number of nanoseconds an entry is used after its bind.
+     * @param maxSize contains the maximum number of entries.
+     * @param iterations contains the number of iterations of the password hash.
+     */
+    AuthNCache( long ttlNanos, int maxSize, int iterations )
+    {
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+        this.iterations = iterations;
+    }
+
+
+    /**
+     * Return true if the authentication cache has been enabled in fortress config.
+     *
+     * @return boolean value of {@code enable.authn.cache} param, false if {@code authn.cache.ttl} is not positive.
+     */
+    static boolean isEnabled()
+    {
+        return IS_ENABLED && cache.ttlNanos > 0;
+    }
+
+
+    /**
+     * Return an authenticated session if the user's password was checked successfully, with the same password, within
+     * the ttl.
+     *
+     * @param user contains the userId, contextId and password.
+     * @return Session marked authenticated, without warnings, or null if the password must be checked by ldap.
+     */
+    static Session get( User user )
+    {
+        return isEnabled() ? cache.find( user ) : null;
+    }
+
+
+    /**
+     * Return the user's generation, to be read before the password is checked by ldap and passed to
+     * {@link #put(User, Session, long)}.
+     *
+     * @param user contains the userId and contextId.
+     * @return long containing the generation.
+     */
+    static long getGeneration( User user )
+    {
+        return isEnabled() ? cache.generation( user ) : 0;
+    }
+
+
+    /**
+     * Record the outcome of a password check by ldap.  Only sessions that are authenticated, and carry no password
+     * policy warnings, are added, and only if the user's entry has not been removed since the check began; any other
+     * outcome removes the user's entry.
+     *
+     * @param user contains the userId, contextId and the password that was checked.
+     * @param session returned by the bind.
+     * @param generation returned by {@link #getGeneration(User)} before the bind.
+     */
+    static void put( User user, Session session, long generation )
+    {
+        if ( isEnabled() )
+        {
+            cache.add( user, session, generation );
+        }
+    }
+
+
+    /**
+     * Remove the entry of a user, called whenever the user's password, lock or password policy may have changed.
+     *
+     * @param user contains the userId and contextId.
+     */
+    static void remove( User user )
+    {
+        if ( isEnabled() && StringUtils.isNotEmpty( user.getUserId() ) )
+        {
+            cache.evict( user );
+        }
+    }
+
+
+    /**
+     * @see #get(User)
+     */
+    Session find( User user )
+    {
+        if ( ArrayUtils.isEmpty( user.getPassword() ) )
+        {
+            return null;
+        }
+
+        String key = getKey( user.getUserId(), user.getContextId() );
+        Entry entry = entries.get( key );
+
+        if ( entry == null )
+        {
+            return null;
+        }
+
+        if ( entry.isExpired( System.nanoTime() ) )
+        {
+            entries.remove( key, entry );
+            return null;
+        }
+
+        byte[] hash = hash( user.getPassword(), entry.salt );
+
+        if ( hash == null || !MessageDigest.isEqual( hash, entry.hash ) )
+        {
+            // another password, which may be a new one, is checked by ldap and replaces the entry if good:
+            return null;
+        }
+
+        Session session = new ObjectFactory().createSession();
+        session.setUserId( user.getUserId() );
+        session.setAuthenticated( true );
+        LOG.debug( "get userId [{}] authenticated from cache", user.getUserId() );
+        return session;
+    }
+
+
+    /**
+     * @see #getGeneration(User)
+     */
+    long generation( User user )
+    {
+        return generations.get( slot( getKey( user.getUserId(), user.getContextId() ) ) );
+    }
+
+
+    /**
+     * @see #put(User, Session, long)
+     */
+    void add( User user, Session session, long generation )
+    {
+        String key = getKey( user.getUserId(), user.getContextId() );
+
+        if ( !session.isAuthenticated() || session.getErrorId() != 0 || session.getExpirationSeconds() > 0
+            || session.getGraceLogins() > 0 || CollectionUtils.isNotEmpty( session.getWarnings() )
+            || ArrayUtils.isEmpty( user.getPassword() ) )
+        {
+            entries.remove( key );
+            return;
+        }
+
+        int slot = slot( key );
+
+        if ( generations.get( slot ) != generation )
+        {
+            LOG.debug( "put userId [{}] not cached, changed during the bind", user.getUserId() );
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        if ( entries.size() >= maxSize && !entries.containsKey( key ) )
+        {
+            purge( now );
+
+            if ( entries.size() >= maxSize )
+            {
+                LOG.debug( "put userId [{}] not cached, cache is full", user.getUserId() );
+                return;
+            }
+        }
+
+        byte[] salt = new byte[SALT_LEN];
+        random.nextBytes( salt );
+        byte[] hash = hash( user.getPassword(), salt );
+
+        if ( hash != null )
+        {
+            Entry entry = new Entry( salt, hash, now + ttlNanos );
+            entries.put( key, entry );
+
+            // a remove that ran while the entry was added, e.g. by a password change, wins:
+            if ( generations.get( slot ) != generation )
+            {
+                entries.remove( key, entry );
+            }
+        }
+    }
+
+
+    /**
+     * @see #remove(User)
+     */
+    void evict( User user )
+    {
+        String key = getKey( user.getUserId(), user.getContextId() );
+        // incremented first, so a put that has not yet checked its generation sees the change:
+        generations.incrementAndGet( slot( key ) );
+        entries.remove( key );
+    }
+
+
+    /**
+     * Remove every expired entry.
+     */
+    private void purge( long now )
+    {
+        for ( Iterator<Entry> it = entries.values().iterator(); it.hasNext(); )
+        {
+            if ( it.next().isExpired( now ) )
+            {
+                it.remove();
+            }
+        }
+    }
+
+
+    private static String getKey( String userId, String contextId )
+    {
+        return ( StringUtils.isEmpty( contextId ) ? GlobalIds.HOME : contextId ) + GlobalIds.DELIMITER
+            + userId.toUpperCase();
+    }
+
+
+    private static int slot( String key )
+    {
+        return ( key.hashCode() & Integer.MAX_VALUE ) % GENERATIONS;
+    }
+
+
+    private byte[] hash( char[] password, byte[] salt )
+    {
+        PBEKeySpec spec = new PBEKeySpec( password, salt, iterations, HASH_BITS );
+
+        try
+        {
+            return SecretKeyFactory.getInstance( ALGORITHM ).generateSecret( spec ).getEncoded();
+        }
+        catch ( GeneralSecurityException e )
+        {
+            LOG.warn( "hash caught GeneralSecurityException={}", e.getMessage() );
+            return null;
+        }
+        finally
+        {
+            spec.clearPassword();
+        }
+    }
+
+
+    /**
+     * One successful password check.
+     */
+    private static final class Entry
+    {
+        private final byte[] salt;
+        private final byte[] hash;
+        private final long expiration;
+
+
+        private Entry( byte[] salt, byte[] hash, long expiration )
+        {
+            this.salt = salt;
+            this.hash = hash;
+            this.expiration = expiration;
+        }
+
+
+        private boolean isExpired( long now )
+        {
+            return now - expiration >= 0;
+        }
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
+import org.apache.directory.fortress.core.ldap.AuditCounters;
+import org.apache.directory.fortress.core.util.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * This class decouples the authorization audit trail from the {@link PermDAO#checkPermission} hot path.  When enabled,
+ * with fortress config param {@code enable.audit.async=true}, authorization outcomes are placed on a bounded queue and
+ * a pool of daemon workers drains them in batches, writing the proxied compare operations over the log connection pool.
+ * <p/>
+ * The following fortress config params control its behavior:
+ * <ul>
+ * <li>{@code audit.queue.size} - capacity of the queue, default 10000</li>
+ * <li>{@code audit.workers} - number of worker threads, default 1</li>
+ * <li>{@code audit.batch.size} - maximum records written per log connection checkout, default 100</li>
+ * <li>{@code audit.overflow.policy} - one of {@code block}, {@code drop} or {@code spill}, default block</li>
+ * <li>{@code audit.spill.dir} - directory of the spill file, default is the {@code java.io.tmpdir} system property</li>
+ * <li>{@code audit.spill.file} - file used by the spill policy, default fortress-authz-audit.spill, a relative name is
+ * resolved under {@code audit.spill.dir}</li>
+ * </ul>
+ * With the {@code spill} policy, records that do not fit on the queue are appended to a local file and replayed by
+ * the workers once the queue has drained.  A spill file left by a previous process, e.g. one that crashed, is replayed
+ * the same way.  The {@code drop} policy discards them and increments a counter.
+ * <p/>
+ * The number of records written, dropped, spilled and failed are published by
+ * {@link ApacheDsDataProvider#getAuditCounters()}.
+ * <p/>
+ * This class is thread safe.
+ * <p/>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class AuthZAuditQueue
+{
+    private static final String CLS_NM = AuthZAuditQueue.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String IS_ASYNC_PARM = "enable.audit.async";
+    private static final String QUEUE_SIZE_PARM = "audit.queue.size";
+    private static final String WORKERS_PARM = "audit.workers";
+    private static final String BATCH_SIZE_PARM = "audit.batch.size";
+    private static final String OVERFLOW_PARM = "audit.overflow.policy";
+    private static final String SPILL_DIR_PARM = "audit.spill.dir";
+    private static final String SPILL_FILE_PARM = "audit.spill.file";
+    private static final String SEPARATOR = "\t";
+    private static final boolean IS_ASYNC = GlobalIds.IS_AUDIT && GlobalIds.IS_OPENLDAP
+        && Config.getBoolean( IS_ASYNC_PARM, false );
+    private static final int BATCH_SIZE = Config.getInt( BATCH_SIZE_PARM, 100 );
+    private static final Overflow OVERFLOW = Overflow.fromString( Config.getProperty( OVERFLOW_PARM ) );
+    private static final File SPILL_FILE = getSpillFile();
+    private static final BlockingQueue<AuthZAudit> queue = new ArrayBlockingQueue<>( Config.getInt(
+        QUEUE_SIZE_PARM, 10000 ) );
+    private static final PermDAO pDao = new PermDAO();
+    private static final Object spillLock = new Object();
+    private static final AuditCounters COUNTERS = ApacheDsDataProvider.getAuditCounters();
+    // guarded by spillLock, kept open until the file is replayed:
+    private static BufferedWriter spillWriter;
+    private static boolean isReplaying;
+
+    /**
+     * What to do with a record when the queue is full.
+     */
+    enum Overflow
+    {
+        /** Caller waits for room on the queue. */
+        BLOCK,
+        /** Record is discarded and counted. */
+        DROP,
+        /** Record is appended to the local spill file and replayed later. */
+        SPILL;
+
+        private static Overflow fromString( String value )
+        {
+            for ( Overflow overflow : values() )
+            {
+                if ( overflow.name().equalsIgnoreCase( value ) )
+                {
+                    return overflow;
+                }
+            }
+
+            return BLOCK;
+        }
+    }
+
+    static
+    {
+        if ( IS_ASYNC )
+        {
+            int workers = Config.getInt( WORKERS_PARM, 1 );
+            LOG.info( "AuthZAuditQueue starting workers [{}] batch [{}] overflow [{}]", workers, BATCH_SIZE, OVERFLOW );
+
+            for ( int i = 0; i < workers; i++ )
+            {
+                Thread worker = new Thread( new Worker(), "fortress-authz-audit-" + i );
+                worker.setDaemon( true );
+                worker.start();
+            }
+
+            Runtime.getRuntime().addShutdownHook( new Thread( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    flush();
+                }
+            }, "fortress-authz-audit-flush" ) );
+        }
+    }
+
+
+    /**
+     * Private constructor
+     *
+     */
+    private AuthZAuditQueue()
+    {
+    }
+
+
+    /**
+     * Return true if authZ audit records are written asynchronously.
+     *
+     * @return true if audit is enabled, server is openldap and {@code enable.audit.async=true}.
+     */
+    static boolean isEnabled()
+    {
+        return IS_ASYNC;
+    }
+
+
+    /**
+     * Place an authorization outcome on the queue.  Only blocks the caller if the queue is full and the overflow policy is {@code block}.
+     *
+     * @param permDn contains distinguished name of the permission object.
+     * @param userDn contains the distinguished name of the user object.
+     * @param attributeValue string value will be associated with the 'audit' record stored in ldap.
+     */
+    static void add( String permDn, String userDn, String attributeValue )
+    {
+        AuthZAudit audit = new AuthZAudit( permDn, userDn, attributeValue );
+
+        if ( queue.offer( audit ) )
+        {
+            return;
+        }
+
+        switch ( OVERFLOW )
+        {
+            case DROP:
+                COUNTERS.incrementDropped();
+                break;
+
+            case SPILL:
+                spill( audit );
+                break;
+
+            default:
+                try
+                {
+                    queue.put( audit );
+                }
+                catch ( InterruptedException ie )
+                {
+                    Thread.currentThread().interrupt();
+                    COUNTERS.incrementDropped();
+                }
+                break;
+        }
+    }
+
+
+    /**
+     * Resolve the spill file named by {@code audit.spill.file} under {@code audit.spill.dir}, unless it is absolute.
+     *
+     * @return file used by the spill policy.
+     */
+    private static File getSpillFile()
+    {
+        File file = new File( Config.getProperty( SPILL_FILE_PARM, "fortress-authz-audit.spill" ) );
+
+        if ( file.isAbsolute() )
+        {
+            return file;
+        }
+
+        return new File( Config.getProperty( SPILL_DIR_PARM, System.getProperty( "java.io.tmpdir" ) ), file.getPath() );
+    }
+
+
+    /**
+     * Write everything currently on the queue.  Called during jvm shutdown.
+     */
+    private static void flush()
+    {
+        List<AuthZAudit> batch = new ArrayList<>( BATCH_SIZE );
+
+        while ( queue.drainTo( batch, BATCH_SIZE ) > 0 )
+        {
+            write( batch );
+            batch.clear();
+        }
+
+        synchronized ( spillLock )
+        {
+            closeSpillWriter();
+        }
+    }
+
+
+    /**
+     * Send a batch of records to ldap and maintain the counters.
+     *
+     * @param batch contains the records to write.
+     */
+    private static void write( List<AuthZAudit> batch )
+    {
+        int failures = pDao.addAuthZAudits( batch );
+        COUNTERS.addFailed( failures );
+        COUNTERS.addWritten( batch.size() - failures );
+    }
+
+
+    /**
+     * Append a record to the spill file.  The file is opened once and kept open for every record spilled until it is
+     * replayed, each record is flushed as it is written.
+     *
+     * @param audit contains the record that did not fit on the queue.
+     */
+    private static void spill( AuthZAudit audit )
+    {
+        synchronized ( spillLock )
+        {
+            try
+            {
+                if ( spillWriter == null )
+                {
+                    File dir = SPILL_FILE.getParentFile();
+
+                    if ( dir != null && !dir.isDirectory() && !dir.mkdirs() )
+                    {
+                        throw new IOException( "could not create directory " + dir );
+                    }
+
+                    spillWriter = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( SPILL_FILE, true ),
+                        StandardCharsets.UTF_8 ) );
+                }
+
+                spillWriter.write( audit.permDn + SEPARATOR + audit.userDn + SEPARATOR + audit.attributeValue );
+                spillWriter.newLine();
+                spillWriter.flush();
+                COUNTERS.incrementSpilled();
+            }
+            catch ( IOException ioe )
+            {
+                LOG.warn( "spill caught IOException writing [{}]={}", SPILL_FILE, ioe.getMessage() );
+                COUNTERS.incrementDropped();
+                closeSpillWriter();
+            }
+        }
+    }
+
+
+    /**
+     * Close the spill file, must be called holding spillLock.
+     */
+    private static void closeSpillWriter()
+    {
+        if ( spillWriter != null )
+        {
+            try
+            {
+                spillWriter.close();
+            }
+            catch ( IOException ioe )
+            {
+                LOG.warn( "closeSpillWriter caught IOException closing [{}]={}", SPILL_FILE, ioe.getMessage() );
+            }
+
+            spillWriter = null;
+        }
+    }
+
+
+    /**
+     * Move records from the spill file back onto the queue.  Records that still do not fit are spilled again.  The
+     * file is replayed whenever it exists, including one left by a previous process, as is a replay file that a previous
+     * process did not finish.
+     */
+    private static void replaySpills()
+    {
+        File replayFile = new File( SPILL_FILE.getPath() + ".replay" );
+
+        synchronized ( spillLock )
+        {
+            if ( isReplaying )
+            {
+                return;
+            }
+
+            // an unfinished replay file is read before the spill file is moved:
+            if ( !replayFile.exists() )
+            {
+                if ( !SPILL_FILE.exists() )
+                {
+                    return;
+                }
+
+                closeSpillWriter();
+
+                if ( !SPILL_FILE.renameTo( replayFile ) )
+                {
+                    LOG.warn( "replaySpills could not rename [{}]", SPILL_FILE );
+                    return;
+                }
+            }
+
+            isReplaying = true;
+        }
+
+        try ( BufferedReader reader = new BufferedReader( new InputStreamReader( new FileInputStream( replayFile ),
+            StandardCharsets.UTF_8 ) ) )
+        {
+            String line;
+
+            while ( ( line = reader.readLine() ) != null )
+            {
+                String[] fields = line.split( SEPARATOR, 3 );
+
+                if ( fields.length == 3 )
+                {
+                    AuthZAudit audit = new AuthZAudit( fields[0], fields[1], fields[2] );
+
+                    if ( !queue.offer( audit ) )
+                    {
+                        spill( audit );
+                    }
+                }
+            }
+        }
+        catch ( IOException ioe )
+        {
+            LOG.warn( "replaySpills caught IOException reading [{}]={}", replayFile, ioe.getMessage() );
+        }
+        finally
+        {
+            if ( !replayFile.delete() )
+            {
+                LOG.warn( "replaySpills could not delete [{}]", replayFile );
+            }
+
+            synchronized ( spillLock )
+            {
+                isReplaying = false;
+            }
+        }
+    }
+
+
+    /**
+     * Drains the queue in batches.  When idle it replays any records that were spilled to disk.
+     */
+    private static final class Worker implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            List<AuthZAudit> batch = new ArrayList<>( BATCH_SIZE );
+
+            while ( !Thread.currentThread().isInterrupted() )
+            {
+                try
+                {
+                    AuthZAudit audit = queue.poll( 1, TimeUnit.SECONDS );
+
+                    if ( audit == null )
+                    {
+                        replaySpills();
+                        continue;
+                    }
+
+                    batch.add( audit );
+                    queue.drainTo( batch, BATCH_SIZE - 1 );
+                    write( batch );
+                }
+                catch ( InterruptedException ie )
+                {
+                    Thread.currentThread().interrupt();
+                }
+                catch ( RuntimeException re )
+                {
+                    LOG.warn( "Worker caught RuntimeException={}", re.getMessage(), re );
+                }
+                finally
+                {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A single authorization outcome waiting to be written to the audit trail.
+     */
+    static final class AuthZAudit
+    {
+        final String permDn;
+        final String userDn;
+        final String attributeValue;
+
+
+        AuthZAudit( String permDn, String userDn, String attributeValue )
+        {
+            this.permDn = permDn;
+            this.userDn = userDn;
+            this.attributeValue = attributeValue;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.directory.fortress.core.model.Relationship;
+import org.jgrapht.graph.SimpleDirectedGraph;
+
+
+/**
+ * Immutable, precomputed form of a hierarchy graph used by {@link HierUtil}.  Every vertex of the
+ * {@code org.jgrapht.graph.SimpleDirectedGraph} is assigned a dense integer id and the transitive closure of its
+ * ascendants and descendants is stored as a sorted array of ids.  Inheritance checks binary search the closures, and
+ * queries over several names merge them, rather than traversing the graph; neither allocates anything sized to the
+ * whole hierarchy.  Memory is proportional to the sum of the closure sizes rather than the square of the number of
+ * vertices.
+ * <p/>
+ * Names are stored upper case, matching how vertices are added to the graph.  Names that are not vertices of the
+ * graph, i.e. roles that have neither parents nor children, have no id and are handled by the caller.
+ * <p/>
+ * Instances are published as snapshots by {@link HierUtil} and are never modified after construction, a new instance
+ * is built from a copy of the graph whenever the hierarchy changes.
+ * <p/>
+ * This class is thread safe.
+ * <p/>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class CompiledHier
+{
+    private static final int[] EMPTY = new int[0];
+
+    /** The graph this was compiled from, shared by readers of the snapshot and never modified. */
+    private final SimpleDirectedGraph<String, Relationship> source;
+    private final Map<String, Integer> ids;
+    private final String[] names;
+    /** Sorted ids of each vertex's ascendants, including itself. */
+    private final int[][] ascendants;
+    /** Sorted ids of each vertex's descendants, including itself. */
+    private final int[][] descendants;
+
+
+    private CompiledHier( SimpleDirectedGraph<String, Relationship> source, Map<String, Integer> ids, String[] names,
+        int[][] ascendants, int[][] descendants )
+    {
+        this.source = source;
+        this.ids = ids;
+        this.names = names;
+        this.ascendants = ascendants;
+        this.descendants = descendants;
+    }
+
+
+    /**
+     * Compute the closures for every vertex of a graph.  The caller must prevent concurrent modification of the graph.
+     *
+     * @param graph contains a reference to simple digraph {@code org.jgrapht.graph.SimpleDirectedGraph}, may be null.
+     * @return compiled form of the graph.
+     */
+    static CompiledHier compile( SimpleDirectedGraph<String, Relationship> graph )
+    {
+        Map<String, Integer> ids = new HashMap<>();
+        String[] names;
+
+        if ( graph == null )
+        {
+            names = new String[0];
+        }
+        else
+        {
+            Set<String> vertices = graph.vertexSet();
+            names = new String[vertices.size()];
+            int id = 0;
+
+            for ( String vertex : vertices )
+            {
+                names[id] = vertex.toUpperCase();
+                ids.put( names[id], id );
+                id++;
+            }
+        }
+
+        int[][] parents = new int[names.length][];
+        int[][] children = new int[names.length][];
+
+        for ( int i = 0; i < names.length; i++ )
+        {
+            parents[i] = neighbors( graph.outgoingEdgesOf( names[i] ), ids, true );
+            children[i] = neighbors( graph.incomingEdgesOf( names[i] ), ids, false );
+        }
+
+        return new CompiledHier( graph, ids, names, closures( parents ), closures( children ) );
+    }
+
+
+    private static int[] neighbors( Set<Relationship> edges, Map<String, Integer> ids, boolean up )
+    {
+        int[] result = new int[edges.size()];
+        int count = 0;
+
+        for ( Relationship edge : edges )
+        {
+            Integer next = ids.get( ( up ? edge.getParent() : edge.getChild() ).toUpperCase() );
+
+            if ( next != null )
+            {
+                result[count++] = next;
+            }
+        }
+
+        return count == result.length ? result : Arrays.copyOf( result, count );
+    }
+
+
+    /**
+     * Memoized depth first computation of every vertex's closure, using an explicit stack so that deep hierarchies
+     * cannot overflow the thread's stack.  Each vertex is pushed at most once, its closure is merged from its
+     * neighbors' once all of them have been visited.  Cycles, which validation normally prevents, are tolerated by
+     * marking the vertex before visiting its neighbors.
+     *
+     * @param neighbors contains the ids of each vertex's parents, or children.
+     * @return sorted closure of each vertex, including itself.
+     */
+    private static int[][] closures( int[][] neighbors )
+    {
+        int[][] memo = new int[neighbors.length][];
+        int[] stack = new int[neighbors.length];
+        int[] cursor = new int[neighbors.length];
+
+        for ( int root = 0; root < neighbors.length; root++ )
+        {
+            if ( memo[root] != null )
+            {
+                continue;
+            }
+
+            memo[root] = new int[] { root };
+            int depth = 0;
+            stack[0] = root;
+            cursor[0] = 0;
+
+            while ( depth >= 0 )
+            {
+                int id = stack[depth];
+
+                if ( cursor[depth] < neighbors[id].length )
+                {
+                    int next = neighbors[id][cursor[depth]++];
+
+                    if ( memo[next] == null )
+                    {
+                        memo[next] = new int[] { next };
+                        stack[++depth] = next;
+                        cursor[depth] = 0;
+                    }
+                }
+                else
+                {
+                    if ( neighbors[id].length > 0 )
+                    {
+                        List<int[]> parts = new ArrayList<>( neighbors[id].length + 1 );
+                        parts.add( memo[id] );
+
+                        for ( int next : neighbors[id] )
+                        {
+                            parts.add( memo[next] );
+                        }
+
+                        memo[id] = union( parts );
+                    }
+
+                    depth--;
+                }
+            }
+        }
+
+        return memo;
+    }
+
+
+    /**
+     * Merge sorted id arrays, dropping ids that appear in more than one.
+     */
+    private static int[] union( List<int[]> parts )
+    {
+        int size = 0;
+
+        for ( int[] part : parts )
+        {
+            size += part.length;
+        }
+
+        int[] merged = new int[size];
+        int pos = 0;
+
+        for ( int[] part : parts )
+        {
+            System.arraycopy( part, 0, merged, pos, part.length );
+            pos += part.length;
+        }
+
+        Arrays.sort( merged );
+        int unique = 0;
+
+        for ( int i = 0; i < merged.length; i++ )
+        {
+            if ( i == 0 || merged[i] != merged[i - 1] )
+            {
+                merged[unique++] = merged[i];
+            }
+        }
+
+        return unique == merged.length ? merged : Arrays.copyOf( merged, unique );
+    }
+
+
+    /**
+     * @return the graph this was compiled from, must not be modified.
+     */
+    SimpleDirectedGraph<String, Relationship> getGraph()
+    {
+        return source;
+    }
+
+
+    /**
+     * Return the combined closure of ascendants, including the names themselves, for a collection of names.
+     *
+     * @param names contains the names to expand, case insensitive.
+     * @return sorted ids, empty if none of the names are in the hierarchy.  Must not be modified.
+     */
+    int[] getAscendantIds( Collection<String> names )
+    {
+        return getIds( names, ascendants );
+    }
+
+
+    /**
+     * Return the combined closure of descendants, including the names themselves, for a collection of names.
+     *
+     * @param names contains the names to expand, case insensitive.
+     * @return sorted ids, empty if none of the names are in the hierarchy.  Must not be modified.
+     */
+    int[] getDescendantIds( Collection<String> names )
+    {
+        return getIds( names, descendants );
+    }
+
+
+    /**
+     * Return the ids of the names themselves, without their ascendants or descendants.
+     *
+     * @param names contains the names to convert, case insensitive.
+     * @return sorted ids, names not in the hierarchy are left out.
+     */
+    int[] toIds( Collection<String> names )
+    {
+        List<int[]> parts = new ArrayList<>();
+
+        if ( names != null )
+        {
+            for ( String name : names )
+            {
+                Integer id = ids.get( name.toUpperCase() );
+
+                if ( id != null )
+                {
+                    parts.add( new int[] { id } );
+                }
+            }
+        }
+
+        return parts.isEmpty() ? EMPTY : union( parts );
+    }
+
+
+    /**
+     * @param members contains sorted ids returned by this instance.
+     * @param name to test, case insensitive.
+     * @return true if the name is a vertex of the hierarchy and its id is one of the members.
+     */
+    boolean contains( int[] members, String name )
+    {
+        Integer id = ids.get( name.toUpperCase() );
+        return id != null && Arrays.binarySearch( members, id ) >= 0;
+    }
+
+
+    /**
+     * Return all ascendants of a given name, not including the name itself.
+     *
+     * @param name contains the child, case insensitive.
+     * @return case insensitive Set of names, empty if name is not in the hierarchy.
+     */
+    Set<String> getAscendants( String name )
+    {
+        return toNames( get( name, ascendants ), name );
+    }
+
+
+    /**
+     * Return all descendants of a given name, not including the name itself.
+     *
+     * @param name contains the parent, case insensitive.
+     * @return case insensitive Set of names, empty if name is not in the hierarchy.
+     */
+    Set<String> getDescendants( String name )
+    {
+        return toNames( get( name, descendants ), name );
+    }
+
+
+    /**
+     * Return the names along with all of their ascendants.
+     *
+     * @param names contains the children, case insensitive.
+     * @return case insensitive Set of the names and their ascendants.
+     */
+    Set<String> getAscendants( Collection<String> names )
+    {
+        Set<String> result = toNames( getAscendantIds( names ), null );
+        result.addAll( names );
+        return result;
+    }
+
+
+    /**
+     * Return the names along with all of their descendants.
+     *
+     * @param names contains the parents, case insensitive.
+     * @return case insensitive Set of the names and their descendants.
+     */
+    Set<String> getDescendants( Collection<String> names )
+    {
+        Set<String> result = toNames( getDescendantIds( names ), null );
+        result.addAll( names );
+        return result;
+    }
+
+
+    /**
+     * Determine if any of the candidates is one of the names or inherited by them, i.e. the intersection of the
+     * candidates with the ascendant closure of the names is not empty.
+     *
+     * @param names contains the children, i.e. activated roles, case insensitive.
+     * @param candidates contains the names to look for, i.e. the roles granted a permission, case insensitive.
+     * @return true if at least one candidate matches.
+     */
+    boolean isAscendantOfAny( Collection<String> names, Collection<String> candidates )
+    {
+        // search each name's closure rather than merging them, so that a check allocates nothing per candidate:
+        int[][] closures = new int[names.size()][];
+        int count = 0;
+
+        for ( String name : names )
+        {
+            Integer id = ids.get( name.toUpperCase() );
+
+            if ( id != null )
+            {
+                closures[count++] = ascendants[id];
+            }
+        }
+
+        for ( String candidate : candidates )
+        {
+            // names that are not part of the hierarchy can only match themselves:
+            for ( String name : names )
+            {
+                if ( name.equalsIgnoreCase( candidate ) )
+                {
+                    return true;
+                }
+            }
+
+            Integer id = count == 0 ? null : ids.get( candidate.toUpperCase() );
+
+            if ( id != null )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    if ( Arrays.binarySearch( closures[i], id ) >= 0 )
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    private int[] get( String name, int[][] closures )
+    {
+        Integer id = ids.get( name.toUpperCase() );
+        return id == null ? EMPTY : closures[id];
+    }
+
+
+    private int[] getIds( Collection<String> names, int[][] closures )
+    {
+        List<int[]> parts = new ArrayList<>();
+
+        if ( names != null )
+        {
+            for ( String name : names )
+            {
+                Integer id = ids.get( name.toUpperCase() );
+
+                if ( id != null )
+                {
+                    parts.add( closures[id] );
+                }
+            }
+        }
+
+        if ( parts.isEmpty() )
+        {
+            return EMPTY;
+        }
+
+        // a single closure is shared as is, only a combination of several is merged into a new array:
+        return parts.size() == 1 ? parts.get( 0 ) : union( parts );
+    }
+
+
+    /**
+     * @param members contains sorted ids of a closure.
+     * @param exclude name to leave out of the result, may be null.
+     * @return case insensitive Set of names.
+     */
+    private Set<String> toNames( int[] members, String exclude )
+    {
+        Set<String> result = new TreeSet<>( String.CASE_INSENSITIVE_ORDER );
+
+        for ( int member : members )
+        {
+            result.add( names[member] );
+        }
+
+        if ( exclude != null )
+        {
+            result.remove( exclude );
+        }
+
+        return result;
+    }
+}
@@ -22,7 +22,6 @@ package org.apache.directory.fortress.core.impl;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.directory.fortress.core.DelAccessMgr;
 import org.apache.directory.fortress.core.GlobalErrIds;
-import org.apache.directory.fortress.core.util.Config;
 import org.apache.directory.fortress.core.model.PermObj;
 import org.apache.directory.fortress.core.model.Permission;
 import org.apache.directory.fortress.core.model.Role;
@@ -34,7 +33,6 @@ import org.apache.directory.fortress.core.SecurityException;
 
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 
 /**
  * This class implements the ARBAC02 DelAccessMgr interface for performing runtime delegated access control operations on objects that are provisioned Fortress ARBAC entities
@@ -63,7 +61,6 @@ public class DelAccessMgrImpl extends AccessMgrImpl implements DelAccessMgr
     private static final String CLS_NM = DelAccessMgrImpl.class.getName();
     private static final UserP userP = new UserP();
     private static final PermP permP = new PermP();
-    private static final String SUPER_ADMIN = Config.getProperty("superadmin.role", "fortress-core-super-admin");
 
     /**
      * This function will determine if the user contains an AdminRole that is authorized assignment control over
@@ -86,6 +83,31 @@ public class DelAccessMgrImpl extends AccessMgrImpl implements DelAccessMgr
         return checkUserRole(session, user, role);
     }
 
+    /**
+     * This function evaluates ARBAC URA "can assign" for several roles of one user that has already been read, so the
+     * user is not read again for each role.  Used by {@link AdminMgrImpl#assignUsers}.
+     *
+     * @param session This object must be instantiated by calling {@link org.apache.directory.fortress.core.AccessMgr#createSession(org.apache.directory.fortress.core.model.User, boolean)} before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @param ue      User entity as read from the directory, requires the ou attribute.
+     * @param roles   Instantiated Role entities require only valid role name attribute set.
+     * @return the first role the session may not assign, null if it may assign them all.
+     * @throws SecurityException In the event of data validation error.
+     */
+    Role canAssign(Session session, User ue, List<Role> roles)
+        throws SecurityException
+    {
+        String methodName = "canAssign";
+        assertContext(CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL);
+        for(Role role : roles)
+        {
+            if(!checkUserRole(session.getAdminRoles(), ue, role))
+            {
+                return role;
+            }
+        }
+        return null;
+    }
+
     /**
      * This function will determine if the user contains an AdminRole that is authorized revoke control over
      * User-Role Assignment (URA).  This adheres to the ARBAC02 functional specification for can-revoke URA.
@@ -179,6 +201,84 @@ public class DelAccessMgrImpl extends AccessMgrImpl implements DelAccessMgr
     }
 
 
+    /**
+     * This function overrides {@link org.apache.directory.fortress.core.AccessMgr#checkAccess(String, org.apache.directory.fortress.core.model.Permission)} and checks the administrative permission data set
+     * for the session carried by the token.
+     *
+     * @param token This value must be obtained by calling {@link org.apache.directory.fortress.core.AccessMgr#createToken} method before passing into the method.
+     * @param perm object contains obj attribute which is a String and contains the name of the object user is trying to access;
+     * perm object contains operation attribute which is also a String and contains the operation name for the object.
+     * @return True of user has access, false otherwise.
+     * @throws SecurityException In the event the token is invalid or expired, of data validation error (i.e. invalid perm name) or system error.
+     */
+    @Override
+    public boolean checkAccess(String token, Permission perm)
+        throws SecurityException
+    {
+        String methodName =  "checkAccess";
+        assertContext(CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL);
+        // This flag set will check administrative permission data set.
+        perm.setAdmin(true);
+        return super.checkAccess(token, perm);
+    }
+
+
+    /**
+     * This function overrides {@link org.apache.directory.fortress.core.AccessMgr#checkAccess(Session, List)} and checks
+     * each permission against the administrative permission data set, see {@link #checkAccess(Session, Permission)}.
+     *
+     * @param session This object must be instantiated by calling {@link org.apache.directory.fortress.core.AccessMgr#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @param perms each contains obj attribute which is a String and contains the name of the object user is trying to access;
+     * and operation attribute which is also a String and contains the operation name for the object.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException In the event of data validation error (i.e. invalid perm name) or system error.
+     */
+    @Override
+    public boolean[] checkAccess(Session session, List<Permission> perms)
+        throws SecurityException
+    {
+        String methodName =  "checkAccess";
+        assertContext(CLS_NM, methodName, session, GlobalErrIds.USER_SESS_NULL);
+        setAdmin(methodName, perms);
+        return super.checkAccess(session, perms);
+    }
+
+
+    /**
+     * This function overrides {@link org.apache.directory.fortress.core.AccessMgr#checkAccess(String, List)} and checks
+     * each permission against the administrative permission data set for the session carried by the token.
+     *
+     * @param token This value must be obtained by calling {@link org.apache.directory.fortress.core.AccessMgr#createToken} method before passing into the method.
+     * @param perms each contains obj attribute which is a String and contains the name of the object user is trying to access;
+     * and operation attribute which is also a String and contains the operation name for the object.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException In the event the token is invalid or expired, of data validation error (i.e. invalid perm name) or system error.
+     */
+    @Override
+    public boolean[] checkAccess(String token, List<Permission> perms)
+        throws SecurityException
+    {
+        setAdmin("checkAccess", perms);
+        return super.checkAccess(token, perms);
+    }
+
+
+    /**
+     * Flag each permission so it is checked against the administrative permission data set.
+     */
+    private void setAdmin(String methodName, List<Permission> perms)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(perms, GlobalErrIds.PERM_NULL, getFullMethodName(CLS_NM, methodName));
+        for (Permission perm : perms)
+        {
+            assertContext(CLS_NM, methodName, perm, GlobalErrIds.PERM_NULL);
+            // This flag set will check administrative permission data set.
+            perm.setAdmin(true);
+        }
+    }
+
+
     /**
      * This function adds an adminRole as an active role of a session whose owner is a given user.
      * <p>
@@ -250,6 +350,7 @@ public class DelAccessMgrImpl extends AccessMgrImpl implements DelAccessMgr
         if (indx != -1)
         {
             roles.remove(role);
+            session.clearDecisions();
         }
         else
         {
@@ -321,62 +422,41 @@ public class DelAccessMgrImpl extends AccessMgrImpl implements DelAccessMgr
     private boolean checkUserRole(Session session, User user, Role role)
         throws SecurityException
     {
-        boolean result = false;
         List<UserAdminRole> uaRoles = session.getAdminRoles();
         if(CollectionUtils.isNotEmpty( uaRoles ))
         {
+            if(AdminAuthority.isSuperAdmin(uaRoles))
+            {
+                return true;
+            }
             // validate user and retrieve user' ou:
             User ue = userP.read(user, false);
+            return checkUserRole(uaRoles, ue, role);
+        }
+        return false;
+    }
+
+    /**
+     * This helper function processes ARBAC URA "can assign" for a user that has already been read.
+     * @param uaRoles contains the admin roles activated in the administrator's session.
+     * @param ue contains the user's ou.
+     * @param role
+     * @return boolean
+     */
+    private boolean checkUserRole(List<UserAdminRole> uaRoles, User ue, Role role)
+    {
+        boolean result = false;
+        if(CollectionUtils.isNotEmpty( uaRoles ))
+        {
             for(UserAdminRole uaRole : uaRoles)
             {
-                if(uaRole.getName().equalsIgnoreCase(SUPER_ADMIN))
+                AdminAuthority authority = getAuthority(uaRole);
+                // does the admin role have authority over the user object and the role?
+                if(authority.hasUserOu(ue.getOu()) && authority.hasRole(role.getName()))
                 {
                     result = true;
                     break;
                 }
-                Set<String> osUs = uaRole.getOsU();
-                if(CollectionUtils.isNotEmpty( osUs ))
-                {
-                    // create Set with case insensitive comparator:
-                    Set<String> osUsFinal = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-                    for(String osU : osUs)
-                    {
-                        // Add osU children to the set:
-                        osUsFinal.add(osU);
-                        Set<String> children = UsoUtil.getDescendants( osU, this.contextId );
-                        osUsFinal.addAll(children);
-                    }
-                    // does the admin role have authority over the user object?
-                    if(osUsFinal.contains(ue.getOu()))
-                    {
-                        // Get the Role range for admin role:
-                        Set<String> range;
-                        if(uaRole.getBeginRange() != null && uaRole.getEndRange() != null && !uaRole.getBeginRange().equalsIgnoreCase(uaRole.getEndRange()))
-                        {
-                            range = RoleUtil.getAscendants( uaRole.getBeginRange(), uaRole.getEndRange(),
-                                uaRole.isEndInclusive(), this.contextId );
-                            if(uaRole.isBeginInclusive())
-                            {
-                                range.add(uaRole.getBeginRange());
-                            }
-                            if(CollectionUtils.isNotEmpty( range ))
-                            {
-                                // Does admin role have authority over a role contained with the allowable role range?
-                                if(range.contains(role.getName()))
-                                {
-                                    result = true;
-                                    break;
-                                }
-                            }
-                        }
-                        // Does admin role have authority over the role?
-                        else if(uaRole.getBeginRange() != null && uaRole.getBeginRange().equalsIgnoreCase(role.getName()))
-                        {
-                            result = true;
-                            break;
-                        }
-                    }
-                }
             }
         }
         return result;
@@ -397,61 +477,37 @@ public class DelAccessMgrImpl extends AccessMgrImpl implements DelAccessMgr
         List<UserAdminRole> uaRoles = session.getAdminRoles();
         if(CollectionUtils.isNotEmpty( uaRoles ))
         {
+            if(AdminAuthority.isSuperAdmin(uaRoles))
+            {
+                return true;
+            }
             // validate perm and retrieve perm's ou:
             PermObj inObj = new PermObj(perm.getObjName());
             inObj.setContextId(contextId);
             PermObj pObj = permP.read(inObj);
             for(UserAdminRole uaRole : uaRoles)
             {
-                if(uaRole.getName().equalsIgnoreCase(SUPER_ADMIN))
+                AdminAuthority authority = getAuthority(uaRole);
+                // does the admin role have authority over the perm object and the role?
+                if(authority.hasPermOu(pObj.getOu()) && authority.hasRole(role.getName()))
                 {
                     result = true;
                     break;
                 }
-                Set<String> osPs = uaRole.getOsP();
-                if(CollectionUtils.isNotEmpty( osPs ))
-                {
-                    // create Set with case insensitive comparator:
-                    Set<String> osPsFinal = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-                    for(String osP : osPs)
-                    {
-                        // Add osU children to the set:
-                        osPsFinal.add(osP);
-                        Set<String> children = PsoUtil.getDescendants( osP, this.contextId );
-                        osPsFinal.addAll(children);
-                    }
-                    // does the admin role have authority over the perm object?
-                    if(osPsFinal.contains(pObj.getOu()))
-                    {
-                        // Get the Role range for admin role:
-                        Set<String> range;
-                        if(uaRole.getBeginRange() != null && uaRole.getEndRange() != null && !uaRole.getBeginRange().equalsIgnoreCase(uaRole.getEndRange()))
-                        {
-                            range = RoleUtil.getAscendants(uaRole.getBeginRange(), uaRole.getEndRange(), uaRole.isEndInclusive(), this.contextId);
-                            if(uaRole.isBeginInclusive())
-                            {
-                                range.add(uaRole.getBeginRange());
-                            }
-                            if( CollectionUtils.isNotEmpty( range ))
-                            {
-                                // Does admin role have authority over a role contained with the allowable role range?
-                                if(range.contains(role.getName()))
-                                {
-                                    result = true;
-                                    break;
-                                }
-                            }
-                        }
-                        // Does admin role have authority over the role?
-                        else if(uaRole.getBeginRange() != null && uaRole.getBeginRange().equalsIgnoreCase(role.getName()))
-                        {
-                            result = true;
-                            break;
-                        }
-                    }
-                }
             }
         }
         return result;
     }
+
+    /**
+     * Return the authority of an admin role, its OUs expanded to their descendants and its role range resolved.  The
+     * authority is compiled on first use and shared, in memory only, by the sessions that activate the same admin role.
+     * It is compiled again should the OU or role hierarchies change.
+     * @param uaRole contains an admin role activated in the administrator's session.
+     * @return the compiled authority.
+     */
+    private AdminAuthority getAuthority(UserAdminRole uaRole)
+    {
+        return AdminAuthority.get(uaRole, this.contextId);
+    }
 }
\ No newline at end of file
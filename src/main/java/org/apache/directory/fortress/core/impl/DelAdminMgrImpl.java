@@ -147,6 +147,7 @@ public final class DelAdminMgrImpl extends Manageable implements DelAdminMgr
             }
         }
         permP.remove(role);
+        PermUtil.clearCache(this.contextId, true);
         // remove all parent relationships from the role graph:
         Set<String> parents = AdminRoleUtil.getParents(role.getName(), this.contextId);
         if(parents != null)
@@ -26,8 +26,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.directory.fortress.core.model.Graphable;
@@ -39,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import org.apache.directory.fortress.core.GlobalErrIds;
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.ValidationException;
+import org.apache.directory.fortress.core.util.Config;
 
 
 /**
@@ -74,8 +77,8 @@ final class HierUtil
     private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
     private static final String VERTEX = "Vertex";
 
-    /** A lock used internally to protect the access to the locks map */
-    private static final ReadWriteLock getLockLock = new ReentrantReadWriteLock();
+    private static final String REFRESH_INTERVAL_PARM = "hier.refresh.interval";
+    private static final long REFRESH_INTERVAL = Config.getInt( REFRESH_INTERVAL_PARM, 600 ) * 1000L;
 
 
     /**
@@ -89,79 +92,40 @@ final class HierUtil
         PSO
     }
 
-    private static final Map<String, ReadWriteLock> synchMap = new HashMap<String, ReadWriteLock>();
-
-
     /**
-     * Private constructor
-     *
+     * Contains the current immutable snapshot of every hierarchy, keyed by type and tenant.  Readers never lock,
+     * writers build a new snapshot and swap it in.
      */
-    private HierUtil()
-    {
-    }
+    private static final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /** Incremented after every snapshot is published, so derived data can tell whether any hierarchy has changed. */
+    private static final AtomicLong version = new AtomicLong();
+
+    /** Serializes writers so concurrent updates to the same hierarchy are not lost. */
+    private static final Object writeLock = new Object();
+
 
     /**
-     *
-     * @param contextId
-     * @param type
-     * @return
+     * Implemented by the hierarchy utilities to read a tenant's graph from ldap.
      */
-    static ReadWriteLock getLock( String contextId, Type type )
+    interface Loader
     {
-        String syncKey = getSynchKey( contextId, type );
-     
-        try
-        {
-            getLockLock.readLock().lock();
-            ReadWriteLock synchObj = synchMap.get( syncKey );
-            
-            if ( synchObj == null )
-            {
-                // Not found, we will create a new one and store it into the map
-                try
-                {
-                    getLockLock.readLock().unlock();
-                    getLockLock.writeLock().lock();
-
-                    // Retry immediately to get the lock from the map, it might have been updated by
-                    // another thread while this thread was blocked on the write lock 
-                    synchObj = synchMap.get( syncKey );
-                    
-                    if ( synchObj == null )
-                    {
-                        synchObj = new ReentrantReadWriteLock();
-                        synchMap.put( syncKey, synchObj );
-                    }
-
-                    getLockLock.readLock().lock();
-                }
-                finally
-                {
-                    getLockLock.writeLock().unlock();
-                }
-            }
-            
-            return synchObj;
-        }
-        finally
-        {
-            getLockLock.readLock().unlock();
-        }
+        /**
+         * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+         * @return handle to simple digraph containing the hierarchy.
+         */
+        SimpleDirectedGraph<String, Relationship> load( String contextId );
     }
 
 
     /**
+     * Private constructor
      *
-     * @param contextId
-     * @param type
-     * @return
      */
-    private static String getSynchKey( String contextId, Type type )
+    private HierUtil()
     {
-        return type.toString() + ":" + contextId;
     }
 
-
     /**
      * This api is used to determine parentage for Hierarchical processing.
      * It evaluates three relationship expressions:
@@ -271,38 +235,32 @@ final class HierUtil
 
 
     /**
-     * This method is synchronized and adds an edge and its associated vertices to simple directed graph stored in static memory of this process.
+     * This method adds an edge and its associated vertices to a private copy of a simple directed graph that has not been published yet.
      *
-     * @param graph synchronized parameter contains a reference to simple digraph {@code org.jgrapht.graph.SimpleDirectedGraph}.
+     * @param graph contains a reference to simple digraph {@code org.jgrapht.graph.SimpleDirectedGraph}.
      * @param relation contains parent-child relationship targeted for addition.
      * @return {@code org.jgrapht.graph.SimpleDirectedGraph} containing the vertices of {@code String}, and edges, as {@link Relationship}s that correspond to relational data.
      */
     private static void addEdge( SimpleDirectedGraph<String, Relationship> graph, Relationship relation )
     {
         LOG.debug( "addEdge" );
-        synchronized ( graph )
-        {
-            graph.addVertex( relation.getChild().toUpperCase() );
-            graph.addVertex( relation.getParent().toUpperCase() );
-            graph.addEdge( relation.getChild().toUpperCase(), relation.getParent().toUpperCase(), relation );
-        }
+        graph.addVertex( relation.getChild().toUpperCase() );
+        graph.addVertex( relation.getParent().toUpperCase() );
+        graph.addEdge( relation.getChild().toUpperCase(), relation.getParent().toUpperCase(), relation );
     }
 
 
     /**
-     * This method is synchronized and removes an edge from a simple directed graph stored in static memory of this process.
+     * This method removes an edge from a private copy of a simple directed graph that has not been published yet.
      *
-     * @param graph synchronized parameter contains a reference to simple digraph {@code org.jgrapht.graph.SimpleDirectedGraph}.
+     * @param graph contains a reference to simple digraph {@code org.jgrapht.graph.SimpleDirectedGraph}.
      * @param relation contains parent-child relationship targeted for removal.
      * @return {@code org.jgrapht.graph.SimpleDirectedGraph} containing the vertices of {@code String}, and edges, as {@link Relationship}s that correspond to relational data.
      */
     private static void removeEdge( SimpleDirectedGraph<String, Relationship> graph, Relationship relation )
     {
         LOG.debug( "removeEdge" );
-        synchronized ( graph )
-        {
-            graph.removeEdge( relation );
-        }
+        graph.removeEdge( relation );
     }
 
 
@@ -715,25 +673,140 @@ final class HierUtil
     }
 
 
+    /**
+     * Return the current snapshot of a hierarchy, loading it on first use.  This method never blocks on other readers
+     * or writers.  Once a snapshot is older than {@code hier.refresh.interval} seconds (default 600), the first caller
+     * to notice reloads it from ldap while other callers continue to use the existing snapshot.
+     *
+     * @param key contains the type and tenant of the hierarchy.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param loader reads the graph from ldap.
+     * @return immutable hierarchy containing the graph and its precomputed closures.
+     */
+    static CompiledHier getHier( String key, String contextId, Loader loader )
+    {
+        Snapshot snapshot = snapshots.get( key );
+
+        if ( snapshot == null )
+        {
+            // Concurrent first loads read the same data, the first one published wins:
+            snapshot = new Snapshot( CompiledHier.compile( loader.load( contextId ) ) );
+            Snapshot existing = snapshots.putIfAbsent( key, snapshot );
+
+            if ( existing != null )
+            {
+                return existing.hier;
+            }
+
+            version.incrementAndGet();
+            return snapshot.hier;
+        }
+
+        if ( snapshot.isExpired() && snapshot.refreshing.compareAndSet( false, true ) )
+        {
+            try
+            {
+                Snapshot fresh = new Snapshot( CompiledHier.compile( loader.load( contextId ) ) );
+
+                // Don't overwrite a newer snapshot published by updateHier while the load was in progress:
+                if ( snapshots.replace( key, snapshot, fresh ) )
+                {
+                    version.incrementAndGet();
+                    return fresh.hier;
+                }
+            }
+            catch ( RuntimeException re )
+            {
+                snapshot.refreshing.set( false );
+                throw re;
+            }
+        }
+
+        return snapshot.hier;
+    }
+
+
     /**
      * This api allows synchronized access to allow updates to hierarchical relationships.
-     * Method will update the hierarchical data set and reload the JGraphT simple digraph with latest.
+     * Method will apply the change to a copy of the current graph and publish it, along with its closures, as the
+     * new snapshot.  Readers holding the previous snapshot are unaffected.
      *
-     * @param graph contains a reference to simple digraph {@code org.jgrapht.graph.SimpleDirectedGraph}.
+     * @param key contains the type and tenant of the hierarchy.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param loader reads the graph from ldap if it has not been loaded yet.
      * @param relationship contains parent-child relationship targeted for addition.
      * @param op   used to pass the ldap op {@link Hier.Op#ADD}, {@link Hier.Op#MOD}, {@link org.apache.directory.fortress.core.model.Hier.Op#REM}
      * @throws org.apache.directory.fortress.core.SecurityException in the event of a system error.
      */
-    static void updateHier( SimpleDirectedGraph<String, Relationship> graph, Relationship relationship, Hier.Op op )
+    static void updateHier( String key, String contextId, Loader loader, Relationship relationship, Hier.Op op )
         throws SecurityException
     {
-        if ( op == Hier.Op.ADD )
-            HierUtil.addEdge( graph, relationship );
-        else if ( op == Hier.Op.REM )
-            HierUtil.removeEdge( graph, relationship );
-        else
+        if ( op != Hier.Op.ADD && op != Hier.Op.REM )
+        {
             throw new SecurityException( GlobalErrIds.HIER_CANNOT_PERFORM, CLS_NM
                 + "updateHier Cannot perform hierarchical operation" );
+        }
+
+        synchronized ( writeLock )
+        {
+            SimpleDirectedGraph<String, Relationship> graph = copyGraph( getHier( key, contextId, loader ).getGraph() );
+
+            if ( op == Hier.Op.ADD )
+                HierUtil.addEdge( graph, relationship );
+            else
+                HierUtil.removeEdge( graph, relationship );
+
+            snapshots.put( key, new Snapshot( CompiledHier.compile( graph ) ) );
+            version.incrementAndGet();
+        }
+    }
+
+
+    /**
+     * Return the version of the hierarchies, which changes whenever a snapshot of any hierarchy, of any tenant, is
+     * loaded, reloaded or updated.  A version read before a hierarchy is never newer than the hierarchy read.
+     *
+     * @return long containing the current version.
+     */
+    static long getVersion()
+    {
+        return version.get();
+    }
+
+
+    /**
+     * @return number of milliseconds a snapshot is used before it is reloaded, {@code hier.refresh.interval}.
+     */
+    static long getRefreshInterval()
+    {
+        return REFRESH_INTERVAL;
+    }
+
+
+    /**
+     * Published snapshots are never modified, so updates are applied to a copy.
+     *
+     * @param graph contains a reference to simple digraph {@code org.jgrapht.graph.SimpleDirectedGraph}, may be null.
+     * @return new graph containing the same vertices and edges.
+     */
+    private static SimpleDirectedGraph<String, Relationship> copyGraph( SimpleDirectedGraph<String, Relationship> graph )
+    {
+        SimpleDirectedGraph<String, Relationship> copy = new SimpleDirectedGraph<>( Relationship.class );
+
+        if ( graph != null )
+        {
+            for ( String vertex : graph.vertexSet() )
+            {
+                copy.addVertex( vertex );
+            }
+
+            for ( Relationship edge : graph.edgeSet() )
+            {
+                copy.addEdge( graph.getEdgeSource( edge ), graph.getEdgeTarget( edge ), edge );
+            }
+        }
+
+        return copy;
     }
 
 
@@ -759,4 +832,27 @@ final class HierUtil
         LOG.debug( "buildGraph is success" );
         return graph;
     }
+
+
+    /**
+     * A published hierarchy along with the time it must be reloaded from ldap.
+     */
+    private static final class Snapshot
+    {
+        private final CompiledHier hier;
+        private final long expiration = System.currentTimeMillis() + REFRESH_INTERVAL;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+
+        private Snapshot( CompiledHier hier )
+        {
+            this.hier = hier;
+        }
+
+
+        private boolean isExpired()
+        {
+            return System.currentTimeMillis() > expiration;
+        }
+    }
 }
@@ -26,6 +26,8 @@ import org.apache.directory.fortress.core.model.Permission;
 import org.apache.directory.fortress.core.model.Session;
 import org.apache.directory.fortress.core.util.VUtil;
 
+import java.util.List;
+
 /**
  * Abstract class allows outside clients to manage security and multi-tenant concerns within the Fortress runtime.
  * The {@link #setAdmin(org.apache.directory.fortress.core.model.Session)} method allows A/RBAC sessions to be loaded and allows authorization
@@ -87,8 +89,31 @@ public abstract class Manageable implements org.apache.directory.fortress.core.M
             AdminUtil.setEntitySession( this.adminSess, perm, entity, this.contextId );
         }
     }
-    
-    
+
+    /**
+     * Set A/RBAC session on each of several entities handled by one call, and perform authorization on behalf of the
+     * caller once for all of them, if the {@link #adminSess} is set.
+     *
+     * @param className contains the class name.
+     * @param opName contains operation name.
+     * @param entities contains {@link org.apache.directory.fortress.core.model.FortEntity} instances.
+     * @throws org.apache.directory.fortress.core.SecurityException
+     *          in the event of data validation or system error.
+     */
+    protected final void setEntitySessions(String className, String opName, List<? extends FortEntity> entities) throws SecurityException
+    {
+        checkAccess(className, opName);
+        for (FortEntity entity : entities)
+        {
+            entity.setContextId(this.contextId);
+            if (this.adminSess != null)
+            {
+                entity.setAdminSession(this.adminSess);
+                entity.setModCode(AdminUtil.getObjName(className) + "." + opName);
+            }
+        }
+    }
+
     /**
      * Every Fortress Manager API (e.g. addUser, updateUser, addRole, ...) will perform authorization on behalf of the caller IFF the {@link AuditMgrImpl#adminSess} has been set before invocation.
      *
@@ -22,7 +22,11 @@ package org.apache.directory.fortress.core.impl;
 
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -59,6 +63,9 @@ import org.apache.directory.fortress.core.model.ObjectFactory;
 import org.apache.directory.fortress.core.RemoveException;
 import org.apache.directory.fortress.core.UpdateException;
 import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
+import org.apache.directory.fortress.core.util.SearchIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
@@ -153,6 +160,9 @@ import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
  */
 final class PermDAO extends ApacheDsDataProvider
 {
+    private static final String CLS_NM = PermDAO.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+
     /*
       *  *************************************************************************
       *  **  OpenAccessMgr PERMISSION STATICS
@@ -905,6 +915,413 @@ final class PermDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * This method performs fortress authorization using data passed in (session) and a permission that was previously
+     * loaded by {@link PermUtil}.  No ldap read occurs here, an admin connection is only borrowed when the authZ audit compare is enabled.
+     *
+     * @param session contains {@link Session#getUserId()}, for impl check {@link org.apache.directory.fortress.core.model.Session#getRoles()}, for arbac check: {@link org.apache.directory.fortress.core.model.Session#getAdminRoles()}.
+     * @param inPerm  must contain required attributes {@link Permission#objName} and {@link Permission#opName}.  {@link org.apache.directory.fortress.core.model.Permission#objId} is optional.
+     * @param cachedPerm contains the permission retrieved from the local snapshot, null if it does not exist.
+     * @return boolean containing result of check.
+     * @throws org.apache.directory.fortress.core.FinderException
+     *          In the event the permission does not exist or system error occurs writing the audit record.
+     */
+    boolean checkPermission( Session session, Permission inPerm, Permission cachedPerm ) throws FinderException
+    {
+        if ( cachedPerm == null )
+        {
+            String error = "checkPermission DOES NOT EXIST : obj name [" + inPerm.getObjName() + "], obj id ["
+                + inPerm.getObjId() + "], op name [" + inPerm.getOpName() + "], idAdmin [" + inPerm.isAdmin() + "]";
+            throw new FinderException( GlobalErrIds.PERM_NOT_EXIST, error );
+        }
+
+        boolean isAuthZd = isAuthorized( session, cachedPerm );
+
+        if ( GlobalIds.IS_AUDIT && GlobalIds.IS_OPENLDAP )
+        {
+            String dn = getOpRdn( inPerm.getOpName(), inPerm.getObjId() ) + "," + GlobalIds.POBJ_NAME + "="
+                + inPerm.getObjName() + "," + getRootDn( inPerm.isAdmin(), inPerm.getContextId() );
+            String attributeValue = isAuthZd ? cachedPerm.getOpName() : cachedPerm.getOpName()
+                + GlobalIds.FAILED_AUTHZ_INDICATOR;
+            LdapConnection ld = null;
+
+            try
+            {
+                // No connection is needed when the audit record is queued for the background writer:
+                if ( !AuthZAuditQueue.isEnabled() )
+                {
+                    ld = getAdminConnection();
+                }
+
+                addAuthZAudit( ld, dn, session.getUser().getDn(), attributeValue );
+            }
+            catch ( LdapException e )
+            {
+                String error = "checkPermission caught LdapException=" + e.getMessage();
+                throw new FinderException( GlobalErrIds.PERM_COMPARE_OP_FAILED, error, e );
+            }
+            finally
+            {
+                closeAdminConnection( ld );
+            }
+        }
+
+        return isAuthZd;
+    }
+
+
+    /**
+     * Bulk form of {@link #checkPermission(Session, Permission)}.  All of the permissions are read with a single ldap
+     * search per permission subtree, using a filter that ORs together the object and operation names of the list, and
+     * the audit records are written over the same connection.  A permission that does not exist is not authorized.
+     *
+     * @param session contains {@link Session#getUserId()}, for impl check {@link org.apache.directory.fortress.core.model.Session#getRoles()}, for arbac check: {@link org.apache.directory.fortress.core.model.Session#getAdminRoles()}.
+     * @param inPerms each must contain required attributes {@link Permission#objName} and {@link Permission#opName}.  {@link org.apache.directory.fortress.core.model.Permission#objId} is optional.
+     * @return array containing the result of each check in the order of inPerms.
+     * @throws org.apache.directory.fortress.core.FinderException
+     *          In the event system error occurs looking up data on ldap server.
+     */
+    boolean[] checkPermissions( Session session, List<Permission> inPerms ) throws FinderException
+    {
+        LdapConnection ld = null;
+
+        try
+        {
+            ld = getAdminConnection();
+            List<Permission> outPerms = getPerms( ld, inPerms );
+            boolean[] results = isAuthorized( session, inPerms, outPerms );
+            addAuthZAudits( ld, session, inPerms, outPerms, results );
+            return results;
+        }
+        catch ( LdapException e )
+        {
+            String error = "checkPermissions caught LdapException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.PERM_READ_OP_FAILED, error, e );
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+    }
+
+
+    /**
+     * Bulk form of {@link #checkPermission(Session, Permission, Permission)}.  No ldap read occurs here, an admin
+     * connection is only borrowed when the authZ audit compare is enabled.  A permission that does not exist is not
+     * authorized.
+     *
+     * @param session contains {@link Session#getUserId()}, for impl check {@link org.apache.directory.fortress.core.model.Session#getRoles()}, for arbac check: {@link org.apache.directory.fortress.core.model.Session#getAdminRoles()}.
+     * @param inPerms each must contain required attributes {@link Permission#objName} and {@link Permission#opName}.  {@link org.apache.directory.fortress.core.model.Permission#objId} is optional.
+     * @param cachedPerms contains the permissions retrieved from the local snapshot in the order of inPerms, null where one does not exist.
+     * @return array containing the result of each check in the order of inPerms.
+     * @throws org.apache.directory.fortress.core.FinderException
+     *          In the event system error occurs writing the audit records.
+     */
+    boolean[] checkPermissions( Session session, List<Permission> inPerms, List<Permission> cachedPerms )
+        throws FinderException
+    {
+        boolean[] results = isAuthorized( session, inPerms, cachedPerms );
+
+        if ( GlobalIds.IS_AUDIT && GlobalIds.IS_OPENLDAP )
+        {
+            LdapConnection ld = null;
+
+            try
+            {
+                // No connection is needed when the audit records are queued for the background writer:
+                if ( !AuthZAuditQueue.isEnabled() )
+                {
+                    ld = getAdminConnection();
+                }
+
+                addAuthZAudits( ld, session, inPerms, cachedPerms, results );
+            }
+            catch ( LdapException e )
+            {
+                String error = "checkPermissions caught LdapException=" + e.getMessage();
+                throw new FinderException( GlobalErrIds.PERM_COMPARE_OP_FAILED, error, e );
+            }
+            finally
+            {
+                closeAdminConnection( ld );
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Write the audit records of decisions taken from a session's decision cache, which are audited the same as the
+     * checks that produced them.  No ldap read occurs here, an admin connection is only borrowed when the authZ audit
+     * compare is enabled.
+     *
+     * @param session contains the user the records are associated with.
+     * @param inPerms each must contain required attributes {@link Permission#objName} and {@link Permission#opName}.  {@link org.apache.directory.fortress.core.model.Permission#objId} is optional.
+     * @param results contains the cached result of each check in the order of inPerms.
+     * @throws org.apache.directory.fortress.core.FinderException
+     *          In the event system error occurs writing the audit records.
+     */
+    void auditDecisions( Session session, List<Permission> inPerms, boolean[] results ) throws FinderException
+    {
+        if ( GlobalIds.IS_AUDIT && GlobalIds.IS_OPENLDAP && results.length > 0 )
+        {
+            LdapConnection ld = null;
+
+            try
+            {
+                // No connection is needed when the audit records are queued for the background writer:
+                if ( !AuthZAuditQueue.isEnabled() )
+                {
+                    ld = getAdminConnection();
+                }
+
+                addAuthZAudits( ld, session, inPerms, inPerms, results );
+            }
+            catch ( LdapException e )
+            {
+                String error = "auditDecisions caught LdapException=" + e.getMessage();
+                throw new FinderException( GlobalErrIds.PERM_COMPARE_OP_FAILED, error, e );
+            }
+            finally
+            {
+                closeAdminConnection( ld );
+            }
+        }
+    }
+
+
+    /**
+     * Read a list of permissions with one search per permission subtree, i.e. one search for a list of RBAC permissions
+     * within a tenant.  The filter matches on object and operation names, the object id is matched once the entries
+     * have been returned.
+     *
+     * @param ld this method expects the ldap connection to be good
+     * @param inPerms each must contain {@link Permission#objName}, {@link Permission#opName} and optional {@link Permission#objId}.
+     * @return List in the order of inPerms, containing null where the permission does not exist.
+     * @throws FinderException in the event system error occurs looking up data on ldap server.
+     */
+    private List<Permission> getPerms( LdapConnection ld, List<Permission> inPerms ) throws FinderException
+    {
+        // group the positions of the requested permissions by the subtree that contains them:
+        Map<String, List<Integer>> roots = new LinkedHashMap<>();
+
+        for ( int i = 0; i < inPerms.size(); i++ )
+        {
+            Permission inPerm = inPerms.get( i );
+            String permRoot = getRootDn( inPerm.isAdmin(), inPerm.getContextId() );
+            List<Integer> positions = roots.get( permRoot );
+
+            if ( positions == null )
+            {
+                positions = new ArrayList<>();
+                roots.put( permRoot, positions );
+            }
+
+            positions.add( i );
+        }
+
+        List<Permission> outPerms = new ArrayList<>( Collections.<Permission>nCopies( inPerms.size(), null ) );
+
+        for ( Map.Entry<String, List<Integer>> root : roots.entrySet() )
+        {
+            List<Integer> positions = root.getValue();
+            boolean isAdmin = inPerms.get( positions.get( 0 ) ).isAdmin();
+            Map<String, Permission> found = new HashMap<>();
+
+            try
+            {
+                SearchCursor searchResults = search( ld, root.getKey(), SearchScope.SUBTREE,
+                    getFilter( inPerms, positions ), PERMISSION_OP_ATRS, false );
+                long sequence = 0;
+
+                while ( searchResults.next() )
+                {
+                    Permission outPerm = unloadPopLdapEntry( searchResults.getEntry(), sequence++, isAdmin );
+                    found.put( PermUtil.getPermKey( outPerm.getObjName(), outPerm.getOpName(), outPerm.getObjId() ),
+                        outPerm );
+                }
+            }
+            catch ( LdapException e )
+            {
+                String error = "getPerms root [" + root.getKey() + "] caught LdapException=" + e.getMessage();
+                throw new FinderException( GlobalErrIds.PERM_SEARCH_FAILED, error, e );
+            }
+            catch ( CursorException e )
+            {
+                String error = "getPerms root [" + root.getKey() + "] caught CursorException=" + e.getMessage();
+                throw new FinderException( GlobalErrIds.PERM_SEARCH_FAILED, error, e );
+            }
+
+            for ( int position : positions )
+            {
+                Permission inPerm = inPerms.get( position );
+                Permission outPerm = found.get( PermUtil.getPermKey( inPerm.getObjName(), inPerm.getOpName(),
+                    inPerm.getObjId() ) );
+
+                if ( outPerm != null )
+                {
+                    outPerm.setContextId( inPerm.getContextId() );
+                }
+
+                outPerms.set( position, outPerm );
+            }
+        }
+
+        return outPerms;
+    }
+
+
+    /**
+     * @param inPerms contains the requested permissions.
+     * @param positions contains the positions within inPerms of the permissions to search for.
+     * @return filter of the form (&amp;(objectClass=ftOperation)(|(&amp;(ftObjNm=obj)(ftOpNm=op))...)).
+     * @throws LdapException in the event a name cannot be encoded.
+     */
+    private String getFilter( List<Permission> inPerms, List<Integer> positions ) throws LdapException
+    {
+        StringBuilder filterbuf = new StringBuilder();
+        filterbuf.append( GlobalIds.FILTER_PREFIX );
+        filterbuf.append( PERM_OP_OBJECT_CLASS_NAME );
+        filterbuf.append( ")(|" );
+
+        for ( int position : positions )
+        {
+            Permission inPerm = inPerms.get( position );
+            filterbuf.append( "(&(" );
+            filterbuf.append( GlobalIds.POBJ_NAME );
+            filterbuf.append( "=" );
+            filterbuf.append( encodeSafeText( inPerm.getObjName(), GlobalIds.PERM_LEN ) );
+            filterbuf.append( ")(" );
+            filterbuf.append( GlobalIds.POP_NAME );
+            filterbuf.append( "=" );
+            filterbuf.append( encodeSafeText( inPerm.getOpName(), GlobalIds.PERM_LEN ) );
+            filterbuf.append( "))" );
+        }
+
+        filterbuf.append( "))" );
+        return filterbuf.toString();
+    }
+
+
+    /**
+     * Evaluate a list of permissions for a session.  The session's inherited roles are computed once for the list,
+     * rather than once per permission as {@link #isAuthorized(Session, Permission)} does.
+     *
+     * @param session contains the {@link org.apache.directory.fortress.core.model.Session#getUserId()},{@link Session#getRoles()} or {@link org.apache.directory.fortress.core.model.Session#getAdminRoles()}.
+     * @param inPerms contains the requested permissions, which carry the admin flag and tenant.
+     * @param outPerms contains the stored permissions in the order of inPerms, null where one does not exist.
+     * @return array containing the result of each check in the order of inPerms.
+     */
+    private boolean[] isAuthorized( Session session, List<Permission> inPerms, List<Permission> outPerms )
+    {
+        boolean[] results = new boolean[inPerms.size()];
+        Set<String> inheritedRoles = null;
+        Set<String> inheritedAdminRoles = null;
+
+        for ( int i = 0; i < results.length; i++ )
+        {
+            Permission inPerm = inPerms.get( i );
+            Permission outPerm = outPerms.get( i );
+
+            if ( outPerm == null )
+            {
+                continue;
+            }
+
+            Set<String> userIds = outPerm.getUsers();
+
+            if ( CollectionUtils.isNotEmpty( userIds ) && userIds.contains( session.getUserId() ) )
+            {
+                // user is assigned directly to this permission, no need to look further.
+                results[i] = true;
+                continue;
+            }
+
+            Set<String> roles = outPerm.getRoles();
+
+            if ( CollectionUtils.isEmpty( roles ) )
+            {
+                continue;
+            }
+
+            Set<String> authorizedRoles;
+
+            if ( inPerm.isAdmin() )
+            {
+                if ( inheritedAdminRoles == null )
+                {
+                    inheritedAdminRoles = AdminRoleUtil.getInheritedRoles( session.getAdminRoles(),
+                        inPerm.getContextId() );
+                }
+
+                authorizedRoles = inheritedAdminRoles;
+            }
+            else
+            {
+                if ( inheritedRoles == null )
+                {
+                    inheritedRoles = RoleUtil.getInheritedRoles( session.getRoles(), inPerm.getContextId() );
+                }
+
+                authorizedRoles = inheritedRoles;
+            }
+
+            // case insensitive intersection of the authorized roles with the permission's roles:
+            for ( String role : roles )
+            {
+                if ( authorizedRoles.contains( role ) )
+                {
+                    results[i] = true;
+                    break;
+                }
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Write the audit records of a bulk authorization check, over a single connection or queued together for the
+     * background writer.  Permissions that do not exist have nothing to audit against and are skipped.
+     *
+     * @param ld this method expects the ldap connection to be good, may be null if records are queued.
+     * @param session contains the user the records are associated with.
+     * @param inPerms contains the requested permissions.
+     * @param outPerms contains the stored permissions in the order of inPerms, null where one does not exist.
+     * @param results contains the result of each check in the order of inPerms.
+     * @throws FinderException in the event ldap system exception occurs.
+     */
+    private void addAuthZAudits( LdapConnection ld, Session session, List<Permission> inPerms,
+        List<Permission> outPerms, boolean[] results ) throws FinderException
+    {
+        if ( !GlobalIds.IS_AUDIT || !GlobalIds.IS_OPENLDAP )
+        {
+            return;
+        }
+
+        String userDn = session.getUser().getDn();
+
+        for ( int i = 0; i < results.length; i++ )
+        {
+            Permission inPerm = inPerms.get( i );
+            Permission outPerm = outPerms.get( i );
+
+            if ( outPerm == null )
+            {
+                continue;
+            }
+
+            String dn = getOpRdn( inPerm.getOpName(), inPerm.getObjId() ) + "," + GlobalIds.POBJ_NAME + "="
+                + inPerm.getObjName() + "," + getRootDn( inPerm.isAdmin(), inPerm.getContextId() );
+            String attributeValue = results[i] ? outPerm.getOpName() : outPerm.getOpName()
+                + GlobalIds.FAILED_AUTHZ_INDICATOR;
+            addAuthZAudit( ld, dn, userDn, attributeValue );
+        }
+    }
+
+
     /**
      * Perform LDAP compare operation here to associate audit record with user authorization event.
      *
@@ -920,6 +1337,13 @@ final class PermDAO extends ApacheDsDataProvider
         // Audit can be turned off here with fortress config param: 'enable.audit=false'
         if ( GlobalIds.IS_AUDIT && GlobalIds.IS_OPENLDAP )
         {
+            // Or handed off to the background writer with fortress config param: 'enable.audit.async=true'
+            if ( AuthZAuditQueue.isEnabled() )
+            {
+                AuthZAuditQueue.add( permDn, userDn, attributeValue );
+                return;
+            }
+
             try
             {
                 // The compare method uses OpenLDAP's Proxy Authorization Control to assert identity of end user onto connection:
@@ -943,6 +1367,63 @@ final class PermDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Write a batch of queued authorization audit records using a single connection from the log pool.  Failures are
+     * logged and counted but do not stop the remaining records from being written.
+     *
+     * @param audits contains the records taken from {@link AuthZAuditQueue}.
+     * @return number of records that could not be written.
+     */
+    int addAuthZAudits( List<AuthZAuditQueue.AuthZAudit> audits )
+    {
+        int failures = 0;
+        LdapConnection ld = null;
+
+        try
+        {
+            ld = getLogConnection();
+
+            for ( AuthZAuditQueue.AuthZAudit audit : audits )
+            {
+                try
+                {
+                    compareNode( ld, audit.permDn, audit.userDn, new DefaultAttribute( GlobalIds.POP_NAME,
+                        audit.attributeValue ) );
+                }
+                catch ( LdapNoSuchObjectException e )
+                {
+                    // the permission was removed after the check occurred, nothing to audit against.
+                }
+                catch ( LdapException e )
+                {
+                    LOG.warn( "addAuthZAudits permDn [{}] caught LdapException={}", audit.permDn, e.getMessage() );
+                    failures++;
+                }
+                catch ( UnsupportedEncodingException ee )
+                {
+                    LOG.warn( "addAuthZAudits permDn [{}] caught UnsupportedEncodingException={}", audit.permDn,
+                        ee.getMessage() );
+                    failures++;
+                }
+            }
+        }
+        catch ( LdapException e )
+        {
+            LOG.warn( "addAuthZAudits caught LdapException getting log connection={}", e.getMessage() );
+            failures = audits.size();
+        }
+        finally
+        {
+            if ( ld != null )
+            {
+                closeLogConnection( ld );
+            }
+        }
+
+        return failures;
+    }
+
+
     /**
      * This function will first compare the userId from the session object with the list of users attached to permission object.
      * If match does not occur there, determine if there is a match between the authorized roles of user with roles attached to permission object.
@@ -969,34 +1450,13 @@ final class PermDAO extends ApacheDsDataProvider
         {
             if ( permission.isAdmin() )
             {
-                // ARBAC Permission check include's User's inherited admin roles:
-                Set<String> activatedRoles = AdminRoleUtil.getInheritedRoles( session.getAdminRoles(),
-                    permission.getContextId() );
-
-                for ( String role : roles )
-                {
-                    // This is case insensitive op determines if user has matching admin role to the admin permission::
-                    if ( activatedRoles.contains( role ) )
-                    {
-                        result = true;
-                        break;
-                    }
-                }
+                // ARBAC Permission check include's User's inherited admin roles, case insensitive intersection with the admin permission's roles:
+                result = AdminRoleUtil.hasInheritedRole( session.getAdminRoles(), roles, permission.getContextId() );
             }
             else
             {
-                // RBAC Permission check include's User's inherited roles:
-                Set<String> activatedRoles = RoleUtil.getInheritedRoles( session.getRoles(), permission.getContextId() );
-
-                for ( String role : roles )
-                {
-                    // This is case insensitive op determines if user has matching role:
-                    if ( activatedRoles.contains( role ) )
-                    {
-                        result = true;
-                        break;
-                    }
-                }
+                // RBAC Permission check include's User's inherited roles, case insensitive intersection with the permission's roles:
+                result = RoleUtil.hasInheritedRole( session.getRoles(), roles, permission.getContextId() );
             }
         }
 
@@ -1076,23 +1536,10 @@ final class PermDAO extends ApacheDsDataProvider
 
         try
         {
-            String permObjVal = encodeSafeText( permission.getObjName(), GlobalIds.PERM_LEN );
-            String permOpVal = encodeSafeText( permission.getOpName(), GlobalIds.PERM_LEN );
-            StringBuilder filterbuf = new StringBuilder();
-            filterbuf.append( GlobalIds.FILTER_PREFIX );
-            filterbuf.append( PERM_OP_OBJECT_CLASS_NAME );
-            filterbuf.append( ")(" );
-            filterbuf.append( GlobalIds.POBJ_NAME );
-            filterbuf.append( "=" );
-            filterbuf.append( permObjVal );
-            filterbuf.append( "*)(" );
-            filterbuf.append( GlobalIds.POP_NAME );
-            filterbuf.append( "=" );
-            filterbuf.append( permOpVal );
-            filterbuf.append(  "*))" );
+            String filter = getFindPermissionsFilter( permission );
             ld = getAdminConnection();
             SearchCursor searchResults = search( ld, permRoot,
-                SearchScope.SUBTREE, filterbuf.toString(), PERMISSION_OP_ATRS, false, GlobalIds.BATCH_SIZE );
+                SearchScope.SUBTREE, filter, PERMISSION_OP_ATRS, false, GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
             while ( searchResults.next() )
@@ -1117,6 +1564,69 @@ final class PermDAO extends ApacheDsDataProvider
         return permList;
     }
 
+
+    /**
+     * Same as {@link #findPermissions(Permission)} but without limit on the number of permissions, which are read a
+     * page at a time.
+     *
+     * @param permission
+     * @return
+     * @throws FinderException
+     */
+    SearchIterator<Permission> findPermissionsIterator( final Permission permission )
+        throws FinderException
+    {
+        String permRoot = getRootDn( permission.isAdmin(), permission.getContextId() );
+
+        try
+        {
+            return searchIterator( permRoot, SearchScope.SUBTREE, getFindPermissionsFilter( permission ),
+                PERMISSION_OP_ATRS, GlobalErrIds.PERM_SEARCH_FAILED, new EntryMapper<Permission>()
+                {
+                    @Override
+                    public Permission map( Entry entry, long sequence ) throws LdapException
+                    {
+                        return unloadPopLdapEntry( entry, sequence, permission.isAdmin() );
+                    }
+                } );
+        }
+        catch ( LdapException e )
+        {
+            String error = "findPermissionsIterator caught LdapException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.PERM_SEARCH_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "findPermissionsIterator caught CursorException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.PERM_SEARCH_FAILED, error, e );
+        }
+    }
+
+
+    /**
+     * @param permission contains object and operation name prefixes.
+     * @return the filter matching the permission operations.
+     * @throws LdapException
+     */
+    private String getFindPermissionsFilter( Permission permission ) throws LdapException
+    {
+        String permObjVal = encodeSafeText( permission.getObjName(), GlobalIds.PERM_LEN );
+        String permOpVal = encodeSafeText( permission.getOpName(), GlobalIds.PERM_LEN );
+        StringBuilder filterbuf = new StringBuilder();
+        filterbuf.append( GlobalIds.FILTER_PREFIX );
+        filterbuf.append( PERM_OP_OBJECT_CLASS_NAME );
+        filterbuf.append( ")(" );
+        filterbuf.append( GlobalIds.POBJ_NAME );
+        filterbuf.append( "=" );
+        filterbuf.append( permObjVal );
+        filterbuf.append( "*)(" );
+        filterbuf.append( GlobalIds.POP_NAME );
+        filterbuf.append( "=" );
+        filterbuf.append( permOpVal );
+        filterbuf.append(  "*))" );
+        return filterbuf.toString();
+    }
+
     List<Permission> findPermissionOperations( PermObj permObj )
             throws FinderException
         {
@@ -1642,6 +2152,53 @@ final class PermDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Return every permission operation stored within a tenant's perm root.  Used to load the local snapshot maintained by {@link PermUtil}.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true the ARBAC permissions are returned.
+     * @return List of type Permission containing fully populated permission operations.
+     * @throws org.apache.directory.fortress.core.FinderException
+     *          In the event system error occurs searching ldap server.
+     */
+    List<Permission> findAllPermissions( String contextId, boolean isAdmin ) throws FinderException
+    {
+        List<Permission> permList = new ArrayList<>();
+        LdapConnection ld = null;
+        String permRoot = getRootDn( isAdmin, contextId );
+        String filter = GlobalIds.FILTER_PREFIX + PERM_OP_OBJECT_CLASS_NAME + "))";
+
+        try
+        {
+            ld = getAdminConnection();
+            SearchCursor searchResults = search( ld, permRoot,
+                SearchScope.SUBTREE, filter, PERMISSION_OP_ATRS, false );
+            long sequence = 0;
+
+            while ( searchResults.next() )
+            {
+                permList.add( unloadPopLdapEntry( searchResults.getEntry(), sequence++, isAdmin ) );
+            }
+        }
+        catch ( LdapException e )
+        {
+            String error = "findAllPermissions root [" + permRoot + "] caught LdapException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.PERM_SEARCH_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "findAllPermissions root [" + permRoot + "] caught CursorException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.PERM_SEARCH_FAILED, error, e );
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+
+        return permList;
+    }
+
+
     /**
      * @param opName
      * @param objId
@@ -20,6 +20,7 @@
 package org.apache.directory.fortress.core.impl;
 
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -36,6 +37,7 @@ import org.apache.directory.fortress.core.model.Permission;
 import org.apache.directory.fortress.core.model.Role;
 import org.apache.directory.fortress.core.model.Session;
 import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.VUtil;
 
 
@@ -91,10 +93,59 @@ final class PermP
      */
     boolean checkPermission( Session session, Permission permission ) throws SecurityException
     {
+        // The local snapshot is enabled with fortress config param 'enable.local.pdp=true':
+        if ( PermUtil.isEnabled() )
+        {
+            return pDao.checkPermission( session, permission, PermUtil.getPerm( permission ) );
+        }
+
         return pDao.checkPermission( session, permission );
     }
 
 
+    /**
+     * Bulk form of {@link #checkPermission(Session, Permission)}.  The permissions are taken from the local snapshot
+     * when it is enabled, otherwise they are retrieved from ldap with a single search per permission subtree.
+     * A permission that does not exist is not authorized.
+     *
+     * @param session    contains {@link Session#getUserId()}, for RBAC check {@link Session#getRoles()}, for ARBAC check: {@link Session#getAdminRoles()}.
+     * @param permissions each must contain {@link Permission#objName}, {@link Permission#opName} and optional {@link Permission#objId}.
+     * @return array containing, in the same order as permissions, true if user has access, false otherwise.
+     * @throws SecurityException in the event of data validation failure, security policy violation or DAO error.
+     */
+    boolean[] checkPermissions( Session session, List<Permission> permissions ) throws SecurityException
+    {
+        if ( PermUtil.isEnabled() )
+        {
+            List<Permission> cachedPerms = new ArrayList<>( permissions.size() );
+
+            for ( Permission permission : permissions )
+            {
+                cachedPerms.add( PermUtil.getPerm( permission ) );
+            }
+
+            return pDao.checkPermissions( session, permissions, cachedPerms );
+        }
+
+        return pDao.checkPermissions( session, permissions );
+    }
+
+
+    /**
+     * Audit decisions that were answered from the session's decision cache rather than by
+     * {@link #checkPermission(Session, Permission)}.
+     *
+     * @param session    contains {@link Session#getUser()} the records are associated with.
+     * @param permissions each must contain {@link Permission#objName}, {@link Permission#opName} and optional {@link Permission#objId}.
+     * @param results contains, in the same order as permissions, the cached decisions.
+     * @throws SecurityException in the event of DAO error.
+     */
+    void auditDecisions( Session session, List<Permission> permissions, boolean[] results ) throws SecurityException
+    {
+        pDao.auditDecisions( session, permissions, results );
+    }
+
+
     /**
      * Takes a Permission entity that contains full or partial object name and/or full or partial operation name for search.
      *
@@ -106,6 +157,20 @@ final class PermP
     {
         return pDao.findPermissions( permission );
     }
+
+
+    /**
+     * Takes a Permission entity that contains full or partial object name and/or full or partial operation name for
+     * search.  Matching entities are read a page at a time as the iterator is advanced.
+     *
+     * @param permission contains all or partial object name and/or all or partial operation name.
+     * @return SearchIterator of type Permission containing fully populated matching Permission entities, must be closed.
+     * @throws SecurityException in the event of DAO search error.
+     */
+    SearchIterator<Permission> searchIterator( Permission permission ) throws SecurityException
+    {
+        return pDao.findPermissionsIterator( permission );
+    }
     
     /**
      * Takes a permission object that contains an object name and returns permisison operations for that object
@@ -310,6 +375,20 @@ final class PermP
     }
 
 
+    /**
+     * Return all of the permission operations stored for a particular tenant.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true the ARBAC permissions are returned.
+     * @return List<Permission> containing every permission operation within the tenant's perm root.
+     * @throws SecurityException is thrown if runtime error occurs with system.
+     */
+    List<Permission> getAllPerms( String contextId, boolean isAdmin ) throws SecurityException
+    {
+        return pDao.findAllPermissions( contextId, isAdmin );
+    }
+
+
     /**
      * Return the matching Permission entity.  This method will throw SecurityException if not found.
      *
@@ -0,0 +1,425 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Permission;
+import org.apache.directory.fortress.core.util.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * This utility maintains an in-memory snapshot of the permission operations ({@code ftOperation} entries) for each tenant.
+ * When enabled with fortress config param {@code enable.local.pdp=true}, {@link PermP#checkPermission} evaluates
+ * authorization requests against the snapshot rather than reading the permission from ldap on every call.
+ * <p/>
+ * Each snapshot is keyed by {@link Permission#objName}, {@link Permission#opName} and {@link Permission#objId} and is loaded
+ * with a single ldap search of the tenant's perm root.  A snapshot is reloaded after {@code local.pdp.refresh.interval} seconds
+ * have elapsed (default 300) and is dropped immediately whenever {@link AdminMgrImpl} or {@link DelAdminMgrImpl}
+ * change permissions within this process.  Changes made by other processes become visible on the next refresh.
+ * <p/>
+ * Only the first load of a tenant's snapshot, or the first load after it was dropped, blocks callers and then only callers
+ * of that tenant.  An expired snapshot continues to be used while it is reloaded on a background thread.
+ * <p/>
+ * Static methods on this class are intended for use by other Fortress classes and cannot be directly invoked by outside programs.
+ * <p/>
+ * This class contains singleton that can be updated but is thread safe.
+ * <p/>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class PermUtil
+{
+    private static final String CLS_NM = PermUtil.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String IS_LOCAL_PDP_PARM = "enable.local.pdp";
+    private static final String REFRESH_INTERVAL_PARM = "local.pdp.refresh.interval";
+    private static final boolean IS_LOCAL_PDP = Config.getBoolean( IS_LOCAL_PDP_PARM, false );
+    private static final long REFRESH_INTERVAL = Config.getInt( REFRESH_INTERVAL_PARM, 300 ) * 1000L;
+
+    /** Reads the tenant's permissions from ldap. */
+    private static final Loader PERM_LOADER = new Loader()
+    {
+        @Override
+        public List<Permission> load( String contextId, boolean isAdmin ) throws SecurityException
+        {
+            return new PermP().getAllPerms( contextId, isAdmin );
+        }
+    };
+
+    /** Contains the current permission snapshot for every tenant, RBAC and ARBAC perms are kept separately. */
+    private static final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /** Serializes the first load of each snapshot, so callers of one tenant don't wait on another tenant's load. */
+    private static final ConcurrentMap<String, Object> loadLocks = new ConcurrentHashMap<>();
+
+    /** Reloads expired snapshots, one at a time, off of the checkAccess path. */
+    private static final ExecutorService refresher = Executors.newSingleThreadExecutor( new ThreadFactory()
+    {
+        @Override
+        public Thread newThread( Runnable runnable )
+        {
+            Thread thread = new Thread( runnable, "fortress-local-pdp-refresh" );
+            thread.setDaemon( true );
+            return thread;
+        }
+    } );
+
+    /** Incremented on every invalidation so loads that raced with an update are not published. */
+    private static final AtomicLong generation = new AtomicLong();
+
+
+    /**
+     * Reads all of a tenant's permission operations.
+     */
+    interface Loader
+    {
+        /**
+         * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+         * @param isAdmin if true the ARBAC permissions are returned.
+         * @return list of all permission operations for the tenant.
+         * @throws SecurityException in the event of ldap search error.
+         */
+        List<Permission> load( String contextId, boolean isAdmin ) throws SecurityException;
+    }
+
+
+    /**
+     * Private constructor
+     *
+     */
+    private PermUtil()
+    {
+    }
+
+
+    /**
+     * Return true if the local policy decision point has been enabled in fortress config.
+     *
+     * @return boolean value of {@code enable.local.pdp} param.
+     */
+    static boolean isEnabled()
+    {
+        return IS_LOCAL_PDP;
+    }
+
+
+    /**
+     * Return the permission operation from the tenant's snapshot, loading or refreshing the snapshot from ldap if needed.
+     * The entity returned is shared by all threads and must not be modified or handed to callers outside of fortress.
+     *
+     * @param permission contains {@link Permission#objName}, {@link Permission#opName}, optional {@link Permission#objId},
+     *                   {@link Permission#isAdmin()} and {@link Permission#getContextId()}.
+     * @return matching Permission or null if not found in the snapshot.
+     * @throws SecurityException in the event the snapshot cannot be loaded from ldap.
+     */
+    static Permission getPerm( Permission permission ) throws SecurityException
+    {
+        return getPerm( permission, PERM_LOADER, REFRESH_INTERVAL );
+    }
+
+
+    /**
+     *
+     * @param permission contains {@link Permission#objName}, {@link Permission#opName}, optional {@link Permission#objId},
+     *                   {@link Permission#isAdmin()} and {@link Permission#getContextId()}.
+     * @param loader reads the tenant's permissions when the snapshot is loaded or refreshed.
+     * @param interval number of milliseconds a newly loaded snapshot is used before it is refreshed.
+     * @return matching Permission or null if not found in the snapshot.
+     * @throws SecurityException in the event the snapshot cannot be loaded.
+     */
+    static Permission getPerm( Permission permission, Loader loader, long interval ) throws SecurityException
+    {
+        Snapshot snapshot = getSnapshot( permission.getContextId(), permission.isAdmin(), loader, interval );
+        return snapshot.perms.get( getPermKey( permission.getObjName(), permission.getOpName(), permission.getObjId() ) );
+    }
+
+
+    /**
+     * Drop the permission snapshot for a given tenant.  The next authorization check will reload it from ldap.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true the ARBAC permission snapshot is cleared, otherwise the RBAC one.
+     */
+    static void clearCache( String contextId, boolean isAdmin )
+    {
+        generation.incrementAndGet();
+        snapshots.remove( getKey( contextId, isAdmin ) );
+    }
+
+
+    /**
+     * Drop both the RBAC and ARBAC permission snapshots for a given tenant.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     */
+    static void clearCache( String contextId )
+    {
+        clearCache( contextId, false );
+        clearCache( contextId, true );
+    }
+
+
+    /**
+     * Return the tenant's snapshot.  If there isn't one it is loaded on the calling thread, if it has expired the first
+     * caller to notice schedules its refresh and all callers continue to use it until the refresh is published.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true the ARBAC permission snapshot is returned.
+     * @param loader reads the tenant's permissions.
+     * @param interval number of milliseconds a newly loaded snapshot is used before it is refreshed.
+     * @return current snapshot for the tenant.
+     * @throws SecurityException in the event the snapshot cannot be loaded from ldap.
+     */
+    private static Snapshot getSnapshot( String contextId, boolean isAdmin, Loader loader, long interval )
+        throws SecurityException
+    {
+        String key = getKey( contextId, isAdmin );
+        Snapshot snapshot = snapshots.get( key );
+
+        if ( snapshot == null )
+        {
+            // Only one thread per tenant performs the load, others of that tenant wait for its result:
+            synchronized ( getLoadLock( key ) )
+            {
+                snapshot = snapshots.get( key );
+
+                if ( snapshot == null )
+                {
+                    snapshot = loadSnapshot( contextId, isAdmin, key, loader, interval, null );
+                }
+            }
+        }
+        else if ( snapshot.isExpired() && snapshot.refreshing.compareAndSet( false, true ) )
+        {
+            scheduleRefresh( contextId, isAdmin, key, loader, interval, snapshot );
+        }
+
+        return snapshot;
+    }
+
+
+    /**
+     *
+     * @param key contains the snapshot key for the tenant.
+     * @return the object used to serialize the first load of the tenant's snapshot.
+     */
+    private static Object getLoadLock( String key )
+    {
+        Object lock = loadLocks.get( key );
+
+        if ( lock == null )
+        {
+            Object newLock = new Object();
+            lock = loadLocks.putIfAbsent( key, newLock );
+
+            if ( lock == null )
+            {
+                lock = newLock;
+            }
+        }
+
+        return lock;
+    }
+
+
+    /**
+     * Reload an expired snapshot on the refresh thread.  If the load fails the expired snapshot remains in use and the
+     * next caller to find it schedules another attempt.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true the ARBAC permissions are loaded.
+     * @param key contains the snapshot key for the tenant.
+     * @param loader reads the tenant's permissions.
+     * @param interval number of milliseconds the new snapshot is used before it is refreshed.
+     * @param expired the snapshot being replaced.
+     */
+    private static void scheduleRefresh( final String contextId, final boolean isAdmin, final String key,
+        final Loader loader, final long interval, final Snapshot expired )
+    {
+        try
+        {
+            refresher.execute( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        loadSnapshot( contextId, isAdmin, key, loader, interval, expired );
+                    }
+                    catch ( SecurityException se )
+                    {
+                        refreshFailed( contextId, isAdmin, expired, se );
+                    }
+                    catch ( RuntimeException re )
+                    {
+                        refreshFailed( contextId, isAdmin, expired, re );
+                    }
+                }
+            } );
+        }
+        catch ( RejectedExecutionException ree )
+        {
+            expired.refreshing.set( false );
+        }
+    }
+
+
+    /**
+     * Leave the expired snapshot in use so the next caller to find it schedules another attempt.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true the ARBAC permissions were being loaded.
+     * @param expired the snapshot that could not be replaced.
+     * @param e the cause of the failure.
+     */
+    private static void refreshFailed( String contextId, boolean isAdmin, Snapshot expired, Exception e )
+    {
+        LOG.warn( "scheduleRefresh failed to refresh PERM context [{}] isAdmin [{}]", contextId, isAdmin, e );
+        expired.refreshing.set( false );
+    }
+
+
+    /**
+     * Read all of the tenant's permission operations and publish them as the new snapshot.  The snapshot is not
+     * published if the policy was changed within this process while the search was in progress.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true the ARBAC permissions are loaded.
+     * @param key contains the snapshot key for the tenant.
+     * @param loader reads the tenant's permissions.
+     * @param interval number of milliseconds the new snapshot is used before it is refreshed.
+     * @param expired the snapshot being replaced, null if there isn't one.
+     * @return the newly loaded snapshot.
+     * @throws SecurityException in the event of ldap search error.
+     */
+    private static Snapshot loadSnapshot( String contextId, boolean isAdmin, String key, Loader loader, long interval,
+        Snapshot expired ) throws SecurityException
+    {
+        long startGeneration = generation.get();
+        LOG.info( "loadSnapshot initializing PERM context [{}] isAdmin [{}]", contextId, isAdmin );
+        List<Permission> perms = loader.load( contextId, isAdmin );
+        Map<String, Permission> permMap = new HashMap<>( perms.size() * 2 );
+
+        for ( Permission perm : perms )
+        {
+            perm.setAdmin( isAdmin );
+            perm.setContextId( contextId );
+            permMap.put( getPermKey( perm.getObjName(), perm.getOpName(), perm.getObjId() ), perm );
+        }
+
+        Snapshot snapshot = new Snapshot( permMap, System.currentTimeMillis() + interval );
+
+        if ( generation.get() == startGeneration )
+        {
+            boolean published = expired == null ? snapshots.putIfAbsent( key, snapshot ) == null
+                : snapshots.replace( key, expired, snapshot );
+
+            // clearCache may have run between the check and the publish, if so take it back:
+            if ( published && generation.get() != startGeneration )
+            {
+                snapshots.remove( key, snapshot );
+            }
+        }
+
+        return snapshot;
+    }
+
+
+    /**
+     *
+     * @param objName contains the permission object name.
+     * @param opName contains the permission operation name.
+     * @param objId optional object id.
+     * @return case insensitive key of the permission within the snapshot.
+     */
+    static String getPermKey( String objName, String opName, String objId )
+    {
+        StringBuilder key = new StringBuilder();
+        key.append( StringUtils.upperCase( objName ) ).append( ":" ).append( StringUtils.upperCase( opName ) );
+
+        if ( StringUtils.isNotEmpty( objId ) )
+        {
+            key.append( ":" ).append( objId.toUpperCase() );
+        }
+
+        return key.toString();
+    }
+
+
+    /**
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @param isAdmin if true key refers to ARBAC perms.
+     * @return key to this tenant's snapshot.
+     */
+    private static String getKey( String contextId, boolean isAdmin )
+    {
+        String key = isAdmin ? "ADMINPERM" : "PERM";
+
+        if ( StringUtils.isNotEmpty( contextId ) && !contextId.equalsIgnoreCase( GlobalIds.NULL ) )
+        {
+            key += ":" + contextId;
+        }
+
+        return key;
+    }
+
+
+    /**
+     * Immutable point in time copy of a tenant's permission operations.
+     */
+    private static final class Snapshot
+    {
+        private final Map<String, Permission> perms;
+        private final long expiration;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+
+        private Snapshot( Map<String, Permission> perms, long expiration )
+        {
+            this.perms = perms;
+            this.expiration = expiration;
+        }
+
+
+        private boolean isExpired()
+        {
+            return System.currentTimeMillis() > expiration;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.directory.api.ldap.model.constants.SchemaConstants;
+import org.apache.directory.api.ldap.model.cursor.CursorException;
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.exception.LdapEntryAlreadyExistsException;
+import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.exception.LdapNoSuchObjectException;
+import org.apache.directory.api.ldap.model.ldif.LdifEntry;
+import org.apache.directory.api.ldap.model.ldif.LdifReader;
+import org.apache.directory.api.ldap.model.ldif.LdifUtils;
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.fortress.core.CreateException;
+import org.apache.directory.fortress.core.FinderException;
+import org.apache.directory.fortress.core.FinderRuntimeException;
+import org.apache.directory.fortress.core.GlobalErrIds;
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.directory.fortress.core.util.SearchIterator;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * This class copies the policy of a tenant between the directory and LDIF.  The policy is every entry beneath the
+ * fortress containers of the tenant, i.e. user and perm OUs, password policies, RBAC and ARBAC roles, SD sets, RBAC and
+ * ARBAC permissions, users and groups, along with the containers themselves.  Hierarchies are carried by the
+ * {@code ftParents} attribute of the entries.
+ * <p/>
+ * The export reads each container with one paged subtree search, whose entries are written as each page arrives, so
+ * neither the client nor the server holds more than a page of the policy at a time, and a container larger than the
+ * server's size limit is exported in full.  The containers are exported in dependency order, i.e. pw
+ * policies and roles before the users that refer to them.
+ * <p/>
+ * The import reads the LDIF in batches.  The entries of a batch are divided among a number of threads, each adding its
+ * share over its own admin connection.  An entry whose parent isn't there yet, e.g. a permission operation whose object
+ * is being added by another thread, is added again once the batch completes.  Entries that already exist, such as the
+ * containers of an initialized directory, are skipped.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class PolicyLdifDAO extends ApacheDsDataProvider
+{
+    private static final String CLS_NM = PolicyLdifDAO.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String OPENLDAP_POLICY_SUBENTRY = "pwdPolicySubentry";
+    private static final String ALL_OBJECTS_FILTER = "(objectclass=*)";
+
+    /**
+     * Exports the entries as read.
+     */
+    private static final EntryMapper<Entry> ENTRY_MAPPER = new EntryMapper<Entry>()
+    {
+        @Override
+        public Entry map( Entry entry, long sequence )
+        {
+            return entry;
+        }
+    };
+
+    /**
+     * The fortress containers, in the order their entries must be added.
+     */
+    private static final String[] ROOTS =
+        {
+            GlobalIds.OSU_ROOT,
+            GlobalIds.PSU_ROOT,
+            GlobalIds.PPOLICY_ROOT,
+            GlobalIds.ROLE_ROOT,
+            GlobalIds.ADMIN_ROLE_ROOT,
+            GlobalIds.SD_ROOT,
+            GlobalIds.PERM_ROOT,
+            GlobalIds.ADMIN_PERM_ROOT,
+            GlobalIds.USER_ROOT,
+            GlobalIds.GROUP_ROOT
+    };
+
+    // the pw policy of a user is stored in an operational attribute, which must be requested by name:
+    private static final String[] EXPORT_ATRS =
+        {
+            SchemaConstants.ALL_USER_ATTRIBUTES, OPENLDAP_POLICY_SUBENTRY
+    };
+
+    // parents have fewer rdns than their children:
+    private static final Comparator<Entry> PARENTS_FIRST = new Comparator<Entry>()
+    {
+        @Override
+        public int compare( Entry entry1, Entry entry2 )
+        {
+            return entry1.getDn().size() - entry2.getDn().size();
+        }
+    };
+
+
+    /**
+     * Package private default constructor.
+     */
+    PolicyLdifDAO()
+    {
+    }
+
+
+    /**
+     * Write the policy of a tenant as LDIF.
+     *
+     * @param contextId maps to the tenant whose policy is exported.
+     * @param writer receives the LDIF, is flushed but not closed.
+     * @return number of entries exported.
+     * @throws FinderException in the event of ldap or io error.
+     */
+    long exportLdif( String contextId, Writer writer ) throws FinderException
+    {
+        long count = 0;
+        String dn = null;
+
+        try
+        {
+            writer.write( "version: 1\n\n" );
+
+            for ( String root : ROOTS )
+            {
+                if ( StringUtils.isEmpty( Config.getProperty( root ) ) )
+                {
+                    continue;
+                }
+
+                dn = getRootDn( contextId, root );
+
+                try ( SearchIterator<Entry> entries = searchIterator( dn, SearchScope.SUBTREE, ALL_OBJECTS_FILTER,
+                    EXPORT_ATRS, GlobalErrIds.LDIF_EXPORT_FAILED, ENTRY_MAPPER ) )
+                {
+                    while ( entries.hasNext() )
+                    {
+                        writer.write( LdifUtils.convertToLdif( entries.next() ) );
+                        writer.write( '\n' );
+                        count++;
+                    }
+                }
+
+                LOG.debug( "exportLdif dn [{}] total entries [{}]", dn, count );
+            }
+
+            writer.flush();
+        }
+        catch ( LdapException e )
+        {
+            String error = "exportLdif dn [" + dn + "] caught LdapException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.LDIF_EXPORT_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "exportLdif dn [" + dn + "] caught CursorException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.LDIF_EXPORT_FAILED, error, e );
+        }
+        catch ( FinderRuntimeException e )
+        {
+            String error = "exportLdif dn [" + dn + "] caught FinderRuntimeException=" + e.getMessage();
+            throw new FinderException( e.getErrorId(), error, e );
+        }
+        catch ( IOException e )
+        {
+            String error = "exportLdif dn [" + dn + "] caught IOException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.LDIF_EXPORT_FAILED, error, e );
+        }
+
+        LOG.info( "exportLdif contextId [{}] exported [{}] entries", contextId, count );
+        return count;
+    }
+
+
+    /**
+     * Add the entries contained in LDIF to the directory.
+     *
+     * @param reader contains LDIF, e.g. created by {@link #exportLdif(String, Writer)}, is not closed.
+     * @param threads number of entries added at once.
+     * @param batchSize number of entries read before they are added.
+     * @return number of entries added, those that already existed or failed are not counted.
+     * @throws CreateException in the event the LDIF is malformed or an admin connection cannot be obtained.
+     */
+    long importLdif( Reader reader, int threads, int batchSize ) throws CreateException
+    {
+        ImportCounts counts = new ImportCounts();
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool( threads ) : null;
+        List<Entry> batch = new ArrayList<>( batchSize );
+        List<Entry> orphans = new ArrayList<>();
+
+        try
+        {
+            LdifReader ldifReader = new LdifReader( reader );
+
+            for ( LdifEntry ldifEntry : ldifReader )
+            {
+                batch.add( ldifEntry.getEntry() );
+
+                if ( batch.size() >= batchSize )
+                {
+                    orphans = addBatch( batch, orphans, executor, threads, counts );
+                    batch = new ArrayList<>( batchSize );
+                }
+            }
+
+            if ( ldifReader.hasError() )
+            {
+                String error = "importLdif caught Exception=" + ldifReader.getError();
+                throw new CreateException( GlobalErrIds.LDIF_PARSE_FAILED, error, ldifReader.getError() );
+            }
+
+            orphans = addBatch( batch, orphans, executor, threads, counts );
+
+            for ( Entry orphan : orphans )
+            {
+                LOG.warn( "importLdif dn [{}] parent not found", orphan.getDn() );
+                counts.failed.incrementAndGet();
+            }
+        }
+        catch ( LdapException e )
+        {
+            String error = "importLdif caught LdapException=" + e.getMessage();
+            throw new CreateException( GlobalErrIds.LDIF_IMPORT_FAILED, error, e );
+        }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        LOG.info( "importLdif added [{}] skipped [{}] failed [{}] entries", counts.added, counts.skipped,
+            counts.failed );
+        return counts.added.get();
+    }
+
+
+    /**
+     * Add a batch of entries.
+     *
+     * @param batch contains the entries read.
+     * @param orphans contains the entries of previous batches whose parents weren't found.
+     * @param executor runs the threads, null to add the entries on this thread.
+     * @param threads number of threads the batch is divided among.
+     * @param counts keeps the results.
+     * @return the entries whose parents are still not found.
+     * @throws LdapException in the event an admin connection cannot be obtained.
+     * @throws CreateException if interrupted.
+     */
+    private List<Entry> addBatch( List<Entry> batch, List<Entry> orphans, ExecutorService executor, int threads,
+        final ImportCounts counts ) throws LdapException, CreateException
+    {
+        final List<Entry> retries = Collections.synchronizedList( new ArrayList<Entry>( orphans ) );
+
+        if ( executor == null || batch.size() < 2 )
+        {
+            addEntries( batch, retries, counts );
+        }
+        else
+        {
+            int slice = ( batch.size() + threads - 1 ) / threads;
+            List<Future<Void>> futures = new ArrayList<>( threads );
+
+            // contiguous slices keep most children with their parents:
+            for ( int i = 0; i < batch.size(); i += slice )
+            {
+                final List<Entry> entries = batch.subList( i, Math.min( i + slice, batch.size() ) );
+                futures.add( executor.submit( new Callable<Void>()
+                {
+                    @Override
+                    public Void call() throws LdapException
+                    {
+                        addEntries( entries, retries, counts );
+                        return null;
+                    }
+                } ) );
+            }
+
+            try
+            {
+                for ( Future<Void> future : futures )
+                {
+                    future.get();
+                }
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new CreateException( GlobalErrIds.LDIF_IMPORT_FAILED, "importLdif interrupted", e );
+            }
+            catch ( ExecutionException e )
+            {
+                if ( e.getCause() instanceof LdapException )
+                {
+                    throw ( LdapException ) e.getCause();
+                }
+
+                String error = "importLdif caught Exception=" + e.getCause();
+                throw new CreateException( GlobalErrIds.LDIF_IMPORT_FAILED, error, e );
+            }
+        }
+
+        if ( retries.isEmpty() )
+        {
+            return retries;
+        }
+
+        // now that the batch is in, try again those whose parents were missing:
+        List<Entry> ordered = new ArrayList<>( retries );
+        Collections.sort( ordered, PARENTS_FIRST );
+        List<Entry> remaining = new ArrayList<>();
+        addEntries( ordered, remaining, counts );
+        return remaining;
+    }
+
+
+    /**
+     * Add entries over one admin connection.
+     *
+     * @param entries to add, in order.
+     * @param orphans receives the entries whose parent isn't found.
+     * @param counts keeps the results.
+     * @throws LdapException in the event an admin connection cannot be obtained.
+     */
+    private void addEntries( List<Entry> entries, List<Entry> orphans, ImportCounts counts ) throws LdapException
+    {
+        LdapConnection ld = null;
+
+        try
+        {
+            ld = getAdminConnection();
+
+            for ( Entry entry : entries )
+            {
+                try
+                {
+                    add( ld, entry );
+                    counts.added.incrementAndGet();
+                }
+                catch ( LdapEntryAlreadyExistsException e )
+                {
+                    LOG.debug( "importLdif dn [{}] already exists", entry.getDn() );
+                    counts.skipped.incrementAndGet();
+                }
+                catch ( LdapNoSuchObjectException e )
+                {
+                    orphans.add( entry );
+                }
+                catch ( LdapException e )
+                {
+                    LOG.warn( "importLdif dn [{}] caught LdapException={}", entry.getDn(), e.getMessage() );
+                    counts.failed.incrementAndGet();
+                }
+            }
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+    }
+
+
+    /**
+     * The results of an import.
+     */
+    private static final class ImportCounts
+    {
+        private final AtomicLong added = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+    }
+}
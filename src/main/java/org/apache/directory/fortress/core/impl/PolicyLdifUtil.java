@@ -0,0 +1,175 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.util.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * This utility snapshots the policy of a tenant to LDIF and restores it, e.g. to clone a production policy into a test
+ * environment.  The policy is everything beneath the tenant's fortress containers: user and perm OUs, pw policies,
+ * RBAC and ARBAC roles with their hierarchies, SD sets, permissions and grants, users with their assignments, and
+ * groups.  Unlike the fortress ant load scripts, entries are copied as stored, including internal ids and password
+ * hashes, without being validated again.
+ * <p/>
+ * The export streams the entries from the directory to the writer.  The import adds the entries in batches of
+ * {@code ldif.import.batch} (default 1000), each divided among {@code ldif.import.threads} threads, which defaults to
+ * {@code max.admin.conn}.  Entries already present in the target are skipped.  The target must use the same suffix and
+ * tenant as the source, and have been initialized, i.e. contain the suffix and the parents of the fortress containers.
+ * Caches of a running fortress process are not refreshed by an import.
+ * <p/>
+ * From the command line, with the fortress configuration on the classpath:
+ * <pre>
+ * java org.apache.directory.fortress.core.impl.PolicyLdifUtil export|import fileName [contextId]
+ * </pre>
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public final class PolicyLdifUtil
+{
+    private static final String CLS_NM = PolicyLdifUtil.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String IMPORT_THREADS = "ldif.import.threads";
+    private static final String IMPORT_BATCH = "ldif.import.batch";
+    private static final PolicyLdifDAO ldifDao = new PolicyLdifDAO();
+
+
+    /**
+     * Private constructor
+     *
+     */
+    private PolicyLdifUtil()
+    {
+    }
+
+
+    /**
+     * Write the policy of a tenant as LDIF.
+     *
+     * @param contextId maps to the tenant whose policy is exported, null for the default.
+     * @param writer receives the LDIF, is flushed but not closed.
+     * @return number of entries exported.
+     * @throws SecurityException in the event of ldap or io error.
+     */
+    public static long exportPolicy( String contextId, Writer writer ) throws SecurityException
+    {
+        return ldifDao.exportLdif( contextId, writer );
+    }
+
+
+    /**
+     * Add the entries of LDIF to the directory, with the threads and batch size configured.
+     *
+     * @param reader contains LDIF created by {@link #exportPolicy(String, Writer)}, is not closed.
+     * @return number of entries added.
+     * @throws SecurityException in the event the LDIF is malformed or the directory cannot be reached.
+     */
+    public static long importPolicy( Reader reader ) throws SecurityException
+    {
+        int threads = Config.getInt( IMPORT_THREADS, Config.getInt( GlobalIds.LDAP_ADMIN_POOL_MAX, 10 ) );
+        return importPolicy( reader, threads, Config.getInt( IMPORT_BATCH, 1000 ) );
+    }
+
+
+    /**
+     * Add the entries of LDIF to the directory.
+     *
+     * @param reader contains LDIF created by {@link #exportPolicy(String, Writer)}, is not closed.
+     * @param threads number of entries added at once, one adds every entry on the calling thread.
+     * @param batchSize number of entries read before they are added.
+     * @return number of entries added.
+     * @throws SecurityException in the event the LDIF is malformed or the directory cannot be reached.
+     */
+    public static long importPolicy( Reader reader, int threads, int batchSize ) throws SecurityException
+    {
+        return ldifDao.importLdif( reader, Math.max( threads, 1 ), Math.max( batchSize, 1 ) );
+    }
+
+
+    /**
+     * Export or import the policy of a tenant.
+     *
+     * @param args export or import, the name of the LDIF file and, optionally, the contextId.
+     */
+    public static void main( String[] args )
+    {
+        if ( args.length < 2 )
+        {
+            System.out.println( "Usage: " + CLS_NM + " export|import fileName [contextId]" );
+            return;
+        }
+
+        String contextId = args.length > 2 ? args[2] : GlobalIds.HOME;
+        long start = System.currentTimeMillis();
+
+        try
+        {
+            long count;
+
+            if ( "export".equalsIgnoreCase( args[0] ) )
+            {
+                try ( Writer writer = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( args[1] ),
+                    StandardCharsets.UTF_8 ) ) )
+                {
+                    count = exportPolicy( contextId, writer );
+                }
+            }
+            else
+            {
+                try ( Reader reader = new BufferedReader( new InputStreamReader( new FileInputStream( args[1] ),
+                    StandardCharsets.UTF_8 ) ) )
+                {
+                    count = importPolicy( reader );
+                }
+            }
+
+            System.out.println( args[0] + " contextId [" + contextId + "] file [" + args[1] + "] entries [" + count
+                + "] elapsed [" + ( System.currentTimeMillis() - start ) + "] ms" );
+        }
+        catch ( SecurityException se )
+        {
+            LOG.error( "main caught SecurityException={}", se.getMessage(), se );
+            System.exit( 1 );
+        }
+        catch ( IOException ioe )
+        {
+            LOG.error( "main file [{}] caught IOException={}", args[1], ioe.getMessage(), ioe );
+            System.exit( 1 );
+        }
+    }
+}
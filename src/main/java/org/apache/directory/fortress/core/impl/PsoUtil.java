@@ -20,10 +20,10 @@
 package org.apache.directory.fortress.core.impl;
 
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
@@ -37,23 +37,21 @@ import org.slf4j.LoggerFactory;
 import org.apache.directory.fortress.core.GlobalIds;
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.ValidationException;
-import org.apache.directory.fortress.core.util.cache.Cache;
-import org.apache.directory.fortress.core.util.cache.CacheMgr;
 
 
 /**
  * This utility wraps {@link HierUtil} methods to provide hierarchical functionality using the {@link org.apache.directory.fortress.core.model.OrgUnit} data set
  * for Permissions, {@link org.apache.directory.fortress.core.model.OrgUnit.Type#PERM}.
- * The {@code cn=Hierarchies, ou=OS-P} data contains Permission OU pools and within a data cache, {@link #psoCache}, contained within this class.  The parent-child edges are contained in LDAP,
+ * The {@code cn=Hierarchies, ou=OS-P} data contains Permission OU pools and is published as an immutable snapshot by {@link HierUtil#getHier}.  The parent-child edges are contained in LDAP,
  * in {@code ftParents} attribute.  The ldap data is retrieved {@link OrgUnitP#getAllDescendants(org.apache.directory.fortress.core.model.OrgUnit)} and loaded into {@code org.jgrapht.graph.SimpleDirectedGraph}.
  * The graph...
  * <ol>
- * <li>is stored as singleton in this class with vertices of {@code String}, and edges, as {@link org.apache.directory.fortress.core.model.Relationship}s</li>
+ * <li>is shared by readers without locking and has vertices of {@code String}, and edges, as {@link org.apache.directory.fortress.core.model.Relationship}s</li>
  * <li>utilizes open source library, see <a href="http://www.jgrapht.org/">JGraphT</a>.</li>
  * <li>contains a general hierarchical data structure i.e. allows multiple inheritance with parents.</li>
  * <li>is a simple directed graph thus does not allow cycles.</li>
  * </ol>
- * After update is performed to ldap, the singleton is refreshed with latest info.
+ * After update is performed to ldap, a modified copy of the graph replaces the snapshot.
  * <p/>
  * Static methods on this class are intended for use by other Fortress classes, i.e. {@link DelAdminMgrImpl}.
  * and cannot be directly invoked by outside programs.
@@ -65,20 +63,21 @@ import org.apache.directory.fortress.core.util.cache.CacheMgr;
  */
 final class PsoUtil
 {
-    private static final Cache psoCache;
     private static OrgUnitP orgUnitP = new OrgUnitP();
     private static final String CLS_NM = PsoUtil.class.getName();
     private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
 
     /**
-     * Initialize the Perm OU hierarchies.  This will read the {@link org.apache.directory.fortress.core.model.Hier} data set from ldap and load into
-     * the JGraphT simple digraph that referenced statically within this class.
+     * Reads the hierarchy from ldap whenever {@link HierUtil} needs to load or refresh this tenant's snapshot.
      */
-    static
+    private static final HierUtil.Loader LOADER = new HierUtil.Loader()
     {
-        CacheMgr cacheMgr = CacheMgr.getInstance();
-        psoCache = cacheMgr.getCache( "fortress.pso" );
-    }
+        @Override
+        public SimpleDirectedGraph<String, Relationship> load( String contextId )
+        {
+            return loadGraph( contextId );
+        }
+    };
 
 
     /**
@@ -90,7 +89,7 @@ final class PsoUtil
      */
     static Set<String> getDescendants( String name, String contextId )
     {
-        return HierUtil.getDescendants( name, getGraph( contextId ) );
+        return getCompiled( contextId ).getDescendants( name );
     }
 
 
@@ -103,7 +102,7 @@ final class PsoUtil
      */
     static Set<String> getAscendants( String name, String contextId )
     {
-        return HierUtil.getAscendants( name, getGraph( contextId ) );
+        return getCompiled( contextId ).getAscendants( name );
     }
 
 
@@ -155,23 +154,12 @@ final class PsoUtil
      */
     static Set<String> getInherited( List<OrgUnit> ous, String contextId )
     {
-        // create Set with case insensitive comparator:
-        Set<String> iOUs = new TreeSet<>( String.CASE_INSENSITIVE_ORDER );
-        if ( CollectionUtils.isNotEmpty( ous ) )
+        if ( CollectionUtils.isEmpty( ous ) )
         {
-            for ( OrgUnit ou : ous )
-            {
-                String name = ou.getName();
-                iOUs.add( name );
-                Set<String> parents = HierUtil.getAscendants( name, getGraph( contextId ) );
-
-                if ( CollectionUtils.isNotEmpty( parents ) )
-                {
-                    iOUs.addAll( parents );
-                }
-            }
+            // create Set with case insensitive comparator:
+            return new TreeSet<>( String.CASE_INSENSITIVE_ORDER );
         }
-        return iOUs;
+        return getCompiled( contextId ).getAscendants( getNames( ous ) );
     }
 
 
@@ -210,7 +198,7 @@ final class PsoUtil
      */
     static void updateHier( String contextId, Relationship relationship, Hier.Op op ) throws SecurityException
     {
-        HierUtil.updateHier( getGraph( contextId ), relationship, op );
+        HierUtil.updateHier( getKey( contextId ), contextId, LOADER, relationship, op );
     }
 
 
@@ -244,7 +232,6 @@ final class PsoUtil
         SimpleDirectedGraph<String, Relationship> graph;
 
         graph = HierUtil.buildGraph( hier );
-        psoCache.put( getKey( contextId ), graph );
 
         return graph;
     }
@@ -256,44 +243,34 @@ final class PsoUtil
      */
     private static SimpleDirectedGraph<String, Relationship> getGraph( String contextId )
     {
-        ReadWriteLock hierLock = HierUtil.getLock( contextId, HierUtil.Type.PSO );
-        String key = getKey( contextId );
+        return getCompiled( contextId ).getGraph();
+    }
 
-        try
-        {
-            hierLock.readLock().lock();
-            SimpleDirectedGraph<String, Relationship> graph = ( SimpleDirectedGraph<String, Relationship> ) psoCache
-                .get( key );
-
-            if ( graph == null )
-            {
-                try
-                {
-                    hierLock.readLock().unlock();
-                    hierLock.writeLock().lock();
-
-                    // TODO: determine why this (code that was commented out) creates a deadlock:
-                    //graph = ( SimpleDirectedGraph<String, Relationship> ) psoCache.get( key );
-
-                    //if ( graph == null )
-                    //{
-                    graph = loadGraph( contextId );
-                    //}
-
-                    hierLock.readLock().lock();
-                }
-                finally
-                {
-                    hierLock.writeLock().unlock();
-                }
-            }
-
-            return graph;
-        }
-        finally
+
+    /**
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return precomputed ascendant and descendant closures of the perm ou hierarchies.
+     */
+    static CompiledHier getCompiled( String contextId )
+    {
+        return HierUtil.getHier( getKey( contextId ), contextId, LOADER );
+    }
+
+
+    /**
+     *
+     * @param ous contains the entities to pull names from.
+     * @return List of names.
+     */
+    private static List<String> getNames( List<OrgUnit> ous )
+    {
+        List<String> names = new ArrayList<>( ous.size() );
+        for ( OrgUnit entity : ous )
         {
-            hierLock.readLock().unlock();
+            names.add( entity.getName() );
         }
+        return names;
     }
 
 
@@ -30,6 +30,7 @@ import org.apache.directory.fortress.core.model.Role;
 import org.apache.directory.fortress.core.model.SDSet;
 import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.VUtil;
 
 import java.util.ArrayList;
@@ -149,6 +150,25 @@ public class ReviewMgrImpl extends Manageable implements ReviewMgr
         return permP.search( permission );
     }
 
+    /**
+     * Method returns the Permissions that match the perm object search string, a page at a time as the iterator is
+     * advanced.  The iterator holds a pooled admin connection, released once the last result is read or the iterator
+     * is closed.
+     *
+     * @param permission contains object and operation name search strings.  Each contains 1 or more leading chars that correspond to object or op name.
+     * @return SearchIterator of type Permission, the caller must close it, e.g. with try-with-resources.
+     * @throws SecurityException thrown in the event of system error.
+     */
+    @Override
+    public SearchIterator<Permission> findPermissionsIterator(Permission permission)
+        throws SecurityException
+    {
+        String methodName = "findPermissionsIterator";
+        assertContext( CLS_NM, methodName, permission, GlobalErrIds.PERM_OPERATION_NULL );
+        checkAccess(CLS_NM, methodName);
+        return permP.searchIterator( permission );
+    }
+
     /**
      * Method returns Permission operations for the provided permission object
      *
@@ -278,6 +298,29 @@ public class ReviewMgrImpl extends Manageable implements ReviewMgr
         return roleP.search( role );
     }
 
+    /**
+     * Method will return the Roles matching all or part of Role name, {@link Role#name}, a page at a time as the
+     * iterator is advanced.  The iterator holds a pooled admin connection, released once the last result is read or the
+     * iterator is closed.
+     *
+     * @param searchVal contains all or some of the chars corresponding to role entities stored in directory.
+     * @return SearchIterator of type Role containing role entities that match the search criteria, the caller must
+     * close it, e.g. with try-with-resources.
+     * @throws org.apache.directory.fortress.core.SecurityException
+     *          in the event of system error.
+     */
+    @Override
+    public SearchIterator<Role> findRolesIterator(String searchVal)
+        throws SecurityException
+    {
+        String methodName = "findRolesIterator";
+        VUtil.assertNotNull( searchVal, GlobalErrIds.ROLE_NM_NULL, CLS_NM + "." + methodName );
+        checkAccess( CLS_NM, methodName );
+        Role role = new Role(searchVal);
+        role.setContextId( this.contextId );
+        return roleP.searchIterator( role );
+    }
+
     /**
      * Method returns a list of roles of type String.  This method can be limited by integer value that indicates max
      * number of records that may be contained in the result set.  This number can further limit global default but can
@@ -345,6 +388,25 @@ public class ReviewMgrImpl extends Manageable implements ReviewMgr
         return userP.search( user );
     }
 
+    /**
+     * Return the users in the people container that match all or part of the {@link User#userId} field passed in User
+     * entity, a page at a time as the iterator is advanced.  The iterator holds a pooled admin connection, released
+     * once the last result is read or the iterator is closed.
+     *
+     * @param user contains all or some leading chars that match userIds stored in the directory.
+     * @return SearchIterator of type User, the caller must close it, e.g. with try-with-resources.
+     * @throws SecurityException In the event of system error.
+     */
+    @Override
+    public SearchIterator<User> findUsersIterator(User user)
+        throws SecurityException
+    {
+        String methodName = "findUsersIterator";
+        assertContext( CLS_NM, methodName, user, GlobalErrIds.USER_NULL );
+        checkAccess(CLS_NM, methodName);
+        return userP.searchIterator( user );
+    }
+
     /**
      * Return a list of type User of all users in the people container that match the name field passed in OrgUnit entity.
      * <h4>required parameters</h4>
@@ -455,6 +517,26 @@ public class ReviewMgrImpl extends Manageable implements ReviewMgr
         return userP.getAssignedUsers(role);
     }
 
+    /**
+     * This method returns all users who are assigned the given role, a page at a time as the iterator is advanced.
+     * This method does NOT search for hierarchical RBAC Roles relationships.  The iterator holds a pooled admin
+     * connection, released once the last result is read or the iterator is closed.
+     *
+     * @param role contains the role name, {@link Role#name} used to search the User data set.
+     * @return SearchIterator of type User containing the users assigned data, the caller must close it, e.g. with
+     * try-with-resources.
+     * @throws SecurityException If system error occurs.
+     */
+    @Override
+    public SearchIterator<User> assignedUsersIterator(Role role)
+        throws SecurityException
+    {
+        String methodName = "assignedUsersIterator";
+        assertContext(CLS_NM, methodName, role, GlobalErrIds.ROLE_NULL);
+        checkAccess(CLS_NM, methodName);
+        return userP.getAssignedUsersIterator(role);
+    }
+
     /**
      * This function returns the set of roles assigned to a given user. The function is valid if and
      * only if the user is a member of the USERS data set.
@@ -520,6 +602,26 @@ public class ReviewMgrImpl extends Manageable implements ReviewMgr
         return userP.getAuthorizedUsers( role );
     }
 
+    /**
+     * This function returns the users authorized to a given role, i.e., the users that are assigned to a role that
+     * inherits the given role, a page at a time as the iterator is advanced.  The iterator holds a pooled admin
+     * connection, released once the last result is read or the iterator is closed.
+     *
+     * @param role Contains role name, {@link Role#name} of Role entity assigned to User.
+     * @return SearchIterator of type User containing all user's that having matching role assignment, the caller must
+     * close it, e.g. with try-with-resources.
+     * @throws SecurityException In the event the role is not present in directory or system error occurs.
+     */
+    @Override
+    public SearchIterator<User> authorizedUsersIterator(Role role)
+        throws SecurityException
+    {
+        String methodName = "authorizedUsersIterator";
+        assertContext( CLS_NM, methodName, role, GlobalErrIds.ROLE_NULL );
+        checkAccess( CLS_NM, methodName );
+        return userP.getAuthorizedUsersIterator( role );
+    }
+
     /**
      * This function returns the set of roles authorized for a given user. The function is valid if
      * and only if the user is a member of the USERS data set.
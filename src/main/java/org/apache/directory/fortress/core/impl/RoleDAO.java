@@ -48,6 +48,7 @@ import org.apache.directory.fortress.core.RemoveException;
 import org.apache.directory.fortress.core.UpdateException;
 import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
 import org.apache.directory.fortress.core.model.Role;
+import org.apache.directory.fortress.core.util.SearchIterator;
 
 
 /**
@@ -275,6 +276,43 @@ final class RoleDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Add several users as occupants of a role with a single modify of the role's entry.
+     *
+     * @param entity
+     * @param userDns contains the dns of the users being assigned.
+     * @return
+     * @throws org.apache.directory.fortress.core.UpdateException
+     *
+     */
+    Role assign( Role entity, List<String> userDns ) throws UpdateException
+    {
+        LdapConnection ld = null;
+        String dn = getDn( entity.getName(), entity.getContextId() );
+
+        try
+        {
+            List<Modification> mods = new ArrayList<Modification>();
+            mods.add( new DefaultModification( ModificationOperation.ADD_ATTRIBUTE, SchemaConstants.ROLE_OCCUPANT_AT,
+                userDns.toArray( new String[userDns.size()] ) ) );
+            ld = getAdminConnection();
+            modify( ld, dn, mods, entity );
+        }
+        catch ( LdapException e )
+        {
+            String error = "assign role name [" + entity.getName() + "] user dns [" + userDns.size()
+                + "] caught LdapException=" + e.getMessage();
+            throw new UpdateException( GlobalErrIds.ROLE_USER_ASSIGN_FAILED, error, e );
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+
+        return entity;
+    }
+
+
     /**
      * @param entity
      * @param userDn
@@ -434,9 +472,7 @@ final class RoleDAO extends ApacheDsDataProvider
 
         try
         {
-            String searchVal = encodeSafeText( role.getName(), GlobalIds.ROLE_LEN );
-            filter = GlobalIds.FILTER_PREFIX + GlobalIds.ROLE_OBJECT_CLASS_NM + ")("
-                + ROLE_NM + "=" + searchVal + "*))";
+            filter = getFindRolesFilter( role );
             ld = getAdminConnection();
             SearchCursor searchResults = search( ld, roleRoot,
                 SearchScope.ONELEVEL, filter, ROLE_ATRS, false, GlobalIds.BATCH_SIZE );
@@ -466,6 +502,58 @@ final class RoleDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Same as {@link #findRoles(Role)} but without limit on the number of roles, which are read a page at a time.
+     *
+     * @param role
+     * @return
+     * @throws org.apache.directory.fortress.core.FinderException
+     *
+     */
+    SearchIterator<Role> findRolesIterator( final Role role )
+        throws FinderException
+    {
+        String roleRoot = getRootDn( role.getContextId(), GlobalIds.ROLE_ROOT );
+        String filter = null;
+
+        try
+        {
+            filter = getFindRolesFilter( role );
+            return searchIterator( roleRoot, SearchScope.ONELEVEL, filter, ROLE_ATRS, GlobalErrIds.ROLE_SEARCH_FAILED,
+                new EntryMapper<Role>()
+                {
+                    @Override
+                    public Role map( Entry entry, long sequence ) throws LdapException
+                    {
+                        return unloadLdapEntry( entry, sequence, role.getContextId() );
+                    }
+                } );
+        }
+        catch ( LdapException e )
+        {
+            String error = "findRolesIterator filter [" + filter + "] caught LdapException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.ROLE_SEARCH_FAILED, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "findRolesIterator filter [" + filter + "] caught CursorException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.ROLE_SEARCH_FAILED, error, e );
+        }
+    }
+
+
+    /**
+     * @param role contains the role name prefix.
+     * @return the filter matching the roles.
+     * @throws LdapException
+     */
+    private String getFindRolesFilter( Role role ) throws LdapException
+    {
+        String searchVal = encodeSafeText( role.getName(), GlobalIds.ROLE_LEN );
+        return GlobalIds.FILTER_PREFIX + GlobalIds.ROLE_OBJECT_CLASS_NM + ")(" + ROLE_NM + "=" + searchVal + "*))";
+    }
+
+
     /**
      * @param role
      * @param limit
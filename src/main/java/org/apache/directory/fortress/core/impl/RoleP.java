@@ -33,6 +33,7 @@ import org.apache.directory.fortress.core.model.ConstraintValidator;
 import org.apache.directory.fortress.core.model.Graphable;
 import org.apache.directory.fortress.core.model.Role;
 import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.VUtil;
 
 
@@ -95,6 +96,20 @@ final class RoleP
     }
 
 
+    /**
+     * Takes a search string that contains full or partial RBAC Role name in directory.  Matching entities are read a
+     * page at a time as the iterator is advanced.
+     *
+     * @param role contains full or partial RBAC role name.
+     * @return SearchIterator of type Role containing fully populated matching RBAC Role entities, must be closed.
+     * @throws SecurityException in the event of DAO search error.
+     */
+    SearchIterator<Role> searchIterator( Role role ) throws SecurityException
+    {
+        return rDao.findRolesIterator( role );
+    }
+
+
     /**
      * Takes a search string that contains full or partial RBAC Role name in directory.
      * This search is used by RealmMgr for Websphere.
@@ -181,6 +196,20 @@ final class RoleP
     }
 
 
+    /**
+     * Method will add the "roleOccupant" attribute for several users with a single update of the OpenLDAP entry.
+     *
+     * @param entity contains the role name targeted.
+     * @param userDns contains the dns of the user entries that are being assigned the RBAC Role.
+     * @return Role containing copy of input data.
+     * @throws SecurityException in the event of data validation or DAO system error.
+     */
+    Role assign( Role entity, List<String> userDns ) throws SecurityException
+    {
+        return rDao.assign( entity, userDns );
+    }
+
+
     /**
      * Method will remove the "roleOccupant" attribute on OpenLDAP entry which represents an RBAC Role assignment in Fortress.
      *
@@ -21,7 +21,6 @@ package org.apache.directory.fortress.core.impl;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
-import org.apache.directory.api.ldap.model.constants.SchemaConstants;
 import org.apache.directory.fortress.core.GlobalErrIds;
 import org.apache.directory.fortress.core.GlobalIds;
 import org.apache.directory.fortress.core.ReviewMgrFactory;
@@ -35,17 +34,19 @@ import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserRole;
 import org.apache.directory.fortress.core.util.cache.Cache;
 import org.apache.directory.fortress.core.util.cache.CacheMgr;
-import org.apache.directory.fortress.core.util.cache.DsdCacheEntry;
 import org.apache.directory.fortress.core.model.Constraint;
 
-import net.sf.ehcache.search.Attribute;
-import net.sf.ehcache.search.Query;
-import net.sf.ehcache.search.Result;
-import net.sf.ehcache.search.Results;
-
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This utilty provides functionality necessary for SSD and DSD processing and cannot be called by components outside fortress.
@@ -58,22 +59,22 @@ import java.util.Set;
  */
 final class SDUtil
 {
-    private static final Cache m_dsdCache;
-    private static final String FORTRESS_DSDS = "fortress.dsd";
+    // Contains an index of DSD's by member role name for every tenant:
+    private static final ConcurrentMap<String, DsdIndex> m_dsdIndexes = new ConcurrentHashMap<>();
+    private static final Object m_dsdLock = new Object();
+    // Incremented on every DSD change so loads that raced with it are not published as current:
+    private static final AtomicLong m_dsdGeneration = new AtomicLong();
     private static final Cache m_ssdCache;
     private static final String FORTRESS_SSDS = "fortress.ssd";
     private static final SdP sp = new SdP();
     private static final String IS_DSD_CACHE_DISABLED_PARM = "enable.dsd.cache";
-    private static final String DSD_NAME = "name";
-    private static final String EMPTY_ELEMENT = "empty";
-    private static final String CONTEXT_ID = "contextId";
+    private static final String DSD_REFRESH_INTERVAL_PARM = "dsd.refresh.interval";
+    private static final long DSD_REFRESH_INTERVAL = Config.getInt(DSD_REFRESH_INTERVAL_PARM, 3600) * 1000L;
 
     static
     {
         // Get a reference to the CacheManager Singleton object:
         CacheMgr cacheMgr = CacheMgr.getInstance();
-        // This cache contains a wrapper entry for DSD and is searchable by both DSD and Role name:
-        m_dsdCache = cacheMgr.getCache(FORTRESS_DSDS);
         // This cache is not searchable and contains Lists of SSD objects by Role:
         m_ssdCache = cacheMgr.getCache(FORTRESS_SSDS);
     }
@@ -146,6 +147,54 @@ final class SDUtil
         }
     }
 
+    /**
+     * This method is called by AdminMgr.assignUsers and is used to validate Static Separation of Duty
+     * constraints when assigning several roles to a user.  The roles are validated in order, each one against the
+     * user's existing authorized roles and those of the roles before it, which is the same result as assigning them one
+     * at a time, but the user's roles are only read once.
+     *
+     * @param ue contains the user's current role assignments as read from the directory.
+     * @param roles contains the roles targeted for assignment.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @throws org.apache.directory.fortress.core.SecurityException
+     *
+     */
+    static void validateSSD(User ue, List<Role> roles, String contextId)
+        throws SecurityException
+    {
+        // create Set with case insensitive comparator:
+        Set<String> rls = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        rls.addAll(RoleUtil.getInheritedRoles(ue.getRoles(), contextId));
+        for (Role role : roles)
+        {
+            if (CollectionUtils.isNotEmpty( rls ))
+            {
+                // get all SSD sets that contain the new role
+                List<SDSet> ssdSets = getSsdCache(role.getName(), contextId);
+                for (SDSet ssd : ssdSets)
+                {
+                    int matchCount = 0;
+                    Set<String> map = ssd.getMembers();
+                    for (String authRole : rls)
+                    {
+                        if (map.contains(authRole))
+                        {
+                            matchCount++;
+                            if (matchCount >= ssd.getCardinality() - 1)
+                            {
+                                String error = "validateSSD new role [" + role.getName() + "] validates SSD Set Name:" + ssd.getName() + " Cardinality:" + ssd.getCardinality();
+                                throw new SecurityException(GlobalErrIds.SSD_VALIDATION_FAILED, error);
+                            }
+                        }
+                    }
+                }
+            }
+            // the roles that follow are validated as if this one were already assigned:
+            rls.add(role.getName());
+            rls.addAll(RoleUtil.getAscendants(role.getName(), contextId));
+        }
+    }
+
     /**
      * This method is called by AccessMgr.addActiveRole and is used to validate Dynamic Separation of Duty
      * constraints when activating a role one at a time.  For activation of multiple roles simultaneously use
@@ -222,24 +271,59 @@ final class SDUtil
     }
 
     /**
-     * Given DSD entry name, clear its corresponding object values from the cache.
+     * Replace the DSD in its tenant's role to DSD index.  Called by AdminMgrImpl after a DSD has been created or modified.
+     * If the tenant's index has not been loaded yet, nothing needs to be done, it will be read from ldap on first use.
      *
-     * @param name contains the name of object to be cleared.
-     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.     *
-     * @throws SecurityException in the event of system or rule violation.
+     * @param dsd contains the fully populated DSD as it now exists in the directory.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     */
+    static void updateDsdCacheEntry(SDSet dsd, String contextId)
+    {
+        contextId = getContextId(contextId);
+        synchronized (m_dsdLock)
+        {
+            m_dsdGeneration.incrementAndGet();
+            DsdIndex index = m_dsdIndexes.get(contextId);
+            if (index != null)
+            {
+                dsd.setType(SDSet.SDType.DYNAMIC);
+                dsd.setContextId(contextId);
+                m_dsdIndexes.put(contextId, index.replace(dsd.getName(), dsd));
+            }
+        }
+    }
+
+    /**
+     * Called by AdminMgrImpl after a DSD has been created or modified, before it reads the DSD back for
+     * {@link #updateDsdCacheEntry}.  A load of the tenant's index in progress will not be published as current, since
+     * its search may have missed the change.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return true if the tenant's index has been loaded and the DSD must be read to update it, false if there is none.
+     */
+    static boolean prepareDsdUpdate(String contextId)
+    {
+        m_dsdGeneration.incrementAndGet();
+        return m_dsdIndexes.containsKey(getContextId(contextId));
+    }
+
+    /**
+     * Remove the DSD from its tenant's role to DSD index.  Called by AdminMgrImpl after a DSD has been deleted.
+     *
+     * @param name contains the name of DSD to be removed.
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
      */
     static void clearDsdCacheEntry(String name, String contextId)
     {
-        Attribute<String> context = m_dsdCache.getSearchAttribute(CONTEXT_ID);
-        Attribute<String> dsdName = m_dsdCache.getSearchAttribute(DSD_NAME);
-        Query query = m_dsdCache.createQuery();
-        query.includeKeys();
-        query.includeValues();
-        query.addCriteria(dsdName.eq(name).and(context.eq(contextId)));
-        Results results = query.execute();
-        for (Result result : results.all())
+        contextId = getContextId(contextId);
+        synchronized (m_dsdLock)
         {
-            m_dsdCache.clear(result.getKey());
+            m_dsdGeneration.incrementAndGet();
+            DsdIndex index = m_dsdIndexes.get(contextId);
+            if (index != null)
+            {
+                m_dsdIndexes.put(contextId, index.replace(name, null));
+            }
         }
     }
 
@@ -254,36 +338,7 @@ final class SDUtil
     private static Set<SDSet> getDsdCache(String name, String contextId)
         throws SecurityException
     {
-        contextId = getContextId(contextId);
-        Set<SDSet> finalSet = new HashSet<>();
-        Attribute<String> context = m_dsdCache.getSearchAttribute(CONTEXT_ID);
-        Attribute<String> member = m_dsdCache.getSearchAttribute(SchemaConstants.MEMBER_AT);
-        Query query = m_dsdCache.createQuery();
-        query.includeKeys();
-        query.includeValues();
-        query.addCriteria(member.eq(name).and(context.eq(contextId)));
-        Results results = query.execute();
-        boolean empty = false;
-        for (Result result : results.all())
-        {
-            DsdCacheEntry entry = (DsdCacheEntry) result.getValue();
-            if (!entry.isEmpty())
-            {
-                finalSet.add(entry.getSdSet());
-                finalSet = putDsdCache(name, contextId);
-            }
-            else
-            {
-                empty = true;
-            }
-            finalSet.add(entry.getSdSet());
-        }
-        // If nothing was found in the cache, determine if it needs to be seeded:
-        if (finalSet.size() == 0 && !empty)
-        {
-            finalSet = putDsdCache(name, contextId);
-        }
-        return finalSet;
+        return getDsdCache(Collections.singleton(name), contextId);
     }
 
     /**
@@ -314,148 +369,107 @@ final class SDUtil
             sdSet.setContextId(contextId);
             dsdRetSets = sp.search(authorizedRoleSet, sdSet);
         }
-        // Search the DSD cache for matching Role members:
+        // Look up every authorized role in the tenant's index, no ldap calls once it has been loaded:
         else
         {
-            // Search on roleName attribute which maps to 'member' attr on the cache record:
-            Attribute<String> member = m_dsdCache.getSearchAttribute(SchemaConstants.MEMBER_AT);
-            Attribute<String> context = m_dsdCache.getSearchAttribute(CONTEXT_ID);
-            Query query = m_dsdCache.createQuery();
-            query.includeKeys();
-            query.includeValues();
-            // Add the passed in authorized Role names to this cache query:
-            Set<String> roles = new HashSet<>(authorizedRoleSet);
-            query.addCriteria(member.in(roles).and(context.eq(contextId)));
-            // Return all DSD cache entries that match roleName to the 'member' attribute in cache entry:
-            Results results = query.execute();
-            for (Result result : results.all())
+            DsdIndex index = getDsdIndex(contextId);
+            for (String roleName : authorizedRoleSet)
             {
-                DsdCacheEntry entry = (DsdCacheEntry) result.getValue();
-                // Do not add dummy DSD sets to the final list:
-                if (!entry.isEmpty())
+                Set<SDSet> dsdSets = index.get(roleName);
+                if (dsdSets != null)
                 {
-                    dsdRetSets.add(entry.getSdSet());
+                    dsdRetSets.addAll(dsdSets);
                 }
-                // Remove role member from authorizedRoleSet to preclude from upcoming DSD search:
-                //authorizedRoleSet.remove(entry.getMember());
-            }
-            // Authorized roles remaining in this set correspond to missed cache hits from above:
-            if (authorizedRoleSet.size() > 0)
-            {
-                dsdRetSets = putDsdCache(authorizedRoleSet, contextId);
             }
         }
         return dsdRetSets;
     }
 
     /**
-     * Get the matching DSD's from directory and add to the cache (if found).  If matching DSD not found,
-     * add dummy entry to cache to prevent repeated searches.
+     * Return the tenant's role to DSD index, loading it with a single search of the directory on first use.  Once the
+     * index is older than {@code dsd.refresh.interval} seconds (default 3600), the first caller to notice reloads it, so
+     * that DSD's changed by other processes are seen, while other callers continue to use the existing index.  A load
+     * that raced with a change made by this process is not published as current: a first load is used but left expired
+     * so the next caller reloads it, a refresh is dropped in favor of the existing index, which has the change applied.
      *
-     * @param authorizedRoleSet contains set of Roles used to search directory for matching DSD's.
      * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
-     * @return List of DSD's who have matching Role members.
+     * @return index of DSD's by member role name.
      * @throws SecurityException in the event of system or rule violation.
      */
-    private static Set<SDSet> putDsdCache(Set<String> authorizedRoleSet, String contextId)
+    private static DsdIndex getDsdIndex(String contextId)
         throws SecurityException
     {
-        contextId = getContextId(contextId);
-        Set<SDSet> dsdSets = new HashSet<>();
-        // Search the DSD's iteratively to seed the DSD cache by Role name:
-        for (String roleName : authorizedRoleSet)
+        DsdIndex index = m_dsdIndexes.get(contextId);
+        if (index == null)
         {
-            Role role = new Role(roleName);
-            role.setContextId(contextId);
-            List<SDSet> dsdList = sp.search(role, SDSet.SDType.DYNAMIC);
-            if (CollectionUtils.isNotEmpty( dsdList ))
+            synchronized (m_dsdLock)
             {
-                for (SDSet dsd : dsdList)
+                index = m_dsdIndexes.get(contextId);
+                if (index == null)
                 {
-                    dsd.setContextId(contextId);
-                    Set<String> members = dsd.getMembers();
-                    if (members != null)
+                    long generation = m_dsdGeneration.get();
+                    index = loadDsdIndex(contextId);
+                    if (m_dsdGeneration.get() != generation)
                     {
-                        // Seed the cache with DSD objects mapped to role name:
-                        for (String member : members)
-                        {
-                            String key = buildKey(dsd.getName(), member);
-                            DsdCacheEntry entry = new DsdCacheEntry(member, dsd, false);
-                            entry.setName(dsd.getName());
-                            m_dsdCache.put(getKey(key, contextId), entry);
-                        }
+                        index = index.expire();
                     }
+                    m_dsdIndexes.put(contextId, index);
                 }
-                // Maintain the set of DSD's to be returned to the caller:
-                dsdSets.addAll(dsdList);
             }
-            else
+        }
+        else if (index.isExpired() && index.refreshing.compareAndSet(false, true))
+        {
+            long generation = m_dsdGeneration.get();
+            DsdIndex fresh;
+            try
             {
-                // Seed the cache with dummy entry for a Role that is not referenced by DSD:
-                String key = buildKey(EMPTY_ELEMENT, roleName);
-                SDSet sdSet = new SDSet();
-                sdSet.setType(SDSet.SDType.DYNAMIC);
-                sdSet.setName(key);
-                sdSet.setMember(roleName);
-                sdSet.setContextId(contextId);
-                DsdCacheEntry entry = new DsdCacheEntry(roleName, sdSet, true);
-                entry.setName(key);
-                m_dsdCache.put(getKey(sdSet.getName(), contextId), entry);
+                fresh = loadDsdIndex(contextId);
+            }
+            catch (SecurityException se)
+            {
+                index.refreshing.set(false);
+                throw se;
+            }
+            synchronized (m_dsdLock)
+            {
+                if (m_dsdGeneration.get() == generation)
+                {
+                    m_dsdIndexes.put(contextId, fresh);
+                    index = fresh;
+                }
+                else
+                {
+                    // an older search must not overwrite the change, retry on the next call:
+                    index.refreshing.set(false);
+                    index = m_dsdIndexes.get(contextId);
+                }
             }
         }
-        return dsdSets;
+        return index;
     }
 
     /**
-     * Get the matching DSD's from directory and add to the cache (if found).  If matching DSD not found,
-     * add dummy entry to cache to prevent repeated searches.
+     * Read every DSD of a tenant with a single search of the directory.
      *
-     * @param roleName of Role is used to search directory for matching DSD's.
      * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
-     * @return Set of DSD's who have matching Role member.
+     * @return index of DSD's by member role name.
      * @throws SecurityException in the event of system or rule violation.
      */
-    private static Set<SDSet> putDsdCache(String roleName, String contextId)
+    private static DsdIndex loadDsdIndex(String contextId)
         throws SecurityException
     {
-        contextId = getContextId(contextId);
-        Role role = new Role(roleName);
-        role.setContextId(contextId);
-        List<SDSet> dsdList = sp.search(role, SDSet.SDType.DYNAMIC);
-        Set<SDSet> finalSet = new HashSet<>(dsdList);
-        if ( CollectionUtils.isNotEmpty( dsdList ))
+        SDSet sdSet = new SDSet();
+        sdSet.setType(SDSet.SDType.DYNAMIC);
+        sdSet.setContextId(contextId);
+        List<SDSet> dsdList = sp.searchAll(sdSet);
+        Map<String, SDSet> dsds = new HashMap<>();
+        for (SDSet dsd : dsdList)
         {
-            for (SDSet dsd : dsdList)
-            {
-                dsd.setContextId(contextId);
-                Set<String> members = dsd.getMembers();
-                if (members != null)
-                {
-                    // Seed the cache with DSD objects mapped to role name:
-                    for (String member : members)
-                    {
-                        String key = buildKey(dsd.getName(), member);
-                        DsdCacheEntry entry = new DsdCacheEntry(member, dsd, false);
-                        entry.setName(dsd.getName());
-                        m_dsdCache.put(getKey(key, contextId), entry);
-                    }
-                }
-            }
+            dsd.setType(SDSet.SDType.DYNAMIC);
+            dsd.setContextId(contextId);
+            dsds.put(dsd.getName().toUpperCase(), dsd);
         }
-        else
-        {
-            // Seed the cache with dummy entry for Role that does not have DSD:
-            String key = buildKey(EMPTY_ELEMENT, roleName);
-            SDSet sdSet = new SDSet();
-            sdSet.setType(SDSet.SDType.DYNAMIC);
-            sdSet.setName(key);
-            sdSet.setMember(roleName);
-            sdSet.setContextId(contextId);
-            DsdCacheEntry entry = new DsdCacheEntry(roleName, sdSet, true);
-            entry.setName(key);
-            m_dsdCache.put(getKey(sdSet.getName(), contextId), entry);
-        }
-        return finalSet;
+        return new DsdIndex(dsds);
     }
 
     /**
@@ -508,17 +522,6 @@ final class SDUtil
         return ssdSets;
     }
 
-    /**
-     *
-     * @param parm1
-     * @param parm2
-     * @return
-     */
-    private static String buildKey(String parm1, String parm2)
-    {
-        return parm1 + ":" + parm2;
-    }
-
     /**
      *
      * @param name
@@ -545,4 +548,114 @@ final class SDUtil
         }
         return szContextId;
     }
+
+    /**
+     * Immutable index of a tenant's DSD's keyed by upper case member role name.  The index holds every DSD in the
+     * tenant so a role that is not found here is not a member of any DSD.  Updates return a modified copy, which
+     * expires when the index it was copied from does.
+     */
+    private static final class DsdIndex
+    {
+        private final Map<String, SDSet> dsds;
+        private final Map<String, Set<SDSet>> byRole;
+        private final long expiration;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private DsdIndex(Map<String, SDSet> dsds)
+        {
+            this.dsds = dsds;
+            this.byRole = new HashMap<>();
+            this.expiration = System.currentTimeMillis() + DSD_REFRESH_INTERVAL;
+            for (SDSet dsd : dsds.values())
+            {
+                add(byRole, dsd);
+            }
+        }
+
+        private DsdIndex(Map<String, SDSet> dsds, Map<String, Set<SDSet>> byRole, long expiration)
+        {
+            this.dsds = dsds;
+            this.byRole = byRole;
+            this.expiration = expiration;
+        }
+
+        private boolean isExpired()
+        {
+            return System.currentTimeMillis() > expiration;
+        }
+
+        private DsdIndex expire()
+        {
+            return new DsdIndex(dsds, byRole, 0);
+        }
+
+        private Set<SDSet> get(String roleName)
+        {
+            return byRole.get(roleName.toUpperCase());
+        }
+
+        /**
+         * Return a copy of this index with the named DSD replaced, or removed if dsd is null.  Only the role entries
+         * belonging to the old and new members are rebuilt.
+         */
+        private DsdIndex replace(String name, SDSet dsd)
+        {
+            String key = name.toUpperCase();
+            Map<String, SDSet> newDsds = new HashMap<>(dsds);
+            Map<String, Set<SDSet>> newByRole = new HashMap<>(byRole);
+            SDSet old = newDsds.remove(key);
+            if (old != null && old.getMembers() != null)
+            {
+                for (String member : old.getMembers())
+                {
+                    Set<SDSet> roleSets = newByRole.get(member.toUpperCase());
+                    if (roleSets != null)
+                    {
+                        // match by name, the old entry's hash code is not stable if its members were changed:
+                        Set<SDSet> copy = new HashSet<>();
+                        for (SDSet roleSet : roleSets)
+                        {
+                            if (!roleSet.getName().equalsIgnoreCase(name))
+                            {
+                                copy.add(roleSet);
+                            }
+                        }
+                        if (copy.isEmpty())
+                        {
+                            newByRole.remove(member.toUpperCase());
+                        }
+                        else
+                        {
+                            newByRole.put(member.toUpperCase(), Collections.unmodifiableSet(copy));
+                        }
+                    }
+                }
+            }
+            if (dsd != null)
+            {
+                newDsds.put(key, dsd);
+                add(newByRole, dsd);
+            }
+            return new DsdIndex(newDsds, newByRole, expiration);
+        }
+
+        private static void add(Map<String, Set<SDSet>> byRole, SDSet dsd)
+        {
+            if (dsd.getMembers() != null)
+            {
+                for (String member : dsd.getMembers())
+                {
+                    // the placeholder left behind when the last member is removed is not a role:
+                    if (member.equalsIgnoreCase(GlobalIds.NONE))
+                    {
+                        continue;
+                    }
+                    Set<SDSet> roleSets = byRole.get(member.toUpperCase());
+                    Set<SDSet> copy = roleSets == null ? new HashSet<SDSet>() : new HashSet<>(roleSets);
+                    copy.add(dsd);
+                    byRole.put(member.toUpperCase(), Collections.unmodifiableSet(copy));
+                }
+            }
+        }
+    }
 }
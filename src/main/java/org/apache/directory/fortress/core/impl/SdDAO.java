@@ -425,6 +425,57 @@ final class SdDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Return every SSD or DSD stored within a tenant.  Used to load the role to DSD index maintained by {@link SDUtil}.
+     *
+     * @param sdset requires type and contextId.
+     * @return List of all SDSets of the given type.
+     * @throws org.apache.directory.fortress.core.FinderException
+     */
+    List<SDSet> searchAll( SDSet sdset ) throws FinderException
+    {
+        List<SDSet> sdList = new ArrayList<>();
+        LdapConnection ld = null;
+        String ssdRoot = getSdRoot( sdset.getContextId() );
+        String objectClass = SSD_OBJECT_CLASS_NM;
+        int errCode = GlobalErrIds.SSD_SEARCH_FAILED;
+
+        if ( sdset.getType() == SDSet.SDType.DYNAMIC )
+        {
+            objectClass = DSD_OBJECT_CLASS_NM;
+            errCode = GlobalErrIds.DSD_SEARCH_FAILED;
+        }
+
+        try
+        {
+            String filter = GlobalIds.FILTER_PREFIX + objectClass + "))";
+            ld = getAdminConnection();
+            SearchCursor searchResults = search( ld, ssdRoot, SearchScope.SUBTREE, filter, SD_SET_ATRS, false );
+            long sequence = 0;
+
+            while ( searchResults.next() )
+            {
+                sdList.add( unloadLdapEntry( searchResults.getEntry(), sequence++ ) );
+            }
+        }
+        catch ( LdapException e )
+        {
+            String error = "searchAll type [" + sdset.getType() + "] caught LdapException=" + e.getMessage();
+            throw new FinderException( errCode, error, e );
+        }
+        catch ( CursorException e )
+        {
+            String error = "searchAll type [" + sdset.getType() + "] caught CursorException=" + e.getMessage();
+            throw new FinderException( errCode, error, e );
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+        return sdList;
+    }
+
+
     /**
      * @param role
      * @return
@@ -153,6 +153,19 @@ public final class SdP
     }
 
 
+    /**
+     * Return every STATIC or DYNAMIC SDSet stored for a tenant.
+     *
+     * @param sdSet contains sdset type of STATIC or DYNAMIC and the contextId.
+     * @return List of SDSet entities found.
+     * @throws SecurityException in the event of DAO search error.
+     */
+    List<SDSet> searchAll( SDSet sdSet ) throws SecurityException
+    {
+        return sdDao.searchAll( sdSet );
+    }
+
+
     /**
      * Will search using a single RBAC Role name either STATIC or DYNAMIC SDSet depending on which type is passed.
      * The role entity contains full RBAC Role name associated with SDSet node in directory.
@@ -0,0 +1,247 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.cxf.common.util.Base64Exception;
+import org.apache.cxf.common.util.Base64Utility;
+import org.apache.directory.fortress.core.GlobalErrIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.UserAdminRole;
+import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.directory.fortress.core.util.crypto.EncryptUtil;
+
+
+/**
+ * This utility converts between a {@link Session} and a compact, signed session token.  The token carries the
+ * userId, internal userId and dn of the user, the names of the activated RBAC and ARBAC roles, the tenant, the time it
+ * was issued, its timeout and whether the user was authenticated with a password.  It is signed with an HMAC keyed
+ * from the fortress {@code crypto.prop} secret, so a token is only accepted by processes sharing that secret and
+ * cannot be altered by its holder.  Tokens are refused, neither created nor verified, until {@code crypto.prop} is set
+ * to a secret other than the built-in default.
+ * <p/>
+ * The timeout is the user's timeout constraint, in minutes, or {@code session.token.timeout} (default 60) when the
+ * user has none.  Unlike a session's inactivity timeout it is counted from issue, a token is not renewed by use.
+ * Role constraints are validated when the token is issued and are trusted for its lifetime.
+ * <p/>
+ * The format is {@code base64(payload).base64(signature)}, a few hundred bytes for a typical session.
+ * <p/>
+ * Static methods on this class are intended for use by other Fortress classes and cannot be directly invoked by outside programs.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class SessionTokenUtil
+{
+    private static final String CLS_NM = SessionTokenUtil.class.getName();
+    private static final String TIMEOUT_PARM = "session.token.timeout";
+    private static final int DEFAULT_TIMEOUT = Config.getInt( TIMEOUT_PARM, 60 );
+    private static final byte VERSION = 1;
+    private static final char SEPARATOR = '.';
+
+
+    /**
+     * Private constructor
+     *
+     */
+    private SessionTokenUtil()
+    {
+    }
+
+
+    /**
+     * Create a token from a session.
+     *
+     * @param session contains the user and its activated roles.
+     * @param contextId maps to the tenant the session belongs to.
+     * @return String containing the signed token.
+     * @throws SecurityException with {@link GlobalErrIds#USER_SESS_TOKEN_DISABLED} if {@code crypto.prop} is not set.
+     */
+    static String createToken( Session session, String contextId ) throws SecurityException
+    {
+        assertSigningEnabled( "createToken" );
+        User user = session.getUser();
+        Integer timeout = user.getTimeout();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream( 256 );
+
+        try
+        {
+            DataOutputStream out = new DataOutputStream( bytes );
+            out.writeByte( VERSION );
+            out.writeUTF( StringUtils.defaultString( contextId ) );
+            out.writeUTF( user.getUserId() );
+            out.writeUTF( StringUtils.defaultString( user.getInternalId() ) );
+            out.writeUTF( StringUtils.defaultString( user.getDn() ) );
+            out.writeLong( System.currentTimeMillis() );
+            out.writeInt( timeout != null && timeout > 0 ? timeout : DEFAULT_TIMEOUT );
+            out.writeBoolean( session.isAuthenticated() );
+            List<UserRole> roles = session.getRoles();
+            out.writeShort( roles != null ? roles.size() : 0 );
+
+            if ( roles != null )
+            {
+                for ( UserRole role : roles )
+                {
+                    out.writeUTF( role.getName() );
+                }
+            }
+
+            List<UserAdminRole> adminRoles = session.getAdminRoles();
+            out.writeShort( adminRoles != null ? adminRoles.size() : 0 );
+
+            if ( adminRoles != null )
+            {
+                for ( UserAdminRole adminRole : adminRoles )
+                {
+                    out.writeUTF( adminRole.getName() );
+                }
+            }
+
+            out.flush();
+        }
+        catch ( IOException ioe )
+        {
+            // not thrown by a ByteArrayOutputStream:
+            throw new IllegalStateException( ioe );
+        }
+
+        byte[] payload = bytes.toByteArray();
+        return Base64Utility.encode( payload ) + SEPARATOR + Base64Utility.encode( EncryptUtil.sign( payload ) );
+    }
+
+
+    /**
+     * Verify a token and recreate the session it was created from.  The session holds only what the token carries, its
+     * roles have no constraints.
+     *
+     * @param token created by {@link #createToken(Session, String)}.
+     * @param contextId maps to the tenant the token must belong to.
+     * @return Session containing the user and its activated roles.
+     * @throws SecurityException with {@link GlobalErrIds#USER_SESS_TOKEN_INVALID} if the token is malformed, not
+     * signed by this secret or belongs to another tenant, {@link GlobalErrIds#USER_SESS_TOKEN_EXPIRED} if it is too old,
+     * {@link GlobalErrIds#USER_SESS_TOKEN_DISABLED} if {@code crypto.prop} is not set.
+     */
+    static Session getSession( String token, String contextId ) throws SecurityException
+    {
+        String methodName = "getSession";
+        assertSigningEnabled( methodName );
+        int separator = token.lastIndexOf( SEPARATOR );
+
+        if ( separator < 0 )
+        {
+            throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_INVALID, CLS_NM + "." + methodName
+                + " malformed token" );
+        }
+
+        byte[] payload;
+
+        try
+        {
+            payload = Base64Utility.decode( token.substring( 0, separator ) );
+
+            if ( !EncryptUtil.verify( payload, Base64Utility.decode( token.substring( separator + 1 ) ) ) )
+            {
+                throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_INVALID, CLS_NM + "." + methodName
+                    + " signature invalid" );
+            }
+        }
+        catch ( Base64Exception be )
+        {
+            throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_INVALID, CLS_NM + "." + methodName
+                + " caught Base64Exception=" + be, be );
+        }
+
+        try
+        {
+            DataInputStream in = new DataInputStream( new ByteArrayInputStream( payload ) );
+
+            if ( in.readByte() != VERSION )
+            {
+                throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_INVALID, CLS_NM + "." + methodName
+                    + " unsupported version" );
+            }
+
+            if ( !in.readUTF().equals( StringUtils.defaultString( contextId ) ) )
+            {
+                throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_INVALID, CLS_NM + "." + methodName
+                    + " issued for another context" );
+            }
+
+            User user = new User( in.readUTF() );
+            user.setInternalId( StringUtils.trimToNull( in.readUTF() ) );
+            user.setDn( StringUtils.trimToNull( in.readUTF() ) );
+            long issued = in.readLong();
+            int timeout = in.readInt();
+            boolean isAuthenticated = in.readBoolean();
+
+            if ( System.currentTimeMillis() > issued + timeout * 60000L )
+            {
+                throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_EXPIRED, CLS_NM + "." + methodName
+                    + " userId [" + user.getUserId() + "] token expired" );
+            }
+
+            for ( int i = in.readShort(); i > 0; i-- )
+            {
+                user.setRole( new UserRole( user.getUserId(), in.readUTF() ) );
+            }
+
+            for ( int i = in.readShort(); i > 0; i-- )
+            {
+                user.setAdminRole( new UserAdminRole( user.getUserId(), in.readUTF() ) );
+            }
+
+            user.setTimeout( timeout );
+            Session session = new Session( user );
+            session.setAuthenticated( isAuthenticated );
+            session.setContextId( contextId );
+            return session;
+        }
+        catch ( IOException ioe )
+        {
+            throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_INVALID, CLS_NM + "." + methodName
+                + " caught IOException=" + ioe, ioe );
+        }
+    }
+
+
+    /**
+     * Tokens signed with the default, public, key could be forged by anyone so none are created or accepted.
+     */
+    private static void assertSigningEnabled( String methodName ) throws SecurityException
+    {
+        if ( !EncryptUtil.isSigningEnabled() )
+        {
+            throw new SecurityException( GlobalErrIds.USER_SESS_TOKEN_DISABLED, CLS_NM + "." + methodName
+                + " crypto.prop must be set to a secret other than the default" );
+        }
+    }
+}
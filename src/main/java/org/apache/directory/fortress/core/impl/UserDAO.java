@@ -21,6 +21,7 @@ package org.apache.directory.fortress.core.impl;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -74,6 +75,7 @@ import org.apache.directory.fortress.core.RemoveException;
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.UpdateException;
 import org.apache.directory.fortress.core.util.Config;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.ldap.ApacheDsDataProvider;
 
 
@@ -218,9 +220,17 @@ final class UserDAO extends ApacheDsDataProvider
     private static final String[] USERID_ATRS =
         { SchemaConstants.UID_AT };
 
+    private static final String[] USERID_ROLES_ATRS =
+        { SchemaConstants.UID_AT, GlobalIds.USER_ROLE_ASSIGN };
+
     // These will be loaded in static initializer that follows:
     private static String[] authnAtrs = null;
     private static String[] defaultAtrs = null;
+    private static String[] sessionAtrs = null;
+
+    /** When true sessions get a User containing only the attributes needed for authorization. */
+    private static final boolean IS_SESSION_PROJECTION = Config.getBoolean( "enable.session.user.projection",
+        false );
 
     static
     {
@@ -289,6 +299,21 @@ final class UserDAO extends ApacheDsDataProvider
                     OPENLDAP_PW_RESET,
                     OPENLDAP_PW_LOCKED_TIME,
                     GlobalIds.PROPS };
+
+            // This result set of attributes is all that is needed to authorize within a session.
+            sessionAtrs = new String[]
+                {
+                    GlobalIds.FT_IID,
+                    SchemaConstants.UID_AT,
+                    SchemaConstants.OU_AT,
+                    GlobalIds.USER_ROLE_DATA,
+                    GlobalIds.CONSTRAINT,
+                    GlobalIds.USER_ROLE_ASSIGN,
+                    OPENLDAP_PW_RESET,
+                    OPENLDAP_PW_LOCKED_TIME,
+                    OPENLDAP_POLICY_SUBENTRY,
+                    GlobalIds.USER_ADMINROLE_ASSIGN,
+                    GlobalIds.USER_ADMINROLE_DATA };
         }
 
         else
@@ -336,6 +361,18 @@ final class UserDAO extends ApacheDsDataProvider
                     SchemaConstants.SN_AT,
                     GlobalIds.CONSTRAINT,
                     GlobalIds.PROPS };
+
+            // This result set of attributes is all that is needed to authorize within a session.
+            sessionAtrs = new String[]
+                {
+                    GlobalIds.FT_IID,
+                    SchemaConstants.UID_AT,
+                    SchemaConstants.OU_AT,
+                    GlobalIds.USER_ROLE_DATA,
+                    GlobalIds.CONSTRAINT,
+                    GlobalIds.USER_ROLE_ASSIGN,
+                    GlobalIds.USER_ADMINROLE_ASSIGN,
+                    GlobalIds.USER_ADMINROLE_DATA };
         }
 
     }
@@ -803,10 +840,6 @@ final class UserDAO extends ApacheDsDataProvider
      */
     User getUser( User user, boolean isRoles ) throws FinderException
     {
-        User entity = null;
-        LdapConnection ld = null;
-        String userDn = getDn( user.getUserId(), user.getContextId() );
-
         String[] uATTRS;
         // Retrieve role attributes?
 
@@ -822,6 +855,32 @@ final class UserDAO extends ApacheDsDataProvider
             uATTRS = authnAtrs;
         }
 
+        return getUser( user, uATTRS, false );
+    }
+
+
+    /**
+     * Read the user to be set on a session.  When enabled with fortress config param
+     * {@code enable.session.user.projection=true} the User contains only the attributes needed for authorization:
+     * internal id, userId, ou, temporal constraints, RBAC and Admin role assignments and, on OpenLDAP, the pw policy
+     * state.  Profile attributes, e.g. addresses, phones, emails, properties and photo, are left out, use
+     * {@link #getUser(User, boolean)} to read them.  Otherwise the User is read with all of its attributes.
+     *
+     * @param user contains the userId and contextId.
+     * @return User containing the attributes used by sessions.
+     * @throws FinderException in the event the user does not exist or of ldap error.
+     */
+    User getSessionUser( User user ) throws FinderException
+    {
+        return IS_SESSION_PROJECTION ? getUser( user, sessionAtrs, true ) : getUser( user, true );
+    }
+
+
+    private User getUser( User user, String[] uATTRS, boolean isSession ) throws FinderException
+    {
+        User entity = null;
+        LdapConnection ld = null;
+        String userDn = getDn( user.getUserId(), user.getContextId() );
         Entry findEntry = null;
 
         try
@@ -848,7 +907,8 @@ final class UserDAO extends ApacheDsDataProvider
         {
             if ( findEntry != null )
             {
-                entity = unloadLdapEntry( findEntry, 0, user.getContextId() );
+                entity = isSession ? unloadSessionEntry( findEntry, user.getContextId() ) : unloadLdapEntry(
+                    findEntry, 0, user.getContextId() );
             }
         }
         catch ( LdapInvalidAttributeValueException e )
@@ -954,16 +1014,150 @@ final class UserDAO extends ApacheDsDataProvider
      */
     Session checkPassword( User user ) throws FinderException, PasswordException
     {
-        Session session = null;
+        // a recent bind with the same password needn't be repeated:
+        Session session = AuthNCache.get( user );
+
+        if ( session != null )
+        {
+            return session;
+        }
+
+        LdapConnection ld = null;
+        String userDn = getDn( user.getUserId(), user.getContextId() );
+
+        try
+        {
+            ld = getUserConnection();
+            session = bindUser( ld, user, userDn );
+        }
+        catch ( LdapException e )
+        {
+            String error = "checkPassword userId [" + user.getUserId() + "] caught LDAPException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.USER_READ_FAILED, error, e );
+        }
+        finally
+        {
+            closeUserConnection( ld );
+        }
+
+        return session;
+    }
+
+
+    /**
+     * Check the user's password and read the user's entry, with its RBAC and Admin role assignments, on the same
+     * connection.  The entry is read with the user's own authority, which the fortress ldap acls grant, and read again
+     * with an admin connection should the user not be permitted to.
+     *
+     * @param user contains the userId, contextId and password.
+     * @return Session that is authenticated, with the pw policy output and the user's entry.
+     * @throws FinderException in the event the user does not exist or of ldap error.
+     * @throws PasswordException in the event the password is invalid or violates a pw policy.
+     */
+    Session createSession( User user ) throws FinderException, PasswordException
+    {
+        Session session = AuthNCache.get( user );
+
+        if ( session != null )
+        {
+            User entity = getSessionUser( user );
+
+            if ( !entity.isLocked() )
+            {
+                session.setUser( entity );
+                return session;
+            }
+
+            // locked by another process or the server, let the bind decide:
+            AuthNCache.remove( user );
+        }
+
         LdapConnection ld = null;
         String userDn = getDn( user.getUserId(), user.getContextId() );
+        Entry findEntry = null;
+        PasswordException pwException = null;
 
         try
         {
-            session = new ObjectFactory().createSession();
-            session.setAuthenticated( false );
-            session.setUserId( user.getUserId() );
             ld = getUserConnection();
+            session = bindUser( ld, user, userDn );
+
+            try
+            {
+                findEntry = read( ld, userDn, IS_SESSION_PROJECTION ? sessionAtrs : defaultAtrs );
+            }
+            catch ( LdapException e )
+            {
+                LOG.debug( "createSession userId [{}] could not read own entry, caught LDAPException={}",
+                    user.getUserId(), e.getMessage() );
+            }
+        }
+        catch ( PasswordException e )
+        {
+            pwException = e;
+        }
+        catch ( LdapException e )
+        {
+            String error = "createSession userId [" + user.getUserId() + "] caught LDAPException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.USER_READ_FAILED, error, e );
+        }
+        finally
+        {
+            closeUserConnection( ld );
+        }
+
+        if ( pwException != null )
+        {
+            // a user that does not exist is reported as such rather than as an invalid password:
+            getUser( user, false );
+            throw pwException;
+        }
+
+        User entity = null;
+
+        try
+        {
+            if ( findEntry != null )
+            {
+                entity = IS_SESSION_PROJECTION ? unloadSessionEntry( findEntry, user.getContextId() ) :
+                    unloadLdapEntry( findEntry, 0, user.getContextId() );
+            }
+        }
+        catch ( LdapInvalidAttributeValueException e )
+        {
+            entity = null;
+        }
+
+        if ( entity == null )
+        {
+            entity = getSessionUser( user );
+        }
+
+        session.setUser( entity );
+        return session;
+    }
+
+
+    /**
+     * Bind as the user and evaluate the pw policy response.  The connection remains bound as the user.
+     *
+     * @param ld connection from the user pool.
+     * @param user contains the userId and password.
+     * @param userDn of the user's entry.
+     * @return Session that is authenticated, with the pw policy output.
+     * @throws PasswordException in the event the password is invalid or violates a pw policy.
+     * @throws LdapException in the event of ldap error.
+     */
+    private Session bindUser( LdapConnection ld, User user, String userDn ) throws PasswordException, LdapException
+    {
+        Session session = new ObjectFactory().createSession();
+        session.setAuthenticated( false );
+        session.setUserId( user.getUserId() );
+        // read before the bind, so its outcome isn't cached should the password be changed meanwhile:
+        long generation = AuthNCache.getGeneration( user );
+
+        try
+        {
             BindResponse bindResponse = bind( ld, userDn, user.getPassword() );
             String info;
 
@@ -982,30 +1176,24 @@ final class UserDAO extends ApacheDsDataProvider
                 // check IETF password policies here
                 checkPwPolicies( session, respCtrl );
             }
-
-            if ( session.getErrorId() == 0 )
-            {
-                session.setAuthenticated( true );
-            }
-            else
-            {
-                // pw invalid or pw policy violation:
-                throw new PasswordException( session.getErrorId(), session.getMsg() );
-            }
         }
         catch ( LdapAuthenticationException e )
         {
             String info = "checkPassword INVALID PASSWORD for userId [" + user.getUserId() + "] exception [" + e + "]";
+            AuthNCache.remove( user );
             throw new PasswordException( GlobalErrIds.USER_PW_INVLD, info );
         }
-        catch ( LdapException e )
+
+        if ( session.getErrorId() == 0 )
         {
-            String error = "checkPassword userId [" + user.getUserId() + "] caught LDAPException=" + e.getMessage();
-            throw new FinderException( GlobalErrIds.USER_READ_FAILED, error, e );
+            session.setAuthenticated( true );
+            AuthNCache.put( user, session, generation );
         }
-        finally
+        else
         {
-            closeUserConnection( ld );
+            // pw invalid or pw policy violation:
+            AuthNCache.remove( user );
+            throw new PasswordException( session.getErrorId(), session.getMsg() );
         }
 
         return session;
@@ -1135,43 +1323,9 @@ final class UserDAO extends ApacheDsDataProvider
 
         try
         {
-            //String filter;
-            StringBuilder filterbuf = new StringBuilder();
-            if ( StringUtils.isNotEmpty( user.getUserId() ) )
-            {
-                // place a wild card after the input userId:
-                String searchVal = encodeSafeText( user.getUserId(), GlobalIds.USERID_LEN );
-                filterbuf.append( GlobalIds.FILTER_PREFIX );
-                filterbuf.append( objectClassImpl );
-                filterbuf.append( ")(" );
-                filterbuf.append( SchemaConstants.UID_AT );
-                filterbuf.append( "=" );
-                filterbuf.append( searchVal );
-                filterbuf.append( "*))" );
-            }
-            else if ( StringUtils.isNotEmpty( user.getInternalId() ) )
-            {
-                // internalUserId search
-                String searchVal = encodeSafeText( user.getInternalId(), GlobalIds.USERID_LEN );
-                // this is not a wildcard search. Must be exact match.
-                filterbuf.append( GlobalIds.FILTER_PREFIX );
-                filterbuf.append( objectClassImpl );
-                filterbuf.append( ")(" );
-                filterbuf.append( GlobalIds.FT_IID );
-                filterbuf.append( "=" );
-                filterbuf.append( searchVal );
-                filterbuf.append( "))" );
-            }
-            else
-            {
-                // Beware - returns ALL users!!:"
-                filterbuf.append( "(objectclass=" );
-                filterbuf.append( objectClassImpl );
-                filterbuf.append( ")" );
-            }
-
+            String filter = getFindUsersFilter( user );
             ld = getAdminConnection();
-            SearchCursor searchResults = search( ld, userRoot, SearchScope.ONELEVEL, filterbuf.toString(), defaultAtrs, false,
+            SearchCursor searchResults = search( ld, userRoot, SearchScope.ONELEVEL, filter, defaultAtrs, false,
                 GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -1199,6 +1353,80 @@ final class UserDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Same as {@link #findUsers(User)} but without limit on the number of users, which are read a page at a time.
+     *
+     * @param user
+     * @return
+     * @throws FinderException
+     */
+    SearchIterator<User> findUsersIterator( User user ) throws FinderException
+    {
+        String userRoot = getRootDn( user.getContextId(), GlobalIds.USER_ROOT );
+
+        try
+        {
+            return searchIterator( userRoot, SearchScope.ONELEVEL, getFindUsersFilter( user ), defaultAtrs,
+                GlobalErrIds.USER_SEARCH_FAILED, getUserMapper( user.getContextId() ) );
+        }
+        catch ( LdapException e )
+        {
+            String warning = "findUsersIterator userRoot [" + userRoot + "] caught LDAPException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.USER_SEARCH_FAILED, warning, e );
+        }
+        catch ( CursorException e )
+        {
+            String warning = "findUsersIterator userRoot [" + userRoot + "] caught LDAPException=" + e.getMessage();
+            throw new FinderException( GlobalErrIds.USER_SEARCH_FAILED, warning, e );
+        }
+    }
+
+
+    /**
+     * @param user contains a userId prefix, an internalId or neither, to match every user.
+     * @return the filter matching the user.
+     * @throws LdapException
+     */
+    private String getFindUsersFilter( User user ) throws LdapException
+    {
+        StringBuilder filterbuf = new StringBuilder();
+        if ( StringUtils.isNotEmpty( user.getUserId() ) )
+        {
+            // place a wild card after the input userId:
+            String searchVal = encodeSafeText( user.getUserId(), GlobalIds.USERID_LEN );
+            filterbuf.append( GlobalIds.FILTER_PREFIX );
+            filterbuf.append( objectClassImpl );
+            filterbuf.append( ")(" );
+            filterbuf.append( SchemaConstants.UID_AT );
+            filterbuf.append( "=" );
+            filterbuf.append( searchVal );
+            filterbuf.append( "*))" );
+        }
+        else if ( StringUtils.isNotEmpty( user.getInternalId() ) )
+        {
+            // internalUserId search
+            String searchVal = encodeSafeText( user.getInternalId(), GlobalIds.USERID_LEN );
+            // this is not a wildcard search. Must be exact match.
+            filterbuf.append( GlobalIds.FILTER_PREFIX );
+            filterbuf.append( objectClassImpl );
+            filterbuf.append( ")(" );
+            filterbuf.append( GlobalIds.FT_IID );
+            filterbuf.append( "=" );
+            filterbuf.append( searchVal );
+            filterbuf.append( "))" );
+        }
+        else
+        {
+            // Beware - returns ALL users!!:"
+            filterbuf.append( "(objectclass=" );
+            filterbuf.append( objectClassImpl );
+            filterbuf.append( ")" );
+        }
+
+        return filterbuf.toString();
+    }
+
+
     /**
      * @param user
      * @param limit
@@ -1265,44 +1493,9 @@ final class UserDAO extends ApacheDsDataProvider
 
         try
         {
-            String roleVal = encodeSafeText( role.getName(), GlobalIds.USERID_LEN );
-            StringBuilder filterbuf = new StringBuilder();
-            filterbuf.append( GlobalIds.FILTER_PREFIX );
-            filterbuf.append( USERS_AUX_OBJECT_CLASS_NAME );
-            filterbuf.append( ")(" );
-
-            Set<String> roles = RoleUtil.getDescendants( role.getName(), role.getContextId() );
-
-            if ( CollectionUtils.isNotEmpty( roles ) )
-            {
-                filterbuf.append( "|(" );
-                filterbuf.append( GlobalIds.USER_ROLE_ASSIGN );
-                filterbuf.append( "=" );
-                filterbuf.append( roleVal );
-                filterbuf.append( ")" );
-
-                for ( String uRole : roles )
-                {
-                    filterbuf.append( "(" );
-                    filterbuf.append( GlobalIds.USER_ROLE_ASSIGN );
-                    filterbuf.append( "=" );
-                    filterbuf.append( uRole );
-                    filterbuf.append( ")" );
-                }
-
-                filterbuf.append( ")" );
-            }
-            else
-            {
-                filterbuf.append( GlobalIds.USER_ROLE_ASSIGN );
-                filterbuf.append( "=" );
-                filterbuf.append( roleVal );
-                filterbuf.append( ")" );
-            }
-
-            filterbuf.append( ")" );
+            String filter = getAuthorizedUsersFilter( role );
             ld = getAdminConnection();
-            SearchCursor searchResults = search( ld, userRoot, SearchScope.ONELEVEL, filterbuf.toString(), defaultAtrs, false,
+            SearchCursor searchResults = search( ld, userRoot, SearchScope.ONELEVEL, filter, defaultAtrs, false,
                 GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -1333,30 +1526,100 @@ final class UserDAO extends ApacheDsDataProvider
 
 
     /**
+     * Same as {@link #getAuthorizedUsers(Role)} but without limit on the number of users, which are read a page at a
+     * time.
+     *
      * @param role
      * @return
      * @throws FinderException
      */
-    List<User> getAssignedUsers( Role role ) throws FinderException
+    SearchIterator<User> getAuthorizedUsersIterator( Role role ) throws FinderException
     {
-        List<User> userList = new ArrayList<>();
-        LdapConnection ld = null;
         String userRoot = getRootDn( role.getContextId(), GlobalIds.USER_ROOT );
 
         try
         {
-            String roleVal = encodeSafeText( role.getName(), GlobalIds.USERID_LEN );
-            StringBuilder filterbuf = new StringBuilder();
-            filterbuf.append( GlobalIds.FILTER_PREFIX );
-            filterbuf.append( USERS_AUX_OBJECT_CLASS_NAME );
-            filterbuf.append( ")(" );
+            return searchIterator( userRoot, SearchScope.ONELEVEL, getAuthorizedUsersFilter( role ), defaultAtrs,
+                GlobalErrIds.URLE_SEARCH_FAILED, getUserMapper( role.getContextId() ) );
+        }
+        catch ( LdapException e )
+        {
+            String warning = "getAuthorizedUsersIterator role name [" + role.getName() + "] caught LDAPException="
+                + e.getMessage();
+            throw new FinderException( GlobalErrIds.URLE_SEARCH_FAILED, warning, e );
+        }
+        catch ( CursorException e )
+        {
+            String warning = "getAuthorizedUsersIterator role name [" + role.getName() + "] caught LDAPException="
+                + e.getMessage();
+            throw new FinderException( GlobalErrIds.URLE_SEARCH_FAILED, warning, e );
+        }
+    }
+
+
+    /**
+     * @param role contains the name of the role.
+     * @return the filter matching users assigned the role or any role that inherits it.
+     * @throws LdapException
+     */
+    private String getAuthorizedUsersFilter( Role role ) throws LdapException
+    {
+        String roleVal = encodeSafeText( role.getName(), GlobalIds.USERID_LEN );
+        StringBuilder filterbuf = new StringBuilder();
+        filterbuf.append( GlobalIds.FILTER_PREFIX );
+        filterbuf.append( USERS_AUX_OBJECT_CLASS_NAME );
+        filterbuf.append( ")(" );
+
+        Set<String> roles = RoleUtil.getDescendants( role.getName(), role.getContextId() );
+
+        if ( CollectionUtils.isNotEmpty( roles ) )
+        {
+            filterbuf.append( "|(" );
             filterbuf.append( GlobalIds.USER_ROLE_ASSIGN );
             filterbuf.append( "=" );
             filterbuf.append( roleVal );
-            filterbuf.append( "))" );
+            filterbuf.append( ")" );
+
+            for ( String uRole : roles )
+            {
+                filterbuf.append( "(" );
+                filterbuf.append( GlobalIds.USER_ROLE_ASSIGN );
+                filterbuf.append( "=" );
+                filterbuf.append( uRole );
+                filterbuf.append( ")" );
+            }
+
+            filterbuf.append( ")" );
+        }
+        else
+        {
+            filterbuf.append( GlobalIds.USER_ROLE_ASSIGN );
+            filterbuf.append( "=" );
+            filterbuf.append( roleVal );
+            filterbuf.append( ")" );
+        }
+
+        filterbuf.append( ")" );
+        return filterbuf.toString();
+    }
+
 
+    /**
+     * @param role
+     * @return
+     * @throws FinderException
+     */
+    List<User> getAssignedUsers( Role role ) throws FinderException
+    {
+        List<User> userList = new ArrayList<>();
+        LdapConnection ld = null;
+        String userRoot = getRootDn( role.getContextId(), GlobalIds.USER_ROOT );
+
+        try
+        {
+            String filter = getAssignedUsersFilter( role );
             ld = getAdminConnection();
-            SearchCursor searchResults = search( ld, userRoot, SearchScope.ONELEVEL, filterbuf.toString(), defaultAtrs, false,
+            SearchCursor searchResults = search( ld, userRoot, SearchScope.ONELEVEL, filter, defaultAtrs, false,
                 GlobalIds.BATCH_SIZE );
             long sequence = 0;
 
@@ -1386,6 +1649,127 @@ final class UserDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Same as {@link #getAssignedUsers(Role)} but without limit on the number of users, which are read a page at a
+     * time.
+     *
+     * @param role
+     * @return
+     * @throws FinderException
+     */
+    SearchIterator<User> getAssignedUsersIterator( Role role ) throws FinderException
+    {
+        String userRoot = getRootDn( role.getContextId(), GlobalIds.USER_ROOT );
+
+        try
+        {
+            return searchIterator( userRoot, SearchScope.ONELEVEL, getAssignedUsersFilter( role ), defaultAtrs,
+                GlobalErrIds.URLE_SEARCH_FAILED, getUserMapper( role.getContextId() ) );
+        }
+        catch ( LdapException e )
+        {
+            String warning = "getAssignedUsersIterator role name [" + role.getName() + "] caught LDAPException="
+                + e.getMessage();
+            throw new FinderException( GlobalErrIds.URLE_SEARCH_FAILED, warning, e );
+        }
+        catch ( CursorException e )
+        {
+            String warning = "getAssignedUsersIterator role name [" + role.getName() + "] caught LDAPException="
+                + e.getMessage();
+            throw new FinderException( GlobalErrIds.URLE_SEARCH_FAILED, warning, e );
+        }
+    }
+
+
+    /**
+     * @param role contains the name of the role.
+     * @return the filter matching users assigned the role.
+     * @throws LdapException
+     */
+    private String getAssignedUsersFilter( Role role ) throws LdapException
+    {
+        String roleVal = encodeSafeText( role.getName(), GlobalIds.USERID_LEN );
+        StringBuilder filterbuf = new StringBuilder();
+        filterbuf.append( GlobalIds.FILTER_PREFIX );
+        filterbuf.append( USERS_AUX_OBJECT_CLASS_NAME );
+        filterbuf.append( ")(" );
+        filterbuf.append( GlobalIds.USER_ROLE_ASSIGN );
+        filterbuf.append( "=" );
+        filterbuf.append( roleVal );
+        filterbuf.append( "))" );
+        return filterbuf.toString();
+    }
+
+
+    /**
+     * @param contextId maps to the tenant the users belong to.
+     * @return mapper that unloads the user entries found by a {@link SearchIterator}.
+     */
+    private EntryMapper<User> getUserMapper( final String contextId )
+    {
+        return new EntryMapper<User>()
+        {
+            @Override
+            public User map( Entry entry, long sequence ) throws LdapException
+            {
+                return unloadLdapEntry( entry, sequence, contextId );
+            }
+        };
+    }
+
+
+    /**
+     * Read the userId and RBAC role assignments of every user in the tenant that is assigned at least one role, a page
+     * at a time.  Only the role names are loaded, the returned users contain no other data.
+     *
+     * @param contextId maps to the tenant the users belong to.
+     * @return SearchIterator of users with their {@link User#getRoles()} names set.
+     * @throws FinderException in the event of ldap search error.
+     */
+    SearchIterator<User> getRoleAssignmentsIterator( String contextId ) throws FinderException
+    {
+        String userRoot = getRootDn( contextId, GlobalIds.USER_ROOT );
+        String filter = GlobalIds.FILTER_PREFIX + USERS_AUX_OBJECT_CLASS_NAME + ")(" + GlobalIds.USER_ROLE_ASSIGN
+            + "=*))";
+
+        try
+        {
+            return searchIterator( userRoot, SearchScope.ONELEVEL, filter, USERID_ROLES_ATRS,
+                GlobalErrIds.URLE_SEARCH_FAILED, new EntryMapper<User>()
+                {
+                    @Override
+                    public User map( Entry entry, long sequence ) throws LdapException
+                    {
+                        User user = new User( getAttribute( entry, SchemaConstants.UID_AT ) );
+                        List<String> roles = getAttributes( entry, GlobalIds.USER_ROLE_ASSIGN );
+
+                        if ( roles != null )
+                        {
+                            for ( String role : roles )
+                            {
+                                user.setRoleName( role );
+                            }
+                        }
+
+                        return user;
+                    }
+                } );
+        }
+        catch ( LdapException e )
+        {
+            String warning = "getRoleAssignmentsIterator contextId [" + contextId + "] caught LDAPException="
+                + e.getMessage();
+            throw new FinderException( GlobalErrIds.URLE_SEARCH_FAILED, warning, e );
+        }
+        catch ( CursorException e )
+        {
+            String warning = "getRoleAssignmentsIterator contextId [" + contextId + "] caught LDAPException="
+                + e.getMessage();
+            throw new FinderException( GlobalErrIds.URLE_SEARCH_FAILED, warning, e );
+        }
+    }
+
+
     /**
      * @param roles
      * @return
@@ -1774,6 +2158,59 @@ final class UserDAO extends ApacheDsDataProvider
     }
 
 
+    /**
+     * Assign several roles to one user with a single modify of the user's entry.
+     *
+     * @param uRoles contains the assignments, all for the same user.
+     * @return String containing the user's DN.
+     * @throws UpdateException
+     * @throws FinderException
+     */
+    String assign( List<UserRole> uRoles ) throws UpdateException, FinderException
+    {
+        LdapConnection ld = null;
+        UserRole uRole = uRoles.get( 0 );
+        String userDn = getDn( uRole.getUserId(), uRole.getContextId() );
+        String[] szUserRoles = new String[uRoles.size()];
+        String[] names = new String[uRoles.size()];
+
+        for ( int i = 0; i < szUserRoles.length; i++ )
+        {
+            szUserRoles[i] = uRoles.get( i ).getRawData();
+            names[i] = uRoles.get( i ).getName();
+        }
+
+        try
+        {
+            List<Modification> mods = new ArrayList<Modification>();
+            mods.add( new DefaultModification( ModificationOperation.ADD_ATTRIBUTE, GlobalIds.USER_ROLE_DATA,
+                szUserRoles ) );
+            mods.add( new DefaultModification( ModificationOperation.ADD_ATTRIBUTE, GlobalIds.USER_ROLE_ASSIGN,
+                names ) );
+            ld = getAdminConnection();
+            modify( ld, userDn, mods, uRole );
+        }
+        catch ( LdapAttributeInUseException e )
+        {
+            String warning = "assign userId [" + uRole.getUserId() + "] names " + Arrays.toString( names )
+                + " assignment already exists.";
+            throw new FinderException( GlobalErrIds.URLE_ASSIGN_EXIST, warning );
+        }
+        catch ( LdapException e )
+        {
+            String warning = "assign userId [" + uRole.getUserId() + "] names " + Arrays.toString( names )
+                + " caught LDAPException=" + e.getMessage();
+            throw new UpdateException( GlobalErrIds.URLE_ASSIGN_FAILED, warning, e );
+        }
+        finally
+        {
+            closeAdminConnection( ld );
+        }
+
+        return userDn;
+    }
+
+
     /**
      * @param uRole
      * @return
@@ -2078,10 +2515,41 @@ final class UserDAO extends ApacheDsDataProvider
         */
 
         entity.addProperties( PropUtil.getProperties( getAttributes( entry, GlobalIds.PROPS ) ) );
+        unloadPwAttrs( entry, entity );
+        entity.setJpegPhoto( getPhoto( entry, JPEGPHOTO ) );
+
+        return entity;
+    }
 
+
+    /**
+     * Unload only the attributes read with sessionAtrs.
+     *
+     * @param entry
+     * @return
+     * @throws LdapInvalidAttributeValueException
+     */
+    private User unloadSessionEntry( Entry entry, String contextId ) throws LdapInvalidAttributeValueException
+    {
+        User entity = new ObjectFactory().createUser();
+        entity.setInternalId( getAttribute( entry, GlobalIds.FT_IID ) );
+        entity.setUserId( getAttribute( entry, SchemaConstants.UID_AT ) );
+        entity.setOu( getAttribute( entry, SchemaConstants.OU_AT ) );
+        entity.setDn( entry.getDn().getName() );
+        unloadTemporal( entry, entity );
+        entity.setRoles( unloadUserRoles( entry, entity.getUserId(), contextId ) );
+        entity.setAdminRoles( unloadUserAdminRoles( entry, entity.getUserId(), contextId ) );
+        unloadPwAttrs( entry, entity );
+
+        return entity;
+    }
+
+
+    private void unloadPwAttrs( Entry entry, User entity ) throws LdapInvalidAttributeValueException
+    {
         if ( GlobalIds.IS_OPENLDAP )
         {
-            szBoolean = getAttribute( entry, OPENLDAP_PW_RESET );
+            String szBoolean = getAttribute( entry, OPENLDAP_PW_RESET );
             if ( szBoolean != null && szBoolean.equalsIgnoreCase( "true" ) )
             {
                 entity.setReset( true );
@@ -2099,10 +2567,6 @@ final class UserDAO extends ApacheDsDataProvider
                 entity.setLocked( true );
             }
         }
-
-        entity.setJpegPhoto( getPhoto( entry, JPEGPHOTO ) );
-
-        return entity;
     }
 
 
@@ -43,6 +43,8 @@ import org.apache.directory.fortress.core.model.Session;
 import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserAdminRole;
 import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.VUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +71,7 @@ final class UserP
 {
     //private static final boolean IS_SESSION_PROPS_ENABLED = Config.getBoolean( "user.session.props.enabled", false );
     private static final String CLS_NM = UserP.class.getName();
+    private static final boolean IS_BIND_READ = Config.getBoolean( "enable.session.bind.read", false );
     private static UserDAO uDao = new UserDAO();
     private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
     private static final PolicyP policyP = new PolicyP();
@@ -97,6 +100,20 @@ final class UserP
     }
 
 
+    /**
+     * Takes a User entity that contains full or partial userId OR a full internal userId for search.  Matching entities
+     * are read a page at a time as the iterator is advanced.
+     *
+     * @param user contains all or partial userId or full internal userId.
+     * @return SearchIterator of type User containing fully populated matching User entities, must be closed.
+     * @throws SecurityException in the event of DAO search error.
+     */
+    SearchIterator<User> searchIterator( User user ) throws SecurityException
+    {
+        return uDao.findUsersIterator( user );
+    }
+
+
     List<User> search( OrgUnit ou, boolean limitSize ) throws SecurityException
     {
         return uDao.findUsers( ou, limitSize );
@@ -131,6 +148,19 @@ final class UserP
     }
 
 
+    /**
+     * Return the Users that are authorized the given Role, read a page at a time as the iterator is advanced.
+     *
+     * @param role contains the role name targeted for search.
+     * @return SearchIterator of type User containing fully populated matching User entities, must be closed.
+     * @throws SecurityException in the event of DAO search error.
+     */
+    SearchIterator<User> getAuthorizedUsersIterator( Role role ) throws SecurityException
+    {
+        return uDao.getAuthorizedUsersIterator( role );
+    }
+
+
     /**
      * Return a list of Users that are authorized the given Role.
      *
@@ -141,10 +171,31 @@ final class UserP
      */
     Set<String> getAssignedUsers( Set<String> roles, String contextId ) throws SecurityException
     {
+        if ( AssignmentUtil.isEnabled() && CollectionUtils.isNotEmpty( roles ) )
+        {
+            Set<String> users = AssignmentUtil.getAssignedUsers( roles, contextId );
+            if ( users != null )
+            {
+                return users;
+            }
+        }
         return uDao.getAssignedUsers( roles, contextId );
     }
 
 
+    /**
+     * Return the userId and RBAC role names of every user assigned a role, for {@link AssignmentUtil}.
+     *
+     * @param contextId maps to sub-tree in DIT, for example ou=contextId, dc=jts, dc = com.
+     * @return SearchIterator of type User containing only the userId and role names, must be closed.
+     * @throws SecurityException in the event of DAO search error.
+     */
+    SearchIterator<User> getRoleAssignmentsIterator( String contextId ) throws SecurityException
+    {
+        return uDao.getRoleAssignmentsIterator( contextId );
+    }
+
+
     /**
      * Return a list of Users that are authorized the given Role.
      * In RBAC the word "authorized" implies the hierarchical role relations graph is considered in result set.
@@ -175,6 +226,19 @@ final class UserP
     }
 
 
+    /**
+     * Return the Users assigned the given RBAC role, read a page at a time as the iterator is advanced.
+     *
+     * @param role contains name of RBAC role used for search.
+     * @return SearchIterator of fully populated User entities matching target search, must be closed.
+     * @throws SecurityException in the event of DAO search error.
+     */
+    SearchIterator<User> getAssignedUsersIterator( Role role ) throws SecurityException
+    {
+        return uDao.getAssignedUsersIterator( role );
+    }
+
+
     /**
      * Return a list of Users assigned the given Administrative role.
      * "Assigned" implies the hierarchical role relation graph will NOT be considered in result set.
@@ -305,6 +369,7 @@ final class UserP
             validate( entity, true );
         }
         entity = uDao.update( entity );
+        AuthNCache.remove( entity );
         return entity;
     }
 
@@ -330,6 +395,7 @@ final class UserP
         }
         user.setDescription( "DELETED" );
         User outUser = uDao.update( user );
+        AuthNCache.remove( user );
         return outUser.getDn();
     }
 
@@ -353,7 +419,11 @@ final class UserP
                 + "] can't be removed due to policy violation, rc=" + GlobalErrIds.USER_PLCY_VIOLATION;
             throw new SecurityException( GlobalErrIds.USER_PLCY_VIOLATION, warning );
         }
-        return uDao.remove( user );
+        String dn = uDao.remove( user );
+        AuthNCache.remove( user );
+        checkUser.setContextId( user.getContextId() );
+        AssignmentUtil.remove( checkUser );
+        return dn;
     }
 
 
@@ -367,6 +437,7 @@ final class UserP
     void deletePwPolicy( User user ) throws SecurityException
     {
         uDao.deletePwPolicy( user );
+        AuthNCache.remove( user );
     }
 
 
@@ -496,10 +567,27 @@ final class UserP
     private Session createSession( User inUser )
         throws SecurityException
     {
+        if ( IS_BIND_READ )
+        {
+            // authenticate password, check pw policies and read user entity with one connection:
+            Session session = uDao.createSession( inUser );
+            session.getUser().setContextId( inUser.getContextId() );
+
+            // validate user temporal constraints against the entity just read:
+            VUtil.validateConstraints( session, VUtil.ConstraintType.USER, false );
+            return session;
+        }
+
         // read user entity:
-        User user = read( inUser, true );
+        User user = uDao.getSessionUser( inUser );
         user.setContextId( inUser.getContextId() );
 
+        if ( user.isLocked() )
+        {
+            // locked by another process or the server, let the bind decide:
+            AuthNCache.remove( inUser );
+        }
+
         // authenticate password, check pw policies and validate user temporal constraints:
         Session session = authenticate( inUser );
 
@@ -519,7 +607,7 @@ final class UserP
     private Session createSessionTrusted( User inUser )
         throws SecurityException
     {
-        User user = read( inUser, true );
+        User user = uDao.getSessionUser( inUser );
         user.setContextId( inUser.getContextId() );
 
         if ( user.isLocked() )
@@ -548,6 +636,7 @@ final class UserP
     void lock( User user ) throws SecurityException
     {
         uDao.lock( user );
+        AuthNCache.remove( user );
     }
 
 
@@ -574,6 +663,7 @@ final class UserP
     {
         String userId = entity.getUserId();
         boolean result = uDao.changePassword( entity, newPassword );
+        AuthNCache.remove( entity );
         if ( !result )
         {
             LOG.warn( "changePassword failed for user [{}]", userId );
@@ -591,6 +681,7 @@ final class UserP
     void resetPassword( User user ) throws SecurityException
     {
         uDao.resetUserPassword( user );
+        AuthNCache.remove( user );
     }
 
 
@@ -632,7 +723,33 @@ final class UserP
     {
         validate( uRole );
         // "assign" custom Fortress role data, i.e. temporal constraints, onto the user node:
-        return uDao.assign( uRole );
+        String dn = uDao.assign( uRole );
+        AssignmentUtil.assign( uRole );
+        return dn;
+    }
+
+
+    /**
+     * This command assigns several roles to one user with a single update of the user's entry, see
+     * {@link #assign(UserRole)}.
+     *
+     * @param uRoles entities contain the userId, the same for all, and role names for targeted assignment.
+     * @return String containing the user's DN.  This value is used to update the "roleOccupant" attribute on associated role entities.
+     * @throws SecurityException in the event data error in user or role objects or system error.
+     */
+    String assign( List<UserRole> uRoles ) throws SecurityException
+    {
+        for ( UserRole uRole : uRoles )
+        {
+            validate( uRole );
+        }
+        // "assign" custom Fortress role data, i.e. temporal constraints, onto the user node:
+        String dn = uDao.assign( uRoles );
+        for ( UserRole uRole : uRoles )
+        {
+            AssignmentUtil.assign( uRole );
+        }
+        return dn;
     }
 
 
@@ -654,7 +771,9 @@ final class UserP
     {
         validate( uRole );
         // "deassign" custom Fortress role data from the user's node:
-        return uDao.deassign( uRole );
+        String dn = uDao.deassign( uRole );
+        AssignmentUtil.deassign( uRole );
+        return dn;
     }
 
 
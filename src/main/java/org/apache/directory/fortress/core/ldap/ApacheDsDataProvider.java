@@ -25,9 +25,11 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.pool.PoolableObjectFactory;
@@ -63,15 +65,20 @@ import org.apache.directory.api.ldap.model.message.Response;
 import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
 import org.apache.directory.api.ldap.model.message.SearchRequest;
 import org.apache.directory.api.ldap.model.message.SearchRequestImpl;
+import org.apache.directory.api.ldap.model.message.SearchResultDone;
 import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.message.controls.PagedResults;
+import org.apache.directory.api.ldap.model.message.controls.PagedResultsImpl;
 import org.apache.directory.api.ldap.model.message.controls.ProxiedAuthz;
 import org.apache.directory.api.ldap.model.message.controls.ProxiedAuthzImpl;
 
 import org.apache.directory.api.ldap.model.name.Dn;
 import org.apache.directory.fortress.core.model.ConstraintUtil;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
 import org.apache.directory.ldap.client.api.LdapConnection;
 import org.apache.directory.ldap.client.api.LdapConnectionConfig;
 import org.apache.directory.ldap.client.api.LdapConnectionPool;
+import org.apache.directory.ldap.client.api.LdapNetworkConnection;
 import org.apache.directory.fortress.core.CfgRuntimeException;
 import org.apache.directory.fortress.core.GlobalErrIds;
 import org.apache.directory.fortress.core.GlobalIds;
@@ -79,6 +86,7 @@ import org.apache.directory.fortress.core.util.Config;
 import org.apache.directory.fortress.core.model.FortEntity;
 import org.apache.directory.fortress.core.model.Hier;
 import org.apache.directory.fortress.core.model.Relationship;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.crypto.EncryptUtil;
 import org.apache.directory.fortress.core.model.Constraint;
 import org.apache.directory.ldap.client.api.ValidatingPoolableLdapConnectionFactory;
@@ -105,12 +113,27 @@ public abstract class ApacheDsDataProvider
 
     private static final int MAX_DEPTH = 100;
     private static final LdapCounters COUNTERS = new LdapCounters();
+    private static final AuditCounters AUDIT_COUNTERS = new AuditCounters();
 
     // Used for slapd access log {@link org.apache.directory.fortress.core.rbacAuditDAO}
     private static final String LDAP_LOG_POOL_UID = "log.admin.user";
     private static final String LDAP_LOG_POOL_PW = "log.admin.pw";
     private static final String LDAP_LOG_POOL_MIN = "min.log.conn";
     private static final String LDAP_LOG_POOL_MAX = "max.log.conn";
+    private static final String LDAP_USER_POOL_MIN = "min.user.conn";
+    private static final String LDAP_USER_POOL_MAX = "max.user.conn";
+
+    // Connection pool policies, shared by the admin, user and log pools:
+    private static final String POOL_TEST_ON_BORROW = "ldap.pool.test.on.borrow";
+    private static final String POOL_TEST_WHILE_IDLE = "ldap.pool.test.while.idle";
+    private static final String POOL_EVICTION_INTERVAL = "ldap.pool.eviction.interval";
+    private static final String POOL_WHEN_EXHAUSTED = "ldap.pool.when.exhausted";
+    private static final String POOL_MAX_WAIT = "ldap.pool.max.wait";
+    private static final String POOL_ADAPTIVE = "ldap.pool.adaptive";
+    private static final String POOL_ADAPTIVE_INTERVAL = "ldap.pool.adaptive.interval";
+
+    // Number of entries per page returned to a SearchIterator:
+    private static final String PAGE_SIZE = "ldap.page.size";
 
     private static final boolean IS_SSL = (
         Config.getProperty( GlobalIds.ENABLE_LDAP_SSL ) != null &&
@@ -141,6 +164,16 @@ public abstract class ApacheDsDataProvider
      */
     private static LdapConnectionPool userPool;
 
+    /**
+     * The settings of the Admin connections, also used to open those held outside of the pool
+     */
+    private static LdapConnectionConfig adminConfig;
+
+    private static PoolCounters adminCounters;
+    private static PoolCounters logCounters;
+    private static PoolCounters userCounters;
+    private static final List<PoolCounters> POOL_COUNTERS = new CopyOnWriteArrayList<>();
+
     private static final PasswordPolicy PP_REQ_CTRL = new PasswordPolicyImpl();
 
     private static final char[] LDAP_META_CHARS = loadLdapEscapeChars();
@@ -150,10 +183,12 @@ public abstract class ApacheDsDataProvider
     {
         String host = Config.getProperty( GlobalIds.LDAP_HOST, "localhost" );
         int port = Config.getInt( GlobalIds.LDAP_PORT, 10389 );
-        int min = Config.getInt( GlobalIds.LDAP_ADMIN_POOL_MIN, 1 );
-        int max = Config.getInt( GlobalIds.LDAP_ADMIN_POOL_MAX, 10 );
-        int logmin = Config.getInt( LDAP_LOG_POOL_MIN, 1 );
-        int logmax = Config.getInt( LDAP_LOG_POOL_MAX, 10 );
+        final int min = Config.getInt( GlobalIds.LDAP_ADMIN_POOL_MIN, 1 );
+        final int max = Config.getInt( GlobalIds.LDAP_ADMIN_POOL_MAX, 10 );
+        final int logmin = Config.getInt( LDAP_LOG_POOL_MIN, 1 );
+        final int logmax = Config.getInt( LDAP_LOG_POOL_MAX, 10 );
+        final int usermin = Config.getInt( LDAP_USER_POOL_MIN, min );
+        final int usermax = Config.getInt( LDAP_USER_POOL_MAX, max );
         LOG.info( "LDAP POOL:  host=[{}], port=[{}], min=[{}], max=[{}]", host, port, min, max );
 
         if ( IS_SET_TRUST_STORE_PROP )
@@ -218,24 +253,26 @@ public abstract class ApacheDsDataProvider
             throw new CfgRuntimeException( GlobalErrIds.FT_APACHE_LDAP_POOL_INIT_FAILED, error, ex );
         }
 
+        adminConfig = config;
         PoolableObjectFactory<LdapConnection> poolFactory = new ValidatingPoolableLdapConnectionFactory( config );
 
         // Create the Admin pool
-        adminPool = new LdapConnectionPool( poolFactory );
-        adminPool.setTestOnBorrow( true );
-        adminPool.setWhenExhaustedAction( GenericObjectPool.WHEN_EXHAUSTED_GROW );
-        adminPool.setMaxActive( max );
-        adminPool.setMinIdle( min );
+        InstrumentedConnectionFactory adminFactory = new InstrumentedConnectionFactory( poolFactory );
+        adminPool = new LdapConnectionPool( adminFactory );
+        configurePool( adminPool, min, max );
         adminPool.setMaxIdle( -1 );
-        //adminPool.setMaxWait( 0 );
+        adminCounters = new PoolCounters( "admin", adminPool );
+        adminFactory.setCounters( adminCounters );
+        POOL_COUNTERS.add( adminCounters );
 
         // Create the User pool
-        userPool = new LdapConnectionPool( poolFactory );
-        userPool.setTestOnBorrow( true );
-        userPool.setWhenExhaustedAction( GenericObjectPool.WHEN_EXHAUSTED_GROW );
-        userPool.setMaxActive( max );
-        userPool.setMinIdle( min );
+        InstrumentedConnectionFactory userFactory = new InstrumentedConnectionFactory( poolFactory );
+        userPool = new LdapConnectionPool( userFactory );
+        configurePool( userPool, usermin, usermax );
         userPool.setMaxIdle( -1 );
+        userCounters = new PoolCounters( "user", userPool );
+        userFactory.setCounters( userCounters );
+        POOL_COUNTERS.add( userCounters );
 
         // This pool of access log connections is used by {@link org.apache.directory.fortress.AuditMgr}.
         // To enable, set {@code log.admin.user} && {@code log.admin.pw} inside fortress.properties file:
@@ -270,13 +307,125 @@ public abstract class ApacheDsDataProvider
                 logPw = Config.getProperty( LDAP_LOG_POOL_PW );
             }
             logConfig.setCredentials( logPw );
-            poolFactory = new ValidatingPoolableLdapConnectionFactory( logConfig );
-            logPool = new LdapConnectionPool( poolFactory );
-            logPool.setTestOnBorrow( true );
-            logPool.setWhenExhaustedAction( GenericObjectPool.WHEN_EXHAUSTED_GROW );
-            logPool.setMaxActive( logmax );
-            logPool.setMinIdle( logmin );
+            InstrumentedConnectionFactory logFactory = new InstrumentedConnectionFactory(
+                new ValidatingPoolableLdapConnectionFactory( logConfig ) );
+            logPool = new LdapConnectionPool( logFactory );
+            configurePool( logPool, logmin, logmax );
+            logCounters = new PoolCounters( "log", logPool );
+            logFactory.setCounters( logCounters );
+            POOL_COUNTERS.add( logCounters );
         }
+
+        // Size the pools to the concurrency observed over each interval rather than to their configured maximum:
+        if ( Config.getBoolean( POOL_ADAPTIVE, false ) )
+        {
+            final long interval = getAdaptiveInterval();
+            LOG.info( "LDAP POOL:  adaptive sizing interval=[{}] ms", interval );
+            Thread adapter = new Thread( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    while ( !Thread.currentThread().isInterrupted() )
+                    {
+                        try
+                        {
+                            Thread.sleep( interval );
+                            PoolSizer.adapt( adminPool, adminCounters, min, max );
+                            PoolSizer.adapt( userPool, userCounters, usermin, usermax );
+                            PoolSizer.adapt( logPool, logCounters, logmin, logmax );
+                        }
+                        catch ( InterruptedException ie )
+                        {
+                            Thread.currentThread().interrupt();
+                        }
+                        catch ( RuntimeException re )
+                        {
+                            LOG.warn( "LDAP POOL:  adaptive sizing caught RuntimeException={}", re.getMessage(), re );
+                        }
+                    }
+                }
+            }, "fortress-ldap-pool-adapter" );
+            adapter.setDaemon( true );
+            adapter.start();
+        }
+    }
+
+
+    /**
+     * Apply the policies shared by all of the connection pools.  By default connections are validated on every borrow
+     * and the pool grows past its maximum when exhausted, which is how the pools have always behaved.  Setting
+     * {@code ldap.pool.test.on.borrow=false} and {@code ldap.pool.test.while.idle=true} moves validation to the
+     * evictor thread, which runs every {@code ldap.pool.eviction.interval} seconds.  Setting
+     * {@code ldap.pool.when.exhausted=block} bounds the pool at its maximum, a borrow then waits at most
+     * {@code ldap.pool.max.wait} milliseconds, forever if negative.
+     *
+     * @param pool to configure.
+     * @param min contains the minimum number of idle connections.
+     * @param max contains the maximum number of active connections.
+     */
+    private static void configurePool( LdapConnectionPool pool, int min, int max )
+    {
+        boolean isTestWhileIdle = Config.getBoolean( POOL_TEST_WHILE_IDLE, false );
+        int evictionInterval = Config.getInt( POOL_EVICTION_INTERVAL, isTestWhileIdle ? 60 : -1 );
+        pool.setTestOnBorrow( Config.getBoolean( POOL_TEST_ON_BORROW, true ) );
+        pool.setTestWhileIdle( isTestWhileIdle );
+
+        if ( evictionInterval > 0 )
+        {
+            pool.setTimeBetweenEvictionRunsMillis( evictionInterval * 1000L );
+            pool.setNumTestsPerEvictionRun( max );
+        }
+
+        if ( Config.getBoolean( POOL_ADAPTIVE, false ) )
+        {
+            // let eviction close every connection that sat idle through a whole adaptive interval, it then restores min idle:
+            pool.setMinEvictableIdleTimeMillis( getAdaptiveInterval() );
+            pool.setNumTestsPerEvictionRun( -1 );
+
+            if ( evictionInterval <= 0 )
+            {
+                pool.setTimeBetweenEvictionRunsMillis( getAdaptiveInterval() );
+            }
+        }
+
+        pool.setWhenExhaustedAction( getWhenExhaustedAction() );
+        pool.setMaxWait( Config.getInt( POOL_MAX_WAIT, -1 ) );
+        pool.setMaxActive( max );
+        pool.setMinIdle( min );
+    }
+
+
+    /**
+     * @return the number of milliseconds named by {@code ldap.pool.adaptive.interval}, 60 seconds by default.
+     */
+    private static long getAdaptiveInterval()
+    {
+        return Config.getInt( POOL_ADAPTIVE_INTERVAL, 60 ) * 1000L;
+    }
+
+
+    /**
+     * @return the pool action named by {@code ldap.pool.when.exhausted}, i.e. grow, block or fail, grow by default.
+     */
+    private static byte getWhenExhaustedAction()
+    {
+        String action = Config.getProperty( POOL_WHEN_EXHAUSTED, "grow" );
+
+        if ( "block".equalsIgnoreCase( action ) )
+        {
+            return GenericObjectPool.WHEN_EXHAUSTED_BLOCK;
+        }
+        else if ( "fail".equalsIgnoreCase( action ) )
+        {
+            return GenericObjectPool.WHEN_EXHAUSTED_FAIL;
+        }
+        else if ( !"grow".equalsIgnoreCase( action ) )
+        {
+            LOG.warn( "LDAP POOL:  invalid {} [{}], using grow", POOL_WHEN_EXHAUSTED, action );
+        }
+
+        return GenericObjectPool.WHEN_EXHAUSTED_GROW;
     }
 
 
@@ -775,6 +924,135 @@ public abstract class ApacheDsDataProvider
     }
 
 
+    /**
+     * Converts the entries returned by a search into entities.
+     *
+     * @param <T> type of entity.
+     */
+    protected interface EntryMapper<T>
+    {
+        /**
+         * @param entry    contains the ldap entry.
+         * @param sequence the position of the entry in the results, starting with 0.
+         * @return the entity.
+         * @throws LdapException in the event the entry cannot be converted.
+         */
+        T map( Entry entry, long sequence ) throws LdapException;
+    }
+
+
+    /**
+     * Perform an ldap search whose results are read as they are iterated, using the simple paged results control
+     * (RFC 2696).  The number of entries per page is {@code ldap.page.size}, default {@link GlobalIds#BATCH_SIZE}.
+     * The admin connection is held by the iterator until the results are exhausted or it is closed.
+     *
+     * @param baseDn  contains address of distinguished name to begin ldap search
+     * @param scope   indicates depth of search starting at basedn.
+     * @param filter  contains the search criteria
+     * @param attrs   is the requested list of attritubutes to return from directory search.
+     * @param errorId is thrown, within a {@link org.apache.directory.fortress.core.FinderRuntimeException}, should
+     *                reading a subsequent page fail.
+     * @param mapper  converts the entries.
+     * @param <T>     type of entity returned.
+     * @return iterator positioned before the first result.
+     * @throws LdapException   thrown in the event of error in ldap client or server code.
+     * @throws CursorException thrown in the event of error reading the first page.
+     */
+    protected <T> SearchIterator<T> searchIterator( String baseDn, SearchScope scope, String filter, String[] attrs,
+        int errorId, EntryMapper<T> mapper ) throws LdapException, CursorException
+    {
+        return new PagedSearchIterator<>( this, false, baseDn, scope, filter, attrs, Config.getInt( PAGE_SIZE,
+            GlobalIds.BATCH_SIZE ), errorId, mapper );
+    }
+
+
+    /**
+     * Same as {@link #searchIterator(String, SearchScope, String, String[], int, EntryMapper)} but searches the slapd
+     * access log, holding a log connection.
+     *
+     * @param baseDn  contains address of distinguished name to begin ldap search
+     * @param scope   indicates depth of search starting at basedn.
+     * @param filter  contains the search criteria
+     * @param attrs   is the requested list of attritubutes to return from directory search.
+     * @param errorId is thrown, within a {@link org.apache.directory.fortress.core.FinderRuntimeException}, should
+     *                reading a subsequent page fail.
+     * @param mapper  converts the entries.
+     * @param <T>     type of entity returned.
+     * @return iterator positioned before the first result.
+     * @throws LdapException   thrown in the event of error in ldap client or server code.
+     * @throws CursorException thrown in the event of error reading the first page.
+     */
+    protected <T> SearchIterator<T> searchLogIterator( String baseDn, SearchScope scope, String filter,
+        String[] attrs, int errorId, EntryMapper<T> mapper ) throws LdapException, CursorException
+    {
+        return new PagedSearchIterator<>( this, true, baseDn, scope, filter, attrs, Config.getInt( PAGE_SIZE,
+            GlobalIds.BATCH_SIZE ), errorId, mapper );
+    }
+
+
+    /**
+     * Request one page of the results of a search, using the simple paged results control.
+     *
+     * @param connection is LdapConnection object used for all communication with host, must be the same for every
+     *                   page of a search.
+     * @param baseDn     contains address of distinguished name to begin ldap search
+     * @param scope      indicates depth of search starting at basedn.
+     * @param filter     contains the search criteria
+     * @param attrs      is the requested list of attritubutes to return from directory search.
+     * @param pageSize   maximum number of entries in the page.
+     * @param cookie     returned with the previous page, null for the first page.
+     * @return result set containing the ldap entries of the page.
+     * @throws LdapException thrown in the event of error in ldap client or server code.
+     */
+    protected SearchCursor searchPage( LdapConnection connection, String baseDn, SearchScope scope, String filter,
+        String[] attrs, int pageSize, byte[] cookie ) throws LdapException
+    {
+        COUNTERS.incrementSearch();
+
+        SearchRequest searchRequest = new SearchRequestImpl();
+        searchRequest.setBase( new Dn( baseDn ) );
+        searchRequest.setScope( scope );
+        searchRequest.setFilter( filter );
+        searchRequest.setTypesOnly( false );
+        searchRequest.addAttributes( attrs );
+
+        PagedResults pagedControl = new PagedResultsImpl();
+        pagedControl.setSize( pageSize );
+
+        if ( cookie != null )
+        {
+            pagedControl.setCookie( cookie );
+        }
+
+        searchRequest.addControl( pagedControl );
+        return connection.search( searchRequest );
+    }
+
+
+    /**
+     * Return the cookie the server sends with a page of results, to request the next page.
+     *
+     * @param cursor of a page whose entries have all been read.
+     * @return the cookie, null or empty if that was the last page.
+     */
+    protected byte[] getPageCookie( SearchCursor cursor )
+    {
+        SearchResultDone done = cursor.getSearchResultDone();
+
+        if ( done != null )
+        {
+            Control control = done.getControl( PagedResults.OID );
+
+            if ( control instanceof PagedResults )
+            {
+                return ( ( PagedResults ) control ).getCookie();
+            }
+        }
+
+        return null;
+    }
+
+
     /**
      * This method will search the directory and return at most one record.  If more than one record is found
      * an ldap exception will be thrown.
@@ -1389,6 +1667,49 @@ public abstract class ApacheDsDataProvider
     }
 
 
+    /**
+     * Open and bind an Admin connection outside of the pool, for a caller that holds it and sends asynchronous requests
+     * on it.  Pooled connections may be wrapped by the ldap client, which hides their asynchronous operations.
+     *
+     * @return bound ldap connection, to be closed by the caller with {@link #closeAdminAsyncConnection}.
+     * @throws LdapException in the event the connection cannot be opened or bound.
+     */
+    protected LdapAsyncConnection openAdminAsyncConnection() throws LdapException
+    {
+        LdapNetworkConnection connection = new LdapNetworkConnection( adminConfig );
+
+        try
+        {
+            connection.bind();
+        }
+        catch ( LdapException e )
+        {
+            closeAdminAsyncConnection( connection );
+            throw e;
+        }
+
+        return connection;
+    }
+
+
+    /**
+     * Close an Admin connection opened by {@link #openAdminAsyncConnection()}.
+     *
+     * @param connection handle to ldap connection object.
+     */
+    protected void closeAdminAsyncConnection( LdapAsyncConnection connection )
+    {
+        try
+        {
+            connection.close();
+        }
+        catch ( IOException e )
+        {
+            LOG.warn( "closeAdminAsyncConnection caught IOException={}", e.getMessage() );
+        }
+    }
+
+
     /**
      * Calls the PoolMgr to close the Admin LDAP connection.
      *
@@ -1454,14 +1775,7 @@ public abstract class ApacheDsDataProvider
      */
     protected LdapConnection getAdminConnection() throws LdapException
     {
-        try
-        {
-            return adminPool.getConnection();
-        }
-        catch ( Exception e )
-        {
-            throw new LdapException( e.getMessage(), e );
-        }
+        return borrow( adminPool, adminCounters );
     }
 
 
@@ -1473,14 +1787,7 @@ public abstract class ApacheDsDataProvider
      */
     protected LdapConnection getLogConnection() throws LdapException
     {
-        try
-        {
-            return logPool.getConnection();
-        }
-        catch ( Exception e )
-        {
-            throw new LdapException( e.getMessage(), e );
-        }
+        return borrow( logPool, logCounters );
     }
 
 
@@ -1492,14 +1799,7 @@ public abstract class ApacheDsDataProvider
      */
     protected LdapConnection getUserConnection() throws LdapException
     {
-        try
-        {
-            return userPool.getConnection();
-        }
-        catch ( Exception e )
-        {
-            throw new LdapException( e.getMessage(), e );
-        }
+        return borrow( userPool, userCounters );
     }
 
 
@@ -1514,6 +1814,70 @@ public abstract class ApacheDsDataProvider
     }
 
 
+    /**
+     * Return to call reference to the counters of each ldap connection pool, i.e. admin, user and log.
+     *
+     * @return List of {@link PoolCounters} with running totals and current sizes of the pools for current running process.
+     */
+    public static List<PoolCounters> getPoolCounters()
+    {
+        return POOL_COUNTERS;
+    }
+
+
+    /**
+     * Return to call reference to the counters of the asynchronous authZ audit writer, enabled with
+     * {@code enable.audit.async=true}.
+     *
+     * @return {@link AuditCounters} contains running totals of audit records written, dropped, spilled and failed.
+     */
+    public static AuditCounters getAuditCounters()
+    {
+        return AUDIT_COUNTERS;
+    }
+
+
+    /**
+     * Borrow a connection from a pool and record the time it took.  A borrow is counted as growing the pool when no
+     * connection was idle and the pool was already at its maximum, which is approximate under contention.
+     *
+     * @param pool to borrow from.
+     * @param counters of the pool.
+     * @return ldap connection.
+     * @throws LdapException in the event the pool is exhausted or a connection cannot be created.
+     */
+    private static LdapConnection borrow( LdapConnectionPool pool, PoolCounters counters ) throws LdapException
+    {
+        long start = System.nanoTime();
+
+        if ( pool.getWhenExhaustedAction() == GenericObjectPool.WHEN_EXHAUSTED_GROW && pool.getNumIdle() == 0
+            && pool.getMaxActive() > 0 && pool.getNumActive() >= pool.getMaxActive() )
+        {
+            counters.incrementGrow();
+        }
+
+        try
+        {
+            LdapConnection connection = pool.getConnection();
+            counters.recordBorrow( System.nanoTime() - start, pool.getNumActive() );
+            return connection;
+        }
+        catch ( NoSuchElementException e )
+        {
+            counters.incrementExhausted();
+            throw new LdapException( "connection pool [" + counters.getName() + "] exhausted: " + e.getMessage(), e );
+        }
+        catch ( LdapException e )
+        {
+            throw e;
+        }
+        catch ( Exception e )
+        {
+            throw new LdapException( e.getMessage(), e );
+        }
+    }
+
+
     /**
      *
      */
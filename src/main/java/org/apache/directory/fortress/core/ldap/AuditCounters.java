@@ -0,0 +1,121 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.ldap;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * This class handles counters that correspond to the asynchronous authZ audit writer, enabled with fortress config
+ * param {@code enable.audit.async=true}: records written to ldap, records discarded, records written to the spill
+ * file and records that could not be written due to ldap error.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AuditCounters
+{
+    private final AtomicLong writtenCtr = new AtomicLong( 0 );
+    private final AtomicLong droppedCtr = new AtomicLong( 0 );
+    private final AtomicLong spilledCtr = new AtomicLong( 0 );
+    private final AtomicLong failedCtr = new AtomicLong( 0 );
+
+
+    /**
+     * Add to the written counter.
+     *
+     * @param count contains the number of records written to ldap.
+     */
+    public void addWritten( long count )
+    {
+        writtenCtr.addAndGet( count );
+    }
+
+
+    /**
+     * Increment the dropped counter.
+     */
+    public void incrementDropped()
+    {
+        droppedCtr.incrementAndGet();
+    }
+
+
+    /**
+     * Increment the spilled counter.
+     */
+    public void incrementSpilled()
+    {
+        spilledCtr.incrementAndGet();
+    }
+
+
+    /**
+     * Add to the failed counter.
+     *
+     * @param count contains the number of records that could not be written.
+     */
+    public void addFailed( long count )
+    {
+        failedCtr.addAndGet( count );
+    }
+
+
+    /**
+     * Return the written counter.
+     * @return long containing number of audit records written to ldap.
+     */
+    public long getWritten()
+    {
+        return writtenCtr.get();
+    }
+
+
+    /**
+     * Return the dropped counter.
+     * @return long containing number of audit records discarded because the queue was full or the spill file failed.
+     */
+    public long getDropped()
+    {
+        return droppedCtr.get();
+    }
+
+
+    /**
+     * Return the spilled counter.
+     * @return long containing number of audit records written to the spill file.
+     */
+    public long getSpilled()
+    {
+        return spilledCtr.get();
+    }
+
+
+    /**
+     * Return the failed counter.
+     * @return long containing number of audit records that could not be written due to ldap error.
+     */
+    public long getFailed()
+    {
+        return failedCtr.get();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.ldap;
+
+
+import java.util.NoSuchElementException;
+
+import org.apache.directory.api.ldap.model.cursor.CursorException;
+import org.apache.directory.api.ldap.model.cursor.SearchCursor;
+import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.fortress.core.FinderRuntimeException;
+import org.apache.directory.fortress.core.util.SearchIterator;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Reads the results of a search a page at a time, using the simple paged results control, and converts each entry as
+ * it is iterated.  Only the current page is held by the client, and only one entity.  The pages of a search must be
+ * requested over the same connection, so an admin, or log, connection is borrowed when the search begins and
+ * returned to its pool as soon as the last result has been read ahead, i.e. before {@link #hasNext()} returns false,
+ * or when the iterator is closed, whichever is first.
+ * <p/>
+ * This class is not thread safe.
+ *
+ * @param <T> type of entity.
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class PagedSearchIterator<T> implements SearchIterator<T>
+{
+    private static final String CLS_NM = PagedSearchIterator.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+
+    private final ApacheDsDataProvider provider;
+    private final boolean isLog;
+    private final String baseDn;
+    private final SearchScope scope;
+    private final String filter;
+    private final String[] attrs;
+    private final int pageSize;
+    private final int errorId;
+    private final ApacheDsDataProvider.EntryMapper<T> mapper;
+    private LdapConnection connection;
+    private SearchCursor cursor;
+    private T next;
+    private long sequence;
+
+
+    /**
+     * Begin the search and read its first result.
+     *
+     * @param isLog if true the slapd access log is searched over a log connection, otherwise an admin connection.
+     * @throws LdapException   in the event the search fails.
+     * @throws CursorException in the event the first page cannot be read.
+     */
+    PagedSearchIterator( ApacheDsDataProvider provider, boolean isLog, String baseDn, SearchScope scope, String filter,
+        String[] attrs, int pageSize, int errorId, ApacheDsDataProvider.EntryMapper<T> mapper ) throws LdapException,
+        CursorException
+    {
+        this.provider = provider;
+        this.isLog = isLog;
+        this.baseDn = baseDn;
+        this.scope = scope;
+        this.filter = filter;
+        this.attrs = attrs;
+        this.pageSize = pageSize;
+        this.errorId = errorId;
+        this.mapper = mapper;
+        boolean isStarted = false;
+
+        try
+        {
+            connection = isLog ? provider.getLogConnection() : provider.getAdminConnection();
+            cursor = provider.searchPage( connection, baseDn, scope, filter, attrs, pageSize, null );
+            fetch();
+            isStarted = true;
+        }
+        finally
+        {
+            if ( !isStarted )
+            {
+                close();
+            }
+        }
+    }
+
+
+    @Override
+    public boolean hasNext()
+    {
+        return next != null;
+    }
+
+
+    @Override
+    public T next()
+    {
+        if ( next == null )
+        {
+            throw new NoSuchElementException();
+        }
+
+        T result = next;
+
+        try
+        {
+            fetch();
+        }
+        catch ( LdapException e )
+        {
+            close();
+            String error = "next base [" + baseDn + "] filter [" + filter + "] caught LdapException=" + e.getMessage();
+            throw new FinderRuntimeException( errorId, error, e );
+        }
+        catch ( CursorException e )
+        {
+            close();
+            String error = "next base [" + baseDn + "] filter [" + filter + "] caught CursorException=" + e
+                .getMessage();
+            throw new FinderRuntimeException( errorId, error, e );
+        }
+
+        return result;
+    }
+
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException( CLS_NM + ".remove not supported" );
+    }
+
+
+    @Override
+    public void close()
+    {
+        next = null;
+        // abandons the search if not complete:
+        closeCursor();
+
+        if ( connection != null )
+        {
+            if ( isLog )
+            {
+                provider.closeLogConnection( connection );
+            }
+            else
+            {
+                provider.closeAdminConnection( connection );
+            }
+
+            connection = null;
+        }
+    }
+
+
+    /**
+     * Close the cursor of the current page, if any.
+     */
+    private void closeCursor()
+    {
+        if ( cursor != null )
+        {
+            try
+            {
+                cursor.close();
+            }
+            catch ( Exception e )
+            {
+                LOG.debug( "close base [{}] caught Exception={}", baseDn, e.getMessage() );
+            }
+
+            cursor = null;
+        }
+    }
+
+
+    /**
+     * Read ahead one result, requesting the next page when the current is exhausted, and release the connection when
+     * there are no more.
+     */
+    private void fetch() throws LdapException, CursorException
+    {
+        next = null;
+
+        while ( cursor != null )
+        {
+            if ( cursor.next() )
+            {
+                next = mapper.map( cursor.getEntry(), sequence++ );
+                return;
+            }
+
+            byte[] cookie = provider.getPageCookie( cursor );
+            closeCursor();
+
+            if ( cookie != null && cookie.length > 0 )
+            {
+                cursor = provider.searchPage( connection, baseDn, scope, filter, attrs, pageSize, cookie );
+            }
+        }
+
+        // exhausted, return the connection to the pool now rather than when the caller closes the iterator:
+        close();
+    }
+}
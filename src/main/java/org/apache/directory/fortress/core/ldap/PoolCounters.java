@@ -0,0 +1,302 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.ldap;
+
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.pool.impl.GenericObjectPool;
+
+
+/**
+ * This class handles counters that correspond to the use of one of the ldap connection pools: borrows and how long
+ * they waited, connections created, destroyed and failing validation, and borrows that had to grow the pool past its
+ * maximum or could not be satisfied.  The active and idle counts are read from the pool when requested.
+ * <p/>
+ * Borrow times are kept in a histogram whose bucket upper bounds, in microseconds, are returned by
+ * {@link #getBorrowBounds()}, the last bucket holds everything slower.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class PoolCounters
+{
+    private static final long[] BOUNDS =
+        { 10, 100, 1000, 10000, 100000, 1000000 };
+
+    private final String name;
+    private final GenericObjectPool<?> pool;
+    private final AtomicLong borrowCtr = new AtomicLong( 0 );
+    private final AtomicLong borrowNanos = new AtomicLong( 0 );
+    private final AtomicLongArray histogram = new AtomicLongArray( BOUNDS.length + 1 );
+    private final AtomicLong exhaustedCtr = new AtomicLong( 0 );
+    private final AtomicLong growCtr = new AtomicLong( 0 );
+    private final AtomicLong createCtr = new AtomicLong( 0 );
+    private final AtomicLong destroyCtr = new AtomicLong( 0 );
+    private final AtomicLong validationFailureCtr = new AtomicLong( 0 );
+    private final AtomicInteger peakActive = new AtomicInteger( 0 );
+
+
+    /**
+     * @param name identifies the pool, i.e. admin, user or log.
+     * @param pool the counters are kept for.
+     */
+    PoolCounters( String name, GenericObjectPool<?> pool )
+    {
+        this.name = name;
+        this.pool = pool;
+    }
+
+
+    /**
+     * Record a successful borrow.
+     *
+     * @param nanos contains the time spent waiting for the connection.
+     * @param active contains the number of connections in use once the borrow completed.
+     */
+    void recordBorrow( long nanos, int active )
+    {
+        borrowCtr.incrementAndGet();
+        borrowNanos.addAndGet( nanos );
+        long micros = nanos / 1000;
+        int bucket = 0;
+
+        while ( bucket < BOUNDS.length && micros > BOUNDS[bucket] )
+        {
+            bucket++;
+        }
+
+        histogram.incrementAndGet( bucket );
+        int peak = peakActive.get();
+
+        while ( active > peak && !peakActive.compareAndSet( peak, active ) )
+        {
+            peak = peakActive.get();
+        }
+    }
+
+
+    /**
+     * Increment the exhausted counter, i.e. a borrow that timed out or failed because the pool was at its maximum.
+     */
+    void incrementExhausted()
+    {
+        exhaustedCtr.incrementAndGet();
+    }
+
+
+    /**
+     * Increment the grow counter, i.e. a borrow that created a connection beyond the pool's maximum.
+     */
+    void incrementGrow()
+    {
+        growCtr.incrementAndGet();
+    }
+
+
+    /**
+     * Increment the create counter.
+     */
+    void incrementCreate()
+    {
+        createCtr.incrementAndGet();
+    }
+
+
+    /**
+     * Increment the destroy counter.
+     */
+    void incrementDestroy()
+    {
+        destroyCtr.incrementAndGet();
+    }
+
+
+    /**
+     * Increment the validation failure counter.
+     */
+    void incrementValidationFailure()
+    {
+        validationFailureCtr.incrementAndGet();
+    }
+
+
+    /**
+     * Return the highest number of connections in use since the last call, and start tracking again from the
+     * number in use now.
+     *
+     * @return int containing peak active connections.
+     */
+    int resetPeakActive()
+    {
+        return peakActive.getAndSet( pool.getNumActive() );
+    }
+
+
+    /**
+     * Return the name of the pool.
+     * @return String containing admin, user or log.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the borrow counter.
+     * @return long containing borrow.
+     */
+    public long getBorrow()
+    {
+        return borrowCtr.get();
+    }
+
+
+    /**
+     * Return the mean time a borrow waited for a connection.
+     * @return long containing microseconds.
+     */
+    public long getBorrowMeanMicros()
+    {
+        long borrows = borrowCtr.get();
+        return borrows == 0 ? 0 : borrowNanos.get() / borrows / 1000;
+    }
+
+
+    /**
+     * Return the borrow time histogram.
+     * @return array containing, for each bucket of {@link #getBorrowBounds()} plus a final unbounded one, the number of borrows.
+     */
+    public long[] getBorrowHistogram()
+    {
+        long[] counts = new long[histogram.length()];
+
+        for ( int i = 0; i < counts.length; i++ )
+        {
+            counts[i] = histogram.get( i );
+        }
+
+        return counts;
+    }
+
+
+    /**
+     * Return the upper bounds of the borrow time histogram buckets.
+     * @return array containing microseconds.
+     */
+    public static long[] getBorrowBounds()
+    {
+        return BOUNDS.clone();
+    }
+
+
+    /**
+     * Return the exhausted counter.
+     * @return long containing exhausted.
+     */
+    public long getExhausted()
+    {
+        return exhaustedCtr.get();
+    }
+
+
+    /**
+     * Return the grow counter.
+     * @return long containing grow.
+     */
+    public long getGrow()
+    {
+        return growCtr.get();
+    }
+
+
+    /**
+     * Return the create counter.
+     * @return long containing create.
+     */
+    public long getCreate()
+    {
+        return createCtr.get();
+    }
+
+
+    /**
+     * Return the destroy counter.
+     * @return long containing destroy.
+     */
+    public long getDestroy()
+    {
+        return destroyCtr.get();
+    }
+
+
+    /**
+     * Return the validation failure counter.
+     * @return long containing validation failure.
+     */
+    public long getValidationFailure()
+    {
+        return validationFailureCtr.get();
+    }
+
+
+    /**
+     * Return the number of connections currently borrowed from the pool.
+     * @return int containing active.
+     */
+    public int getActive()
+    {
+        return pool.getNumActive();
+    }
+
+
+    /**
+     * Return the number of connections currently idle in the pool.
+     * @return int containing idle.
+     */
+    public int getIdle()
+    {
+        return pool.getNumIdle();
+    }
+
+
+    /**
+     * Return the number of idle connections the pool currently retains, which changes when adaptive sizing is enabled.
+     * @return int containing max idle, negative if unbounded.
+     */
+    public int getMaxIdle()
+    {
+        return pool.getMaxIdle();
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "PoolCounters [" + name + "] active=" + getActive() + ", idle=" + getIdle() + ", maxIdle="
+            + getMaxIdle() + ", borrow=" + getBorrow() + ", borrowMeanMicros=" + getBorrowMeanMicros() + ", exhausted="
+            + getExhausted() + ", grow=" + getGrow() + ", create=" + getCreate() + ", destroy=" + getDestroy()
+            + ", validationFailure=" + getValidationFailure();
+    }
+}
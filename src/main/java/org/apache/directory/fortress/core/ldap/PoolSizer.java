@@ -0,0 +1,81 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.ldap;
+
+
+import org.apache.commons.pool.impl.GenericObjectPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Performs the adaptive sizing of the ldap connection pools, enabled with fortress config param
+ * {@code ldap.pool.adaptive=true}.  Adaptive sizing only tunes a pool's max idle, the number of connections it keeps
+ * open once they are released.  Its min idle and max active stay as configured, and idle connections are only closed
+ * by the pool's evictor, which also tops the pool back up to its min idle after every run.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class PoolSizer
+{
+    private static final String CLS_NM = PoolSizer.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+
+
+    /**
+     * Private constructor
+     *
+     */
+    private PoolSizer()
+    {
+    }
+
+
+    /**
+     * Retain only as many idle connections as were in use at the peak of the last interval, bounded by the pool's
+     * configured min and max.  Connections a burst grew the pool by are closed once released rather than held open.
+     * Those already idle are left to the evictor, which closes them once they have gone unused for a whole interval.
+     * Nothing is borrowed from the pool, so sizing never waits on, or competes with, callers of a pool that blocks
+     * when exhausted.
+     *
+     * @param pool to size, may be null.
+     * @param counters of the pool.
+     * @param min contains the configured minimum.
+     * @param max contains the configured maximum.
+     */
+    static void adapt( GenericObjectPool<?> pool, PoolCounters counters, int min, int max )
+    {
+        if ( pool == null )
+        {
+            return;
+        }
+
+        int peak = counters.resetPeakActive();
+        int maxIdle = Math.max( min, Math.min( peak, max ) );
+
+        if ( maxIdle != pool.getMaxIdle() )
+        {
+            LOG.debug( "LDAP POOL:  [{}] peak active=[{}], max idle=[{}]", counters.getName(), peak, maxIdle );
+            pool.setMaxIdle( maxIdle );
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.model;
+
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.directory.fortress.core.util.AuditUtil;
+
+
+/**
+ * This entity class contains counts of OpenLDAP slapd access log authorization events, as returned by
+ * {@link org.apache.directory.fortress.core.AuditMgr#getAuthZSummary(UserAudit)}.  The events are counted as they are
+ * read, one at a time, so a summary over any number of events takes the same memory as the number of distinct users,
+ * permissions and hours it contains.
+ * <p/>
+ * The events are counted by:
+ * <ul>
+ * <li>user - the userId of the user whose access was checked.</li>
+ * <li>permission - the permission checked, as objName.opName.</li>
+ * <li>hour - the hour the check completed, in generalized time format, e.g. 2015061713 for 13:00 GMT on June 17,
+ * 2015.</li>
+ * </ul>
+ * <p/>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+@XmlRootElement(name = "fortAuthZSummary")
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "authZSummary", propOrder =
+    {
+        "total",
+        "users",
+        "permissions",
+        "hours"
+})
+public class AuthZSummary extends FortEntity implements Serializable
+{
+    /** Default serialVersionUID */
+    private static final long serialVersionUID = 1L;
+    /** Length of the hour portion of a generalized time, yyyyMMddHH. */
+    private static final int HOUR_LEN = 10;
+    private long total;
+    private Map<String, Long> users = new TreeMap<>();
+    private Map<String, Long> permissions = new TreeMap<>();
+    private Map<String, Long> hours = new TreeMap<>();
+
+
+    /**
+     * Count one authorization event.
+     *
+     * @param authZ contains at least the {@link AuthZ#getReqAuthzID()}, {@link AuthZ#getReqDN()} and
+     *              {@link AuthZ#getReqEnd()} of the event.
+     */
+    public void add( AuthZ authZ )
+    {
+        total++;
+        increment( users, AuditUtil.getAuthZId( authZ.getReqAuthzID() ) );
+        increment( permissions, AuditUtil.getAuthZPerm( authZ.getReqDN() ) );
+        String reqEnd = authZ.getReqEnd();
+
+        if ( reqEnd != null && reqEnd.length() >= HOUR_LEN )
+        {
+            increment( hours, reqEnd.substring( 0, HOUR_LEN ) );
+        }
+    }
+
+
+    /**
+     * Return the number of authorization events counted.
+     *
+     * @return long containing the number of events.
+     */
+    public long getTotal()
+    {
+        return total;
+    }
+
+
+    /**
+     * Return the number of authorization events by userId.
+     *
+     * @return Map of userId to number of events, sorted by userId.
+     */
+    public Map<String, Long> getUsers()
+    {
+        return users;
+    }
+
+
+    /**
+     * Return the number of authorization events by permission.
+     *
+     * @return Map of objName.opName to number of events, sorted by permission.
+     */
+    public Map<String, Long> getPermissions()
+    {
+        return permissions;
+    }
+
+
+    /**
+     * Return the number of authorization events by hour.
+     *
+     * @return Map of hour, formatted yyyyMMddHH in GMT, to number of events, in chronological order.
+     */
+    public Map<String, Long> getHours()
+    {
+        return hours;
+    }
+
+
+    private static void increment( Map<String, Long> counts, String key )
+    {
+        if ( key != null )
+        {
+            Long count = counts.get( key );
+            counts.put( key, count == null ? 1L : count + 1 );
+        }
+    }
+}
@@ -86,6 +86,7 @@ import javax.xml.bind.annotation.XmlType;
         AuthZ.class,
         Bind.class,
         Mod.class,
+        AuthZSummary.class,
         Props.class
 })
 public abstract class FortEntity
@@ -20,6 +20,7 @@
 package org.apache.directory.fortress.core.model;
 
 import javax.xml.bind.annotation.*;
+import java.util.List;
 
 /**
  * This class is used to pass request data to En Masse server.
@@ -33,6 +34,7 @@ import javax.xml.bind.annotation.*;
 @XmlType(name = "fortRequest", propOrder =
 {
     "entity",
+    "entities",
     "value",
     "limit",
     "contextId",
@@ -43,6 +45,8 @@ public class FortRequest
     @XmlElement(nillable = true)
     private FortEntity entity;
     @XmlElement(nillable = true)
+    private List<FortEntity> entities;
+    @XmlElement(nillable = true)
     private Session session;
     private String value;
     @XmlElement(nillable = true)
@@ -59,6 +63,16 @@ public class FortRequest
         this.entity = entity;
     }
 
+    public <T extends FortEntity> List<T> getEntities()
+    {
+        return (List<T>)entities;
+    }
+
+    public <T extends FortEntity> void setEntities(List<T> entities)
+    {
+        this.entities = (List<FortEntity>)entities;
+    }
+
     public String getValue()
     {
         return value;
@@ -28,7 +28,10 @@ import javax.xml.bind.annotation.XmlType;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This contains attributes related to a user's RBAC session.
@@ -177,6 +180,9 @@ public class Session  extends FortEntity implements PwMessage, Serializable
     private String message;
     @XmlElement(nillable = true)
     private List<Warning> warnings;
+    // authorization decisions cached by AccessMgrImpl.checkAccess, local to this process and, being transient, never
+    // marshaled:
+    private transient volatile ConcurrentMap<String, Decision> decisions;
 
     /**
      * A 'true' value here indicates user successfully authenticated with Fortress.
@@ -535,6 +541,7 @@ public class Session  extends FortEntity implements PwMessage, Serializable
     public void setUser( User user )
     {
         this.user = user;
+        clearDecisions();
     }
     
 
@@ -582,6 +589,7 @@ public class Session  extends FortEntity implements PwMessage, Serializable
     public void setRoles( List<UserRole> roles )
     {
         user.setRoles( roles );
+        clearDecisions();
     }
     
 
@@ -593,6 +601,7 @@ public class Session  extends FortEntity implements PwMessage, Serializable
     public void setRole( UserRole role )
     {
         user.setRole( role );
+        clearDecisions();
     }
     
 
@@ -685,6 +694,102 @@ public class Session  extends FortEntity implements PwMessage, Serializable
     }
     
 
+    /**
+     * Return the result of a prior authorization check that has been cached on this session.  Cached results are kept
+     * in memory only, are never marshaled and are dropped whenever the session's user or activated roles change.
+     *
+     * @param key identifies the permission, i.e. object name, operation name and object id.
+     * @return cached result or null if not cached or expired.
+     */
+    public Boolean getDecision( String key )
+    {
+        ConcurrentMap<String, Decision> map = decisions;
+
+        if ( map == null )
+        {
+            return null;
+        }
+
+        Decision decision = map.get( key );
+
+        if ( decision == null )
+        {
+            return null;
+        }
+
+        if ( System.currentTimeMillis() > decision.expiration )
+        {
+            map.remove( key, decision );
+            return null;
+        }
+
+        return decision.result;
+    }
+
+
+    /**
+     * Cache the result of an authorization check on this session.  Expired entries are purged once the session holds
+     * {@code maxSize} entries, if none have expired the new result is not cached.
+     *
+     * @param key identifies the permission, i.e. object name, operation name and object id.
+     * @param result contains the outcome of the check.
+     * @param expiration time in milliseconds after which the result must be checked again.
+     * @param maxSize contains the maximum number of results cached per session.
+     */
+    public void setDecision( String key, boolean result, long expiration, int maxSize )
+    {
+        ConcurrentMap<String, Decision> map = decisions;
+
+        if ( map == null )
+        {
+            synchronized ( this )
+            {
+                map = decisions;
+
+                if ( map == null )
+                {
+                    map = new ConcurrentHashMap<>();
+                    decisions = map;
+                }
+            }
+        }
+
+        if ( map.size() >= maxSize )
+        {
+            long now = System.currentTimeMillis();
+
+            for ( Map.Entry<String, Decision> entry : map.entrySet() )
+            {
+                if ( now > entry.getValue().expiration )
+                {
+                    map.remove( entry.getKey(), entry.getValue() );
+                }
+            }
+
+            if ( map.size() >= maxSize )
+            {
+                return;
+            }
+        }
+
+        map.put( key, new Decision( result, expiration ) );
+    }
+
+
+    /**
+     * Drop all authorization results cached on this session.
+     */
+    public void clearDecisions()
+    {
+        ConcurrentMap<String, Decision> map = decisions;
+
+        if ( map != null )
+        {
+            map.clear();
+        }
+    }
+
+
     /**
      * Get the warnings attached to this Session.  Used for processing password policy scenarios, e.g.. password expiring message.
      *
@@ -769,4 +874,21 @@ public class Session  extends FortEntity implements PwMessage, Serializable
 
         return sb.toString();
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Result of an authorization check along with the time it expires.
+     */
+    private static final class Decision
+    {
+        private final boolean result;
+        private final long expiration;
+
+
+        private Decision( boolean result, long expiration )
+        {
+            this.result = result;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -98,9 +98,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setEntity(new User(userId, password));
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_AUTHN);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_AUTHN);
         if (response.getErrorCode() == 0)
         {
             retSession = response.getSession();
@@ -175,17 +173,15 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setEntity(user);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse;
+        FortResponse response;
         if(isTrusted)
         {
-            szResponse = RestUtils.post(szRequest, HttpIds.RBAC_CREATE_TRUSTED);
+            response = RestUtils.post(request, HttpIds.RBAC_CREATE_TRUSTED);
         }
         else
         {
-            szResponse = RestUtils.post(szRequest, HttpIds.RBAC_CREATE);
+            response = RestUtils.post(request, HttpIds.RBAC_CREATE);
         }
-        FortResponse response = RestUtils.unmarshall(szResponse);
         if (response.getErrorCode() == 0)
         {
             retSession = response.getSession();
@@ -222,9 +218,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         request.setContextId(this.contextId);
         request.setSession(session);
         request.setEntity(perm);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_AUTHZ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_AUTHZ);
         if (response.getErrorCode() == 0)
         {
             result = response.getAuthorized();
@@ -238,6 +232,133 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         return result;
     }
 
+    /**
+     * Perform user impl authorization for a list of permissions with a single call to the server.  A permission that
+     * does not exist is not authorized.
+     *
+     * @param perms   each must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @param session This object must be instantiated by calling {@link AccessMgrImpl#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException in the event of data validation failure, security policy violation or DAO error.
+     */
+    @Override
+    public boolean[] checkAccess(Session session, List<Permission> perms)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(perms, GlobalErrIds.PERM_NULL, CLS_NM + ".checkAccess");
+        VUtil.assertNotNull(session, GlobalErrIds.USER_SESS_NULL, CLS_NM + ".checkAccess");
+        boolean[] results;
+        FortRequest request = new FortRequest();
+        request.setContextId(this.contextId);
+        request.setSession(session);
+        request.setEntities(perms);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_AUTHZS);
+        if (response.getErrorCode() == 0)
+        {
+            results = toResults(perms, response);
+            Session outSession = response.getSession();
+            session.copy(outSession);
+        }
+        else
+        {
+            throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
+        }
+        return results;
+    }
+
+    /**
+     * Create a signed token from a session that may be passed in place of the session.  The token is created, and can
+     * only be verified, by the server.
+     *
+     * @param session This object must be instantiated by calling {@link AccessMgrImpl#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @return String containing the token.
+     * @throws SecurityException in the event of data validation failure or security policy violation.
+     */
+    @Override
+    public String createToken(Session session)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(session, GlobalErrIds.USER_SESS_NULL, CLS_NM + ".createToken");
+        String token;
+        FortRequest request = new FortRequest();
+        request.setContextId(this.contextId);
+        request.setSession(session);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_TOKEN);
+        if (response.getErrorCode() == 0)
+        {
+            List<String> values = response.getValues();
+            token = values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+        else
+        {
+            throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
+        }
+        return token;
+    }
+
+    /**
+     * Perform user impl authorization for the session carried by a token.  Only the token is sent to the server.
+     *
+     * @param token This value must be obtained by calling {@link AccessMgrImpl#createToken} method before passing into the method.
+     * @param perm  must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return True if user has access, false otherwise.
+     * @throws SecurityException in the event the token is invalid or expired, of data validation failure or DAO error.
+     */
+    @Override
+    public boolean checkAccess(String token, Permission perm)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(perm, GlobalErrIds.PERM_NULL, CLS_NM + ".checkAccess");
+        VUtil.assertNotNullOrEmpty(token, GlobalErrIds.USER_SESS_NULL, CLS_NM + ".checkAccess");
+        boolean result;
+        FortRequest request = new FortRequest();
+        request.setContextId(this.contextId);
+        request.setValue(token);
+        request.setEntity(perm);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_AUTHZ_TOKEN);
+        if (response.getErrorCode() == 0)
+        {
+            result = response.getAuthorized();
+        }
+        else
+        {
+            throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Perform user impl authorization for a list of permissions for the session carried by a token with a single call
+     * to the server.  A permission that does not exist is not authorized.
+     *
+     * @param token This value must be obtained by calling {@link AccessMgrImpl#createToken} method before passing into the method.
+     * @param perms each must contain the object, {@link Permission#objName}, and operation, {@link Permission#opName}, of permission User is trying to access.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException in the event the token is invalid or expired, of data validation failure or DAO error.
+     */
+    @Override
+    public boolean[] checkAccess(String token, List<Permission> perms)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(perms, GlobalErrIds.PERM_NULL, CLS_NM + ".checkAccess");
+        VUtil.assertNotNullOrEmpty(token, GlobalErrIds.USER_SESS_NULL, CLS_NM + ".checkAccess");
+        boolean[] results;
+        FortRequest request = new FortRequest();
+        request.setContextId(this.contextId);
+        request.setValue(token);
+        request.setEntities(perms);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_AUTHZS_TOKEN);
+        if (response.getErrorCode() == 0)
+        {
+            results = toResults(perms, response);
+        }
+        else
+        {
+            throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
+        }
+        return results;
+    }
+
     /**
      * This function returns the permissions of the session, i.e., the permissions assigned
      * to its authorized roles. The function is valid if and only if the session is a valid Fortress session.
@@ -255,9 +376,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_PERMS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_PERMS);
         if (response.getErrorCode() == 0)
         {
             retPerms = response.getEntities();
@@ -289,9 +408,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_ROLES);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_ROLES);
         if (response.getErrorCode() == 0)
         {
             retRoles = response.getEntities();
@@ -322,9 +439,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_AUTHZ_ROLES);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_AUTHZ_ROLES);
         if (response.getErrorCode() == 0)
         {
             Set<String> tempNames = response.getValueSet();
@@ -369,9 +484,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         request.setContextId(this.contextId);
         request.setSession(session);
         request.setEntity(role);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_ADD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_ADD);
         if (response.getErrorCode() == 0)
         {
             Session outSession = response.getSession();
@@ -404,9 +517,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         request.setContextId(this.contextId);
         request.setSession(session);
         request.setEntity(role);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_DROP);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_DROP);
         if (response.getErrorCode() == 0)
         {
             Session outSession = response.getSession();
@@ -435,9 +546,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_USERID);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_USERID);
         if (response.getErrorCode() == 0)
         {
             User outUser = (User) response.getEntity();
@@ -509,9 +618,7 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.RBAC_USER);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.RBAC_USER);
         if (response.getErrorCode() == 0)
         {
             retUser = (User) response.getEntity();
@@ -524,4 +631,31 @@ public class AccessMgrRestImpl extends Manageable implements AccessMgr
         }
         return retUser;
     }
+
+
+    /**
+     * Return the decisions of a bulk checkAccess response, which must carry one value per permission, in request order.
+     *
+     * @param perms    the permissions that were sent.
+     * @param response returned by the server.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException if the response does not contain exactly one value per permission.
+     */
+    private boolean[] toResults(List<Permission> perms, FortResponse response)
+        throws SecurityException
+    {
+        List<String> values = response.getValues();
+        if (values == null || values.size() != perms.size())
+        {
+            String error = CLS_NM + ".checkAccess expected " + perms.size() + " results, received " +
+                (values == null ? 0 : values.size());
+            throw new SecurityException(GlobalErrIds.REST_RESPONSE_INVLD_ERR, error);
+        }
+        boolean[] results = new boolean[values.size()];
+        for (int i = 0; i < results.length; i++)
+        {
+            results[i] = Boolean.parseBoolean(values.get(i));
+        }
+        return results;
+    }
 }
@@ -36,6 +36,8 @@ import org.apache.directory.fortress.core.model.UserRole;
 import org.apache.directory.fortress.core.impl.Manageable;
 import org.apache.directory.fortress.core.util.VUtil;
 
+import java.util.List;
+
 
 /**
  * This class performs administrative functions to provision Fortress RBAC entities using HTTP access to En Masse REST server.  These APIs
@@ -131,9 +133,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_ADD );
         if ( response.getErrorCode() == 0 )
         {
             retUser = ( User ) response.getEntity();
@@ -176,9 +176,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_DISABLE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_DISABLE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -212,9 +210,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_DELETE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -271,9 +267,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retUser = ( User ) response.getEntity();
@@ -315,9 +309,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_CHGPW );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_CHGPW );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -348,9 +340,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_LOCK );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_LOCK );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -381,9 +371,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_UNLOCK );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_UNLOCK );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -418,9 +406,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_RESET );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_RESET );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -485,9 +471,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_ADD );
         if ( response.getErrorCode() == 0 )
         {
             retRole = ( Role ) response.getEntity();
@@ -526,9 +510,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_DELETE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -572,9 +554,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retRole = ( Role ) response.getEntity();
@@ -648,9 +628,35 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_ASGN );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_ASGN );
+        if ( response.getErrorCode() != 0 )
+        {
+            throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
+        }
+    }
+
+
+    /**
+     * This command assigns users to roles in bulk with a single call to the server, see
+     * {@link AdminMgr#assignUsers(List)}.
+     *
+     * @param uRoles each must contain {@link org.apache.directory.fortress.core.model.UserRole#userId} and {@link org.apache.directory.fortress.core.model.UserRole#name} and optional {@code Constraints}.
+     * @throws org.apache.directory.fortress.core.SecurityException
+     *          in the event of validation or system error.
+     */
+    @Override
+    public void assignUsers( List<UserRole> uRoles )
+        throws SecurityException
+    {
+        VUtil.assertNotNull( uRoles, GlobalErrIds.URLE_NULL, CLS_NM + ".assignUsers" );
+        FortRequest request = new FortRequest();
+        request.setContextId( this.contextId );
+        request.setEntities( uRoles );
+        if ( this.adminSess != null )
+        {
+            request.setSession( adminSess );
+        }
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_ASGNS );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -688,9 +694,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_DEASGN );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_DEASGN );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -732,9 +736,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PERM_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PERM_ADD );
         if ( response.getErrorCode() == 0 )
         {
             retPerm = ( Permission ) response.getEntity();
@@ -782,9 +784,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PERM_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PERM_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retPerm = ( Permission ) response.getEntity();
@@ -822,9 +822,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PERM_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PERM_DELETE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -864,9 +862,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.OBJ_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.OBJ_ADD );
         if ( response.getErrorCode() == 0 )
         {
             retObj = ( PermObj ) response.getEntity();
@@ -912,9 +908,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.OBJ_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.OBJ_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retObj = ( PermObj ) response.getEntity();
@@ -950,9 +944,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.OBJ_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.OBJ_DELETE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -997,9 +989,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_GRANT );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_GRANT );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1043,9 +1033,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_REVOKE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_REVOKE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1090,9 +1078,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_GRANT );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_GRANT );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1136,9 +1122,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.USER_REVOKE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.USER_REVOKE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1190,9 +1174,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_DESC );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_DESC );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1244,9 +1226,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_ASC );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_ASC );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1286,9 +1266,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_ADDINHERIT );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_ADDINHERIT );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1327,9 +1305,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.ROLE_DELINHERIT );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.ROLE_DELINHERIT );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -1373,9 +1349,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.SSD_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.SSD_ADD );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1426,9 +1400,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.SSD_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.SSD_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1473,9 +1445,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.SSD_ADD_MEMBER );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.SSD_ADD_MEMBER );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1521,9 +1491,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.SSD_DEL_MEMBER );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.SSD_DEL_MEMBER );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1560,9 +1528,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.SSD_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.SSD_DELETE );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1605,9 +1571,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.SSD_CARD_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.SSD_CARD_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1656,9 +1620,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.DSD_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.DSD_ADD );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1709,9 +1671,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.DSD_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.DSD_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1757,9 +1717,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.DSD_ADD_MEMBER );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.DSD_ADD_MEMBER );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1805,9 +1763,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.DSD_DEL_MEMBER );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.DSD_DEL_MEMBER );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1845,9 +1801,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.DSD_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.DSD_DELETE );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
@@ -1891,9 +1845,7 @@ public final class AdminMgrRestImpl extends Manageable implements AdminMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.DSD_CARD_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.DSD_CARD_UPDATE );
         if ( response.getErrorCode() == 0 )
         {
             retSet = ( SDSet ) response.getEntity();
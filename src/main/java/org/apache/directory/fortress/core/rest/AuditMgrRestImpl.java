@@ -23,12 +23,14 @@ import org.apache.directory.fortress.core.AuditMgr;
 import org.apache.directory.fortress.core.GlobalErrIds;
 import org.apache.directory.fortress.core.SecurityException;
 import org.apache.directory.fortress.core.model.AuthZ;
+import org.apache.directory.fortress.core.model.AuthZSummary;
 import org.apache.directory.fortress.core.model.Bind;
 import org.apache.directory.fortress.core.model.FortRequest;
 import org.apache.directory.fortress.core.model.FortResponse;
 import org.apache.directory.fortress.core.impl.Manageable;
 import org.apache.directory.fortress.core.model.Mod;
 import org.apache.directory.fortress.core.model.UserAudit;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.VUtil;
 
 import java.util.ArrayList;
@@ -112,9 +114,7 @@ public class AuditMgrRestImpl extends Manageable implements AuditMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.AUDIT_UAUTHZS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.AUDIT_UAUTHZS);
         if (response.getErrorCode() == 0)
         {
             outRecords = response.getEntities();
@@ -164,9 +164,7 @@ public class AuditMgrRestImpl extends Manageable implements AuditMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.AUDIT_AUTHZS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.AUDIT_AUTHZS);
         if (response.getErrorCode() == 0)
         {
             outRecords = response.getEntities();
@@ -212,9 +210,7 @@ public class AuditMgrRestImpl extends Manageable implements AuditMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.AUDIT_BINDS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.AUDIT_BINDS);
         if (response.getErrorCode() == 0)
         {
             outRecords = response.getEntities();
@@ -261,9 +257,7 @@ public class AuditMgrRestImpl extends Manageable implements AuditMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.AUDIT_SESSIONS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.AUDIT_SESSIONS);
         if (response.getErrorCode() == 0)
         {
             outRecords = response.getEntities();
@@ -313,9 +307,7 @@ public class AuditMgrRestImpl extends Manageable implements AuditMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.AUDIT_MODS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.AUDIT_MODS);
         if (response.getErrorCode() == 0)
         {
             outRecords = response.getEntities();
@@ -365,9 +357,7 @@ public class AuditMgrRestImpl extends Manageable implements AuditMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.AUDIT_INVLD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.AUDIT_INVLD);
         if (response.getErrorCode() == 0)
         {
             outRecords = response.getEntities();
@@ -383,4 +373,107 @@ public class AuditMgrRestImpl extends Manageable implements AuditMgr
         }
         return outRecords;
     }
+
+
+    /**
+     * Same as {@link #getUserAuthZs(UserAudit)}.  The rest server returns the events in one response, limited as
+     * {@link #getUserAuthZs(UserAudit)}, that are then iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events of the response.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<AuthZ> getUserAuthZsIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(getUserAuthZs(uAudit));
+    }
+
+
+    /**
+     * Count the authorization events selected as by {@link #getUserAuthZs(UserAudit)} by user, permission and hour.
+     * The events are counted by the rest server, which returns only the counts, so every event selected is counted.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return AuthZSummary containing the counts.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public AuthZSummary getAuthZSummary(UserAudit uAudit)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(uAudit, GlobalErrIds.AUDT_INPUT_NULL, CLS_NM + ".getAuthZSummary");
+        AuthZSummary summary;
+        FortRequest request = new FortRequest();
+        request.setContextId(this.contextId);
+        request.setEntity(uAudit);
+        if (this.adminSess != null)
+        {
+            request.setSession(adminSess);
+        }
+        FortResponse response = RestUtils.post(request, HttpIds.AUDIT_AUTHZ_SUMMARY);
+        if (response.getErrorCode() == 0)
+        {
+            summary = (AuthZSummary) response.getEntity();
+            // do not return a null summary to the caller:
+            if (summary == null)
+            {
+                summary = new AuthZSummary();
+            }
+        }
+        else
+        {
+            throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
+        }
+        return summary;
+    }
+
+
+    /**
+     * Same as {@link #searchBinds(UserAudit)}.  The rest server returns the events in one response, limited as
+     * {@link #searchBinds(UserAudit)}, that are then iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events of the response.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<Bind> searchBindsIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(searchBinds(uAudit));
+    }
+
+
+    /**
+     * Same as {@link #searchAdminMods(UserAudit)}.  The rest server returns the events in one response, limited as
+     * {@link #searchAdminMods(UserAudit)}, that are then iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events of the response.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<Mod> searchAdminModsIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(searchAdminMods(uAudit));
+    }
+
+
+    /**
+     * Same as {@link #searchInvalidUsers(UserAudit)}.  The rest server returns the events in one response, limited
+     * as {@link #searchInvalidUsers(UserAudit)}, that are then iterated.
+     *
+     * @param uAudit This entity is instantiated and populated before invocation.
+     * @return SearchIterator over the events of the response.
+     * @throws SecurityException if a runtime system error occurs.
+     */
+    @Override
+    public SearchIterator<AuthZ> searchInvalidUsersIterator(UserAudit uAudit)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(searchInvalidUsers(uAudit));
+    }
 }
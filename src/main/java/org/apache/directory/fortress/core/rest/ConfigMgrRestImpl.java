@@ -66,9 +66,7 @@ public class ConfigMgrRestImpl implements ConfigMgr
         Props inProps = RestUtils.getProps(inProperties);
         request.setEntity(inProps);
         request.setValue(name);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.CFG_ADD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.CFG_ADD);
         if (response.getErrorCode() == 0)
         {
             Props outProps = (Props) response.getEntity();
@@ -101,9 +99,7 @@ public class ConfigMgrRestImpl implements ConfigMgr
         Props inProps = RestUtils.getProps(inProperties);
         request.setEntity(inProps);
         request.setValue(name);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.CFG_UPDATE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.CFG_UPDATE);
         if (response.getErrorCode() == 0)
         {
             Props outProps = (Props) response.getEntity();
@@ -134,9 +130,7 @@ public class ConfigMgrRestImpl implements ConfigMgr
         VUtil.assertNotNull(name, GlobalErrIds.FT_CONFIG_NAME_NULL, CLS_NM + ".deleteProp");
         FortRequest request = new FortRequest();
         request.setValue(name);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.CFG_DELETE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.CFG_DELETE);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -159,9 +153,7 @@ public class ConfigMgrRestImpl implements ConfigMgr
         Props inProps = RestUtils.getProps(inProperties);
         request.setEntity(inProps);
         request.setValue(name);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.CFG_DELETE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.CFG_DELETE);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -183,9 +175,7 @@ public class ConfigMgrRestImpl implements ConfigMgr
         Properties retProps;
         FortRequest request = new FortRequest();
         request.setValue(name);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.CFG_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.CFG_READ);
         Props props;
         if (response.getErrorCode() == 0)
         {
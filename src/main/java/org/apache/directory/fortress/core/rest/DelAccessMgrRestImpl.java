@@ -86,9 +86,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         UserRole uRole = new UserRole(user.getUserId(), role.getName());
         request.setSession(session);
         request.setEntity(uRole);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_ASSIGN);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_ASSIGN);
         if (response.getErrorCode() == 0)
         {
             result = response.getAuthorized();
@@ -126,9 +124,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         UserRole uRole = new UserRole(user.getUserId(), role.getName());
         request.setSession(session);
         request.setEntity(uRole);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_DEASSIGN);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_DEASSIGN);
         if (response.getErrorCode() == 0)
         {
             result = response.getAuthorized();
@@ -168,9 +164,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         context.setRole(role);
         request.setSession(session);
         request.setEntity(context);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_GRANT);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_GRANT);
         if (response.getErrorCode() == 0)
         {
             result = response.getAuthorized();
@@ -210,9 +204,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         context.setRole(role);
         request.setSession(session);
         request.setEntity(context);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_REVOKE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_REVOKE);
         if (response.getErrorCode() == 0)
         {
             result = response.getAuthorized();
@@ -255,9 +247,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         request.setContextId(this.contextId);
         request.setSession(session);
         request.setEntity(perm);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_AUTHZ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_AUTHZ);
         if (response.getErrorCode() == 0)
         {
             result = response.getAuthorized();
@@ -271,6 +261,78 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         return result;
     }
 
+    /**
+     * This function overrides {@link AccessMgrRestImpl#checkAccess(String, Permission)} and checks the administrative
+     * permission data set for the session carried by the token.
+     *
+     * @param token This value must be obtained by calling {@link org.apache.directory.fortress.core.AccessMgr#createToken} method before passing into the method.
+     * @param perm object contains obj attribute which is a String and contains the name of the object user is trying to access;
+     * perm object contains operation attribute which is also a String and contains the operation name for the object.
+     * @return True of user has access, false otherwise.
+     * @throws SecurityException In the event the token is invalid or expired, of data validation error (i.e. invalid perm name) or system error.
+     */
+    @Override
+    public boolean checkAccess(String token, Permission perm)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(perm, GlobalErrIds.PERM_NULL, CLS_NM + ".checkAccess");
+        // This flag set will check administrative permission data set.
+        perm.setAdmin(true);
+        return super.checkAccess(token, perm);
+    }
+
+
+    /**
+     * This function overrides {@link AccessMgrRestImpl#checkAccess(Session, List)} and checks each permission against
+     * the administrative permission data set.
+     *
+     * @param session This object must be instantiated by calling {@link org.apache.directory.fortress.core.AccessMgr#createSession} method before passing into the method.  No variables need to be set by client after returned from createSession.
+     * @param perms each contains obj attribute which is a String and contains the name of the object user is trying to access;
+     * and operation attribute which is also a String and contains the operation name for the object.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException In the event of data validation error (i.e. invalid perm name) or system error.
+     */
+    @Override
+    public boolean[] checkAccess(Session session, List<Permission> perms)
+        throws SecurityException
+    {
+        setAdmin(perms);
+        return super.checkAccess(session, perms);
+    }
+
+    /**
+     * This function overrides {@link AccessMgrRestImpl#checkAccess(String, List)} and checks each permission against
+     * the administrative permission data set for the session carried by the token.
+     *
+     * @param token This value must be obtained by calling {@link org.apache.directory.fortress.core.AccessMgr#createToken} method before passing into the method.
+     * @param perms each contains obj attribute which is a String and contains the name of the object user is trying to access;
+     * and operation attribute which is also a String and contains the operation name for the object.
+     * @return array containing, in the same order as perms, true if user has access, false otherwise.
+     * @throws SecurityException In the event the token is invalid or expired, of data validation error (i.e. invalid perm name) or system error.
+     */
+    @Override
+    public boolean[] checkAccess(String token, List<Permission> perms)
+        throws SecurityException
+    {
+        setAdmin(perms);
+        return super.checkAccess(token, perms);
+    }
+
+    /**
+     * Flag each permission so it is checked against the administrative permission data set.
+     */
+    private void setAdmin(List<Permission> perms)
+        throws SecurityException
+    {
+        VUtil.assertNotNull(perms, GlobalErrIds.PERM_NULL, CLS_NM + ".checkAccess");
+        for (Permission perm : perms)
+        {
+            VUtil.assertNotNull(perm, GlobalErrIds.PERM_NULL, CLS_NM + ".checkAccess");
+            // This flag set will check administrative permission data set.
+            perm.setAdmin(true);
+        }
+    }
+
 
     /**
      * This function adds an adminRole as an active role of a session whose owner is a given user.
@@ -299,9 +361,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         request.setContextId(this.contextId);
         request.setSession(session);
         request.setEntity(role);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_ADD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_ADD);
         if (response.getErrorCode() == 0)
         {
             Session outSession = response.getSession();
@@ -334,9 +394,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         request.setContextId(this.contextId);
         request.setSession(session);
         request.setEntity(role);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_DROP);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_DROP);
         if (response.getErrorCode() == 0)
         {
             Session outSession = response.getSession();
@@ -364,9 +422,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_ROLES);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_ROLES);
         if (response.getErrorCode() == 0)
         {
             roles = response.getEntities();
@@ -397,9 +453,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_AUTHZ_ROLES);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_AUTHZ_ROLES);
         if (response.getErrorCode() == 0)
         {
             Set<String> tempNames = response.getValueSet();
@@ -433,9 +487,7 @@ public class DelAccessMgrRestImpl extends AccessMgrRestImpl implements DelAccess
         FortRequest request = new FortRequest();
         request.setContextId(this.contextId);
         request.setSession(session);
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ADMIN_PERMS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ADMIN_PERMS);
         if (response.getErrorCode() == 0)
         {
             retPerms = response.getEntities();
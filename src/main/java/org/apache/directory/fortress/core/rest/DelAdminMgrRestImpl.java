@@ -102,9 +102,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_ADD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_ADD);
         if (response.getErrorCode() == 0)
         {
             retRole = (AdminRole) response.getEntity();
@@ -142,9 +140,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_DELETE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_DELETE);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -194,9 +190,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_UPDATE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_UPDATE);
         if (response.getErrorCode() == 0)
         {
             retRole = (AdminRole) response.getEntity();
@@ -259,9 +253,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_ASGN);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_ASGN);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -297,9 +289,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_DEASGN);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_DEASGN);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -338,9 +328,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_ADD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_ADD);
         if (response.getErrorCode() == 0)
         {
             retOrg = (OrgUnit) response.getEntity();
@@ -383,9 +371,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_UPDATE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_UPDATE);
         if (response.getErrorCode() == 0)
         {
             retOrg = (OrgUnit) response.getEntity();
@@ -423,9 +409,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_DELETE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_DELETE);
         if (response.getErrorCode() == 0)
         {
             retOrg = (OrgUnit) response.getEntity();
@@ -487,9 +471,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_DESC);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_DESC);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -545,9 +527,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_ASC);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_ASC);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -593,9 +573,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_ADDINHERIT);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_ADDINHERIT);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -642,9 +620,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_DELINHERIT);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_DELINHERIT);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -699,9 +675,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_DESC);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_DESC);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -754,9 +728,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_ASC);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_ASC);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -796,9 +768,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_ADDINHERIT);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_ADDINHERIT);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -838,9 +808,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_DELINHERIT);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_DELINHERIT);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -882,9 +850,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_ADD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_ADD);
         if (response.getErrorCode() == 0)
         {
             retPerm = (Permission) response.getEntity();
@@ -932,9 +898,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_UPDATE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_UPDATE);
         if (response.getErrorCode() == 0)
         {
             retPerm = (Permission) response.getEntity();
@@ -972,9 +936,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_DELETE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_DELETE);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -1014,9 +976,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.OBJ_ADD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.OBJ_ADD);
         if (response.getErrorCode() == 0)
         {
             retObj = (PermObj) response.getEntity();
@@ -1062,9 +1022,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.OBJ_UPDATE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.OBJ_UPDATE);
         if (response.getErrorCode() == 0)
         {
             retObj = (PermObj) response.getEntity();
@@ -1100,9 +1058,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.OBJ_DELETE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.OBJ_DELETE);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -1146,9 +1102,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_GRANT);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_GRANT);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -1191,9 +1145,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_REVOKE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_REVOKE);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -1237,9 +1189,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_GRANT);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_GRANT);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
@@ -1282,9 +1232,7 @@ public final class DelAdminMgrRestImpl extends Manageable implements DelAdminMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_REVOKE);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_REVOKE);
         if (response.getErrorCode() != 0)
         {
             throw new SecurityException(response.getErrorCode(), response.getErrorMessage());
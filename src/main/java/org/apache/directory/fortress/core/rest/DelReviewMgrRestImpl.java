@@ -80,9 +80,7 @@ public class DelReviewMgrRestImpl extends Manageable implements DelReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_READ);
         if (response.getErrorCode() == 0)
         {
             retRole = (AdminRole) response.getEntity();
@@ -120,9 +118,7 @@ public class DelReviewMgrRestImpl extends Manageable implements DelReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retRoles = response.getEntities();
@@ -160,9 +156,7 @@ public class DelReviewMgrRestImpl extends Manageable implements DelReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ARLE_ASGNED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ARLE_ASGNED);
         if (response.getErrorCode() == 0)
         {
             retUserRoles = response.getEntities();
@@ -201,9 +195,7 @@ public class DelReviewMgrRestImpl extends Manageable implements DelReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_ASGNED_ADMIN);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_ASGNED_ADMIN);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getEntities();
@@ -248,9 +240,7 @@ public class DelReviewMgrRestImpl extends Manageable implements DelReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_READ);
         if (response.getErrorCode() == 0)
         {
             retOrg = (OrgUnit) response.getEntity();
@@ -292,9 +282,7 @@ public class DelReviewMgrRestImpl extends Manageable implements DelReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ORG_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ORG_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retOrgs = response.getEntities();
@@ -30,6 +30,10 @@ public class HttpIds
     public static final String RBAC_CREATE = "rbacCreate";
     public static final String RBAC_CREATE_TRUSTED = "rbacCreateT";
     public static final String RBAC_AUTHZ = "rbacAuthZ";
+    public static final String RBAC_AUTHZS = "rbacAuthZs";
+    public static final String RBAC_TOKEN = "rbacToken";
+    public static final String RBAC_AUTHZ_TOKEN = "rbacAuthZToken";
+    public static final String RBAC_AUTHZS_TOKEN = "rbacAuthZsToken";
     public static final String RBAC_PERMS = "rbacPerms";
     public static final String RBAC_ROLES = "rbacRoles";
     public static final String RBAC_AUTHZ_ROLES = "rbacAuthzRoles";
@@ -59,6 +63,7 @@ public class HttpIds
     public static final String ROLE_DELETE = "roleDelete";
     public static final String ROLE_SEARCH = "roleSearch";
     public static final String ROLE_ASGN = "roleAsgn";
+    public static final String ROLE_ASGNS = "roleAsgns";
     public static final String ROLE_DEASGN = "roleDeasgn";
     public static final String ROLE_GRANT = "roleGrant";
     public static final String ROLE_REVOKE = "roleRevoke";
@@ -151,6 +156,7 @@ public class HttpIds
     public static final String AUDIT_SESSIONS = "auditSessions";
     public static final String AUDIT_MODS = "auditMods";
     public static final String AUDIT_INVLD = "auditInvld";
+    public static final String AUDIT_AUTHZ_SUMMARY = "auditAuthzSummary";
     public static final String CFG_ADD = "cfgAdd";
     public static final String CFG_UPDATE = "cfgUpdate";
     public static final String CFG_DELETE = "cfgDelete";
@@ -0,0 +1,214 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.rest;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.directory.fortress.core.CfgRuntimeException;
+import org.apache.directory.fortress.core.GlobalErrIds;
+import org.apache.directory.fortress.core.GlobalIds;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Holds the HTTP client shared by every call {@link RestUtils} makes to the fortress rest server.  Connections are
+ * pooled and kept alive between calls, and TLS connections are created from a single SSL context so that sessions
+ * are resumed rather than renegotiated.  The client is configured with these fortress properties:
+ * <ul>
+ * <li>{@code http.max.conn} - maximum number of pooled connections, default 20.</li>
+ * <li>{@code http.max.conn.per.route} - maximum number of pooled connections to the rest server, default 20.</li>
+ * <li>{@code http.connect.timeout} - milliseconds to wait for a connection to be established, default 5000.</li>
+ * <li>{@code http.socket.timeout} - milliseconds to wait for data from the server, default 30000.</li>
+ * <li>{@code http.request.timeout} - milliseconds to wait for a pooled connection, default 5000.</li>
+ * <li>{@code http.keep.alive} - seconds an idle connection is kept when the server doesn't say, default 60.</li>
+ * </ul>
+ * The trust store used for TLS is {@code trust.store}, with {@code trust.store.password}.  If not set the JSSE
+ * defaults are used.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public final class HttpTransport
+{
+    private static final String CLS_NM = HttpTransport.class.getName();
+    private static final Logger LOG = LoggerFactory.getLogger( CLS_NM );
+    private static final String MAX_CONN = "http.max.conn";
+    private static final String MAX_CONN_PER_ROUTE = "http.max.conn.per.route";
+    private static final String CONNECT_TIMEOUT = "http.connect.timeout";
+    private static final String SOCKET_TIMEOUT = "http.socket.timeout";
+    private static final String REQUEST_TIMEOUT = "http.request.timeout";
+    private static final String KEEP_ALIVE = "http.keep.alive";
+    // Connections idle longer than this are checked before reuse, which catches those the server has closed:
+    private static final int VALIDATE_AFTER_INACTIVITY = 2000;
+
+    private static final PoolingHttpClientConnectionManager CONN_MGR;
+    private static final CloseableHttpClient CLIENT;
+
+    static
+    {
+        int maxConn = Config.getInt( MAX_CONN, 20 );
+        int maxConnPerRoute = Config.getInt( MAX_CONN_PER_ROUTE, 20 );
+        final long keepAlive = Config.getInt( KEEP_ALIVE, 60 ) * 1000L;
+        LOG.info( "HTTP POOL:  max=[{}], max per route=[{}], keep alive=[{}] ms", maxConn, maxConnPerRoute, keepAlive );
+
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register( "http", PlainConnectionSocketFactory.getSocketFactory() )
+            .register( "https", new SSLConnectionSocketFactory( getSslContext() ) )
+            .build();
+        CONN_MGR = new PoolingHttpClientConnectionManager( registry );
+        CONN_MGR.setMaxTotal( maxConn );
+        CONN_MGR.setDefaultMaxPerRoute( maxConnPerRoute );
+        CONN_MGR.setValidateAfterInactivity( VALIDATE_AFTER_INACTIVITY );
+
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout( Config.getInt( CONNECT_TIMEOUT, 5000 ) )
+            .setSocketTimeout( Config.getInt( SOCKET_TIMEOUT, 30000 ) )
+            .setConnectionRequestTimeout( Config.getInt( REQUEST_TIMEOUT, 5000 ) )
+            .build();
+
+        CLIENT = HttpClients.custom()
+            .setConnectionManager( CONN_MGR )
+            .setDefaultRequestConfig( requestConfig )
+            .setKeepAliveStrategy( new ConnectionKeepAliveStrategy()
+            {
+                @Override
+                public long getKeepAliveDuration( HttpResponse response, HttpContext context )
+                {
+                    // honor the server's keep alive timeout, if it sent one:
+                    HeaderElementIterator it = new BasicHeaderElementIterator( response.headerIterator( HTTP
+                        .CONN_KEEP_ALIVE ) );
+
+                    while ( it.hasNext() )
+                    {
+                        HeaderElement element = it.nextElement();
+
+                        if ( "timeout".equalsIgnoreCase( element.getName() ) && element.getValue() != null )
+                        {
+                            try
+                            {
+                                return Long.parseLong( element.getValue() ) * 1000;
+                            }
+                            catch ( NumberFormatException nfe )
+                            {
+                                LOG.debug( "getKeepAliveDuration invalid timeout [{}]", element.getValue() );
+                            }
+                        }
+                    }
+
+                    return keepAlive;
+                }
+            } )
+            .evictExpiredConnections()
+            .evictIdleConnections( keepAlive, TimeUnit.MILLISECONDS )
+            .build();
+    }
+
+
+    /**
+     * Private constructor
+     *
+     */
+    private HttpTransport()
+    {
+    }
+
+
+    /**
+     * Return the shared client.  Callers must consume or close the entity of each response so that its connection
+     * is returned to the pool.
+     *
+     * @return handle to the pooled HTTP client.
+     */
+    static CloseableHttpClient getClient()
+    {
+        return CLIENT;
+    }
+
+
+    /**
+     * Return the statistics of the connection pool.
+     *
+     * @return {@link PoolStats} containing the number of leased, pending and available connections and the maximum.
+     */
+    public static PoolStats getStats()
+    {
+        return CONN_MGR.getTotalStats();
+    }
+
+
+    /**
+     * @return SSL context trusting the certificates in {@code trust.store}, or the JSSE default one if not set.
+     */
+    private static SSLContext getSslContext()
+    {
+        String trustStore = GlobalIds.TRUST_STORE;
+        String trustStorePw = GlobalIds.TRUST_STORE_PW;
+
+        if ( StringUtils.isEmpty( trustStore ) || StringUtils.isEmpty( trustStorePw ) || !new File( trustStore )
+            .exists() )
+        {
+            return SSLContexts.createSystemDefault();
+        }
+
+        try
+        {
+            return SSLContexts.custom().loadTrustMaterial( new File( trustStore ), trustStorePw.toCharArray() )
+                .build();
+        }
+        catch ( GeneralSecurityException e )
+        {
+            String error = "getSslContext trust store [" + trustStore + "] caught GeneralSecurityException=" + e;
+            throw new CfgRuntimeException( GlobalErrIds.REST_TRANSPORT_INIT_ERR, error, e );
+        }
+        catch ( IOException e )
+        {
+            String error = "getSslContext trust store [" + trustStore + "] caught IOException=" + e;
+            throw new CfgRuntimeException( GlobalErrIds.REST_TRANSPORT_INIT_ERR, error, e );
+        }
+    }
+}
@@ -164,9 +164,7 @@ public class PwPolicyMgrRestImpl extends Manageable implements PwPolicyMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PSWD_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PSWD_ADD );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -271,9 +269,7 @@ public class PwPolicyMgrRestImpl extends Manageable implements PwPolicyMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PSWD_UPDATE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PSWD_UPDATE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -306,9 +302,7 @@ public class PwPolicyMgrRestImpl extends Manageable implements PwPolicyMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PSWD_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PSWD_DELETE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -340,9 +334,7 @@ public class PwPolicyMgrRestImpl extends Manageable implements PwPolicyMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PSWD_READ );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PSWD_READ );
         if ( response.getErrorCode() == 0 )
         {
             retPolicy = ( PwPolicy ) response.getEntity();
@@ -376,9 +368,7 @@ public class PwPolicyMgrRestImpl extends Manageable implements PwPolicyMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PSWD_SEARCH );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PSWD_SEARCH );
         if ( response.getErrorCode() == 0 )
         {
             retPolicies = response.getEntities();
@@ -415,9 +405,7 @@ public class PwPolicyMgrRestImpl extends Manageable implements PwPolicyMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PSWD_USER_ADD );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PSWD_USER_ADD );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
@@ -446,9 +434,7 @@ public class PwPolicyMgrRestImpl extends Manageable implements PwPolicyMgr
         {
             request.setSession( adminSess );
         }
-        String szRequest = RestUtils.marshal( request );
-        String szResponse = RestUtils.post( szRequest, HttpIds.PSWD_USER_DELETE );
-        FortResponse response = RestUtils.unmarshall( szResponse );
+        FortResponse response = RestUtils.post( request, HttpIds.PSWD_USER_DELETE );
         if ( response.getErrorCode() != 0 )
         {
             throw new SecurityException( response.getErrorCode(), response.getErrorMessage() );
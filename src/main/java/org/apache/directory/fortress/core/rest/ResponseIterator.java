@@ -0,0 +1,75 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.rest;
+
+
+import org.apache.directory.fortress.core.util.SearchIterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+
+/**
+ * Iterates the entities of a rest response, which holds no resources to close.  Used by the rest managers to
+ * implement the iterator variants of their finders, the rest server returning every entity in one response.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+final class ResponseIterator<T> implements SearchIterator<T>
+{
+    private final Iterator<T> iterator;
+
+
+    /**
+     * @param list the entities of the response, may be null.
+     */
+    ResponseIterator(List<T> list)
+    {
+        this.iterator = list != null ? list.iterator() : new ArrayList<T>().iterator();
+    }
+
+
+    @Override
+    public boolean hasNext()
+    {
+        return iterator.hasNext();
+    }
+
+
+    @Override
+    public T next()
+    {
+        return iterator.next();
+    }
+
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public void close()
+    {
+    }
+}
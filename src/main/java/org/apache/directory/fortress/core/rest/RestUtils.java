@@ -20,7 +20,11 @@
 package org.apache.directory.fortress.core.rest;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.Enumeration;
@@ -29,7 +33,6 @@ import java.util.Properties;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
@@ -38,17 +41,24 @@ import org.apache.cxf.common.util.Base64Utility;
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.directory.fortress.core.model.FortRequest;
 import org.apache.directory.fortress.core.model.FortResponse;
+import org.apache.http.Consts;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.AuthCache;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.methods.*;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,7 +71,8 @@ import org.apache.directory.fortress.core.util.crypto.EncryptUtil;
 
 
 /**
- * This utility class provides methods that wrap Apache's HTTP Client APIs.  This class is thread safe.
+ * This utility class provides methods that wrap Apache's HTTP Client APIs.  Requests are executed with the pooled
+ * client held by {@link HttpTransport}.  This class is thread safe.
  *
  * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
  */
@@ -84,7 +95,43 @@ public class RestUtils
     private static final int HTTP_401_UNAUTHORIZED = 401;
     private static final int HTTP_403_FORBIDDEN = 403;
     private static final int HTTP_404_NOT_FOUND = 404;
+    private static final int HTTP_415_UNSUPPORTED_MEDIA_TYPE = 415;
+    private static final ContentType XML_UTF8 = ContentType.create( "text/xml", Consts.UTF_8 );
     private static CachedJaxbContext cachedJaxbContext = new CachedJaxbContext();
+    private static final ThreadLocal<Marshaller> MARSHALLER = new ThreadLocal<>();
+    private static final ThreadLocal<Unmarshaller> UNMARSHALLER = new ThreadLocal<>();
+    private static final String WIRE_FORMAT = "rest.wire.format";
+    // Reverts to xml for the remainder of the process if the server does not accept the configured encoding:
+    private static volatile WireFormat wireFormat = WireFormat.fromName( Config.getProperty( WIRE_FORMAT, "xml" ) );
+
+    /**
+     * Reads the body of a successful response.
+     */
+    private interface ResponseReader<T>
+    {
+        T read( HttpEntity entity ) throws IOException, RestException;
+    }
+
+    private static final ResponseReader<String> STRING_READER = new ResponseReader<String>()
+    {
+        @Override
+        public String read( HttpEntity entity ) throws IOException
+        {
+            return IOUtils.toString( entity.getContent(), "UTF-8" );
+        }
+    };
+
+    private static final ResponseReader<FortResponse> FORT_RESPONSE_READER = new ResponseReader<FortResponse>()
+    {
+        @Override
+        public FortResponse read( HttpEntity entity ) throws IOException, RestException
+        {
+            // the server answers in the encoding it chose from the Accept header:
+            WireFormat format = WireFormat.fromContentType( entity.getContentType() == null ? null : entity
+                .getContentType().getValue() );
+            return unmarshall( entity.getContent(), format );
+        }
+    };
 
     /**
      * Used to manage trust store properties.  If enabled, create SSL connection.
@@ -121,17 +168,10 @@ public class RestUtils
         String szRetValue;
         try
         {
-            // Create a JAXB context passing in the class of the object we want to marshal/unmarshal
-            final JAXBContext context = cachedJaxbContext.getJaxbContext( FortRequest.class );
-            // =============================================================================================================
-            // Marshalling OBJECT to XML
-            // =============================================================================================================
-            // Create the marshaller, that will transform the object into XML
-            final Marshaller marshaller = context.createMarshaller();
             // Create a stringWriter to hold the XML
             final StringWriter stringWriter = new StringWriter();
             // Marshal the javaObject and write the XML to the stringWriter
-            marshaller.marshal( request, stringWriter );
+            getMarshaller().marshal( request, stringWriter );
             szRetValue = stringWriter.toString();
         }
         catch ( JAXBException je )
@@ -155,12 +195,53 @@ public class RestUtils
         FortResponse response;
         try
         {
-            // Create a JAXB context passing in the class of the object we want to marshal/unmarshal
-            final JAXBContext context = cachedJaxbContext.getJaxbContext( FortResponse.class );
+            response = ( FortResponse ) getUnmarshaller().unmarshal( new StringReader( szResponse ) );
+        }
+        catch ( JAXBException je )
+        {
+            String error = "unmarshall caught JAXBException=" + je;
+            throw new RestException( GlobalErrIds.REST_UNMARSHALL_ERR, error, je );
+        }
+        return response;
+    }
 
-            // Create the unmarshaller, that will transform the XML back into an object
-            final Unmarshaller unmarshaller = context.createUnmarshaller();
-            response = ( FortResponse ) unmarshaller.unmarshal( new StringReader( szResponse ) );
+
+    /**
+     * Marshall the request into a stream.
+     *
+     * @param request
+     * @param format contains the encoding to use.
+     * @param out receives the encoded request.
+     * @throws RestException
+     */
+    static void marshal( FortRequest request, WireFormat format, OutputStream out ) throws RestException
+    {
+        try
+        {
+            format.marshal( getMarshaller(), request, out );
+        }
+        catch ( JAXBException je )
+        {
+            String error = "marshal caught JAXBException=" + je;
+            throw new RestException( GlobalErrIds.REST_MARSHALL_ERR, error, je );
+        }
+    }
+
+
+    /**
+     * Unmarshall the response as it is read from the stream.
+     *
+     * @param in contains the response.
+     * @param format contains the encoding of the response.
+     * @return FortResponse
+     * @throws RestException
+     */
+    static FortResponse unmarshall( InputStream in, WireFormat format ) throws RestException
+    {
+        FortResponse response;
+        try
+        {
+            response = ( FortResponse ) format.unmarshal( getUnmarshaller(), in );
         }
         catch ( JAXBException je )
         {
@@ -171,6 +252,42 @@ public class RestUtils
     }
 
 
+    /**
+     * Marshallers are not thread safe and costly to create, each thread keeps its own.
+     *
+     * @return the calling thread's marshaller for {@link FortRequest}.
+     * @throws JAXBException in the event the marshaller cannot be created.
+     */
+    private static Marshaller getMarshaller() throws JAXBException
+    {
+        Marshaller marshaller = MARSHALLER.get();
+        if ( marshaller == null )
+        {
+            marshaller = cachedJaxbContext.createMarshaller( FortRequest.class );
+            MARSHALLER.set( marshaller );
+        }
+        return marshaller;
+    }
+
+
+    /**
+     * Unmarshallers are not thread safe and costly to create, each thread keeps its own.
+     *
+     * @return the calling thread's unmarshaller for {@link FortResponse}.
+     * @throws JAXBException in the event the unmarshaller cannot be created.
+     */
+    private static Unmarshaller getUnmarshaller() throws JAXBException
+    {
+        Unmarshaller unmarshaller = UNMARSHALLER.get();
+        if ( unmarshaller == null )
+        {
+            unmarshaller = cachedJaxbContext.createUnMarshaller( FortResponse.class );
+            UNMARSHALLER.set( unmarshaller );
+        }
+        return unmarshaller;
+    }
+
+
     /**
      * Perform HTTP Get REST request.
      *
@@ -198,8 +315,7 @@ public class RestUtils
         LOG.debug( "get function1:{}, id1:{}, id2:{}, id3:{}, url:{}", function, id, id2, id3, url );
         HttpGet get = new HttpGet(url);
         setMethodHeaders( get );
-        return handleHttpMethod( get ,HttpClientBuilder.create()
-                .setDefaultCredentialsProvider(getCredentialProvider(userId, password)).build() );
+        return handleHttpMethod( get, getContext( userId, password ) );
     }
 
 
@@ -232,24 +348,120 @@ public class RestUtils
     public static String post( String userId, String password, String szInput, String function ) throws RestException
     {
         LOG.debug( "post URI=[{}], function=[{}], request=[{}]", URI, function, szInput );
-        String szResponse = null;
+        String szResponse = post( userId, password, new StringEntity( szInput, ContentType.TEXT_XML ), function,
+            STRING_READER, WireFormat.XML );
+        LOG.debug( "post URI=[{}], function=[{}], response=[{}]", URI, function, szResponse );
+        return szResponse;
+    }
+
+
+    /**
+     * Perform an HTTP Post REST operation.
+     *
+     * @param szInput
+     * @param function
+     * @return String containing response
+     * @throws RestException
+     */
+    public static String post( String szInput, String function ) throws RestException
+    {
+        return post(null,null,szInput, function);
+    }
+
+
+    /**
+     * Perform an HTTP Post REST operation.  The request is marshalled straight into the connection and the response
+     * unmarshalled as it is read, neither is held in memory as a String.  The request is encoded as
+     * {@code rest.wire.format}, xml by default or fastinfoset, and the server may answer in either.
+     *
+     * @param userId
+     * @param password
+     * @param request
+     * @param function
+     * @return FortResponse
+     * @throws RestException
+     */
+    public static FortResponse post( String userId, String password, FortRequest request, String function )
+        throws RestException
+    {
+        if ( LOG.isDebugEnabled() )
+        {
+            LOG.debug( "post URI=[{}], function=[{}], request=[{}]", URI, function, marshal( request ) );
+        }
+        WireFormat format = wireFormat;
+        try
+        {
+            return post( userId, password, new FortRequestEntity( request, format ), function, FORT_RESPONSE_READER,
+                format );
+        }
+        catch ( RestException re )
+        {
+            if ( format == WireFormat.XML || re.getErrorId() != GlobalErrIds.REST_UNSUPPORTED_MEDIA_ERR )
+            {
+                throw re;
+            }
+            LOG.warn( "post URI=[{}], function=[{}], {} not supported by host, reverting to xml", URI, function,
+                format.getContentType() );
+            wireFormat = WireFormat.XML;
+            return post( userId, password, new FortRequestEntity( request, WireFormat.XML ), function,
+                FORT_RESPONSE_READER, WireFormat.XML );
+        }
+    }
+
+
+    /**
+     * Perform an HTTP Post REST operation.  The request is marshalled straight into the connection and the response
+     * unmarshalled as it is read, neither is held in memory as a String.
+     *
+     * @param request
+     * @param function
+     * @return FortResponse
+     * @throws RestException
+     */
+    public static FortResponse post( FortRequest request, String function ) throws RestException
+    {
+        return post( null, null, request, function );
+    }
+
+
+    /**
+     * Post the entity and read the response if the host returned success.
+     *
+     * @param userId
+     * @param password
+     * @param entity contains the request.
+     * @param function
+     * @param reader consumes the response body.
+     * @param format contains the encoding of the entity.
+     * @return the response returned by the reader.
+     * @throws RestException
+     */
+    private static <T> T post( String userId, String password, HttpEntity entity, String function,
+        ResponseReader<T> reader, WireFormat format ) throws RestException
+    {
+        T result = null;
+        HttpResponse response = null;
         HttpPost post = new HttpPost(URI + function);
-        post.addHeader( "Accept", "text/xml" );
-        setMethodHeaders( post );
+        if ( format == WireFormat.XML )
+        {
+            post.addHeader( "Accept", "text/xml" );
+            setMethodHeaders( post );
+        }
+        else
+        {
+            post.addHeader( "Content-Type", format.getContentType() );
+            post.addHeader( "Accept", format.getContentType() + ", application/xml;q=0.5" );
+        }
         try
         {
-            HttpEntity entity = new StringEntity( szInput, ContentType.TEXT_XML );
             post.setEntity( entity );
-            org.apache.http.client.HttpClient httpclient = HttpClientBuilder.create()
-                    .setDefaultCredentialsProvider(getCredentialProvider(userId, password)).build();
-            HttpResponse response = httpclient.execute( post );
+            response = HttpTransport.getClient().execute( post, getContext( userId, password ) );
             String error;
 
             switch ( response.getStatusLine().getStatusCode() )
             {
                 case HTTP_OK :
-                    szResponse = IOUtils.toString( response.getEntity().getContent(), "UTF-8" );
-                    LOG.debug( "post URI=[{}], function=[{}], response=[{}]", URI, function, szResponse );
+                    result = reader.read( response.getEntity() );
                     break;
                 case HTTP_401_UNAUTHORIZED :
                     error = "post URI=[" + URI + "], function=[" + function
@@ -265,6 +477,11 @@ public class RestUtils
                     error = "post URI=[" + URI + "], function=[" + function + "], 404 not found from host";
                     LOG.error( error );
                     throw new RestException( GlobalErrIds.REST_NOT_FOUND_ERR, error );
+                case HTTP_415_UNSUPPORTED_MEDIA_TYPE :
+                    error = "post URI=[" + URI + "], function=[" + function + "], 415 " + format.getContentType()
+                            + " not supported by host";
+                    LOG.info( error );
+                    throw new RestException( GlobalErrIds.REST_UNSUPPORTED_MEDIA_ERR, error );
                 default :
                     error = "post URI=[" + URI + "], function=[" + function
                             + "], error received from host: " + response.getStatusLine().getStatusCode();
@@ -274,6 +491,13 @@ public class RestUtils
         }
         catch ( IOException ioe )
         {
+            // The request entity wraps marshalling failures, which occur as the request is written:
+            if ( ioe.getCause() instanceof JAXBException )
+            {
+                String error = "post URI=[" + URI + "], function=[" + function + "] caught JAXBException="
+                    + ioe.getCause();
+                throw new RestException( GlobalErrIds.REST_MARSHALL_ERR, error, ( JAXBException ) ioe.getCause() );
+            }
             String error = "post URI=[" + URI + "], function=[" + function + "] caught IOException=" + ioe;
             LOG.error( error );
             throw new RestException( GlobalErrIds.REST_IO_ERR, error, ioe );
@@ -295,24 +519,33 @@ public class RestUtils
         }
         finally
         {
-            // Release current connection to the connection pool.
+            // Consume what remains of the response so its connection is kept alive and returned to the pool:
+            if ( response != null )
+            {
+                EntityUtils.consumeQuietly( response.getEntity() );
+            }
             post.releaseConnection();
         }
-        return szResponse;
+        return result;
     }
 
 
     /**
-     * Perform an HTTP Post REST operation.
+     * Create the context of a single request.  Credentials are sent with the request rather than after the server
+     * challenges it, which would cost a second round trip on every call.
      *
-     * @param szInput
-     * @param function
-     * @return String containing response
-     * @throws RestException
+     * @param uid contains the http user, if null {@code http.user} is used.
+     * @param password contains the http password, if null {@code http.pw} is used.
+     * @return context to execute the request with.
      */
-    public static String post( String szInput, String function ) throws RestException
+    private static HttpClientContext getContext( String uid, String password )
     {
-        return post(null,null,szInput, function);
+        HttpClientContext context = HttpClientContext.create();
+        context.setCredentialsProvider( getCredentialProvider( uid, password ) );
+        AuthCache authCache = new BasicAuthCache();
+        authCache.put( new HttpHost( HTTP_HOST, Integer.valueOf( HTTP_PORT ), HTTP_PROTOCOL ), new BasicScheme() );
+        context.setAuthCache( authCache );
+        return context;
     }
 
     private static CredentialsProvider getCredentialProvider(String uid, String password) {
@@ -353,15 +586,17 @@ public class RestUtils
      * Process the HTTP method request.
      *
      * @param httpGetRequest
+     * @param context
      * @return String containing response
      * @throws Exception
      */
-    private static String handleHttpMethod( HttpRequestBase httpGetRequest ,org.apache.http.client.HttpClient client ) throws RestException
+    private static String handleHttpMethod( HttpRequestBase httpGetRequest, HttpClientContext context ) throws RestException
     {
         String szResponse = null;
+        HttpResponse response = null;
         try
         {
-            HttpResponse response = client.execute( httpGetRequest );
+            response = HttpTransport.getClient().execute( httpGetRequest, context );
             LOG.debug( "handleHttpMethod Response status : {}", response.getStatusLine().getStatusCode() );
 
             Response.Status status = Response.Status.fromStatusCode( response.getStatusLine().getStatusCode() );
@@ -392,7 +627,11 @@ public class RestUtils
         }
         finally
         {
-            // Release current connection to the connection pool.
+            // Consume what remains of the response so its connection is kept alive and returned to the pool:
+            if ( response != null )
+            {
+                EntityUtils.consumeQuietly( response.getEntity() );
+            }
             httpGetRequest.releaseConnection();
         }
         return szResponse;
@@ -445,4 +684,67 @@ public class RestUtils
         }
         return props;
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Marshalls a request as it is written to the connection.  The entity is repeatable, it is simply marshalled again
+     * should the client need to resend it.
+     */
+    private static final class FortRequestEntity extends AbstractHttpEntity
+    {
+        private final FortRequest request;
+        private final WireFormat format;
+
+
+        private FortRequestEntity( FortRequest request, WireFormat format )
+        {
+            this.request = request;
+            this.format = format;
+            setContentType( format == WireFormat.XML ? XML_UTF8.toString() : format.getContentType() );
+        }
+
+
+        @Override
+        public boolean isRepeatable()
+        {
+            return true;
+        }
+
+
+        @Override
+        public long getContentLength()
+        {
+            return -1;
+        }
+
+
+        @Override
+        public InputStream getContent() throws IOException
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeTo( out );
+            return new ByteArrayInputStream( out.toByteArray() );
+        }
+
+
+        @Override
+        public void writeTo( OutputStream out ) throws IOException
+        {
+            try
+            {
+                format.marshal( getMarshaller(), request, out );
+            }
+            catch ( JAXBException je )
+            {
+                throw new IOException( je );
+            }
+        }
+
+
+        @Override
+        public boolean isStreaming()
+        {
+            return false;
+        }
+    }
+}
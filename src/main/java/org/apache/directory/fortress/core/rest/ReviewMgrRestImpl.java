@@ -32,6 +32,7 @@ import org.apache.directory.fortress.core.model.Role;
 import org.apache.directory.fortress.core.model.SDSet;
 import org.apache.directory.fortress.core.model.User;
 import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.SearchIterator;
 import org.apache.directory.fortress.core.util.VUtil;
 
 import java.util.ArrayList;
@@ -104,9 +105,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_READ);
         if (response.getErrorCode() == 0)
         {
             retPerm = (Permission) response.getEntity();
@@ -142,9 +141,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.OBJ_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.OBJ_READ);
         if (response.getErrorCode() == 0)
         {
             retObj = (PermObj) response.getEntity();
@@ -182,9 +179,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retPerms = response.getEntities();
@@ -217,9 +212,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_OBJ_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_OBJ_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retPerms = response.getEntities();
@@ -258,9 +251,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_SEARCH_ANY);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_SEARCH_ANY);
         if (response.getErrorCode() == 0)
         {
             retPerms = response.getEntities();
@@ -297,9 +288,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.OBJ_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.OBJ_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retObjs = response.getEntities();
@@ -338,9 +327,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.OBJ_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.OBJ_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retObjs = response.getEntities();
@@ -376,9 +363,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_READ);
         if (response.getErrorCode() == 0)
         {
             retRole = (Role) response.getEntity();
@@ -411,9 +396,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retRoles = response.getEntities();
@@ -449,9 +432,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retRoles = response.getValues();
@@ -489,9 +470,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_READ);
         if (response.getErrorCode() == 0)
         {
             retUser = (User) response.getEntity();
@@ -528,9 +507,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getEntities();
@@ -568,9 +545,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getEntities();
@@ -610,9 +585,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_SEARCH);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_SEARCH);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getValues();
@@ -655,9 +628,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_ASGNED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_ASGNED);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getValues();
@@ -699,9 +670,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_ASGNED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_ASGNED);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getEntities();
@@ -738,9 +707,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_ASGNED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_ASGNED);
         if (response.getErrorCode() == 0)
         {
             retUserRoles = response.getEntities();
@@ -773,9 +740,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_ASGNED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_ASGNED);
         if (response.getErrorCode() == 0)
         {
             retUserRoles = response.getValues();
@@ -812,9 +777,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_AUTHZED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_AUTHZED);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getEntities();
@@ -855,9 +818,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_AUTHZED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_AUTHZED);
         if (response.getErrorCode() == 0)
         {
             Set<String> tempNames = response.getValueSet();
@@ -919,9 +880,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.ROLE_PERMS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.ROLE_PERMS);
         if (response.getErrorCode() == 0)
         {
             retPerms = response.getEntities();
@@ -959,9 +918,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.USER_PERMS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.USER_PERMS);
         if (response.getErrorCode() == 0)
         {
             retPerms = response.getEntities();
@@ -998,9 +955,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_ROLES);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_ROLES);
         if (response.getErrorCode() == 0)
         {
             retRoleNames = response.getValues();
@@ -1038,9 +993,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_ROLES_AUTHZED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_ROLES_AUTHZED);
         if (response.getErrorCode() == 0)
         {
             Set<String> tempNames = response.getValueSet();
@@ -1080,9 +1033,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_USERS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_USERS);
         if (response.getErrorCode() == 0)
         {
             retUsers = response.getValues();
@@ -1120,9 +1071,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.PERM_USERS_AUTHZED);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.PERM_USERS_AUTHZED);
         if (response.getErrorCode() == 0)
         {
             Set<String> tempNames = response.getValueSet();
@@ -1162,9 +1111,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.SSD_ROLE_SETS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.SSD_ROLE_SETS);
         if (response.getErrorCode() == 0)
         {
             retSsdRoleSets = response.getEntities();
@@ -1205,9 +1152,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.SSD_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.SSD_READ);
         if (response.getErrorCode() == 0)
         {
             retSet = (SDSet) response.getEntity();
@@ -1242,9 +1187,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
          {
              request.setSession(adminSess);
          }
-         String szRequest = RestUtils.marshal(request);
-         String szResponse = RestUtils.post(szRequest, HttpIds.SSD_SETS);
-         FortResponse response = RestUtils.unmarshall(szResponse);
+         FortResponse response = RestUtils.post(request, HttpIds.SSD_SETS);
          if (response.getErrorCode() == 0)
          {
              retSsdSets = response.getEntities();
@@ -1285,9 +1228,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.SSD_ROLES);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.SSD_ROLES);
         if (response.getErrorCode() == 0)
         {
             Set<String> tempNames = response.getValueSet();
@@ -1326,9 +1267,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.SSD_CARD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.SSD_CARD);
         if (response.getErrorCode() == 0)
         {
             retSet = (SDSet) response.getEntity();
@@ -1366,9 +1305,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.DSD_ROLE_SETS);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.DSD_ROLE_SETS);
         if (response.getErrorCode() == 0)
         {
             retDsdRoleSets = response.getEntities();
@@ -1409,9 +1346,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.DSD_READ);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.DSD_READ);
         if (response.getErrorCode() == 0)
         {
             retSet = (SDSet) response.getEntity();
@@ -1446,9 +1381,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
          {
              request.setSession(adminSess);
          }
-         String szRequest = RestUtils.marshal(request);
-         String szResponse = RestUtils.post(szRequest, HttpIds.DSD_SETS);
-         FortResponse response = RestUtils.unmarshall(szResponse);
+         FortResponse response = RestUtils.post(request, HttpIds.DSD_SETS);
          if (response.getErrorCode() == 0)
          {
              retDsdSets = response.getEntities();
@@ -1489,9 +1422,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.DSD_ROLES);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.DSD_ROLES);
         if (response.getErrorCode() == 0)
         {
             Set<String> tempNames = response.getValueSet();
@@ -1530,9 +1461,7 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         {
             request.setSession(adminSess);
         }
-        String szRequest = RestUtils.marshal(request);
-        String szResponse = RestUtils.post(szRequest, HttpIds.DSD_CARD);
-        FortResponse response = RestUtils.unmarshall(szResponse);
+        FortResponse response = RestUtils.post(request, HttpIds.DSD_CARD);
         if (response.getErrorCode() == 0)
         {
             retSet = (SDSet) response.getEntity();
@@ -1543,4 +1472,84 @@ public class ReviewMgrRestImpl extends Manageable implements ReviewMgr
         }
         return retSet.getCardinality();
     }
-}
\ No newline at end of file
+
+    /**
+     * Method returns the Permissions that match the perm object search string.  The rest server returns the
+     * permissions in one response, limited as {@link #findPermissions(Permission)}, that are then iterated.
+     *
+     * @param permission contains object and operation name search strings.  Each contains 1 or more leading chars that correspond to object or op name.
+     * @return SearchIterator of type Permission.
+     * @throws SecurityException thrown in the event of system error.
+     */
+    @Override
+    public SearchIterator<Permission> findPermissionsIterator(Permission permission)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(findPermissions(permission));
+    }
+
+
+    /**
+     * Method will return the Roles matching all or part of Role name, {@link Role#name}.  The rest server returns the
+     * roles in one response, limited as {@link #findRoles(String)}, that are then iterated.
+     *
+     * @param searchVal contains all or some of the chars corresponding to role entities stored in directory.
+     * @return SearchIterator of type Role containing role entities that match the search criteria.
+     * @throws SecurityException in the event of system error.
+     */
+    @Override
+    public SearchIterator<Role> findRolesIterator(String searchVal)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(findRoles(searchVal));
+    }
+
+
+    /**
+     * Return the users in the people container that match all or part of the {@link User#userId} field passed in User
+     * entity.  The rest server returns the users in one response, limited as {@link #findUsers(User)}, that are then
+     * iterated.
+     *
+     * @param user contains all or some leading chars that match userIds stored in the directory.
+     * @return SearchIterator of type User.
+     * @throws SecurityException In the event of system error.
+     */
+    @Override
+    public SearchIterator<User> findUsersIterator(User user)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(findUsers(user));
+    }
+
+
+    /**
+     * This method returns all users who are assigned the given role.  The rest server returns the users in one
+     * response, limited as {@link #assignedUsers(Role)}, that are then iterated.
+     *
+     * @param role contains the role name, {@link Role#name} used to search the User data set.
+     * @return SearchIterator of type User containing the users assigned data.
+     * @throws SecurityException If system error occurs.
+     */
+    @Override
+    public SearchIterator<User> assignedUsersIterator(Role role)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(assignedUsers(role));
+    }
+
+
+    /**
+     * This function returns the users authorized to a given role.  The rest server returns the users in one response,
+     * limited as {@link #authorizedUsers(Role)}, that are then iterated.
+     *
+     * @param role Contains role name, {@link Role#name} of Role entity assigned to User.
+     * @return SearchIterator of type User containing all user's that having matching role assignment.
+     * @throws SecurityException In the event the role is not present in directory or system error occurs.
+     */
+    @Override
+    public SearchIterator<User> authorizedUsersIterator(Role role)
+        throws SecurityException
+    {
+        return new ResponseIterator<>(authorizedUsers(role));
+    }
+}
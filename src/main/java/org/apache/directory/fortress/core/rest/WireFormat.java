@@ -0,0 +1,181 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.rest;
+
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.sun.xml.fastinfoset.stax.StAXDocumentParser;
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+
+
+/**
+ * Encodings of {@link org.apache.directory.fortress.core.model.FortRequest} and
+ * {@link org.apache.directory.fortress.core.model.FortResponse} exchanged with the fortress rest server, selected by
+ * content type.  Both are produced by the same JAXB marshallers from the model, so they cannot drift apart.
+ * <ul>
+ * <li>{@link #XML} - the default, textual XML.</li>
+ * <li>{@link #FAST_INFOSET} - binary encoding of the same XML infoset (ITU-T X.891).  Element names and repeated
+ * values, such as the role names and constraints of a session's UserRoles, are written once and then referenced by
+ * index, which makes the payload a fraction of the size and cheaper to parse.</li>
+ * </ul>
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+enum WireFormat
+{
+    XML( "application/xml" )
+    {
+        @Override
+        void marshal( Marshaller marshaller, Object entity, OutputStream out ) throws JAXBException
+        {
+            marshaller.marshal( entity, out );
+        }
+
+
+        @Override
+        Object unmarshal( Unmarshaller unmarshaller, InputStream in ) throws JAXBException
+        {
+            return unmarshaller.unmarshal( in );
+        }
+    },
+
+    FAST_INFOSET( "application/fastinfoset" )
+    {
+        @Override
+        void marshal( Marshaller marshaller, Object entity, OutputStream out ) throws JAXBException
+        {
+            FastInfoset.marshal( marshaller, entity, out );
+        }
+
+
+        @Override
+        Object unmarshal( Unmarshaller unmarshaller, InputStream in ) throws JAXBException
+        {
+            return FastInfoset.unmarshal( unmarshaller, in );
+        }
+    };
+
+    private final String contentType;
+
+
+    WireFormat( String contentType )
+    {
+        this.contentType = contentType;
+    }
+
+
+    /**
+     * @return the media type of this encoding.
+     */
+    String getContentType()
+    {
+        return contentType;
+    }
+
+
+    /**
+     * Write an entity in this encoding.
+     *
+     * @param marshaller for the entity's type.
+     * @param entity to write.
+     * @param out receives the encoded entity, is not closed.
+     * @throws JAXBException in the event the entity cannot be marshalled.
+     */
+    abstract void marshal( Marshaller marshaller, Object entity, OutputStream out ) throws JAXBException;
+
+
+    /**
+     * Read an entity in this encoding.
+     *
+     * @param unmarshaller for the entity's type.
+     * @param in contains the encoded entity.
+     * @return the entity.
+     * @throws JAXBException in the event the entity cannot be unmarshalled.
+     */
+    abstract Object unmarshal( Unmarshaller unmarshaller, InputStream in ) throws JAXBException;
+
+
+    /**
+     * @param contentType contains the value of a Content-Type header, may be null.
+     * @return the encoding with that media type, {@link #XML} if none matches.
+     */
+    static WireFormat fromContentType( String contentType )
+    {
+        if ( contentType != null && contentType.trim().toLowerCase().startsWith( FAST_INFOSET.contentType ) )
+        {
+            return FAST_INFOSET;
+        }
+
+        return XML;
+    }
+
+
+    /**
+     * @param name contains xml or fastinfoset, case insensitive, may be null.
+     * @return the named encoding, {@link #XML} if none matches.
+     */
+    static WireFormat fromName( String name )
+    {
+        if ( "fastinfoset".equalsIgnoreCase( name ) )
+        {
+            return FAST_INFOSET;
+        }
+
+        return XML;
+    }
+
+
+    /**
+     * Keeps the Fast Infoset classes from being loaded unless that encoding is used.
+     */
+    private static final class FastInfoset
+    {
+        private static void marshal( Marshaller marshaller, Object entity, OutputStream out ) throws JAXBException
+        {
+            StAXDocumentSerializer writer = new StAXDocumentSerializer( out );
+            // the serializer is also a SAX ContentHandler, marshal through its StAX interface:
+            marshaller.marshal( entity, ( XMLStreamWriter ) writer );
+
+            try
+            {
+                writer.flush();
+            }
+            catch ( XMLStreamException xse )
+            {
+                throw new JAXBException( xse );
+            }
+        }
+
+
+        private static Object unmarshal( Unmarshaller unmarshaller, InputStream in ) throws JAXBException
+        {
+            return unmarshaller.unmarshal( ( XMLStreamReader ) new StAXDocumentParser( in ) );
+        }
+    }
+}
@@ -67,4 +67,30 @@ public final class AuditUtil
         }
         return userId;
     }
+
+    /**
+     * Parse the dn of an authorization event for the permission that was checked.
+     *
+     * @param reqDn raw slapd access log data, e.g. ftOpNm=read,ftObjNm=/cal/cal2.jsp,ou=Permissions,dc=jts,dc=com.
+     * @return string containing objName.opName, or null if the dn is not of a permission operation.
+     */
+    public static String getAuthZPerm(String reqDn)
+    {
+        String perm = null;
+        if (reqDn != null && reqDn.length() > 0)
+        {
+            StringTokenizer maxTkn = new StringTokenizer(reqDn, ",");
+            if (maxTkn.countTokens() > 1)
+            {
+                // the op rdn is multi-valued when the perm has an objId, e.g. ftOpNm=read+ftObjId=123:
+                String opName = getAuthZId(maxTkn.nextToken().split("\\+")[0]);
+                String objName = getAuthZId(maxTkn.nextToken());
+                if (opName != null && objName != null)
+                {
+                    perm = objName + "." + opName;
+                }
+            }
+        }
+        return perm;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.util;
+
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+
+/**
+ * Iterates over the results of a search as they are read from the directory, a page at a time, rather than holding
+ * them all in a list.  The iterator holds an ldap connection until the last result has been read or it is closed, so
+ * it should be used with try-with-resources:
+ * <pre>
+ * try ( SearchIterator&lt;User&gt; users = reviewMgr.findUsersIterator( new User( "jt" ) ) )
+ * {
+ *     while ( users.hasNext() )
+ *     {
+ *         User user = users.next();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * Should reading the next page fail, {@link #hasNext()} and {@link #next()} throw
+ * {@link org.apache.directory.fortress.core.FinderRuntimeException}.  {@link #remove()} is not supported.
+ * <p/>
+ * Implementations are not thread safe.
+ *
+ * @param <T> the type of entity found, e.g. {@link org.apache.directory.fortress.core.model.User}.
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public interface SearchIterator<T> extends Iterator<T>, Closeable
+{
+    /**
+     * Stop the search, if not already complete, and release its connection.  May be called more than once.
+     */
+    @Override
+    void close();
+}
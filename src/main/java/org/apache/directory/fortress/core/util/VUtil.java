@@ -562,9 +562,12 @@ public final class VUtil implements ConstraintValidator
             }
             return;
         }
-        for ( Validator val : validators )
+        // the current time is shared by all of the validators, it only changes once per minute:
+        Time currTime = TUtil.getCurrentTime();
+
+        for ( int i = 0; i < validators.size(); i++ )
         {
-            Time currTime = TUtil.getCurrentTime();
+            Validator val = validators.get( i );
             // first check the constraint on the user:
             if ( type == ConstraintType.USER )
             {
@@ -595,6 +598,7 @@ public final class VUtil implements ConstraintValidator
                                 + session.getUserId() + "] was deactivated reason code [" + rc + "]";
                             LOG.info( msg );
                             roleItems.remove();
+                            session.clearDecisions();
                             session.setWarning( new ObjectFactory().createWarning( rc, msg, Warning.Type.ROLE,
                                 constraint.getName() ) );
                         }
@@ -614,6 +618,7 @@ public final class VUtil implements ConstraintValidator
                                 + session.getUserId() + "] was deactivated reason code [" + rc + "]";
                             LOG.info( msg );
                             roleItems.remove();
+                            session.clearDecisions();
                             session.setWarning( new ObjectFactory().createWarning( rc, msg, Warning.Type.ROLE,
                                 constraint.getName() ) );
                         }
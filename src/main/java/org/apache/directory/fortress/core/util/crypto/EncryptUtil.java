@@ -19,6 +19,15 @@
  */
 package org.apache.directory.fortress.core.util.crypto;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.directory.fortress.core.CfgRuntimeException;
+import org.apache.directory.fortress.core.GlobalErrIds;
 import org.apache.directory.fortress.core.util.Config;
 import org.jasypt.util.text.BasicTextEncryptor;
 
@@ -31,10 +40,45 @@ public final class EncryptUtil
 {
     private static final BasicTextEncryptor textEncryptor;
     private static final String CRYPTO_PROP = "crypto.prop";
+    private static final String DEFAULT_PASSWORD = "adlfarerovcja;39 d";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec macKey;
+    // Mac instances are not thread safe, each thread keeps its own:
+    private static final ThreadLocal<Mac> MAC = new ThreadLocal<Mac>()
+    {
+        @Override
+        protected Mac initialValue()
+        {
+            try
+            {
+                Mac mac = Mac.getInstance( MAC_ALGORITHM );
+                mac.init( macKey );
+                return mac;
+            }
+            catch ( GeneralSecurityException e )
+            {
+                throw new CfgRuntimeException( GlobalErrIds.FT_CONFIG_INITIALIZE_FAILED, "EncryptUtil " +
+                    MAC_ALGORITHM + " caught GeneralSecurityException=" + e, e );
+            }
+        }
+    };
     static
     {
+        String password = Config.getProperty(CRYPTO_PROP, DEFAULT_PASSWORD);
         textEncryptor = new BasicTextEncryptor();
-        textEncryptor.setPassword(Config.getProperty(CRYPTO_PROP, "adlfarerovcja;39 d"));
+        textEncryptor.setPassword(password);
+        // derive the signing key from the same secret, hashed with a label so it is never the encryption key itself:
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+            macKey = new SecretKeySpec( digest.digest( ( "fortress.sign:" + password ).getBytes( StandardCharsets.UTF_8 ) ),
+                MAC_ALGORITHM );
+        }
+        catch ( GeneralSecurityException e )
+        {
+            throw new CfgRuntimeException( GlobalErrIds.FT_CONFIG_INITIALIZE_FAILED, "EncryptUtil signing key " +
+                "caught GeneralSecurityException=" + e, e );
+        }
     }
 
     /**
@@ -77,6 +121,20 @@ public final class EncryptUtil
     }
 
 
+    /**
+     * Returns 'true' if the property {@code crypto.prop} has been set in fortress cfg to a secret other than the
+     * built-in default.  Signatures keyed from the default, which is public, could be forged by anyone and must not be
+     * created or trusted.
+     *
+     * @return boolean
+     */
+    public static boolean isSigningEnabled()
+    {
+        String password = Config.getProperty(CRYPTO_PROP);
+        return isEnabled() && password.trim().length() > 0 && !password.equals(DEFAULT_PASSWORD);
+    }
+
+
     /**
      * Encrypt a value using Jasypt utility.
      *
@@ -98,5 +156,29 @@ public final class EncryptUtil
     {
         return textEncryptor.decrypt(encryptedText);
     }
-}
 
+
+    /**
+     * Sign a value with an HMAC keyed from {@code crypto.prop}.  Callers must first check {@link #isSigningEnabled()}.
+     *
+     * @param data contains the bytes to be signed.
+     * @return byte array containing the signature.
+     */
+    public static byte[] sign(byte[] data)
+    {
+        return MAC.get().doFinal(data);
+    }
+
+    /**
+     * Verify a signature created by {@link #sign(byte[])}.  The comparison takes the same time wherever the first
+     * difference lies.
+     *
+     * @param data contains the bytes that were signed.
+     * @param signature contains the signature to be verified.
+     * @return true if the signature is that of the data.
+     */
+    public static boolean verify(byte[] data, byte[] signature)
+    {
+        return signature != null && MessageDigest.isEqual(sign(data), signature);
+    }
+}
@@ -68,8 +68,9 @@ public class ClockTime
         }
         else
         {
-            Integer beginTime = Integer.valueOf( constraint.getBeginTime() );
-            Integer endTime = Integer.valueOf( constraint.getEndTime() );
+            // parse to primitives, boxing would allocate for most times of day:
+            int beginTime = Integer.parseInt( constraint.getBeginTime() );
+            int endTime = Integer.parseInt( constraint.getEndTime() );
 
             if ( ( beginTime == 0 ) && ( endTime == 0 ) )
             {
@@ -77,8 +78,9 @@ public class ClockTime
             }
             else
             {
-                if ( beginTime.compareTo( time.currentTime ) <= 0
-                    && endTime.compareTo( time.currentTime ) >= 0 )
+                int currentTime = time.currentTime;
+
+                if ( beginTime <= currentTime && endTime >= currentTime )
                 {
                     rc = 0;
                 }
@@ -42,48 +42,58 @@ public final class TUtil
     {
     }
 
+    /** Milliseconds per clock tick, the smallest unit constraints are expressed in is the minute. */
+    private static final long TICK = 60000L;
+
+    /** The current time, replaced once per minute by the first caller that notices the tick has passed. */
+    private static volatile Tick tick;
+
+
     /**
-     * Get the curent timestamp from Java and convert to {@link Time} format.
+     * Get the curent timestamp from Java and convert to {@link Time} format.  The value is computed once per clock minute,
+     * each caller receives its own copy of it, so the calendar is not consulted unless the minute has changed.
      *
      * @return Time
      */
     public static Time getCurrentTime()
     {
-        Time time = new Time();
-        GregorianCalendar gc = new GregorianCalendar();
-        String szMinute = "" + gc.get( GregorianCalendar.MINUTE );
-        String szHour = "" + gc.get( GregorianCalendar.HOUR_OF_DAY );
-
-        time.day = "" + gc.get( GregorianCalendar.DAY_OF_WEEK );
-        String szDay = "" + gc.get( GregorianCalendar.DAY_OF_MONTH );
-        int month = gc.get( GregorianCalendar.MONTH );
-        String szMonth = "" + ( month + 1 );
-        String szYear = "" + gc.get( GregorianCalendar.YEAR );
-
-        if ( szMinute.length() == 1 )
-        {
-            szMinute = "0" + szMinute;
-        }
+        long now = System.currentTimeMillis();
+        Tick current = tick;
 
-        if ( szHour.length() == 1 )
+        if ( current == null || now >= current.end || now < current.start )
         {
-            szHour = "0" + szHour;
+            long start = now - ( now % TICK );
+            current = new Tick( newTime( now ), start, start + TICK );
+            tick = current;
         }
 
-        if ( szDay.length() == 1 )
-        {
-            szDay = "0" + szDay;
-        }
-
-        if ( szMonth.length() == 1 )
-        {
-            szMonth = "0" + szMonth;
-        }
+        // the fields of Time are public, so the cached value is never handed out:
+        Time time = new Time();
+        time.currentTime = current.time.currentTime;
+        time.day = current.time.day;
+        time.date = current.time.date;
+        return time;
+    }
 
-        String szCurrentTime = szHour + szMinute;
 
-        time.currentTime = Integer.valueOf( szCurrentTime );
-        time.date = szYear + szMonth + szDay;
+    /**
+     * Convert a timestamp to {@link Time} format.
+     *
+     * @param now contains time in milliseconds.
+     * @return Time
+     */
+    private static Time newTime( long now )
+    {
+        Time time = new Time();
+        GregorianCalendar gc = new GregorianCalendar();
+        gc.setTimeInMillis( now );
+        int year = gc.get( GregorianCalendar.YEAR );
+        int month = gc.get( GregorianCalendar.MONTH ) + 1;
+        int day = gc.get( GregorianCalendar.DAY_OF_MONTH );
+
+        time.currentTime = gc.get( GregorianCalendar.HOUR_OF_DAY ) * 100 + gc.get( GregorianCalendar.MINUTE );
+        time.day = String.valueOf( gc.get( GregorianCalendar.DAY_OF_WEEK ) );
+        time.date = String.valueOf( year * 10000 + month * 100 + day );
         return time;
     }
 
@@ -116,4 +126,23 @@ public final class TUtil
         szTime = DateUtils.getGeneralizedTime( date );
         return szTime;
     }
+
+
+    /**
+     * A {@link Time} along with the interval, in milliseconds, during which it is current.
+     */
+    private static final class Tick
+    {
+        private final Time time;
+        private final long start;
+        private final long end;
+
+
+        private Tick( Time time, long start, long end )
+        {
+            this.time = time;
+            this.start = start;
+            this.end = end;
+        }
+    }
 }
@@ -27,7 +27,7 @@ package org.apache.directory.fortress.core.util.time;
 public class Time
 {
     /**
-     * Stored as {@code System.out.getCurrentMillis()} format.
+     * Stored in 'HHMM' format as hours and minutes of the day.  i.e. 1730 is 5:30 pm.
      */
     public Integer currentTime;
 
@@ -0,0 +1,193 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.ant;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.directory.fortress.core.GlobalErrIds;
+import org.apache.directory.fortress.core.SecurityException;
+
+
+/**
+ * Verifies that {@link LoaderEngine} runs the operations on one key in the order submitted and that failed operations
+ * are counted without stopping the rest of their stage or the stages after it.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class LoaderEngineTest extends TestCase
+{
+    private static final int THREADS = 4;
+    private static final int KEYS = 10;
+    private static final int OPS_PER_KEY = 200;
+
+
+    public LoaderEngineTest( String name )
+    {
+        super( name );
+    }
+
+
+    public void testOrderWithinKey()
+    {
+        LoaderEngine engine = new LoaderEngine( THREADS );
+        final List<List<Integer>> seen = new ArrayList<>();
+
+        for ( int k = 0; k < KEYS; k++ )
+        {
+            seen.add( Collections.synchronizedList( new ArrayList<Integer>() ) );
+        }
+
+        LoaderEngine.Stage stage = engine.startStage( "order" );
+
+        // interleave the keys, and vary their case, so that every lane holds the operations of several keys:
+        for ( int i = 0; i < OPS_PER_KEY; i++ )
+        {
+            for ( int k = 0; k < KEYS; k++ )
+            {
+                final List<Integer> ops = seen.get( k );
+                final int sequence = i;
+                String key = ( i % 2 == 0 ? "key" : "KEY" ) + k;
+                stage.submit( key, "key [" + key + "] op [" + i + "]", new LoaderEngine.Op()
+                {
+                    @Override
+                    public void execute()
+                    {
+                        ops.add( sequence );
+                    }
+                } );
+            }
+        }
+
+        stage.await();
+        engine.shutdown();
+        assertEquals( KEYS * OPS_PER_KEY, stage.getCompleted() );
+        assertEquals( 0, stage.getFailed() );
+
+        for ( int k = 0; k < KEYS; k++ )
+        {
+            List<Integer> ops = seen.get( k );
+            assertEquals( OPS_PER_KEY, ops.size() );
+
+            for ( int i = 0; i < OPS_PER_KEY; i++ )
+            {
+                assertEquals( "key [" + k + "] out of order", i, ops.get( i ).intValue() );
+            }
+        }
+    }
+
+
+    public void testFailuresAcrossStagesParallel()
+    {
+        checkFailuresAcrossStages( new LoaderEngine( THREADS ) );
+    }
+
+
+    public void testFailuresAcrossStagesSequential()
+    {
+        checkFailuresAcrossStages( new LoaderEngine( 1 ) );
+    }
+
+
+    /**
+     * The first stage fails some operations, by SecurityException and by RuntimeException.  Every other operation of
+     * that stage, and every operation of the next, must still run, and the next stage must not start until the first
+     * has completed.
+     */
+    private static void checkFailuresAcrossStages( LoaderEngine engine )
+    {
+        final AtomicInteger firstRan = new AtomicInteger();
+        final AtomicInteger firstDone = new AtomicInteger();
+        final AtomicInteger secondRan = new AtomicInteger();
+        final AtomicInteger secondEarly = new AtomicInteger();
+        int ops = 100;
+        int expectedFailed = 0;
+
+        LoaderEngine.Stage first = engine.startStage( "first" );
+
+        for ( int i = 0; i < ops; i++ )
+        {
+            final int sequence = i;
+            expectedFailed += sequence % 10 == 0 || sequence % 10 == 5 ? 1 : 0;
+            first.submit( "user" + ( i % 7 ), "op [" + i + "]", new LoaderEngine.Op()
+            {
+                @Override
+                public void execute() throws SecurityException
+                {
+                    firstRan.incrementAndGet();
+
+                    try
+                    {
+                        if ( sequence % 10 == 0 )
+                        {
+                            throw new SecurityException( GlobalErrIds.USER_ID_NULL, "op [" + sequence + "] failed" );
+                        }
+                        else if ( sequence % 10 == 5 )
+                        {
+                            throw new IllegalStateException( "op [" + sequence + "] failed" );
+                        }
+                    }
+                    finally
+                    {
+                        firstDone.incrementAndGet();
+                    }
+                }
+            } );
+        }
+
+        first.await();
+        assertEquals( ops, firstRan.get() );
+        assertEquals( ops, first.getCompleted() );
+        assertEquals( expectedFailed, first.getFailed() );
+
+        final int firstTotal = ops;
+        LoaderEngine.Stage second = engine.startStage( "second" );
+
+        for ( int i = 0; i < ops; i++ )
+        {
+            second.submit( "user" + ( i % 7 ), "op [" + i + "]", new LoaderEngine.Op()
+            {
+                @Override
+                public void execute()
+                {
+                    if ( firstDone.get() != firstTotal )
+                    {
+                        secondEarly.incrementAndGet();
+                    }
+
+                    secondRan.incrementAndGet();
+                }
+            } );
+        }
+
+        second.await();
+        engine.shutdown();
+        assertEquals( 0, secondEarly.get() );
+        assertEquals( ops, secondRan.get() );
+        assertEquals( ops, second.getCompleted() );
+        assertEquals( 0, second.getFailed() );
+    }
+}
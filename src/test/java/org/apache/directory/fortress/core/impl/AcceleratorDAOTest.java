@@ -0,0 +1,126 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import junit.framework.TestCase;
+
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Permission;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.ldap.client.api.LdapNetworkConnection;
+
+
+/**
+ * Verifies the batch checkAccess of {@link AcceleratorDAO} pipelines its requests on one connection.
+ * This test does not require an ldap server, it starts an in-memory server that does not implement the RBAC extended
+ * operations, so every request is answered with an error.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AcceleratorDAOTest extends TestCase
+{
+    private static final String ADMIN_DN = "uid=admin,ou=system";
+    private static final String ADMIN_PW = "secret";
+    private static final int REQUESTS = 50;
+    private static final long WAIT = 5000L;
+
+    private InMemoryDirectoryServer server;
+    private LdapNetworkConnection ld;
+
+
+    public AcceleratorDAOTest( String name )
+    {
+        super( name );
+    }
+
+
+    @Override
+    public void setUp() throws Exception
+    {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig( "dc=example,dc=com" );
+        config.addAdditionalBindCredentials( ADMIN_DN, ADMIN_PW );
+        // any free port:
+        config.setListenerConfigs( InMemoryListenerConfig.createLDAPConfig( "LDAP", 0 ) );
+        config.setSchema( null );
+        server = new InMemoryDirectoryServer( config );
+        server.startListening();
+    }
+
+
+    @Override
+    public void tearDown() throws Exception
+    {
+        if ( ld != null )
+        {
+            ld.close();
+        }
+
+        server.shutDown( true );
+    }
+
+
+    public void testBatchIsPipelined() throws Exception
+    {
+        // registers the RBAC extended operations with the ldap api before the connection is opened:
+        AcceleratorDAO dao = new AcceleratorDAO();
+        ld = new LdapNetworkConnection( "localhost", server.getListenPort() );
+        ld.bind( ADMIN_DN, ADMIN_PW );
+        List<Permission> perms = new ArrayList<>();
+
+        for ( int i = 0; i < REQUESTS; i++ )
+        {
+            perms.add( new Permission( "obj" + i, "op" ) );
+        }
+
+        Future<boolean[]> results = dao.checkAccessAsync( AcceleratorPipeline.getInstance(), ld, new Session(
+            new User( "jtsUser1" ), "session1" ), perms );
+
+        // every response arrives without a thread waiting on it:
+        long end = System.currentTimeMillis() + WAIT;
+
+        while ( !results.isDone() && System.currentTimeMillis() < end )
+        {
+            Thread.sleep( 10 );
+        }
+
+        assertTrue( "responses received before get", results.isDone() );
+
+        try
+        {
+            results.get();
+            fail( "the in-memory server does not implement checkAccess" );
+        }
+        catch ( ExecutionException e )
+        {
+            assertTrue( e.getCause() instanceof SecurityException );
+            assertTrue( e.getCause().getMessage(), e.getCause().getMessage().contains( "[obj0]" ) );
+        }
+    }
+}
@@ -71,6 +71,7 @@ public class AccessMgrImplTest extends TestCase
         suite.addTest( new AdminMgrImplTest( "testUnlockUserAccount" ) );
 */
         suite.addTest( new AccessMgrImplTest( "testCheckAccess" ) );
+        suite.addTest( new AccessMgrImplTest( "testCheckAccessList" ) );
         return suite;
     }
 
@@ -806,6 +807,87 @@ public class AccessMgrImplTest extends TestCase
     }
 
 
+    /**
+     *
+     */
+    public void testCheckAccessList()
+    {
+        // public boolean[] checkAccess(Session session, List<Permission> perms)
+        checkAccessList( "CHCK-ACS-LST TU1_UPD TO1 TOP1 ", UserTestData.USERS_TU1_UPD, PermTestData.OBJS_TOB1,
+            PermTestData.OPS_TOP1, PermTestData.OBJS_TOB3, PermTestData.OPS_TOP3 );
+        checkAccessList( "CHCK-ACS-LST TU3 TO3 TOP1 ", UserTestData.USERS_TU3, PermTestData.OBJS_TOB3,
+            PermTestData.OPS_TOP3, PermTestData.OBJS_TOB2, PermTestData.OPS_TOP2 );
+        checkAccessList( "CHCK-ACS-LST TU4 TO4 TOP1 ", UserTestData.USERS_TU4, PermTestData.OBJS_TOB2,
+            PermTestData.OPS_TOP2, PermTestData.OBJS_TOB3, PermTestData.OPS_TOP3 );
+    }
+
+
+    /**
+     * Check granted and denied permissions, interleaved, in one call and verify each decision is returned in request
+     * order and matches the decision of a single checkAccess.
+     */
+    public static void checkAccessList( String msg, String[][] uArray, String[][] oArray, String[][] opArray,
+        String[][] oArrayBad, String[][] opArrayBad )
+    {
+        LogUtil.logIt( msg );
+        try
+        {
+            AccessMgr accessMgr = AccessMgrFactory.createInstance( TestUtils.getContext() );
+            for ( String[] usr : uArray )
+            {
+                User user = UserTestData.getUser( usr );
+                Session session = accessMgr.createSession( user, false );
+                assertNotNull( session );
+                List<Permission> perms = new ArrayList<>();
+                List<Boolean> expected = new ArrayList<>();
+                for ( int i = 0; i < oArray.length; i++ )
+                {
+                    for ( int j = 0; j < opArray.length; j++ )
+                    {
+                        perms.add( getPermission( oArray[i], opArray[j] ) );
+                        expected.add( true );
+                        perms.add( getPermission( oArrayBad[i], opArrayBad[j] ) );
+                        expected.add( false );
+                    }
+                }
+                // a permission that does not exist is not authorized and does not fail the others:
+                perms.add( new Permission( "CHCK-ACS-LST-BOGUS", "BOGUS" ) );
+                expected.add( false );
+
+                boolean[] results = accessMgr.checkAccess( session, perms );
+                assertEquals( CLS_NM + ".checkAccessList userId [" + user.getUserId() + "] result count",
+                    perms.size(), results.length );
+                for ( int k = 0; k < results.length; k++ )
+                {
+                    Permission perm = perms.get( k );
+                    assertEquals( CLS_NM + ".checkAccessList failed userId [" + user.getUserId() + "] Perm objName [" +
+                        perm.getObjName() + "] operationName [" + perm.getOpName() + "]", expected.get( k )
+                        .booleanValue(), results[k] );
+                }
+            }
+            LOG.debug( "checkAccessList successful" );
+        }
+        catch ( SecurityException ex )
+        {
+            LOG.error( "checkAccessList: failed with SecurityException rc=" + ex.getErrorId() + ", " +
+                "msg=" + ex.getMessage(), ex );
+            fail( ex.getMessage() );
+        }
+    }
+
+
+    private static Permission getPermission( String[] obj, String[] op )
+    {
+        if( StringUtils.isNotEmpty( PermTestData.getObjId( op ) ) )
+        {
+            // with an objectId:
+            return new Permission( PermTestData.getName( obj ), PermTestData.getName( op ), PermTestData.getObjId( op ) );
+        }
+        // without an objectId:
+        return new Permission( PermTestData.getName( obj ), PermTestData.getName( op ) );
+    }
+
+
     /**
      *
      */
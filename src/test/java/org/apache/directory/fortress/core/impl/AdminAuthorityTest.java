@@ -0,0 +1,195 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.directory.fortress.core.model.Hier;
+import org.apache.directory.fortress.core.model.Relationship;
+import org.apache.directory.fortress.core.model.UserAdminRole;
+import org.jgrapht.graph.SimpleDirectedGraph;
+
+
+/**
+ * Verifies the compiling and sharing of the ARBAC authorities of {@link AdminAuthority}.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AdminAuthorityTest extends TestCase
+{
+    private static final String CONTEXT_ID = "adminAuthority";
+
+
+    public AdminAuthorityTest( String name )
+    {
+        super( name );
+    }
+
+
+    /**
+     * Returns the same diamond for each hierarchy, A <- B, A <- C, B <- D, C <- D, D <- E, counting its compiles.
+     */
+    private static class TestHiers implements AdminAuthority.Hiers
+    {
+        private final CompiledHier hier = CompiledHier.compile( buildGraph() );
+        private final AtomicInteger compiles = new AtomicInteger();
+
+
+        @Override
+        public CompiledHier getUserOus( String contextId )
+        {
+            compiles.incrementAndGet();
+            return hier;
+        }
+
+
+        @Override
+        public CompiledHier getPermOus( String contextId )
+        {
+            return hier;
+        }
+
+
+        @Override
+        public CompiledHier getRoles( String contextId )
+        {
+            return hier;
+        }
+    }
+
+
+    private static SimpleDirectedGraph<String, Relationship> buildGraph()
+    {
+        Hier hier = new Hier();
+        hier.setRelationship( new Relationship( "B", "A" ) );
+        hier.setRelationship( new Relationship( "C", "A" ) );
+        hier.setRelationship( new Relationship( "D", "B" ) );
+        hier.setRelationship( new Relationship( "D", "C" ) );
+        hier.setRelationship( new Relationship( "E", "D" ) );
+        return HierUtil.buildGraph( hier );
+    }
+
+
+    private static UserAdminRole adminRole( String name, String ou )
+    {
+        UserAdminRole uaRole = new UserAdminRole( "jtsAdmin", name );
+        uaRole.setOsU( ou );
+        uaRole.setOsP( ou );
+        uaRole.setBeginRange( "d" );
+        uaRole.setEndRange( "a" );
+        uaRole.setBeginInclusive( false );
+        uaRole.setEndInclusive( true );
+        return uaRole;
+    }
+
+
+    public void testOus()
+    {
+        AdminAuthority authority = AdminAuthority.get( adminRole( "AdminRole1", "b" ), CONTEXT_ID, new TestHiers() );
+
+        // the ou and its descendants, ignoring case:
+        assertTrue( authority.hasUserOu( "B" ) );
+        assertTrue( authority.hasUserOu( "d" ) );
+        assertTrue( authority.hasUserOu( "E" ) );
+        assertFalse( authority.hasUserOu( "A" ) );
+        assertFalse( authority.hasUserOu( "C" ) );
+        assertFalse( authority.hasUserOu( null ) );
+        assertTrue( authority.hasPermOu( "e" ) );
+        assertFalse( authority.hasPermOu( "c" ) );
+
+        // an ou that is not part of the hierarchy is matched by name:
+        authority = AdminAuthority.get( adminRole( "AdminRole1", "notInHier" ), CONTEXT_ID, new TestHiers() );
+        assertTrue( authority.hasUserOu( "NOTINHIER" ) );
+        assertFalse( authority.hasUserOu( "B" ) );
+    }
+
+
+    public void testRoleRange()
+    {
+        AdminAuthority authority = AdminAuthority.get( adminRole( "AdminRole1", "b" ), CONTEXT_ID, new TestHiers() );
+
+        // (D:A] contains the roles above D up to and including A:
+        assertTrue( authority.hasRole( "b" ) );
+        assertTrue( authority.hasRole( "C" ) );
+        assertTrue( authority.hasRole( "A" ) );
+        assertFalse( authority.hasRole( "D" ) );
+        assertFalse( authority.hasRole( "E" ) );
+    }
+
+
+    public void testShared()
+    {
+        TestHiers hiers = new TestHiers();
+        AdminAuthority authority = AdminAuthority.get( adminRole( "AdminRole1", "shared" ), CONTEXT_ID, hiers );
+
+        // another session activating the same admin role uses the same authority:
+        assertSame( authority, AdminAuthority.get( adminRole( "AdminRole1", "shared" ), CONTEXT_ID, hiers ) );
+        assertEquals( 1, hiers.compiles.get() );
+
+        // but not if its OUs, or range, or tenant differ:
+        assertNotSame( authority, AdminAuthority.get( adminRole( "AdminRole1", "other" ), CONTEXT_ID, hiers ) );
+        UserAdminRole uaRole = adminRole( "AdminRole1", "shared" );
+        uaRole.setEndInclusive( false );
+        assertFalse( AdminAuthority.get( uaRole, CONTEXT_ID, hiers ).hasRole( "A" ) );
+        assertNotSame( authority, AdminAuthority.get( adminRole( "AdminRole1", "shared" ), "otherTenant", hiers ) );
+        assertEquals( 4, hiers.compiles.get() );
+    }
+
+
+    public void testHierChanged()
+    {
+        TestHiers hiers = new TestHiers();
+        AdminAuthority authority = AdminAuthority.get( adminRole( "AdminRole1", "changed" ), CONTEXT_ID, hiers );
+
+        // publishing a snapshot of any hierarchy compiles the authority again:
+        HierUtil.getHier( "TEST:" + getName(), CONTEXT_ID, new HierUtil.Loader()
+        {
+            @Override
+            public SimpleDirectedGraph<String, Relationship> load( String contextId )
+            {
+                return buildGraph();
+            }
+        } );
+        assertNotSame( authority, AdminAuthority.get( adminRole( "AdminRole1", "changed" ), CONTEXT_ID, hiers ) );
+        assertEquals( 2, hiers.compiles.get() );
+    }
+
+
+    public void testSuperAdmin()
+    {
+        TestHiers hiers = new TestHiers();
+        UserAdminRole uaRole = new UserAdminRole( "jtsAdmin", "FORTRESS-CORE-SUPER-ADMIN" );
+        AdminAuthority authority = AdminAuthority.get( uaRole, CONTEXT_ID, hiers );
+
+        // has authority over everything, without compiling:
+        assertTrue( authority.hasUserOu( "anyOu" ) );
+        assertTrue( authority.hasPermOu( "anyOu" ) );
+        assertTrue( authority.hasRole( "anyRole" ) );
+        assertEquals( 0, hiers.compiles.get() );
+
+        assertTrue( AdminAuthority.isSuperAdmin( Arrays.asList( adminRole( "AdminRole1", "b" ), uaRole ) ) );
+        assertFalse( AdminAuthority.isSuperAdmin( Arrays.asList( adminRole( "AdminRole1", "b" ) ) ) );
+    }
+}
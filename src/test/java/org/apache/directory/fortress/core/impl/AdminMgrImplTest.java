@@ -20,6 +20,8 @@
 package org.apache.directory.fortress.core.impl;
 
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -1473,6 +1475,158 @@ public class AdminMgrImplTest extends TestCase
     }
 
 
+    public void testAssignUsers()
+    {
+        //     public void assignUsers(List<UserRole> uRoles)
+        assignUsersBatch( "ASGN-USRS-BATCH TU1 TR2", UserTestData.USERS_TU1, RoleTestData.ROLES_TR2 );
+        assignUsersBatchFail( "ASGN-USRS-BATCH-FAIL TU1 TR3 TR1", UserTestData.USERS_TU1, RoleTestData.ROLES_TR3,
+            RoleTestData.ROLES_TR1 );
+    }
+
+
+    /**
+     * Assign every user to every role with one call, verify each assignment and remove them again.
+     *
+     * @param msg
+     * @param uArray
+     * @param rArray
+     */
+    public static void assignUsersBatch( String msg, String[][] uArray, String[][] rArray )
+    {
+        LogUtil.logIt( msg );
+        try
+        {
+            AdminMgr adminMgr = getManagedAdminMgr();
+            ReviewMgr reviewMgr = ReviewMgrImplTest.getManagedReviewMgr();
+            List<UserRole> uRoles = getUserRoles( uArray, rArray );
+            adminMgr.assignUsers( uRoles );
+
+            for ( UserRole uRole : uRoles )
+            {
+                assertTrue( CLS_NM + ".assignUsersBatch user [" + uRole.getUserId() + "] role [" + uRole.getName()
+                    + "] not assigned", isAssigned( reviewMgr, uRole ) );
+            }
+
+            // the roles may have occupants assigned by earlier tests, check that the batch's users are among them:
+            for ( String[] rle : rArray )
+            {
+                Set<String> occupants = new HashSet<>();
+                for ( User occupant : reviewMgr.assignedUsers( RoleTestData.getRole( rle ) ) )
+                {
+                    occupants.add( occupant.getUserId().toUpperCase() );
+                }
+                for ( String[] usr : uArray )
+                {
+                    String userId = UserTestData.getUserId( usr );
+                    assertTrue( CLS_NM + ".assignUsersBatch role [" + RoleTestData.getName( rle )
+                        + "] occupants missing user [" + userId + "]", occupants.contains( userId.toUpperCase() ) );
+                }
+            }
+
+            for ( UserRole uRole : uRoles )
+            {
+                adminMgr.deassignUser( uRole );
+            }
+            LOG.debug( "assignUsersBatch successful" );
+        }
+        catch ( SecurityException ex )
+        {
+            LOG.error(
+                "assignUsersBatch caught SecurityException rc=" + ex.getErrorId() + ", msg=" + ex.getMessage(), ex );
+            fail( ex.getMessage() );
+        }
+    }
+
+
+    /**
+     * Assign every user to the new roles together with assignments that must fail, and verify that the batch is
+     * rejected without applying any of the new assignments.
+     *
+     * @param msg
+     * @param uArray
+     * @param rArray contains roles the users are not assigned to.
+     * @param rArrayAssigned contains roles the users are already assigned to.
+     */
+    public static void assignUsersBatchFail( String msg, String[][] uArray, String[][] rArray,
+        String[][] rArrayAssigned )
+    {
+        LogUtil.logIt( msg );
+        try
+        {
+            AdminMgr adminMgr = getManagedAdminMgr();
+            ReviewMgr reviewMgr = ReviewMgrImplTest.getManagedReviewMgr();
+            List<UserRole> uRoles = getUserRoles( uArray, rArray );
+
+            // an assignment that already exists, last in the batch:
+            List<UserRole> existing = new ArrayList<>( uRoles );
+            existing.add( new UserRole( UserTestData.getUserId( uArray[uArray.length - 1] ),
+                RoleTestData.getName( rArrayAssigned[0] ) ) );
+            assignUsersFail( adminMgr, existing, GlobalErrIds.URLE_ASSIGN_EXIST );
+
+            // a role that does not exist, first in the batch:
+            List<UserRole> missing = new ArrayList<>();
+            missing.add( new UserRole( UserTestData.getUserId( uArray[0] ), "ASGN-USRS-BATCH-NOT-FOUND" ) );
+            missing.addAll( getUserRoles( uArray, rArray ) );
+            assignUsersFail( adminMgr, missing, GlobalErrIds.ROLE_NOT_FOUND );
+
+            for ( UserRole uRole : uRoles )
+            {
+                assertFalse( CLS_NM + ".assignUsersBatchFail user [" + uRole.getUserId() + "] role ["
+                    + uRole.getName() + "] assigned by failed batch", isAssigned( reviewMgr, uRole ) );
+            }
+            LOG.debug( "assignUsersBatchFail successful" );
+        }
+        catch ( SecurityException ex )
+        {
+            LOG.error(
+                "assignUsersBatchFail caught SecurityException rc=" + ex.getErrorId() + ", msg=" + ex.getMessage(),
+                ex );
+            fail( ex.getMessage() );
+        }
+    }
+
+
+    private static void assignUsersFail( AdminMgr adminMgr, List<UserRole> uRoles, int errorId )
+    {
+        try
+        {
+            adminMgr.assignUsers( uRoles );
+            fail( CLS_NM + ".assignUsersFail batch of [" + uRoles.size() + "] did not fail" );
+        }
+        catch ( SecurityException ex )
+        {
+            assertEquals( CLS_NM + ".assignUsersFail error id", errorId, ex.getErrorId() );
+        }
+    }
+
+
+    private static List<UserRole> getUserRoles( String[][] uArray, String[][] rArray )
+    {
+        List<UserRole> uRoles = new ArrayList<>();
+        for ( String[] usr : uArray )
+        {
+            for ( String[] rle : rArray )
+            {
+                uRoles.add( new UserRole( UserTestData.getUserId( usr ), RoleTestData.getName( rle ) ) );
+            }
+        }
+        return uRoles;
+    }
+
+
+    private static boolean isAssigned( ReviewMgr reviewMgr, UserRole uRole ) throws SecurityException
+    {
+        for ( UserRole assigned : reviewMgr.assignedRoles( new User( uRole.getUserId() ) ) )
+        {
+            if ( assigned.getName().equalsIgnoreCase( uRole.getName() ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
     /**
      *
      * @param msg
@@ -0,0 +1,138 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Verifies the role to user index of {@link AssignmentUtil} as it is loaded, updated, expires and exceeds its budget.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AssignmentUtilTest extends TestCase
+{
+    private static final long MAX_BYTES = 1024L * 1024L;
+    private static final long INTERVAL = 60000L;
+
+
+    public AssignmentUtilTest( String name )
+    {
+        super( name );
+    }
+
+
+    private static Set<String> set( String... names )
+    {
+        return new HashSet<>( Arrays.asList( names ) );
+    }
+
+
+    private static AssignmentUtil.Index load( long maxBytes, long interval )
+    {
+        AssignmentUtil.Index index = new AssignmentUtil.Index( "HOME", maxBytes, interval );
+        index.load( "jtsUser1", "Role1" );
+        index.load( "jtsUser2", "Role1" );
+        index.load( "jtsUser2", "Role2" );
+        return index;
+    }
+
+
+    public void testLoad()
+    {
+        AssignmentUtil.Index index = load( MAX_BYTES, INTERVAL );
+        assertFalse( "index is not ready while loading", index.isReady() );
+        index.loaded();
+        assertTrue( index.isReady() );
+        assertFalse( index.isExpired() );
+
+        // role names ignore case, userIds are returned once:
+        assertEquals( set( "jtsUser1", "jtsUser2" ), index.getUsers( set( "ROLE1", "role2" ) ) );
+        assertEquals( set( "jtsUser2" ), index.getUsers( set( "Role2" ) ) );
+        assertEquals( set(), index.getUsers( set( "Role3" ) ) );
+    }
+
+
+    public void testUpdate()
+    {
+        AssignmentUtil.Index index = load( MAX_BYTES, INTERVAL );
+        index.loaded();
+        index.update( new AssignmentUtil.Update( "jtsUser3", "Role3", true ) );
+        index.update( new AssignmentUtil.Update( "JTSUSER2", "Role2", false ) );
+        assertEquals( set( "jtsUser3" ), index.getUsers( set( "Role3" ) ) );
+
+        // the last user of a role removed, removes the role:
+        assertEquals( set(), index.getUsers( set( "Role2" ) ) );
+        assertEquals( set( "jtsUser3" ), index.getUsers( set( "Role2", "Role3" ) ) );
+    }
+
+
+    public void testUpdateWhileLoading()
+    {
+        AssignmentUtil.Index index = new AssignmentUtil.Index( "HOME", MAX_BYTES, INTERVAL );
+        index.load( "jtsUser1", "Role1" );
+
+        // made after the search passed jtsUser1, and before it reaches jtsUser2:
+        index.update( new AssignmentUtil.Update( "jtsUser1", "Role1", false ) );
+        index.update( new AssignmentUtil.Update( "jtsUser2", "Role2", true ) );
+        index.load( "jtsUser2", "Role2" );
+        assertFalse( index.isReady() );
+        index.loaded();
+        assertTrue( index.isReady() );
+        assertEquals( set(), index.getUsers( set( "Role1" ) ) );
+        assertEquals( set( "jtsUser2" ), index.getUsers( set( "Role2" ) ) );
+    }
+
+
+    public void testExpired() throws InterruptedException
+    {
+        AssignmentUtil.Index index = load( MAX_BYTES, 1 );
+        assertFalse( "index does not expire while loading", index.isExpired() );
+        index.loaded();
+        Thread.sleep( 10 );
+        assertTrue( index.isExpired() );
+        assertFalse( "an expired index is not used", index.isReady() );
+    }
+
+
+    public void testOverBudget() throws InterruptedException
+    {
+        // room for one role and its first user only:
+        AssignmentUtil.Index index = load( 300, 1 );
+        assertTrue( index.isOverBudget() );
+        index.loaded();
+        assertFalse( index.isReady() );
+        assertNull( index.getUsers( set( "Role1" ) ) );
+
+        // updates are ignored rather than failing:
+        index.update( new AssignmentUtil.Update( "jtsUser3", "Role3", true ) );
+        assertNull( index.getUsers( set( "Role3" ) ) );
+
+        // and the load is retried once its refresh interval has passed:
+        Thread.sleep( 10 );
+        assertTrue( index.isExpired() );
+    }
+}
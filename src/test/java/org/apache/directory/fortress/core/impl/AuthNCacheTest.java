@@ -0,0 +1,181 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.Warning;
+
+
+/**
+ * Verifies the password checks recorded by {@link AuthNCache}.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AuthNCacheTest extends TestCase
+{
+    private static final long TTL = TimeUnit.MINUTES.toNanos( 1 );
+    private static final int ITERATIONS = 1;
+
+    private AuthNCache cache;
+
+
+    public AuthNCacheTest( String name )
+    {
+        super( name );
+    }
+
+
+    @Override
+    public void setUp()
+    {
+        cache = new AuthNCache( TTL, 10, ITERATIONS );
+    }
+
+
+    private static User user( String userId, String password )
+    {
+        User user = new User( userId );
+        user.setPassword( password.toCharArray() );
+        return user;
+    }
+
+
+    private static Session authenticated()
+    {
+        Session session = new Session();
+        session.setAuthenticated( true );
+        return session;
+    }
+
+
+    private void put( User user, Session session )
+    {
+        cache.add( user, session, cache.generation( user ) );
+    }
+
+
+    public void testRoundTrip()
+    {
+        put( user( "jtsUser1", "secret" ), authenticated() );
+        Session session = cache.find( user( "JTSUSER1", "secret" ) );
+        assertNotNull( "userIds ignore case", session );
+        assertTrue( session.isAuthenticated() );
+        assertEquals( "JTSUSER1", session.getUserId() );
+
+        cache.evict( user( "jtsUser1", "secret" ) );
+        assertNull( cache.find( user( "jtsUser1", "secret" ) ) );
+    }
+
+
+    public void testOtherTenant()
+    {
+        put( user( "jtsUser1", "secret" ), authenticated() );
+        User other = user( "jtsUser1", "secret" );
+        other.setContextId( "otherTenant" );
+        assertNull( cache.find( other ) );
+    }
+
+
+    public void testWrongPassword()
+    {
+        put( user( "jtsUser1", "secret" ), authenticated() );
+        assertNull( cache.find( user( "jtsUser1", "Secret" ) ) );
+        assertNull( cache.find( new User( "jtsUser1" ) ) );
+
+        // the entry stays for the right password:
+        assertNotNull( cache.find( user( "jtsUser1", "secret" ) ) );
+    }
+
+
+    public void testExpired() throws InterruptedException
+    {
+        cache = new AuthNCache( TimeUnit.MILLISECONDS.toNanos( 1 ), 10, ITERATIONS );
+        put( user( "jtsUser1", "secret" ), authenticated() );
+        Thread.sleep( 10 );
+        assertNull( cache.find( user( "jtsUser1", "secret" ) ) );
+    }
+
+
+    public void testWarningsNotCached()
+    {
+        Session warned = authenticated();
+        warned.setWarning( new Warning( GlobalPwMsgIds.PASSWORD_EXPIRATION_WARNING, "expiring",
+            Warning.Type.PASSWORD ) );
+        put( user( "jtsUser1", "secret" ), warned );
+        assertNull( cache.find( user( "jtsUser1", "secret" ) ) );
+
+        Session grace = authenticated();
+        grace.setGraceLogins( 2 );
+        put( user( "jtsUser2", "secret" ), grace );
+        assertNull( cache.find( user( "jtsUser2", "secret" ) ) );
+
+        Session expiring = authenticated();
+        expiring.setExpirationSeconds( 3600 );
+        put( user( "jtsUser3", "secret" ), expiring );
+        assertNull( cache.find( user( "jtsUser3", "secret" ) ) );
+
+        // and a bind that returns one removes the user's entry:
+        put( user( "jtsUser4", "secret" ), authenticated() );
+        put( user( "jtsUser4", "secret" ), grace );
+        assertNull( cache.find( user( "jtsUser4", "secret" ) ) );
+    }
+
+
+    public void testFailureNotCached()
+    {
+        Session failed = new Session();
+        failed.setAuthenticated( false );
+        put( user( "jtsUser1", "secret" ), failed );
+        assertNull( cache.find( user( "jtsUser1", "secret" ) ) );
+    }
+
+
+    public void testRemovedDuringBind()
+    {
+        // read before the bind of the old password, which completes after the password has been changed:
+        User user = user( "jtsUser1", "oldSecret" );
+        long generation = cache.generation( user );
+        cache.evict( user );
+        cache.add( user, authenticated(), generation );
+        assertNull( cache.find( user ) );
+
+        // a bind that began after the change is cached:
+        put( user( "jtsUser1", "newSecret" ), authenticated() );
+        assertNotNull( cache.find( user( "jtsUser1", "newSecret" ) ) );
+        assertNull( cache.find( user ) );
+    }
+
+
+    public void testFull()
+    {
+        cache = new AuthNCache( TTL, 1, ITERATIONS );
+        put( user( "jtsUser1", "secret" ), authenticated() );
+        put( user( "jtsUser2", "secret" ), authenticated() );
+        assertNotNull( cache.find( user( "jtsUser1", "secret" ) ) );
+        assertNull( cache.find( user( "jtsUser2", "secret" ) ) );
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.apache.directory.fortress.core.model.Hier;
+import org.apache.directory.fortress.core.model.Relationship;
+import org.jgrapht.graph.SimpleDirectedGraph;
+
+
+/**
+ * Verifies the precomputed closures of {@link CompiledHier} match the recursive traversals of {@link HierUtil}.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class CompiledHierTest extends TestCase
+{
+    public CompiledHierTest( String name )
+    {
+        super( name );
+    }
+
+
+    /**
+     * Builds a diamond with a tail, A <- B, A <- C, B <- D, C <- D, D <- E, plus a large fan out to cross word boundaries.
+     */
+    private static SimpleDirectedGraph<String, Relationship> buildGraph()
+    {
+        Hier hier = new Hier();
+        hier.setRelationship( new Relationship( "B", "A" ) );
+        hier.setRelationship( new Relationship( "C", "A" ) );
+        hier.setRelationship( new Relationship( "D", "B" ) );
+        hier.setRelationship( new Relationship( "D", "C" ) );
+        hier.setRelationship( new Relationship( "E", "D" ) );
+
+        for ( int i = 0; i < 150; i++ )
+        {
+            hier.setRelationship( new Relationship( "LEAF" + i, "E" ) );
+        }
+
+        return HierUtil.buildGraph( hier );
+    }
+
+
+    public void testAscendants()
+    {
+        SimpleDirectedGraph<String, Relationship> graph = buildGraph();
+        CompiledHier compiled = CompiledHier.compile( graph );
+
+        for ( String vertex : graph.vertexSet() )
+        {
+            assertEquals( vertex, HierUtil.getAscendants( vertex, graph ), compiled.getAscendants( vertex ) );
+        }
+
+        assertEquals( 5, compiled.getAscendants( "leaf99" ).size() );
+        assertTrue( compiled.getAscendants( "NOT_IN_GRAPH" ).isEmpty() );
+    }
+
+
+    public void testDescendants()
+    {
+        SimpleDirectedGraph<String, Relationship> graph = buildGraph();
+        CompiledHier compiled = CompiledHier.compile( graph );
+
+        for ( String vertex : graph.vertexSet() )
+        {
+            assertEquals( vertex, HierUtil.getDescendants( vertex, graph ), compiled.getDescendants( vertex ) );
+        }
+
+        assertEquals( 152, compiled.getDescendants( "b" ).size() );
+    }
+
+
+    public void testInherited()
+    {
+        CompiledHier compiled = CompiledHier.compile( buildGraph() );
+        Set<String> inherited = compiled.getAscendants( Arrays.asList( "d", "standalone" ) );
+        assertEquals( 5, inherited.size() );
+        assertTrue( inherited.contains( "STANDALONE" ) );
+        assertTrue( inherited.contains( "a" ) );
+
+        assertTrue( compiled.isAscendantOfAny( Collections.singletonList( "leaf149" ), Collections.singleton( "c" ) ) );
+        assertTrue( compiled.isAscendantOfAny( Collections.singletonList( "standalone" ),
+            Collections.singleton( "Standalone" ) ) );
+        assertFalse( compiled.isAscendantOfAny( Collections.singletonList( "b" ), Collections.singleton( "c" ) ) );
+        assertFalse( compiled.isAscendantOfAny( Collections.singletonList( "b" ), Collections.singleton( "missing" ) ) );
+    }
+
+
+    public void testDeepHierarchy()
+    {
+        Hier hier = new Hier();
+
+        for ( int i = 1; i < 3000; i++ )
+        {
+            hier.setRelationship( new Relationship( "R" + i, "R" + ( i - 1 ) ) );
+        }
+
+        CompiledHier compiled = CompiledHier.compile( HierUtil.buildGraph( hier ) );
+        assertEquals( 2999, compiled.getAscendants( "r2999" ).size() );
+        assertEquals( 2999, compiled.getDescendants( "r0" ).size() );
+        assertTrue( compiled.isAscendantOfAny( Collections.singletonList( "r2999" ), Collections.singleton( "r0" ) ) );
+        assertFalse( compiled.isAscendantOfAny( Collections.singletonList( "r0" ), Collections.singleton( "r1" ) ) );
+        assertTrue( compiled.contains( compiled.getDescendantIds( Arrays.asList( "r100", "r200" ) ), "R150" ) );
+        assertFalse( compiled.contains( compiled.toIds( Arrays.asList( "r100", "r200" ) ), "R150" ) );
+    }
+}
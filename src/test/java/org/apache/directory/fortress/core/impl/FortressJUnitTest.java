@@ -192,6 +192,7 @@ public class FortressJUnitTest extends TestCase
             suite.addTest( new PswdPolicyMgrImplTest( "testUpdatePasswordPolicy" ) );
         }
         suite.addTest( new AdminMgrImplTest( "testAssignUser" ) );
+        suite.addTest( new AdminMgrImplTest( "testAssignUsers" ) );
         suite.addTest( new AdminMgrImplTest( "testAddPermissionObj" ) );
         suite.addTest( new AdminMgrImplTest( "testUpdatePermissionObj" ) );
         suite.addTest( new AdminMgrImplTest( "testAddPermissionOp" ) );
@@ -271,6 +272,7 @@ public class FortressJUnitTest extends TestCase
         suite.addTest( new AccessMgrImplTest( "createSessionsDSD" ) );
         suite.addTest( new AccessMgrImplTest( "testSessionRole" ) );
         suite.addTest( new AccessMgrImplTest( "testCheckAccess" ) );
+        suite.addTest( new AccessMgrImplTest( "testCheckAccessList" ) );
         suite.addTest( new AccessMgrImplTest( "testAddActiveRole" ) );
         suite.addTest( new AccessMgrImplTest( "testDropActiveRole" ) );
         suite.addTest( new AccessMgrImplTest( "testSessionPermission" ) );
@@ -0,0 +1,260 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Permission;
+
+
+/**
+ * Verifies the loading, refresh and invalidation of the {@link PermUtil} snapshots.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class PermUtilTest extends TestCase
+{
+    private static final long INTERVAL = 60000L;
+    private static final long WAIT = 5000L;
+
+
+    public PermUtilTest( String name )
+    {
+        super( name );
+    }
+
+
+    /**
+     * Returns the perms it has been given, counting its calls and optionally waiting on a latch before returning.
+     */
+    private static class TestLoader implements PermUtil.Loader
+    {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicReference<List<Permission>> perms = new AtomicReference<>();
+        private volatile CountDownLatch started = new CountDownLatch( 1 );
+        private volatile CountDownLatch release;
+        private final AtomicInteger failures = new AtomicInteger();
+
+
+        private TestLoader( String... opNames )
+        {
+            setOps( opNames );
+        }
+
+
+        private void setOps( String... opNames )
+        {
+            List<Permission> list = new ArrayList<>();
+
+            for ( String opName : opNames )
+            {
+                list.add( new Permission( "TOB1", opName, "ID1" ) );
+            }
+
+            perms.set( list );
+        }
+
+
+        @Override
+        public List<Permission> load( String contextId, boolean isAdmin ) throws SecurityException
+        {
+            loads.incrementAndGet();
+            started.countDown();
+
+            try
+            {
+                if ( release != null && !release.await( WAIT, TimeUnit.MILLISECONDS ) )
+                {
+                    throw new IllegalStateException( "load was not released" );
+                }
+            }
+            catch ( InterruptedException ie )
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if ( failures.getAndDecrement() > 0 )
+            {
+                throw new SecurityException( 0, "load failed" );
+            }
+
+            return new ArrayList<>( perms.get() );
+        }
+    }
+
+
+    private static Permission perm( String contextId, String opName )
+    {
+        Permission permission = new Permission( "tob1", opName, "id1" );
+        permission.setContextId( contextId );
+        return permission;
+    }
+
+
+    /**
+     * Poll until the snapshot contains the operation or the wait expires.
+     */
+    private static Permission await( String contextId, String opName, PermUtil.Loader loader, long interval )
+        throws Exception
+    {
+        long end = System.currentTimeMillis() + WAIT;
+        Permission found = PermUtil.getPerm( perm( contextId, opName ), loader, interval );
+
+        while ( found == null && System.currentTimeMillis() < end )
+        {
+            Thread.sleep( 10 );
+            found = PermUtil.getPerm( perm( contextId, opName ), loader, interval );
+        }
+
+        return found;
+    }
+
+
+    public void testLoadOnce() throws Exception
+    {
+        TestLoader loader = new TestLoader( "OP1" );
+        Permission found = PermUtil.getPerm( perm( "loadOnce", "op1" ), loader, INTERVAL );
+        assertNotNull( "names and objId ignore case", found );
+        assertEquals( "loadOnce", found.getContextId() );
+        assertNull( PermUtil.getPerm( perm( "loadOnce", "op2" ), loader, INTERVAL ) );
+        assertEquals( 1, loader.loads.get() );
+    }
+
+
+    public void testPermKey()
+    {
+        assertEquals( "TOB1:OP1", PermUtil.getPermKey( "tob1", "op1", null ) );
+        assertEquals( "TOB1:OP1", PermUtil.getPermKey( "tob1", "op1", "" ) );
+        assertEquals( "TOB1:OP1:ID1", PermUtil.getPermKey( "tob1", "op1", "id1" ) );
+    }
+
+
+    public void testRefreshInBackground() throws Exception
+    {
+        TestLoader loader = new TestLoader( "OP1" );
+        assertNotNull( PermUtil.getPerm( perm( "refresh", "OP1" ), loader, 1 ) );
+        Thread.sleep( 10 );
+
+        // the refresh waits, callers keep using the expired snapshot meanwhile:
+        loader.setOps( "OP2" );
+        loader.started = new CountDownLatch( 1 );
+        loader.release = new CountDownLatch( 1 );
+        assertNotNull( PermUtil.getPerm( perm( "refresh", "OP1" ), loader, INTERVAL ) );
+        assertTrue( loader.started.await( WAIT, TimeUnit.MILLISECONDS ) );
+        assertNotNull( PermUtil.getPerm( perm( "refresh", "OP1" ), loader, INTERVAL ) );
+        assertEquals( "only one refresh is scheduled", 2, loader.loads.get() );
+
+        loader.release.countDown();
+        assertNotNull( await( "refresh", "OP2", loader, INTERVAL ) );
+        assertNull( PermUtil.getPerm( perm( "refresh", "OP1" ), loader, INTERVAL ) );
+        assertEquals( 2, loader.loads.get() );
+    }
+
+
+    public void testRefreshFailure() throws Exception
+    {
+        TestLoader loader = new TestLoader( "OP1" );
+        assertNotNull( PermUtil.getPerm( perm( "refreshFailure", "OP1" ), loader, 1 ) );
+        Thread.sleep( 10 );
+
+        // the expired snapshot stays in use and a later caller tries again:
+        loader.failures.set( 1 );
+        loader.setOps( "OP2" );
+        assertNotNull( PermUtil.getPerm( perm( "refreshFailure", "OP1" ), loader, INTERVAL ) );
+        assertNotNull( await( "refreshFailure", "OP2", loader, INTERVAL ) );
+        assertEquals( 3, loader.loads.get() );
+    }
+
+
+    public void testTenantsLoadIndependently() throws Exception
+    {
+        final TestLoader slow = new TestLoader( "OP1" );
+        slow.release = new CountDownLatch( 1 );
+        final AtomicReference<Permission> slowResult = new AtomicReference<>();
+        Thread thread = new Thread( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    slowResult.set( PermUtil.getPerm( perm( "slowTenant", "OP1" ), slow, INTERVAL ) );
+                }
+                catch ( SecurityException se )
+                {
+                    throw new IllegalStateException( se );
+                }
+            }
+        } );
+        thread.start();
+        assertTrue( slow.started.await( WAIT, TimeUnit.MILLISECONDS ) );
+
+        // another tenant's first load is not held up by the one in progress:
+        assertNotNull( PermUtil.getPerm( perm( "fastTenant", "OP1" ), new TestLoader( "OP1" ), INTERVAL ) );
+
+        slow.release.countDown();
+        thread.join( WAIT );
+        assertNotNull( slowResult.get() );
+        assertEquals( 1, slow.loads.get() );
+    }
+
+
+    public void testClearCacheDuringLoad() throws Exception
+    {
+        final String contextId = "clearDuringLoad";
+        TestLoader loader = new TestLoader( "OP1" )
+        {
+            @Override
+            public List<Permission> load( String contextId, boolean isAdmin ) throws SecurityException
+            {
+                List<Permission> perms = super.load( contextId, isAdmin );
+                PermUtil.clearCache( contextId, isAdmin );
+                return perms;
+            }
+        };
+
+        // the load that raced with the change is returned to its caller but not published:
+        assertNotNull( PermUtil.getPerm( perm( contextId, "OP1" ), loader, INTERVAL ) );
+        assertNotNull( PermUtil.getPerm( perm( contextId, "OP1" ), loader, INTERVAL ) );
+        assertEquals( 2, loader.loads.get() );
+    }
+
+
+    public void testClearCache() throws Exception
+    {
+        TestLoader loader = new TestLoader( "OP1" );
+        assertNotNull( PermUtil.getPerm( perm( "clear", "OP1" ), loader, INTERVAL ) );
+        loader.setOps( "OP2" );
+        PermUtil.clearCache( "clear" );
+        assertNull( PermUtil.getPerm( perm( "clear", "OP1" ), loader, INTERVAL ) );
+        assertNotNull( PermUtil.getPerm( perm( "clear", "OP2" ), loader, INTERVAL ) );
+        assertEquals( 2, loader.loads.get() );
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.impl;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import junit.framework.TestCase;
+
+import org.apache.cxf.common.util.Base64Utility;
+import org.apache.directory.fortress.core.GlobalErrIds;
+import org.apache.directory.fortress.core.SecurityException;
+import org.apache.directory.fortress.core.model.Session;
+import org.apache.directory.fortress.core.model.User;
+import org.apache.directory.fortress.core.model.UserAdminRole;
+import org.apache.directory.fortress.core.model.UserRole;
+import org.apache.directory.fortress.core.util.Config;
+import org.apache.directory.fortress.core.util.crypto.EncryptUtil;
+
+
+/**
+ * Verifies the session tokens created and verified by {@link SessionTokenUtil}.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class SessionTokenUtilTest extends TestCase
+{
+    private static final String CRYPTO_PROP = "crypto.prop";
+    private static final String DEFAULT_PASSWORD = "adlfarerovcja;39 d";
+    private static final String CONTEXT_ID = "HOME";
+
+    private String cryptoProp;
+
+
+    public SessionTokenUtilTest( String name )
+    {
+        super( name );
+    }
+
+
+    @Override
+    public void setUp()
+    {
+        cryptoProp = Config.getProperty( CRYPTO_PROP );
+        Config.setProperty( CRYPTO_PROP, "a secret only this deployment knows" );
+    }
+
+
+    @Override
+    public void tearDown()
+    {
+        Config.setProperty( CRYPTO_PROP, cryptoProp );
+    }
+
+
+    private static Session buildSession()
+    {
+        User user = new User( "jtsUser1" );
+        user.setInternalId( "0001" );
+        user.setDn( "uid=jtsUser1,ou=People,dc=example,dc=com" );
+        user.setTimeout( 30 );
+        user.setRole( new UserRole( user.getUserId(), "Role1" ) );
+        user.setRole( new UserRole( user.getUserId(), "Role2" ) );
+        user.setAdminRole( new UserAdminRole( user.getUserId(), "AdminRole1" ) );
+        Session session = new Session( user );
+        session.setAuthenticated( true );
+        return session;
+    }
+
+
+    private static void assertError( int errorId, String token, String contextId )
+    {
+        try
+        {
+            SessionTokenUtil.getSession( token, contextId );
+            fail( "token must be refused" );
+        }
+        catch ( SecurityException se )
+        {
+            assertEquals( errorId, se.getErrorId() );
+        }
+    }
+
+
+    public void testRoundTrip() throws Exception
+    {
+        String token = SessionTokenUtil.createToken( buildSession(), CONTEXT_ID );
+        Session session = SessionTokenUtil.getSession( token, CONTEXT_ID );
+        assertEquals( "jtsUser1", session.getUserId() );
+        assertEquals( "0001", session.getUser().getInternalId() );
+        assertEquals( "uid=jtsUser1,ou=People,dc=example,dc=com", session.getUser().getDn() );
+        assertEquals( Integer.valueOf( 30 ), session.getUser().getTimeout() );
+        assertTrue( session.isAuthenticated() );
+        assertEquals( CONTEXT_ID, session.getContextId() );
+        assertEquals( 2, session.getRoles().size() );
+        assertEquals( "Role1", session.getRoles().get( 0 ).getName() );
+        assertEquals( "Role2", session.getRoles().get( 1 ).getName() );
+        assertEquals( 1, session.getAdminRoles().size() );
+        assertEquals( "AdminRole1", session.getAdminRoles().get( 0 ).getName() );
+    }
+
+
+    public void testTampered() throws Exception
+    {
+        String token = SessionTokenUtil.createToken( buildSession(), CONTEXT_ID );
+        int separator = token.lastIndexOf( '.' );
+        byte[] payload = Base64Utility.decode( token.substring( 0, separator ) );
+
+        // grant the holder another role name by changing one character of an existing one:
+        String text = new String( payload, "ISO-8859-1" ).replace( "Role2", "Role9" );
+        String altered = Base64Utility.encode( text.getBytes( "ISO-8859-1" ) ) + token.substring( separator );
+        assertError( GlobalErrIds.USER_SESS_TOKEN_INVALID, altered, CONTEXT_ID );
+
+        assertError( GlobalErrIds.USER_SESS_TOKEN_INVALID, token.substring( 0, separator + 1 ) + "AAAA", CONTEXT_ID );
+        assertError( GlobalErrIds.USER_SESS_TOKEN_INVALID, token.substring( 0, separator ), CONTEXT_ID );
+    }
+
+
+    public void testOtherContext() throws Exception
+    {
+        String token = SessionTokenUtil.createToken( buildSession(), CONTEXT_ID );
+        assertError( GlobalErrIds.USER_SESS_TOKEN_INVALID, token, "OTHER" );
+    }
+
+
+    public void testExpired() throws Exception
+    {
+        // a token issued two hours ago with a one hour timeout, signed with the same key:
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream( bytes );
+        out.writeByte( 1 );
+        out.writeUTF( CONTEXT_ID );
+        out.writeUTF( "jtsUser1" );
+        out.writeUTF( "" );
+        out.writeUTF( "" );
+        out.writeLong( System.currentTimeMillis() - 2 * 3600000L );
+        out.writeInt( 60 );
+        out.writeBoolean( true );
+        out.writeShort( 0 );
+        out.writeShort( 0 );
+        out.flush();
+        byte[] payload = bytes.toByteArray();
+        String token = Base64Utility.encode( payload ) + "." + Base64Utility.encode( EncryptUtil.sign( payload ) );
+        assertError( GlobalErrIds.USER_SESS_TOKEN_EXPIRED, token, CONTEXT_ID );
+    }
+
+
+    public void testRefusedUnderDefaultKey() throws Exception
+    {
+        String token = SessionTokenUtil.createToken( buildSession(), CONTEXT_ID );
+        Config.setProperty( CRYPTO_PROP, DEFAULT_PASSWORD );
+        assertError( GlobalErrIds.USER_SESS_TOKEN_DISABLED, token, CONTEXT_ID );
+
+        try
+        {
+            SessionTokenUtil.createToken( buildSession(), CONTEXT_ID );
+            fail( "token must not be created" );
+        }
+        catch ( SecurityException se )
+        {
+            assertEquals( GlobalErrIds.USER_SESS_TOKEN_DISABLED, se.getErrorId() );
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.ldap;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.pool.BasePoolableObjectFactory;
+import org.apache.commons.pool.impl.GenericObjectPool;
+
+
+/**
+ * Verifies the adaptive sizing of a connection pool by {@link PoolSizer}.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class PoolSizerTest extends TestCase
+{
+    private static final int MIN = 2;
+    private static final int MAX = 10;
+
+    private GenericObjectPool<Object> pool;
+    private PoolCounters counters;
+
+
+    public PoolSizerTest( String name )
+    {
+        super( name );
+    }
+
+
+    @Override
+    public void setUp()
+    {
+        pool = new GenericObjectPool<>( new BasePoolableObjectFactory<Object>()
+        {
+            @Override
+            public Object makeObject()
+            {
+                return new Object();
+            }
+        } );
+        pool.setMaxActive( MAX );
+        pool.setMinIdle( MIN );
+        counters = new PoolCounters( "test", pool );
+    }
+
+
+    /**
+     * Borrow connections, recording each borrow the way the data provider does, and return them all.
+     */
+    private void burst( int size ) throws Exception
+    {
+        List<Object> borrowed = new ArrayList<>();
+
+        for ( int i = 0; i < size; i++ )
+        {
+            borrowed.add( pool.borrowObject() );
+            counters.recordBorrow( 0, pool.getNumActive() );
+        }
+
+        for ( Object connection : borrowed )
+        {
+            pool.returnObject( connection );
+        }
+    }
+
+
+    public void testMaxIdleFollowsPeak() throws Exception
+    {
+        burst( 5 );
+        PoolSizer.adapt( pool, counters, MIN, MAX );
+        assertEquals( 5, pool.getMaxIdle() );
+
+        // an interval without borrows shrinks max idle to the pool's min:
+        PoolSizer.adapt( pool, counters, MIN, MAX );
+        assertEquals( MIN, pool.getMaxIdle() );
+    }
+
+
+    public void testMaxIdleBounded() throws Exception
+    {
+        pool.setWhenExhaustedAction( GenericObjectPool.WHEN_EXHAUSTED_GROW );
+        burst( MAX + 5 );
+        PoolSizer.adapt( pool, counters, MIN, MAX );
+        assertEquals( MAX, pool.getMaxIdle() );
+    }
+
+
+    public void testOnlyMaxIdleIsTuned() throws Exception
+    {
+        burst( 5 );
+        PoolSizer.adapt( pool, counters, MIN, MAX );
+        PoolSizer.adapt( pool, counters, MIN, MAX );
+        assertEquals( MIN, pool.getMaxIdle() );
+        assertEquals( MIN, pool.getMinIdle() );
+        assertEquals( MAX, pool.getMaxActive() );
+
+        // connections already idle are left to the evictor:
+        assertEquals( 5, pool.getNumIdle() );
+
+        // those released from now on beyond max idle are closed:
+        burst( 5 );
+        assertEquals( MIN, pool.getNumIdle() );
+    }
+
+
+    public void testNullPool()
+    {
+        PoolSizer.adapt( null, counters, MIN, MAX );
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.model;
+
+
+import junit.framework.TestCase;
+
+
+/**
+ * Verifies the counting of authorization events by {@link AuthZSummary}.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AuthZSummaryTest extends TestCase
+{
+    public AuthZSummaryTest( String name )
+    {
+        super( name );
+    }
+
+
+    private static AuthZ authZ( String userId, String reqDn, String reqEnd )
+    {
+        AuthZ authZ = new AuthZ();
+        authZ.setReqAuthzID( "uid=" + userId + ",ou=People,dc=jts,dc=com" );
+        authZ.setReqDN( reqDn );
+        authZ.setReqEnd( reqEnd );
+        return authZ;
+    }
+
+
+    public void testAdd()
+    {
+        AuthZSummary summary = new AuthZSummary();
+        summary.add( authZ( "jtsUser1", "ftOpNm=read,ftObjNm=TOB1,ou=Permissions,dc=jts,dc=com",
+            "20150617131500.000123Z" ) );
+        summary.add( authZ( "jtsUser1", "ftOpNm=read+ftObjId=123,ftObjNm=TOB1,ou=Permissions,dc=jts,dc=com",
+            "20150617135900.000001Z" ) );
+        summary.add( authZ( "jtsUser2", "ftOpNm=write,ftObjNm=TOB1,ou=Permissions,dc=jts,dc=com",
+            "20150617140000.000001Z" ) );
+
+        assertEquals( 3, summary.getTotal() );
+        assertEquals( Long.valueOf( 2 ), summary.getUsers().get( "jtsUser1" ) );
+        assertEquals( Long.valueOf( 1 ), summary.getUsers().get( "jtsUser2" ) );
+
+        // the objId of a perm is not counted separately:
+        assertEquals( 2, summary.getPermissions().size() );
+        assertEquals( Long.valueOf( 2 ), summary.getPermissions().get( "TOB1.read" ) );
+        assertEquals( Long.valueOf( 1 ), summary.getPermissions().get( "TOB1.write" ) );
+
+        assertEquals( 2, summary.getHours().size() );
+        assertEquals( Long.valueOf( 2 ), summary.getHours().get( "2015061713" ) );
+        assertEquals( Long.valueOf( 1 ), summary.getHours().get( "2015061714" ) );
+    }
+
+
+    public void testAddIncomplete()
+    {
+        // an event missing its dn or end time is only counted where it can be:
+        AuthZSummary summary = new AuthZSummary();
+        summary.add( authZ( "jtsUser1", null, "2015" ) );
+        assertEquals( 1, summary.getTotal() );
+        assertEquals( Long.valueOf( 1 ), summary.getUsers().get( "jtsUser1" ) );
+        assertTrue( summary.getPermissions().isEmpty() );
+        assertTrue( summary.getHours().isEmpty() );
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.util;
+
+
+import junit.framework.TestCase;
+
+
+/**
+ * Verifies the parsing of slapd access log data by {@link AuditUtil}.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class AuditUtilTest extends TestCase
+{
+    public AuditUtilTest( String name )
+    {
+        super( name );
+    }
+
+
+    public void testGetAuthZId()
+    {
+        assertEquals( "fttu3user4", AuditUtil.getAuthZId( "uid=fttu3user4,ou=people,dc=jts,dc=com" ) );
+        assertNull( AuditUtil.getAuthZId( null ) );
+        assertNull( AuditUtil.getAuthZId( "" ) );
+    }
+
+
+    public void testGetAuthZPerm()
+    {
+        assertEquals( "/cal/cal2.jsp.read",
+            AuditUtil.getAuthZPerm( "ftOpNm=read,ftObjNm=/cal/cal2.jsp,ou=Permissions,dc=jts,dc=com" ) );
+    }
+
+
+    public void testGetAuthZPermWithObjId()
+    {
+        // the op rdn is multi-valued when the perm has an objId:
+        assertEquals( "TOB1.TOP1",
+            AuditUtil.getAuthZPerm( "ftOpNm=TOP1+ftObjId=123,ftObjNm=TOB1,ou=Permissions,dc=jts,dc=com" ) );
+    }
+
+
+    public void testGetAuthZPermNotPerm()
+    {
+        assertNull( AuditUtil.getAuthZPerm( null ) );
+        assertNull( AuditUtil.getAuthZPerm( "" ) );
+        assertNull( AuditUtil.getAuthZPerm( "dc=com" ) );
+        assertNull( AuditUtil.getAuthZPerm( "ftOpNm,ftObjNm,dc=com" ) );
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *   or more contributor license agreements.  See the NOTICE file
+ *   distributed with this work for additional information
+ *   regarding copyright ownership.  The ASF licenses this file
+ *   to you under the Apache License, Version 2.0 (the
+ *   "License"); you may not use this file except in compliance
+ *   with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ *
+ */
+package org.apache.directory.fortress.core.util.crypto;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.apache.directory.fortress.core.util.Config;
+
+
+/**
+ * Verifies the signatures created by {@link EncryptUtil} and that signing is refused under the default secret.
+ * This test does not require an ldap server.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class EncryptUtilTest extends TestCase
+{
+    private static final String CRYPTO_PROP = "crypto.prop";
+    private static final String DEFAULT_PASSWORD = "adlfarerovcja;39 d";
+    private static final byte[] DATA = "jtsUser1:Role1".getBytes( StandardCharsets.UTF_8 );
+
+    private String cryptoProp;
+
+
+    public EncryptUtilTest( String name )
+    {
+        super( name );
+    }
+
+
+    @Override
+    public void setUp()
+    {
+        cryptoProp = Config.getProperty( CRYPTO_PROP );
+    }
+
+
+    @Override
+    public void tearDown()
+    {
+        Config.setProperty( CRYPTO_PROP, cryptoProp );
+    }
+
+
+    public void testSignVerify()
+    {
+        byte[] signature = EncryptUtil.sign( DATA );
+        assertTrue( EncryptUtil.verify( DATA, signature ) );
+        assertTrue( "signatures are repeatable", Arrays.equals( signature, EncryptUtil.sign( DATA ) ) );
+    }
+
+
+    public void testTampered()
+    {
+        byte[] signature = EncryptUtil.sign( DATA );
+        byte[] data = DATA.clone();
+        data[0] ^= 1;
+        assertFalse( "altered data", EncryptUtil.verify( data, signature ) );
+
+        byte[] altered = signature.clone();
+        altered[altered.length - 1] ^= 1;
+        assertFalse( "altered signature", EncryptUtil.verify( DATA, altered ) );
+        assertFalse( "truncated signature", EncryptUtil.verify( DATA, Arrays.copyOf( signature, 16 ) ) );
+        assertFalse( "no signature", EncryptUtil.verify( DATA, null ) );
+    }
+
+
+    public void testSigningEnabled()
+    {
+        Config.setProperty( CRYPTO_PROP, "a secret only this deployment knows" );
+        assertTrue( EncryptUtil.isSigningEnabled() );
+
+        Config.setProperty( CRYPTO_PROP, DEFAULT_PASSWORD );
+        assertFalse( "the default secret is public", EncryptUtil.isSigningEnabled() );
+
+        Config.setProperty( CRYPTO_PROP, " " );
+        assertFalse( EncryptUtil.isSigningEnabled() );
+
+        Config.setProperty( CRYPTO_PROP, null );
+        assertFalse( EncryptUtil.isSigningEnabled() );
+    }
+}